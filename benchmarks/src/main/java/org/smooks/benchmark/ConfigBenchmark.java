@@ -0,0 +1,134 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Benchmarks
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.smooks.Smooks;
+import org.smooks.StreamFilterType;
+import org.smooks.cdr.ParameterAccessor;
+import org.smooks.container.ExecutionContext;
+import org.smooks.delivery.Filter;
+import org.xml.sax.SAXException;
+
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filters an arbitrary input with an arbitrary Smooks configuration so that the filters can be compared on real
+ * configurations, for example:
+ * <pre>
+ * java -jar benchmarks.jar ConfigBenchmark -p config=/path/to/smooks-config.xml -p input=/path/to/input.xml -p filterType=SAX_NG,DOM -prof gc
+ * </pre>
+ * <code>filterType</code> overrides the configuration's <code>stream.filter.type</code> global parameter unless it
+ * is <code>CONFIGURED</code>. The configuration's visitors must support the selected filter. A 1 MB
+ * {@link DocumentShape#FLAT} {@link SyntheticDocument} is filtered when no <code>input</code> is given.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConfigBenchmark {
+
+    private static final String CONFIGURED_FILTER_TYPE = "CONFIGURED";
+
+    @Param({"/benchmark-config.xml"})
+    private String config;
+
+    @Param({""})
+    private String input;
+
+    @Param({CONFIGURED_FILTER_TYPE})
+    private String filterType;
+
+    private Smooks smooks;
+    private byte[] inputBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SAXException {
+        smooks = new Smooks(config);
+        if (!filterType.equals(CONFIGURED_FILTER_TYPE)) {
+            ParameterAccessor.removeParameter(Filter.STREAM_FILTER_TYPE, smooks);
+            ParameterAccessor.setParameter(Filter.STREAM_FILTER_TYPE, StreamFilterType.valueOf(filterType).toString(), smooks);
+        }
+
+        if (input.isEmpty()) {
+            inputBytes = new SyntheticDocument(DocumentShape.FLAT, SyntheticDocument.parseSize("1MB")).toByteArray();
+        } else {
+            inputBytes = Files.readAllBytes(Paths.get(input));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        smooks.close();
+    }
+
+    @Benchmark
+    public long filterSource() {
+        final ExecutionContext executionContext = smooks.createExecutionContext();
+        final DiscardingOutputStream outputStream = new DiscardingOutputStream();
+
+        smooks.filterSource(executionContext, new StreamSource(new ByteArrayInputStream(inputBytes)), new StreamResult(outputStream));
+
+        return outputStream.getCount();
+    }
+}
@@ -0,0 +1,151 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Benchmarks
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.smooks.config.Configurable;
+import org.smooks.converter.TypeConverter;
+import org.smooks.converter.factory.system.DateLocaleAwareTypeConverter;
+import org.smooks.converter.factory.system.StringToDateConverterFactory;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts {@value #VALUE_COUNT} timestamps written in <code>format</code> with the <code>Date</code> type converter
+ * ({@link #convert}), and with the {@link DateTimeFormatter} parse and {@link TemporalQueries} resolution the converter
+ * used before fixed-width formats were parsed by hand ({@link #dateTimeFormatterConvert}). Formats which are not
+ * fixed-width and all-numeric, e.g., <code>EEE MMM dd HH:mm:ss z yyyy</code>, take the {@link DateTimeFormatter} path
+ * in both benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DateConverterBenchmark {
+
+    private static final int VALUE_COUNT = 1024;
+
+    @Param({"yyyy-MM-dd'T'HH:mm:ss", "yyyy-MM-dd HH:mm:ss.SSS", "EEE MMM dd HH:mm:ss z yyyy"})
+    private String format;
+
+    @Param({"UTC", "Europe/Dublin"})
+    private String zoneId;
+
+    private TypeConverter<String, Date> typeConverter;
+    private DateTimeFormatter dateTimeFormatter;
+    private String[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Properties properties = new Properties();
+        properties.setProperty(DateLocaleAwareTypeConverter.FORMAT, format);
+        properties.setProperty(DateLocaleAwareTypeConverter.ZONE_ID, zoneId);
+        properties.setProperty(DateLocaleAwareTypeConverter.LOCALE, "en-IE");
+        typeConverter = new StringToDateConverterFactory().createTypeConverter();
+        ((Configurable) typeConverter).setConfiguration(properties);
+
+        dateTimeFormatter = DateTimeFormatter.ofPattern(format).withLocale(new Locale("en", "IE")).withZone(ZoneId.of(zoneId));
+        final Random random = new Random(VALUE_COUNT);
+        values = new String[VALUE_COUNT];
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            values[i] = dateTimeFormatter.format(Instant.ofEpochSecond(946684800L + random.nextInt(1000000000), random.nextInt(1000) * 1000000));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUE_COUNT)
+    public void convert(final Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(typeConverter.convert(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUE_COUNT)
+    public void dateTimeFormatterConvert(final Blackhole blackhole) {
+        final ZoneId zoneId = ZoneId.of(this.zoneId);
+        for (String value : values) {
+            final TemporalAccessor temporalAccessor = dateTimeFormatter.parse(value.trim());
+            final Date date;
+            if (temporalAccessor.query(TemporalQueries.localDate()) != null && temporalAccessor.query(TemporalQueries.localTime()) != null && temporalAccessor.query(TemporalQueries.zoneId()) != null) {
+                date = Date.from(LocalDateTime.from(temporalAccessor).atZone(temporalAccessor.query(TemporalQueries.zoneId())).toInstant());
+            } else if (temporalAccessor.query(TemporalQueries.localDate()) != null && temporalAccessor.query(TemporalQueries.localTime()) != null) {
+                date = Date.from(LocalDateTime.from(temporalAccessor).atZone(zoneId).toInstant());
+            } else if (temporalAccessor.query(TemporalQueries.localDate()) != null) {
+                date = Date.from(LocalDate.from(temporalAccessor).atStartOfDay(zoneId).toInstant());
+            } else if (temporalAccessor.query(TemporalQueries.localTime()) != null) {
+                date = Date.from(LocalTime.from(temporalAccessor).atDate(Instant.ofEpochMilli(0L).atZone(zoneId).toLocalDate()).atZone(zoneId).toInstant());
+            } else {
+                date = null;
+            }
+            blackhole.consume(date);
+        }
+    }
+}
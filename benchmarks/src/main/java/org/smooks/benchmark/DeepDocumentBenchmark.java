@@ -0,0 +1,123 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Benchmarks
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.smooks.FilterSettings;
+import org.smooks.Smooks;
+import org.smooks.StreamFilterType;
+import org.smooks.container.ExecutionContext;
+
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filters a single document nesting <code>depth</code> elements, each holding character data, to check that the cost
+ * per element stays flat as documents get deeper. The average time per operation should grow linearly with
+ * <code>depth</code>, e.g., <code>-p depth=1000,10000</code> should differ by a factor of around 10.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DeepDocumentBenchmark {
+
+    @Param({"SAX_NG"})
+    private StreamFilterType filterType;
+
+    @Param({"1000", "10000"})
+    private int depth;
+
+    @Param({"1"})
+    private int maxNodeDepth;
+
+    private Smooks smooks;
+    private byte[] documentBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        smooks = new Smooks();
+        smooks.setFilterSettings(new FilterSettings(filterType).setMaxNodeDepth(maxNodeDepth));
+
+        final StringBuilder document = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            document.append("<level depth=\"").append(i).append("\">").append(i);
+        }
+        for (int i = 0; i < depth; i++) {
+            document.append("</level>");
+        }
+        documentBytes = document.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        smooks.close();
+    }
+
+    @Benchmark
+    public long filterSource() {
+        final ExecutionContext executionContext = smooks.createExecutionContext();
+        final DiscardingOutputStream outputStream = new DiscardingOutputStream();
+
+        smooks.filterSource(executionContext, new StreamSource(new ByteArrayInputStream(documentBytes)), new StreamResult(outputStream));
+
+        return outputStream.getCount();
+    }
+}
@@ -0,0 +1,133 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Benchmarks
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.benchmark;
+
+/**
+ * Shape of a synthetic document generated by {@link SyntheticDocument}. A document is a root element wrapping a
+ * sequence of <code>record</code> elements; the shape decides what each record looks like.
+ */
+public enum DocumentShape {
+
+    /**
+     * Records with a single text child: <code>&lt;record id="n"&gt;value&lt;/record&gt;</code>.
+     */
+    FLAT {
+        @Override
+        void writeRecord(final StringBuilder builder, final long recordIndex) {
+            builder.append("<record id=\"").append(recordIndex).append("\">value-").append(recordIndex).append("</record>\n");
+        }
+    },
+
+    /**
+     * Records nesting {@link #DEEP_RECORD_DEPTH} <code>level</code> elements.
+     */
+    DEEP {
+        @Override
+        void writeRecord(final StringBuilder builder, final long recordIndex) {
+            builder.append("<record id=\"").append(recordIndex).append("\">");
+            for (int i = 0; i < DEEP_RECORD_DEPTH; i++) {
+                builder.append("<level depth=\"").append(i).append("\">");
+            }
+            builder.append("value-").append(recordIndex);
+            for (int i = 0; i < DEEP_RECORD_DEPTH; i++) {
+                builder.append("</level>");
+            }
+            builder.append("</record>\n");
+        }
+    },
+
+    /**
+     * Records with {@link #WIDE_RECORD_WIDTH} sibling <code>field</code> elements.
+     */
+    WIDE {
+        @Override
+        void writeRecord(final StringBuilder builder, final long recordIndex) {
+            builder.append("<record id=\"").append(recordIndex).append("\">");
+            for (int i = 0; i < WIDE_RECORD_WIDTH; i++) {
+                builder.append("<field").append(i).append('>').append(i).append("</field").append(i).append('>');
+            }
+            builder.append("</record>\n");
+        }
+    },
+
+    /**
+     * Empty records carrying {@link #ATTRIBUTE_COUNT} attributes.
+     */
+    ATTRIBUTE_HEAVY {
+        @Override
+        void writeRecord(final StringBuilder builder, final long recordIndex) {
+            builder.append("<record id=\"").append(recordIndex).append('"');
+            for (int i = 0; i < ATTRIBUTE_COUNT; i++) {
+                builder.append(" attr").append(i).append("=\"value-").append(recordIndex).append('-').append(i).append('"');
+            }
+            builder.append("/>\n");
+        }
+    },
+
+    /**
+     * Records with a single {@link #TEXT_LENGTH} character text child.
+     */
+    TEXT_HEAVY {
+        @Override
+        void writeRecord(final StringBuilder builder, final long recordIndex) {
+            builder.append("<record id=\"").append(recordIndex).append("\">");
+            for (int i = 0; i < TEXT_LENGTH; i++) {
+                builder.append((char) ('a' + ((recordIndex + i) % 26)));
+            }
+            builder.append("</record>\n");
+        }
+    };
+
+    static final int DEEP_RECORD_DEPTH = 64;
+    static final int WIDE_RECORD_WIDTH = 100;
+    static final int ATTRIBUTE_COUNT = 20;
+    static final int TEXT_LENGTH = 4096;
+
+    /**
+     * Appends the markup of a single record.
+     *
+     * @param builder     the buffer to append to
+     * @param recordIndex the zero-based position of the record within the document
+     */
+    abstract void writeRecord(StringBuilder builder, long recordIndex);
+}
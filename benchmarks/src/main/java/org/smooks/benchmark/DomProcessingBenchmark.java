@@ -0,0 +1,134 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Benchmarks
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.smooks.FilterSettings;
+import org.smooks.Smooks;
+import org.smooks.StreamFilterType;
+import org.smooks.container.ExecutionContext;
+import org.w3c.dom.Document;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.dom.DOMSource;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the DOM filter's processing phase over a {@link SyntheticDocument synthetic document} parsed into a DOM once
+ * up front, so that neither parsing nor serialization is measured. Run with <code>-prof gc</code>: the
+ * <code>gc.alloc.rate.norm</code> figure is the memory the filter allocates per document on top of the visitors.
+ * The default <code>selector</code>, "*", targets the visitors at every element.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DomProcessingBenchmark {
+
+    @Param({"FLAT", "DEEP", "WIDE"})
+    private DocumentShape shape;
+
+    @Param({"1MB", "10MB"})
+    private String size;
+
+    @Param({"1"})
+    private int visitorCount;
+
+    @Param({"*"})
+    private String selector;
+
+    private Smooks smooks;
+    private Document document;
+    private DomCountingVisitor[] visitors;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        smooks = new Smooks();
+        smooks.setFilterSettings(new FilterSettings(StreamFilterType.DOM));
+        visitors = new DomCountingVisitor[visitorCount];
+        for (int i = 0; i < visitorCount; i++) {
+            visitors[i] = new DomCountingVisitor();
+            smooks.addVisitor(visitors[i], selector);
+        }
+
+        final DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        documentBuilderFactory.setNamespaceAware(true);
+        try (InputStream inputStream = new SyntheticDocument(shape, SyntheticDocument.parseSize(size)).openStream()) {
+            document = documentBuilderFactory.newDocumentBuilder().parse(inputStream);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        smooks.close();
+    }
+
+    @Benchmark
+    public long filterSource() {
+        final ExecutionContext executionContext = smooks.createExecutionContext();
+
+        smooks.filterSource(executionContext, new DOMSource(document), new DOMResult());
+
+        long count = 0;
+        for (DomCountingVisitor visitor : visitors) {
+            count += visitor.getCount();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,149 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Benchmarks
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.smooks.FilterSettings;
+import org.smooks.Smooks;
+import org.smooks.StreamFilterType;
+import org.smooks.container.ExecutionContext;
+
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives {@link Smooks#filterSource(ExecutionContext, javax.xml.transform.Source, javax.xml.transform.Result...)}
+ * over {@link SyntheticDocument synthetic documents} on each of the SAX-NG, SAX and DOM filters.
+ * <p/>
+ * Throughput and sample time (which includes the p99 latency) are reported by default. Add <code>-prof gc</code> to
+ * the JMH command line to report the allocation rate. <code>elementPoolSize</code> only applies to the SAX-NG filter.
+ * Documents larger than {@link #MATERIALISE_THRESHOLD} are
+ * generated while being filtered instead of being held in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FilterBenchmark {
+
+    static final long MATERIALISE_THRESHOLD = 64L * 1024L * 1024L;
+
+    @Param({"SAX_NG", "SAX", "DOM"})
+    private StreamFilterType filterType;
+
+    @Param({"FLAT", "DEEP", "WIDE", "ATTRIBUTE_HEAVY", "TEXT_HEAVY"})
+    private DocumentShape shape;
+
+    @Param({"1KB", "1MB"})
+    private String size;
+
+    @Param({"0", "10"})
+    private int visitorCount;
+
+    @Param({"record"})
+    private String selector;
+
+    @Param({"0"})
+    private int elementPoolSize;
+
+    private final List<CountingVisitor> visitors = new ArrayList<>();
+    private Smooks smooks;
+    private SyntheticDocument document;
+    private byte[] documentBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        smooks = new Smooks();
+        smooks.setFilterSettings(new FilterSettings(filterType).setElementPoolSize(elementPoolSize));
+        for (int i = 0; i < visitorCount; i++) {
+            final CountingVisitor countingVisitor = CountingVisitor.newInstance(filterType);
+            smooks.addVisitor(countingVisitor, selector);
+            visitors.add(countingVisitor);
+        }
+
+        document = new SyntheticDocument(shape, SyntheticDocument.parseSize(size));
+        if (document.getSize() <= MATERIALISE_THRESHOLD) {
+            documentBytes = document.toByteArray();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        smooks.close();
+        visitors.clear();
+    }
+
+    @Benchmark
+    public long filterSource() {
+        final ExecutionContext executionContext = smooks.createExecutionContext();
+        final DiscardingOutputStream outputStream = new DiscardingOutputStream();
+        final InputStream inputStream = documentBytes != null ? new ByteArrayInputStream(documentBytes) : document.openStream();
+
+        smooks.filterSource(executionContext, new StreamSource(inputStream), new StreamResult(outputStream));
+
+        long count = outputStream.getCount();
+        for (CountingVisitor visitor : visitors) {
+            count += visitor.getCount();
+        }
+        return count;
+    }
+}
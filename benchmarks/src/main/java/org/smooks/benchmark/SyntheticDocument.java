@@ -0,0 +1,204 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Benchmarks
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Deterministic generator of synthetic XML documents of a given {@link DocumentShape} and approximate size.
+ * <p/>
+ * Documents are generated lazily, record by record, so that multi-gigabyte inputs can be streamed through a filter
+ * without holding them in memory. Smaller documents can be {@link #toByteArray() materialised} once during benchmark
+ * setup so that document generation is not part of the measurement.
+ */
+public class SyntheticDocument {
+
+    private static final String NAMESPACE = "http://www.smooks.org/benchmark";
+
+    private final DocumentShape shape;
+    private final long size;
+
+    public SyntheticDocument(final DocumentShape shape, final long size) {
+        this.shape = shape;
+        this.size = size;
+    }
+
+    /**
+     * Parses a human readable size such as <code>1KB</code>, <code>10MB</code> or <code>1GB</code> into a number of
+     * bytes. A value without a unit is interpreted as bytes.
+     *
+     * @param size the size expression
+     * @return the size in bytes
+     */
+    public static long parseSize(final String size) {
+        final String normalisedSize = size.trim().toUpperCase();
+        final long multiplier;
+        final String number;
+        if (normalisedSize.endsWith("GB")) {
+            multiplier = 1024L * 1024L * 1024L;
+            number = normalisedSize.substring(0, normalisedSize.length() - 2);
+        } else if (normalisedSize.endsWith("MB")) {
+            multiplier = 1024L * 1024L;
+            number = normalisedSize.substring(0, normalisedSize.length() - 2);
+        } else if (normalisedSize.endsWith("KB")) {
+            multiplier = 1024L;
+            number = normalisedSize.substring(0, normalisedSize.length() - 2);
+        } else if (normalisedSize.endsWith("B")) {
+            multiplier = 1L;
+            number = normalisedSize.substring(0, normalisedSize.length() - 1);
+        } else {
+            multiplier = 1L;
+            number = normalisedSize;
+        }
+
+        return Long.parseLong(number.trim()) * multiplier;
+    }
+
+    public DocumentShape getShape() {
+        return shape;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Opens a stream over the document. Each call returns an independent stream starting at the beginning of the
+     * document.
+     *
+     * @return the document's bytes, UTF-8 encoded
+     */
+    public InputStream openStream() {
+        return new RecordInputStream();
+    }
+
+    /**
+     * Generates the complete document into memory.
+     *
+     * @return the document's bytes, UTF-8 encoded
+     * @throws IllegalStateException if the document is too large to be held in a byte array
+     */
+    public byte[] toByteArray() {
+        if (size > Integer.MAX_VALUE - 8192) {
+            throw new IllegalStateException("Document of " + size + " bytes is too large to materialise: stream it instead");
+        }
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream((int) size + 8192);
+        final byte[] buffer = new byte[8192];
+        try (InputStream inputStream = openStream()) {
+            int count;
+            while ((count = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, count);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    private class RecordInputStream extends InputStream {
+        private final StringBuilder recordBuilder = new StringBuilder(8192);
+        private byte[] chunk = new byte[0];
+        private int chunkPosition;
+        private long bytesGenerated;
+        private long recordIndex;
+        private boolean started;
+        private boolean finished;
+
+        @Override
+        public int read() {
+            if (!ensureChunk()) {
+                return -1;
+            }
+            return chunk[chunkPosition++] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!ensureChunk()) {
+                return -1;
+            }
+            final int count = Math.min(length, chunk.length - chunkPosition);
+            System.arraycopy(chunk, chunkPosition, buffer, offset, count);
+            chunkPosition += count;
+
+            return count;
+        }
+
+        private boolean ensureChunk() {
+            while (chunkPosition == chunk.length) {
+                if (finished) {
+                    return false;
+                }
+                nextChunk();
+            }
+            return true;
+        }
+
+        private void nextChunk() {
+            recordBuilder.setLength(0);
+            if (!started) {
+                recordBuilder.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+                recordBuilder.append("<records xmlns=\"").append(NAMESPACE).append("\" shape=\"").append(shape).append("\">\n");
+                started = true;
+            }
+            // Always emit at least one record so that tiny documents are still meaningful...
+            while (recordBuilder.length() < 4096 && (recordIndex == 0 || bytesGenerated + recordBuilder.length() < size)) {
+                shape.writeRecord(recordBuilder, recordIndex++);
+            }
+            if (bytesGenerated + recordBuilder.length() >= size) {
+                recordBuilder.append("</records>\n");
+                finished = true;
+            }
+            chunk = recordBuilder.toString().getBytes(StandardCharsets.UTF_8);
+            chunkPosition = 0;
+            bytesGenerated += chunk.length;
+        }
+    }
+}
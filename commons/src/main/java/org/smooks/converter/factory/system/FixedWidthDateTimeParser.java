@@ -0,0 +1,290 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Commons
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.converter.factory.system;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Parses dates written in a fixed-width, all-numeric {@link java.time.format.DateTimeFormatter} pattern such as
+ * <code>yyyy-MM-dd'T'HH:mm:ss</code>, <code>yyyy-MM-dd HH:mm:ss.SSS</code> or <code>yyyyMMdd</code>.
+ * <p/>
+ * The pattern is compiled once into a sequence of fields and literals so that parsing a value is a single pass over its characters
+ * which allocates nothing but the resulting {@link Date}. {@link #compile(String, ZoneId)} returns <code>null</code> for patterns
+ * it does not support (e.g., text fields, zones and offsets, optional sections) and {@link #parse(CharSequence)} returns
+ * <code>null</code> for values that do not match the pattern or hold out-of-range fields, so that callers fall back to the
+ * {@link java.time.format.DateTimeFormatter} which applies its resolver style and reports errors.
+ */
+final class FixedWidthDateTimeParser {
+
+    private static final int LITERAL = 0;
+    private static final int YEAR = 1;
+    private static final int MONTH = 2;
+    private static final int DAY = 3;
+    private static final int HOUR = 4;
+    private static final int MINUTE = 5;
+    private static final int SECOND = 6;
+    private static final int FRACTION = 7;
+
+    private static final long DAYS_0000_TO_1970 = 719528L;
+    private static final int[] NANO_SCALES = {0, 100000000, 10000000, 1000000, 100000, 10000, 1000, 100, 10, 1};
+
+    private final int[] fields;
+    private final int[] widths;
+    private final char[] literals;
+    private final boolean hasTime;
+    private final ZoneId zoneId;
+    private final Integer fixedOffsetSeconds;
+
+    private FixedWidthDateTimeParser(final int[] fields, final int[] widths, final char[] literals, final boolean hasTime, final ZoneId zoneId) {
+        this.fields = fields;
+        this.widths = widths;
+        this.literals = literals;
+        this.hasTime = hasTime;
+        this.zoneId = zoneId;
+        final ZoneRules zoneRules = zoneId.getRules();
+        fixedOffsetSeconds = zoneRules.isFixedOffset() ? zoneRules.getOffset(Instant.EPOCH).getTotalSeconds() : null;
+    }
+
+    /**
+     * Compile a pattern.
+     *
+     * @param pattern the {@link java.time.format.DateTimeFormatter} pattern
+     * @param zoneId  the zone of the parsed local date-times
+     * @return the compiled parser, or <code>null</code> if the pattern is not a supported fixed-width, all-numeric pattern
+     */
+    static FixedWidthDateTimeParser compile(final String pattern, final ZoneId zoneId) {
+        final int[] fields = new int[pattern.length()];
+        final int[] widths = new int[pattern.length()];
+        final char[] literals = new char[pattern.length()];
+        final int[] fieldCounts = new int[FRACTION + 1];
+        int segmentCount = 0;
+
+        for (int i = 0; i < pattern.length(); ) {
+            final char c = pattern.charAt(i);
+            if (c == '\'') {
+                int j = i + 1;
+                while (true) {
+                    if (j >= pattern.length()) {
+                        return null;
+                    } else if (pattern.charAt(j) == '\'' && j + 1 < pattern.length() && pattern.charAt(j + 1) == '\'') {
+                        literals[segmentCount] = '\'';
+                        widths[segmentCount++] = 1;
+                        j += 2;
+                    } else if (pattern.charAt(j) == '\'') {
+                        if (j == i + 1) {
+                            literals[segmentCount] = '\'';
+                            widths[segmentCount++] = 1;
+                        }
+                        break;
+                    } else {
+                        literals[segmentCount] = pattern.charAt(j++);
+                        widths[segmentCount++] = 1;
+                    }
+                }
+                i = j + 1;
+            } else if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) {
+                int count = 1;
+                while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+                    count++;
+                }
+                final int field = toField(c, count);
+                // a fraction adjacent to another value is not parseable by the Java 8 DateTimeFormatter (JDK-8031085)
+                if (field == LITERAL || (field == FRACTION && segmentCount > 0 && fields[segmentCount - 1] != LITERAL)) {
+                    return null;
+                }
+                fields[segmentCount] = field;
+                widths[segmentCount++] = count;
+                fieldCounts[field]++;
+                i += count;
+            } else if (c == '[' || c == ']' || c == '{' || c == '}' || c == '#') {
+                return null;
+            } else {
+                literals[segmentCount] = c;
+                widths[segmentCount++] = 1;
+                i++;
+            }
+        }
+
+        for (int fieldCount : fieldCounts) {
+            if (fieldCount > 1) {
+                return null;
+            }
+        }
+        if (fieldCounts[YEAR] == 0 || fieldCounts[MONTH] == 0 || fieldCounts[DAY] == 0) {
+            return null;
+        }
+        // each time field needs the coarser ones to resolve into a time of day
+        if (fieldCounts[HOUR] != fieldCounts[MINUTE] || fieldCounts[SECOND] > fieldCounts[MINUTE] || fieldCounts[FRACTION] > fieldCounts[SECOND]) {
+            return null;
+        }
+
+        return new FixedWidthDateTimeParser(Arrays.copyOf(fields, segmentCount), Arrays.copyOf(widths, segmentCount), Arrays.copyOf(literals, segmentCount), fieldCounts[HOUR] == 1, zoneId);
+    }
+
+    private static int toField(final char letter, final int count) {
+        switch (letter) {
+            case 'y':
+            case 'u':
+                return count == 4 ? YEAR : LITERAL;
+            case 'M':
+                return count == 2 ? MONTH : LITERAL;
+            case 'd':
+                return count == 2 ? DAY : LITERAL;
+            case 'H':
+                return count == 2 ? HOUR : LITERAL;
+            case 'm':
+                return count == 2 ? MINUTE : LITERAL;
+            case 's':
+                return count == 2 ? SECOND : LITERAL;
+            case 'S':
+                return count <= 9 ? FRACTION : LITERAL;
+            default:
+                return LITERAL;
+        }
+    }
+
+    /**
+     * Parse a value.
+     *
+     * @param value the value to parse
+     * @return the parsed {@link Date}, or <code>null</code> if the value does not match the pattern or holds an out-of-range field
+     */
+    Date parse(final CharSequence value) {
+        int year = 0, month = 0, day = 0, hour = 0, minute = 0, second = 0, nano = 0;
+        int position = 0;
+
+        for (int i = 0; i < fields.length; i++) {
+            final int width = widths[i];
+            if (position + width > value.length()) {
+                return null;
+            }
+            if (fields[i] == LITERAL) {
+                if (value.charAt(position) != literals[i]) {
+                    return null;
+                }
+            } else {
+                int fieldValue = 0;
+                for (int j = position; j < position + width; j++) {
+                    final char c = value.charAt(j);
+                    if (c < '0' || c > '9') {
+                        return null;
+                    }
+                    fieldValue = fieldValue * 10 + (c - '0');
+                }
+                switch (fields[i]) {
+                    case YEAR:
+                        year = fieldValue;
+                        break;
+                    case MONTH:
+                        month = fieldValue;
+                        break;
+                    case DAY:
+                        day = fieldValue;
+                        break;
+                    case HOUR:
+                        hour = fieldValue;
+                        break;
+                    case MINUTE:
+                        minute = fieldValue;
+                        break;
+                    case SECOND:
+                        second = fieldValue;
+                        break;
+                    default:
+                        nano = fieldValue * NANO_SCALES[width];
+                }
+            }
+            position += width;
+        }
+
+        if (position != value.length() || year < 1 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month) || hour > 23 || minute > 59 || second > 59) {
+            return null;
+        }
+
+        final long epochSecond;
+        if (fixedOffsetSeconds != null) {
+            epochSecond = toEpochDay(year, month, day) * 86400L + hour * 3600L + minute * 60L + second - fixedOffsetSeconds;
+        } else if (hasTime) {
+            epochSecond = LocalDateTime.of(year, month, day, hour, minute, second, nano).atZone(zoneId).toEpochSecond();
+        } else {
+            epochSecond = LocalDate.of(year, month, day).atStartOfDay(zoneId).toEpochSecond();
+        }
+
+        return new Date(epochSecond * 1000L + nano / 1000000);
+    }
+
+    private static boolean isLeapYear(final int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(final int year, final int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static long toEpochDay(final int year, final int month, final int day) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400 + (367 * month - 362) / 12 + day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+}
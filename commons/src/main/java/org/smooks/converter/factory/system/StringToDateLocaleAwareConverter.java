@@ -42,30 +42,56 @@
  */
 package org.smooks.converter.factory.system;
 
+import org.smooks.cdr.SmooksConfigurationException;
+
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalQueries;
 import java.util.Date;
+import java.util.Properties;
 
 public abstract class StringToDateLocaleAwareConverter<T> extends DateLocaleAwareTypeConverter<String, T> {
-    
+
+    /*
+     *  Fixed-width, all-numeric formats (e.g., the default format) are parsed without the DateTimeFormatter. Null when
+     *  the format is not supported by FixedWidthDateTimeParser.
+     */
+    private FixedWidthDateTimeParser fixedWidthDateTimeParser = FixedWidthDateTimeParser.compile(DEFAULT_DATE_FORMAT, zoneId);
+
+    @Override
+    public void setConfiguration(final Properties properties) throws SmooksConfigurationException {
+        super.setConfiguration(properties);
+
+        if (properties != null) {
+            fixedWidthDateTimeParser = FixedWidthDateTimeParser.compile(format.trim(), zoneId);
+        }
+    }
+
     @Override
     public T convert(final String value) {
-        final TemporalAccessor temporalAccessor = dateTimeFormatter.parse(value.trim());
+        final String trimmedValue = value.trim();
+        if (fixedWidthDateTimeParser != null) {
+            final Date date = fixedWidthDateTimeParser.parse(trimmedValue);
+            if (date != null) {
+                return doConvert(date);
+            }
+        }
+        
+        final TemporalAccessor temporalAccessor = dateTimeFormatter.parse(trimmedValue);
+        final LocalDate localDate = temporalAccessor.query(TemporalQueries.localDate());
+        final LocalTime localTime = temporalAccessor.query(TemporalQueries.localTime());
+        final ZoneId parsedZoneId = temporalAccessor.query(TemporalQueries.zoneId());
+        final ZoneId timeZoneId = parsedZoneId != null ? parsedZoneId : zoneId;
         final Date date;
-        if (temporalAccessor.query(TemporalQueries.localDate()) != null && temporalAccessor.query(TemporalQueries.localTime()) != null && temporalAccessor.query(TemporalQueries.zoneId()) != null) {
-            date = Date.from(LocalDateTime.from(temporalAccessor).atZone(temporalAccessor.query(TemporalQueries.zoneId())).toInstant());
-        } else if (temporalAccessor.query(TemporalQueries.localDate()) != null && temporalAccessor.query(TemporalQueries.localTime()) != null) {
-            date = Date.from(LocalDateTime.from(temporalAccessor).atZone(zoneId).toInstant());
-        } else if (temporalAccessor.query(TemporalQueries.localDate()) != null) {
-            date = Date.from(LocalDate.from(temporalAccessor).atStartOfDay(zoneId).toInstant());
-        } else if (temporalAccessor.query(TemporalQueries.localTime()) != null && temporalAccessor.query(TemporalQueries.zoneId()) != null) {
-            date = Date.from(LocalTime.from(temporalAccessor).atDate(Instant.ofEpochMilli(0L).atZone(temporalAccessor.query(TemporalQueries.zoneId())).toLocalDate()).atZone(temporalAccessor.query(TemporalQueries.zoneId())).toInstant());
-        } else if (temporalAccessor.query(TemporalQueries.localTime()) != null) {
-            date = Date.from(LocalTime.from(temporalAccessor).atDate(Instant.ofEpochMilli(0L).atZone(zoneId).toLocalDate()).atZone(zoneId).toInstant());
+        if (localDate != null && localTime != null) {
+            date = Date.from(localDate.atTime(localTime).atZone(timeZoneId).toInstant());
+        } else if (localDate != null) {
+            date = Date.from(localDate.atStartOfDay(zoneId).toInstant());
+        } else if (localTime != null) {
+            date = Date.from(localTime.atDate(Instant.ofEpochMilli(0L).atZone(timeZoneId).toLocalDate()).atZone(timeZoneId).toInstant());
         } else {
             date = null;
         }
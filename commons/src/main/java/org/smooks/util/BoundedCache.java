@@ -0,0 +1,164 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Commons
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.util;
+
+import org.smooks.assertion.AssertArgument;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Thread-safe, size-bounded cache evicting the least recently used entry.
+ * <p/>
+ * Values are created by the caller outside of the cache lock: look up with {@link #get(Object)} and, on a miss, add
+ * the created value with {@link #putIfAbsent(Object, Object)}.  Two threads missing on the same key both create a
+ * value, but only the first one added is kept and returned to both.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ */
+public class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final Map<K, V> entries;
+
+    /**
+     * Public constructor.
+     *
+     * @param maxSize The maximum number of entries held.  Zero disables the cache.
+     */
+    public BoundedCache(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Invalid 'maxSize' arg in constructor call. Must be zero or greater.");
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > BoundedCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get the cached value for a key.
+     *
+     * @param key The key.
+     * @return The cached value, or null if none is cached.
+     */
+    public V get(K key) {
+        AssertArgument.isNotNull(key, "key");
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    /**
+     * Cache a value unless one is already cached for the key.
+     *
+     * @param key   The key.
+     * @param value The value.
+     * @return The value cached for the key: the existing value, if any, otherwise <code>value</code>.
+     */
+    public V putIfAbsent(K key, V value) {
+        AssertArgument.isNotNull(key, "key");
+        AssertArgument.isNotNull(value, "value");
+        synchronized (entries) {
+            V existingValue = entries.putIfAbsent(key, value);
+            return (existingValue != null ? existingValue : value);
+        }
+    }
+
+    /**
+     * Remove the cached value for a key.
+     *
+     * @param key The key.
+     */
+    public void remove(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Remove the cached values whose keys match a predicate.
+     *
+     * @param predicate The key predicate.
+     */
+    public void removeIf(Predicate<? super K> predicate) {
+        AssertArgument.isNotNull(predicate, "predicate");
+        synchronized (entries) {
+            entries.keySet().removeIf(predicate);
+        }
+    }
+
+    /**
+     * Remove all cached values.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Get the number of cached values.
+     *
+     * @return The number of cached values.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Get the maximum number of cached values.
+     *
+     * @return The maximum number of cached values.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+}
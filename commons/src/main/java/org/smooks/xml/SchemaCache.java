@@ -0,0 +1,148 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Commons
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.xml;
+
+import org.smooks.util.BoundedCache;
+
+import javax.xml.validation.Schema;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * JVM-wide cache of the {@link Schema Schemas} compiled by {@link XsdDOMValidator}.
+ * <p/>
+ * Schemas are keyed by the namespace URIs of the XSDs they are compiled from, the
+ * {@link XsdValidator#SCHEMA_FACTORY} in use and the thread context ClassLoader the XSDs are looked up through, so
+ * every configuration referencing the same set of namespaces from the same ClassLoader shares one compiled Schema.
+ * The XSDs are looked up on the classpath once per key.  Applications replacing XSDs at runtime (e.g. on
+ * redeploying a module) must {@link #invalidate() invalidate} the cache.
+ * <p/>
+ * The cache holds at most {@link #MAX_SIZE} Schemas, as set through the system property of the same name
+ * (default 64).
+ */
+public final class SchemaCache {
+
+    public static final String MAX_SIZE = SchemaCache.class.getName() + ".maxSize";
+
+    private static final BoundedCache<SchemaKey, Schema> SCHEMAS = new BoundedCache<>(Integer.getInteger(MAX_SIZE, 64));
+
+    private SchemaCache() {
+    }
+
+    /**
+     * Remove all cached Schemas.
+     */
+    public static void invalidate() {
+        SCHEMAS.clear();
+    }
+
+    /**
+     * Remove the cached Schemas compiled from the XSD of a namespace.
+     *
+     * @param namespace The XSD namespace.
+     */
+    public static void invalidate(URI namespace) {
+        String namespaceString = namespace.toString();
+        SCHEMAS.removeIf(key -> key.namespaces.contains(namespaceString));
+    }
+
+    /**
+     * Remove the cached Schemas compiled from XSDs looked up through a ClassLoader.
+     * <p/>
+     * The cache references the ClassLoader until then.
+     *
+     * @param classLoader The ClassLoader.
+     */
+    public static void invalidate(ClassLoader classLoader) {
+        SCHEMAS.removeIf(key -> key.classLoader == classLoader);
+    }
+
+    /**
+     * Get the number of cached Schemas.
+     *
+     * @return The number of cached Schemas.
+     */
+    public static int size() {
+        return SCHEMAS.size();
+    }
+
+    static Schema get(SchemaKey key) {
+        return SCHEMAS.get(key);
+    }
+
+    static Schema putIfAbsent(SchemaKey key, Schema schema) {
+        return SCHEMAS.putIfAbsent(key, schema);
+    }
+
+    static final class SchemaKey {
+
+        private final List<String> namespaces;
+        private final ClassLoader classLoader;
+
+        /**
+         * @param namespaces  The schema factory followed by the sorted XSD namespaces.
+         * @param classLoader The ClassLoader the XSDs are looked up through.
+         */
+        SchemaKey(List<String> namespaces, ClassLoader classLoader) {
+            this.namespaces = namespaces;
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SchemaKey)) {
+                return false;
+            }
+            SchemaKey that = (SchemaKey) o;
+            return namespaces.equals(that.namespaces) && classLoader == that.classLoader;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * namespaces.hashCode() + System.identityHashCode(classLoader);
+        }
+    }
+}
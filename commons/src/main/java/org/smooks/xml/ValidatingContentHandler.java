@@ -0,0 +1,150 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Commons
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.xml;
+
+import org.smooks.assertion.AssertArgument;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+
+import javax.xml.validation.ValidatorHandler;
+
+/**
+ * {@link ContentHandler} tee feeding SAX events to a {@link ValidatorHandler} before passing them on to another
+ * ContentHandler.
+ * <p/>
+ * The ValidatorHandler sees every event first so that the downstream ContentHandler never receives an event the
+ * ValidatorHandler rejected.  The downstream ContentHandler receives the events exactly as parsed, i.e., without
+ * any attribute defaults from the XSD.  The downstream ContentHandler can be {@link #setContentHandler(ContentHandler)
+ * replaced} mid-document without interrupting the validation.
+ *
+ * @see XsdValidator#newValidatingContentHandler(ContentHandler)
+ */
+public class ValidatingContentHandler implements ContentHandler {
+
+    private final ValidatorHandler validatorHandler;
+    private ContentHandler contentHandler;
+
+    public ValidatingContentHandler(ValidatorHandler validatorHandler, ContentHandler contentHandler) {
+        AssertArgument.isNotNull(validatorHandler, "validatorHandler");
+        AssertArgument.isNotNull(contentHandler, "contentHandler");
+        this.validatorHandler = validatorHandler;
+        this.contentHandler = contentHandler;
+    }
+
+    public ContentHandler getContentHandler() {
+        return contentHandler;
+    }
+
+    public void setContentHandler(ContentHandler contentHandler) {
+        AssertArgument.isNotNull(contentHandler, "contentHandler");
+        this.contentHandler = contentHandler;
+    }
+
+    @Override
+    public void setDocumentLocator(Locator locator) {
+        validatorHandler.setDocumentLocator(locator);
+        contentHandler.setDocumentLocator(locator);
+    }
+
+    @Override
+    public void startDocument() throws SAXException {
+        validatorHandler.startDocument();
+        contentHandler.startDocument();
+    }
+
+    @Override
+    public void endDocument() throws SAXException {
+        validatorHandler.endDocument();
+        contentHandler.endDocument();
+    }
+
+    @Override
+    public void startPrefixMapping(String prefix, String uri) throws SAXException {
+        validatorHandler.startPrefixMapping(prefix, uri);
+        contentHandler.startPrefixMapping(prefix, uri);
+    }
+
+    @Override
+    public void endPrefixMapping(String prefix) throws SAXException {
+        validatorHandler.endPrefixMapping(prefix);
+        contentHandler.endPrefixMapping(prefix);
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
+        validatorHandler.startElement(uri, localName, qName, atts);
+        contentHandler.startElement(uri, localName, qName, atts);
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+        validatorHandler.endElement(uri, localName, qName);
+        contentHandler.endElement(uri, localName, qName);
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) throws SAXException {
+        validatorHandler.characters(ch, start, length);
+        contentHandler.characters(ch, start, length);
+    }
+
+    @Override
+    public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+        validatorHandler.ignorableWhitespace(ch, start, length);
+        contentHandler.ignorableWhitespace(ch, start, length);
+    }
+
+    @Override
+    public void processingInstruction(String target, String data) throws SAXException {
+        validatorHandler.processingInstruction(target, data);
+        contentHandler.processingInstruction(target, data);
+    }
+
+    @Override
+    public void skippedEntity(String name) throws SAXException {
+        validatorHandler.skippedEntity(name);
+        contentHandler.skippedEntity(name);
+    }
+}
@@ -48,17 +48,25 @@ import org.smooks.io.StreamUtils;
 import org.smooks.util.ClassUtil;
 import org.w3c.dom.*;
 import org.w3c.dom.ls.LSInput;
+import org.w3c.dom.ls.LSResourceResolver;
 import org.xml.sax.SAXException;
 
 import javax.xml.XMLConstants;
+import javax.xml.transform.Source;
 import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.StringReader;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * XSD DOM Validator.
@@ -68,6 +76,8 @@ import java.util.List;
  * classpath.  It uses the namespace path (URI.getPath()), prepending it with "/META-INF"
  * to perform a classpath resource lookup for the XSD i.e. the XSDs must be provided on
  * the classpath below the "META-INF" package.
+ * <p/>
+ * The Schema compiled from the XSDs is shared with other validators through the {@link SchemaCache}.
  *
  * @author <a href="mailto:tom.fennelly@gmail.com">tom.fennelly@gmail.com</a>
  */
@@ -94,7 +104,7 @@ public class XsdDOMValidator extends XsdValidator {
         // Get the full namespace list...
         namespaces.addAll(collectNamespaces(document.getDocumentElement()));
         
-        this.setSchemaSourceResolver((type, namespaceURI, publicId, systemId, baseURI) -> new LSInput() {
+        LSResourceResolver schemaSourceResolver = (type, namespaceURI, publicId, systemId, baseURI) -> new LSInput() {
             @Override
             public Reader getCharacterStream() {
                 return null;
@@ -182,7 +192,8 @@ public class XsdDOMValidator extends XsdValidator {
             public void setCertifiedText(boolean certifiedText) {
 
             }
-        });
+        };
+        setSchema(getSchema(schemaSourceResolver), schemaSourceResolver);
     }
 
     public URI getDefaultNamespace() {
@@ -253,6 +264,44 @@ public class XsdDOMValidator extends XsdValidator {
         return namespaceSources;
     }
 
+    /**
+     * Get the Schema compiled from the XSDs of the gathered namespaces from the {@link SchemaCache}, compiling
+     * it on a cache miss.
+     */
+    private Schema getSchema(LSResourceResolver schemaSourceResolver) throws SAXException {
+        Set<String> xsdNamespaces = new TreeSet<>();
+        for (URI namespace : namespaces) {
+            xsdNamespaces.add(namespace.toString());
+        }
+        List<String> keyNamespaces = new ArrayList<>();
+        keyNamespaces.add(System.getProperty(SCHEMA_FACTORY, ""));
+        keyNamespaces.addAll(xsdNamespaces);
+        // The XSDs are looked up through the thread context ClassLoader first (see ClassUtil)...
+        SchemaCache.SchemaKey key = new SchemaCache.SchemaKey(keyNamespaces, Thread.currentThread().getContextClassLoader());
+
+        Schema schema = SchemaCache.get(key);
+        if (schema == null) {
+            List<Source> xsdSources = new ArrayList<>();
+            for (String xsdNamespace : xsdNamespaces) {
+                String xsdSource;
+                try {
+                    xsdSource = getNamespaceSource(new URI(xsdNamespace));
+                } catch (URISyntaxException e) {
+                    throw new SAXException(e);
+                }
+                if (xsdSource != null) {
+                    xsdSources.add(new StreamSource(new StringReader(xsdSource), xsdNamespace));
+                }
+            }
+
+            SchemaFactory schemaFactory = newSchemaFactory();
+            schemaFactory.setResourceResolver(schemaSourceResolver);
+            schema = SchemaCache.putIfAbsent(key, schemaFactory.newSchema(xsdSources.toArray(new Source[0])));
+        }
+
+        return schema;
+    }
+
     private String getNamespaceSource(URI namespace) {
         if (namespace.getPath().length() > 0) {
             String resourcePath = "/META-INF" + namespace.getPath();
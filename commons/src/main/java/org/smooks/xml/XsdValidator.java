@@ -45,6 +45,7 @@ package org.smooks.xml;
 import org.smooks.assertion.AssertArgument;
 import org.smooks.util.ClassUtil;
 import org.w3c.dom.ls.LSResourceResolver;
+import org.xml.sax.ContentHandler;
 import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
 
@@ -53,11 +54,17 @@ import javax.xml.transform.Source;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
+import javax.xml.validation.ValidatorHandler;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 
 /**
  * XSD Validator.
+ * <p/>
+ * Instances are thread-safe once the XSD/Schema Sources are set: {@link Validator Validators} are pooled
+ * (see {@link #setValidatorPoolSize(int)}) and never shared between concurrent {@link #validate(Source)} calls.
  *
  * @author <a href="mailto:tom.fennelly@gmail.com">tom.fennelly@gmail.com</a>
  */
@@ -70,6 +77,8 @@ public class XsdValidator {
     private LSResourceResolver schemaSourceResolver;
     private ErrorHandler errorHandler;
     private Schema schema;
+    private final Deque<Validator> idleValidators = new ArrayDeque<>();
+    private volatile int validatorPoolSize = Runtime.getRuntime().availableProcessors();
 
     public void setSchemaFactory(SchemaFactory installedSchemaFactory) {
         this.installedSchemaFactory = installedSchemaFactory;
@@ -84,6 +93,19 @@ public class XsdValidator {
         this.schema = schemaFactory.newSchema();
     }
 
+    /**
+     * Set a compiled Schema.
+     * @param schema The Schema.
+     * @param schemaSourceResolver Resolver for the XSD/Schema Sources referenced from validated sources, or null.
+     */
+    protected void setSchema(Schema schema, LSResourceResolver schemaSourceResolver) {
+        assertSchemaNotInitialized();
+        AssertArgument.isNotNull(schema, "schema");
+
+        this.schemaSourceResolver = schemaSourceResolver;
+        this.schema = schema;
+    }
+
     /**
      * Set the XSD/Schema Sources.
      * @param xsdSources The schema sources.
@@ -106,6 +128,30 @@ public class XsdValidator {
         this.errorHandler = errorHandler;
     }
 
+    /**
+     * Set the maximum number of idle {@link Validator Validators} pooled for reuse by {@link #validate(Source)}.
+     * <p/>
+     * A Validator is not thread-safe, so each {@link #validate(Source)} call borrows one from the pool, creating it
+     * if the pool is empty, and {@link Validator#reset() resets} and returns it afterwards.  Defaults to the number of
+     * available processors.  Zero disables pooling.
+     * @param validatorPoolSize The maximum number of idle Validators.
+     */
+    public void setValidatorPoolSize(int validatorPoolSize) {
+        if (validatorPoolSize < 0) {
+            throw new IllegalArgumentException("Invalid 'validatorPoolSize' arg in method call. Must be zero or greater.");
+        }
+        this.validatorPoolSize = validatorPoolSize;
+        synchronized (idleValidators) {
+            while (idleValidators.size() > validatorPoolSize) {
+                idleValidators.pollLast();
+            }
+        }
+    }
+
+    public int getValidatorPoolSize() {
+        return validatorPoolSize;
+    }
+
     /**
      * Validate the supplied source against the namespaces referenced in it.
      * @throws org.xml.sax.SAXException Validation error.
@@ -114,22 +160,74 @@ public class XsdValidator {
     public void validate(Source source) throws SAXException, IOException {
         AssertArgument.isNotNull(source, "source");
 
-        if (schema == null) {
-            throw new IllegalStateException("Invalid call to validate.  XSD sources not set.");
+        Validator validator = borrowValidator();
+        try {
+            validator.validate(source);
+        } finally {
+            releaseValidator(validator);
         }
+    }
 
-        // Create the merged Schema instance and from that, create the Validator instance...
-        Validator validator = schema.newValidator();
+    /**
+     * Create a {@link ContentHandler} validating the SAX event stream it receives while passing it on to another
+     * ContentHandler.
+     * <p/>
+     * This allows a document to be validated as it is being parsed for other purposes, instead of parsing it
+     * twice.  The downstream ContentHandler receives events for content preceding a validation error.
+     * @param contentHandler The downstream ContentHandler.
+     * @return The validating ContentHandler.
+     * @see ValidatingContentHandler
+     */
+    public ValidatingContentHandler newValidatingContentHandler(ContentHandler contentHandler) {
+        AssertArgument.isNotNull(contentHandler, "contentHandler");
+        assertSchemaInitialized();
 
+        ValidatorHandler validatorHandler = schema.newValidatorHandler();
         if(schemaSourceResolver != null) {
-            validator.setResourceResolver(schemaSourceResolver);
+            validatorHandler.setResourceResolver(schemaSourceResolver);
         }
         if(errorHandler != null) {
+            validatorHandler.setErrorHandler(errorHandler);
+        }
+
+        return new ValidatingContentHandler(validatorHandler, contentHandler);
+    }
+
+    private Validator borrowValidator() {
+        assertSchemaInitialized();
+
+        Validator validator;
+        synchronized (idleValidators) {
+            validator = idleValidators.pollFirst();
+        }
+        if (validator == null) {
+            validator = schema.newValidator();
+        }
+
+        // Reset validators only keep functionally equal handlers, so only install ours if they are not already there...
+        if(schemaSourceResolver != null && validator.getResourceResolver() != schemaSourceResolver) {
+            validator.setResourceResolver(schemaSourceResolver);
+        }
+        if(validator.getErrorHandler() != errorHandler) {
             validator.setErrorHandler(errorHandler);
         }
 
-        // Validate the source...
-        validator.validate(source);
+        return validator;
+    }
+
+    private void releaseValidator(Validator validator) {
+        validator.reset();
+        synchronized (idleValidators) {
+            if (idleValidators.size() < validatorPoolSize) {
+                idleValidators.offerFirst(validator);
+            }
+        }
+    }
+
+    private void assertSchemaInitialized() {
+        if (schema == null) {
+            throw new IllegalStateException("Invalid call to validate.  XSD sources not set.");
+        }
     }
 
     private void assertSchemaNotInitialized() {
@@ -138,7 +236,7 @@ public class XsdValidator {
         }
     }
 
-    private SchemaFactory newSchemaFactory() {
+    protected SchemaFactory newSchemaFactory() {
         if (installedSchemaFactory != null) {
             return installedSchemaFactory;
         } else {
@@ -0,0 +1,132 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Commons
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.converter.factory.system;
+
+import org.junit.Test;
+import org.smooks.config.Configurable;
+import org.smooks.converter.TypeConverter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class FixedWidthDateTimeParserTest {
+
+    private static final ZoneId[] ZONE_IDS = {ZoneId.of("UTC"), ZoneId.of("+05:30"), ZoneId.of("Europe/Dublin"), ZoneId.of("America/New_York")};
+
+    @Test
+    public void testParse() {
+        assertParse("yyyy-MM-dd'T'HH:mm:ss", "2020-11-15T13:45:28", "2020-03-29T01:30:00", "2020-10-25T01:30:00", "1970-01-01T00:00:00", "2000-02-29T23:59:59");
+        assertParse("yyyy-MM-dd HH:mm:ss.SSS", "2020-11-15 13:45:28.123", "1999-12-31 23:59:59.999");
+        assertParse("uuuuMMddHHmmss.SSSSSS", "20201115134528.123456");
+        assertParse("dd/MM/yyyy HH:mm", "15/11/2020 13:45");
+        assertParse("'Date: 'yyyy-MM-dd", "Date: 2020-11-15", "Date: 2020-03-29");
+        assertParse("yyyyMMdd", "20201115", "20240229");
+    }
+
+    @Test
+    public void testParseGivenUnparseableValue() {
+        FixedWidthDateTimeParser fixedWidthDateTimeParser = FixedWidthDateTimeParser.compile("yyyy-MM-dd'T'HH:mm:ss", ZoneId.of("UTC"));
+        assertNotNull(fixedWidthDateTimeParser);
+        assertNull(fixedWidthDateTimeParser.parse("2020-11-15"));
+        assertNull(fixedWidthDateTimeParser.parse("2020-11-15T13:45:28Z"));
+        assertNull(fixedWidthDateTimeParser.parse("2020-11-15 13:45:28"));
+        assertNull(fixedWidthDateTimeParser.parse("2020-1a-15T13:45:28"));
+        assertNull(fixedWidthDateTimeParser.parse("2021-02-29T13:45:28"));
+        assertNull(fixedWidthDateTimeParser.parse("2020-04-31T13:45:28"));
+        assertNull(fixedWidthDateTimeParser.parse("2020-13-15T13:45:28"));
+        assertNull(fixedWidthDateTimeParser.parse("2020-11-15T24:00:00"));
+        assertNull(fixedWidthDateTimeParser.parse("0000-11-15T13:45:28"));
+    }
+
+    @Test
+    public void testCompileGivenUnsupportedPattern() {
+        ZoneId zoneId = ZoneId.of("UTC");
+        assertNull(FixedWidthDateTimeParser.compile("EEE MMM dd HH:mm:ss z yyyy", zoneId));
+        assertNull(FixedWidthDateTimeParser.compile("yyyy-MM-dd'T'HH:mm:ssXXX", zoneId));
+        assertNull(FixedWidthDateTimeParser.compile("yy-MM-dd", zoneId));
+        assertNull(FixedWidthDateTimeParser.compile("yyyy-M-d", zoneId));
+        assertNull(FixedWidthDateTimeParser.compile("yyyy-MM-dd[ HH:mm]", zoneId));
+        assertNull(FixedWidthDateTimeParser.compile("HH:mm:ss", zoneId));
+        assertNull(FixedWidthDateTimeParser.compile("yyyy-MM-dd HH", zoneId));
+        assertNull(FixedWidthDateTimeParser.compile("yyyyMMddHHmmssSSS", zoneId));
+        assertNull(FixedWidthDateTimeParser.compile("yyyy-MM-dd HH:mm:ss 'open", zoneId));
+    }
+
+    @Test
+    public void testConvert() {
+        Properties config = new Properties();
+        config.setProperty(DateLocaleAwareTypeConverter.FORMAT, "yyyy-MM-dd");
+        config.setProperty(DateLocaleAwareTypeConverter.ZONE_ID, "UTC");
+        TypeConverter<String, Date> typeConverter = new StringToDateConverterFactory().createTypeConverter();
+        ((Configurable) typeConverter).setConfiguration(config);
+
+        assertEquals(1605398400000L, typeConverter.convert(" 2020-11-15 ").getTime());
+        // falls back to the DateTimeFormatter which resolves the day-of-month to the end of the month
+        assertEquals(1614470400000L, typeConverter.convert("2021-02-30").getTime());
+    }
+
+    private void assertParse(String pattern, String... values) {
+        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(pattern);
+        for (ZoneId zoneId : ZONE_IDS) {
+            FixedWidthDateTimeParser fixedWidthDateTimeParser = FixedWidthDateTimeParser.compile(pattern, zoneId);
+            assertNotNull(pattern, fixedWidthDateTimeParser);
+            for (String value : values) {
+                final long expectedTime;
+                if (pattern.contains("HH")) {
+                    expectedTime = LocalDateTime.parse(value, dateTimeFormatter).atZone(zoneId).toInstant().toEpochMilli();
+                } else {
+                    expectedTime = LocalDate.parse(value, dateTimeFormatter).atStartOfDay(zoneId).toInstant().toEpochMilli();
+                }
+                assertEquals(pattern + " " + value + " " + zoneId, expectedTime, fixedWidthDateTimeParser.parse(value).getTime());
+            }
+        }
+    }
+}
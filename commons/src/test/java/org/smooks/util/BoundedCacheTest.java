@@ -0,0 +1,100 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Commons
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void test_putIfAbsent() {
+        BoundedCache<String, String> cache = new BoundedCache<>(2);
+
+        assertEquals("a1", cache.putIfAbsent("a", "a1"));
+        assertEquals("a1", cache.putIfAbsent("a", "a2"));
+        assertEquals("a1", cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    public void test_evicts_least_recently_used() {
+        BoundedCache<String, String> cache = new BoundedCache<>(2);
+
+        cache.putIfAbsent("a", "a");
+        cache.putIfAbsent("b", "b");
+        cache.get("a");
+        cache.putIfAbsent("c", "c");
+
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("c", cache.get("c"));
+    }
+
+    @Test
+    public void test_zero_max_size() {
+        BoundedCache<String, String> cache = new BoundedCache<>(0);
+
+        assertEquals("a", cache.putIfAbsent("a", "a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void test_remove() {
+        BoundedCache<String, String> cache = new BoundedCache<>(4);
+
+        cache.putIfAbsent("a1", "a1");
+        cache.putIfAbsent("a2", "a2");
+        cache.putIfAbsent("b", "b");
+        cache.remove("b");
+        assertEquals(2, cache.size());
+        cache.removeIf(key -> key.startsWith("a"));
+        assertEquals(0, cache.size());
+
+        cache.putIfAbsent("c", "c");
+        cache.clear();
+        assertNull(cache.get("c"));
+    }
+}
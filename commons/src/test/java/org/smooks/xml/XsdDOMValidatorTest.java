@@ -50,6 +50,9 @@ import org.xml.sax.SAXParseException;
 
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
 
 /**
  * @author <a href="mailto:tom.fennelly@gmail.com">tom.fennelly@gmail.com</a>
@@ -85,4 +88,42 @@ public class XsdDOMValidatorTest {
             assertEquals("cvc-complex-type.4: Attribute 'myName' must appear on element 'a:myNVP'.", e.getMessage());
         }
     }
+
+	@Test
+    public void test_schema_cache() throws IOException, SAXException, ParserConfigurationException {
+        SchemaCache.invalidate();
+        assertEquals(0, SchemaCache.size());
+
+        new XsdDOMValidator(XmlUtil.parseStream(getClass().getResourceAsStream("xsdDomValidator-test-01.xml"))).validate();
+        new XsdDOMValidator(XmlUtil.parseStream(getClass().getResourceAsStream("xsdDomValidator-test-01.xml"))).validate();
+        assertEquals(1, SchemaCache.size());
+
+        // Same namespaces, so the same Schema...
+        new XsdDOMValidator(XmlUtil.parseStream(getClass().getResourceAsStream("xsdDomValidator-test-02.xml")));
+        assertEquals(1, SchemaCache.size());
+
+        SchemaCache.invalidate(URI.create("http://www.milyn.org/xsd/test-xsd-02.xsd"));
+        assertEquals(0, SchemaCache.size());
+    }
+
+    @Test
+    public void test_schema_cache_ClassLoader() throws IOException, SAXException, ParserConfigurationException {
+        SchemaCache.invalidate();
+        new XsdDOMValidator(XmlUtil.parseStream(getClass().getResourceAsStream("xsdDomValidator-test-01.xml")));
+        assertEquals(1, SchemaCache.size());
+
+        // The XSDs may resolve differently through another ClassLoader, so it gets its own Schema...
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        Thread.currentThread().setContextClassLoader(classLoader);
+        try {
+            new XsdDOMValidator(XmlUtil.parseStream(getClass().getResourceAsStream("xsdDomValidator-test-01.xml")));
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+        assertEquals(2, SchemaCache.size());
+
+        SchemaCache.invalidate(classLoader);
+        assertEquals(1, SchemaCache.size());
+    }
 }
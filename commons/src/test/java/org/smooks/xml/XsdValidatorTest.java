@@ -47,7 +47,13 @@ import org.junit.Test;
 import org.w3c.dom.Document;
 import org.w3c.dom.ls.LSInput;
 import org.w3c.dom.ls.LSResourceResolver;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+import org.xml.sax.helpers.XMLReaderFactory;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.Source;
@@ -60,6 +66,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
 /**
  * @author <a href="mailto:tom.fennelly@gmail.com">tom.fennelly@gmail.com</a>
  */
@@ -107,6 +116,60 @@ public class XsdValidatorTest {
         validator.validate(new StreamSource(getClass().getResourceAsStream("xsdDomValidator-test-01.xml")));
     }
 
+	@Test
+    public void test_validator_pool() throws IOException, SAXException, ParserConfigurationException {
+        XsdValidator validator = newSourcesValidator();
+
+        validator.setValidatorPoolSize(1);
+        validator.validate(new DOMSource(XmlUtil.parseStream(getClass().getResourceAsStream("xsdDomValidator-test-01.xml"))));
+        try {
+            validator.validate(new DOMSource(XmlUtil.parseStream(getClass().getResourceAsStream("xsdDomValidator-test-02.xml"))));
+            fail("Expected SAXParseException");
+        } catch (SAXParseException e) {
+            assertEquals("cvc-complex-type.4: Attribute 'myName' must appear on element 'a:myNVP'.", e.getMessage());
+        }
+        // The pooled validator must have been reset after the failure...
+        validator.validate(new DOMSource(XmlUtil.parseStream(getClass().getResourceAsStream("xsdDomValidator-test-01.xml"))));
+    }
+
+	@Test
+    public void test_validating_content_handler() throws IOException, SAXException {
+        XsdValidator validator = newSourcesValidator();
+        List<String> elements = new ArrayList<String>();
+        DefaultHandler contentHandler = new DefaultHandler() {
+            @Override
+            public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                elements.add(localName);
+            }
+        };
+
+        XMLReader reader = XMLReaderFactory.createXMLReader();
+        reader.setContentHandler(validator.newValidatingContentHandler(contentHandler));
+        reader.parse(new InputSource(getClass().getResourceAsStream("xsdDomValidator-test-01.xml")));
+        assertEquals(3, elements.size());
+
+        elements.clear();
+        reader.setContentHandler(validator.newValidatingContentHandler(contentHandler));
+        try {
+            reader.parse(new InputSource(getClass().getResourceAsStream("xsdDomValidator-test-02.xml")));
+            fail("Expected SAXParseException");
+        } catch (SAXParseException e) {
+            assertEquals("cvc-complex-type.4: Attribute 'myName' must appear on element 'a:myNVP'.", e.getMessage());
+        }
+        assertEquals("[nameValuePairs, nameValuePair]", elements.toString());
+    }
+
+    private XsdValidator newSourcesValidator() throws SAXException {
+        XsdValidator validator = new XsdValidator();
+        List<Source> sources = new ArrayList<Source>();
+
+        sources.add(new StreamSource(getClass().getResourceAsStream("/META-INF/xsd/test-xsd-01.xsd")));
+        sources.add(new StreamSource(getClass().getResourceAsStream("/META-INF/xsd/test-xsd-02.xsd")));
+        validator.setXSDSources(sources);
+
+        return validator;
+    }
+
     public class MyLSResourceResolver implements LSResourceResolver {
 
         private final Map<String, StreamSourceLSInput> resources = new HashMap<String, StreamSourceLSInput>();
@@ -63,6 +63,8 @@ public class FilterSettings {
     private boolean closeSource = true;
     private boolean closeResult = true;
     private int readerPoolSize = 0;
+    private int elementPoolSize = 0;
+    private int executionContextPoolSize = 0;
     private int maxNodeDepth = 1;
 
     public FilterSettings() {
@@ -133,6 +135,18 @@ public class FilterSettings {
         return this;
     }
 
+    public FilterSettings setElementPoolSize(final int elementPoolSize) {
+        assertNonStaticDecl();
+        this.elementPoolSize = elementPoolSize;
+        return this;
+    }
+
+    public FilterSettings setExecutionContextPoolSize(final int executionContextPoolSize) {
+        assertNonStaticDecl();
+        this.executionContextPoolSize = executionContextPoolSize;
+        return this;
+    }
+
     public FilterSettings setMaxNodeDepth(final int maxNodeDepth) {
         assertNonStaticDecl();
         this.maxNodeDepth = maxNodeDepth;
@@ -149,6 +163,8 @@ public class FilterSettings {
         ParameterAccessor.removeParameter(Filter.CLOSE_SOURCE, smooks);
         ParameterAccessor.removeParameter(Filter.CLOSE_RESULT, smooks);
         ParameterAccessor.removeParameter(Filter.READER_POOL_SIZE, smooks);
+        ParameterAccessor.removeParameter(Filter.ELEMENT_POOL_SIZE, smooks);
+        ParameterAccessor.removeParameter(Filter.EXECUTION_CONTEXT_POOL_SIZE, smooks);
         ParameterAccessor.removeParameter(Filter.MAX_NODE_DEPTH, smooks);
 
         // Set the params...
@@ -160,6 +176,8 @@ public class FilterSettings {
         ParameterAccessor.setParameter(Filter.CLOSE_SOURCE, Boolean.toString(closeSource), smooks);
         ParameterAccessor.setParameter(Filter.CLOSE_RESULT, Boolean.toString(closeResult), smooks);
         ParameterAccessor.setParameter(Filter.READER_POOL_SIZE, Integer.toString(readerPoolSize), smooks);
+        ParameterAccessor.setParameter(Filter.ELEMENT_POOL_SIZE, Integer.toString(elementPoolSize), smooks);
+        ParameterAccessor.setParameter(Filter.EXECUTION_CONTEXT_POOL_SIZE, Integer.toString(executionContextPoolSize), smooks);
         ParameterAccessor.setParameter(Filter.MAX_NODE_DEPTH, Integer.toString(maxNodeDepth), smooks);
     }
 
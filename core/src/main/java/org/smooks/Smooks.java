@@ -45,11 +45,13 @@ package org.smooks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.smooks.assertion.AssertArgument;
+import org.smooks.cdr.ParameterAccessor;
 import org.smooks.cdr.ResourceConfig;
 import org.smooks.classpath.CascadingClassLoaderSet;
 import org.smooks.container.ApplicationContext;
 import org.smooks.container.ExecutionContext;
 import org.smooks.container.standalone.DefaultApplicationContextBuilder;
+import org.smooks.container.standalone.ExecutionContextPool;
 import org.smooks.container.standalone.StandaloneApplicationContext;
 import org.smooks.container.standalone.StandaloneExecutionContext;
 import org.smooks.delivery.*;
@@ -57,6 +59,7 @@ import org.smooks.event.ExecutionEventListener;
 import org.smooks.event.types.FilterLifecycleEvent;
 import org.smooks.injector.Scope;
 import org.smooks.javabean.context.BeanContext;
+import org.smooks.javabean.context.StandaloneBeanContext;
 import org.smooks.javabean.context.preinstalled.Time;
 import org.smooks.javabean.context.preinstalled.UniqueID;
 import org.smooks.javabean.lifecycle.BeanContextLifecycleObserver;
@@ -79,6 +82,7 @@ import javax.xml.transform.Result;
 import javax.xml.transform.Source;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -136,6 +140,11 @@ public class Smooks {
      * after the first execution context has been created.
      */
     private volatile boolean isConfigurable = true;
+    /**
+     * Pool of default profile execution contexts used by {@link #filterSource(Source, Result...)}. Created with
+     * the first execution context as its size is a global parameter of the delivery configuration.
+     */
+    private volatile ExecutionContextPool executionContextPool;
 
     /**
      * Public Default Constructor.
@@ -182,6 +191,27 @@ public class Smooks {
         addConfigurations(resourceURI);
     }
 
+    /**
+     * Public constructor.
+     * <p/>
+     * Adds the set of {@link ResourceConfig resources} via the {@link #addConfigurations(String, File)} method,
+     * loading them from the configuration snapshot file when it is up to date with the configuration.
+     *
+     * @param resourceURI  XML resource configuration stream URI.
+     * @param snapshotFile Configuration snapshot file.
+     * @throws IOException  Error reading resource stream.
+     * @throws SAXException Error parsing the resource stream.
+     * @see org.smooks.cdr.ConfigSnapshot
+     */
+    public Smooks(String resourceURI, File snapshotFile) throws IOException, SAXException {
+        this();
+        URIResourceLocator resourceLocator = new URIResourceLocator();
+
+        resourceLocator.setBaseURI(URIResourceLocator.extractBaseURI(resourceURI));
+        applicationContext.setResourceLocator(resourceLocator);
+        addConfigurations(resourceURI, snapshotFile);
+    }
+
     /**
      * Public constructor.
      * <p/>
@@ -384,6 +414,34 @@ public class Smooks {
         }
     }
 
+    /**
+     * Add a set of resource configurations to this Smooks instance, loading them from a
+     * {@link org.smooks.cdr.ConfigSnapshot configuration snapshot}.
+     * <p/>
+     * Uses the {@link org.smooks.resource.URIResourceLocator} class to load the resource. The snapshot
+     * is used only if it was taken from the same configuration (and imported configurations) by the
+     * same Smooks version.  Otherwise, the configuration is digested and the snapshot file is
+     * (re)written for the next load.
+     *
+     * @param resourceURI  The URI string for the resource configuration list. See
+     *                     {@link org.smooks.resource.URIResourceLocator}.
+     * @param snapshotFile The configuration snapshot file.
+     * @throws IOException  Error reading resource stream.
+     * @throws SAXException Error parsing the resource stream.
+     */
+    public void addConfigurations(String resourceURI, File snapshotFile) throws IOException, SAXException {
+        assertIsConfigurable();
+        AssertArgument.isNotNullAndNotEmpty(resourceURI, "resourceURI");
+        AssertArgument.isNotNull(snapshotFile, "snapshotFile");
+
+        try (InputStream resourceConfigStream = new URIResourceLocator().getResource(resourceURI)) {
+            URI resourceURIObj = new URI(resourceURI);
+            applicationContext.getRegistry().registerResources(URIUtil.getParent(resourceURIObj).toString(), resourceConfigStream, snapshotFile);
+        } catch (URISyntaxException e) {
+            throw new IOException("Failed to read resource configuration. Invalid 'resourceURI'.", e);
+        }
+    }
+
     /**
      * Add a set of resource configurations to this Smooks instance.
      * <p/>
@@ -476,19 +534,54 @@ public class Smooks {
      * @throws SmooksException Failed to filter.
      */
     public void filterSource(Source source) throws SmooksException {
-        filterSource(createExecutionContext(), source, null);
+        filterSource(source, (Result[]) null);
     }
 
     /**
      * Filter the content in the supplied {@link Source} instance, outputing data
      * to the supplied {@link Result} instances.
+     * <p/>
+     * The {@link ExecutionContext} is taken from a pool of reset contexts when the
+     * {@link Filter#EXECUTION_CONTEXT_POOL_SIZE} global parameter is set (see
+     * {@link FilterSettings#setExecutionContextPoolSize(int)}). The context is only returned to the pool
+     * when filtering succeeds.
      *
      * @param source           The filter Source.
      * @param results          The filter Results.
      * @throws SmooksException Failed to filter.
      */
     public void filterSource(Source source, Result... results) throws SmooksException {
-        filterSource(createExecutionContext(), source, results);
+        ExecutionContext executionContext = borrowExecutionContext();
+        filterSource(executionContext, source, results);
+        executionContextPool.release(executionContext);
+    }
+
+    /**
+     * Borrow an idle execution context from the pool sized by the {@link Filter#EXECUTION_CONTEXT_POOL_SIZE}
+     * global parameter, or create one if the pool is empty.
+     */
+    private ExecutionContext borrowExecutionContext() {
+        if(executionContextPool == null) {
+            ExecutionContext executionContext = createExecutionContext();
+            synchronized (this) {
+                if(executionContextPool == null) {
+                    int executionContextPoolSize;
+                    try {
+                        executionContextPoolSize = Math.max(Integer.parseInt(ParameterAccessor.getParameterValue(Filter.EXECUTION_CONTEXT_POOL_SIZE, String.class, "0", executionContext.getDeliveryConfig())), 0);
+                    } catch(NumberFormatException e) {
+                        executionContextPoolSize = 0;
+                    }
+                    executionContextPool = new ExecutionContextPool(executionContextPoolSize);
+                }
+            }
+            return executionContext;
+        }
+
+        ExecutionContext executionContext = executionContextPool.borrow();
+        if(executionContext == null) {
+            executionContext = createExecutionContext();
+        }
+        return executionContext;
     }
 
     /**
@@ -548,13 +641,16 @@ public class Smooks {
                     FilterSource.setSource(executionContext, source);
                     FilterResult.setResults(executionContext, results);
 
-                    // Add pre installed beans + global BeanContext lifecycle observers...
+                    // Add global BeanContext lifecycle observers + pre installed beans. A reused bean context
+                    // still holds the observers added by its first execution...
                     BeanContext beanContext = executionContext.getBeanContext();
+                    if(!(beanContext instanceof StandaloneBeanContext && ((StandaloneBeanContext) beanContext).isReused())) {
+                        for(BeanContextLifecycleObserver observer : applicationContext.getBeanContextLifecycleObservers()) {
+                            beanContext.addObserver(observer);
+                        }
+                    }
                     beanContext.addBean(Time.BEAN_ID, new Time());
                     beanContext.addBean(UniqueID.BEAN_ID, new UniqueID());
-                    for(BeanContextLifecycleObserver observer : applicationContext.getBeanContextLifecycleObservers()) {
-                        beanContext.addObserver(observer);
-                    }
 
                     try {
                         deliveryConfig.executeHandlerInit(executionContext);
@@ -612,6 +708,9 @@ public class Smooks {
      * of all allocated {@link org.smooks.delivery.ContentHandler} instances.
      */
     public void close() {
+        if(executionContextPool != null) {
+            executionContextPool.clear();
+        }
         applicationContext.getRegistry().close();
     }
 
@@ -0,0 +1,482 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cdr;
+
+import org.smooks.assertion.AssertArgument;
+import org.smooks.expression.ExecutionContextExpressionEvaluator;
+import org.smooks.expression.ExpressionEvaluator;
+import org.smooks.io.StreamUtils;
+import org.smooks.profile.DefaultProfileSet;
+import org.smooks.profile.Profile;
+import org.smooks.profile.ProfileSet;
+import org.smooks.resource.URIResourceLocator;
+import org.smooks.util.ClassUtil;
+import org.smooks.xml.XmlUtil;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.XMLConstants;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.NotSerializableException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Binary snapshot of a digested {@link ResourceConfigList}.
+ * <p/>
+ * Loading a snapshot skips parsing, validating and digesting (including the extension digestion) of the XML
+ * configuration it was taken from. A snapshot records a SHA-256 hash of its sources: the configuration, the
+ * configurations it imports, the <code>-smooks.xml</code> and XSD resources of the extended configuration namespaces
+ * it uses, and the Smooks version and snapshot format it was written with. A snapshot whose hash
+ * no longer matches its sources is stale and is not loaded.
+ * <p/>
+ * Only configurations made up of string parameters, {@link ExecutionContextExpressionEvaluator} conditions and
+ * {@link DefaultProfileSet} profiles can be snapshotted. {@link #write(ResourceConfigList, String, byte[], ClassLoader, OutputStream)}
+ * throws a {@link NotSerializableException} for anything else (e.g. a parameter holding an object set by an
+ * extension visitor).
+ *
+ * @see org.smooks.registry.Registry#registerResources(String, InputStream, java.io.File)
+ */
+public final class ConfigSnapshot {
+
+    /**
+     * Snapshot format version. Bump on any change to the format.
+     */
+    public static final int FORMAT_VERSION = 2;
+
+    private static final int MAGIC = 0x534D4B53;
+    private static final byte NO_XML = 0;
+    private static final byte FLAT_XML = 1;
+    private static final byte SERIALIZED_XML = 2;
+    private static final String SMOOKS_VERSION = getSmooksVersion();
+
+    private ConfigSnapshot() {
+    }
+
+    /**
+     * Write a snapshot of a digested configuration.
+     *
+     * @param resourceConfigList The {@link ResourceConfigList} digested from <code>config</code>.
+     * @param baseURI            The base URI the configuration was digested with.
+     * @param config             The XML configuration.
+     * @param classLoader        The ClassLoader the configuration was digested with.
+     * @param outputStream       The snapshot output stream.
+     * @throws NotSerializableException The configuration holds content which cannot be snapshotted.
+     * @throws IOException              Error writing the snapshot or reading an imported configuration or extension
+     *                                  resource.
+     */
+    public static void write(ResourceConfigList resourceConfigList, String baseURI, byte[] config, ClassLoader classLoader, OutputStream outputStream) throws IOException {
+        AssertArgument.isNotNull(resourceConfigList, "resourceConfigList");
+        AssertArgument.isNotNullAndNotEmpty(baseURI, "baseURI");
+        AssertArgument.isNotNull(config, "config");
+        AssertArgument.isNotNull(outputStream, "outputStream");
+
+        DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+        dataOutputStream.writeInt(MAGIC);
+        dataOutputStream.writeInt(FORMAT_VERSION);
+
+        List<URI> loadedResources = resourceConfigList.getLoadedResources();
+        dataOutputStream.writeInt(loadedResources.size());
+        for (URI loadedResource : loadedResources) {
+            writeString(dataOutputStream, loadedResource.toString());
+        }
+        List<String> extendedConfigNamespaces = new ArrayList<>(resourceConfigList.getExtendedConfigNamespaces());
+        dataOutputStream.writeInt(extendedConfigNamespaces.size());
+        for (String extendedConfigNamespace : extendedConfigNamespaces) {
+            writeString(dataOutputStream, extendedConfigNamespace);
+        }
+        byte[] hash = hash(baseURI, config, loadedResources, extendedConfigNamespaces, classLoader);
+        dataOutputStream.writeInt(hash.length);
+        dataOutputStream.write(hash);
+
+        List<ProfileSet> profileSets = resourceConfigList.getProfiles();
+        dataOutputStream.writeInt(profileSets.size());
+        for (ProfileSet profileSet : profileSets) {
+            writeProfileSet(dataOutputStream, profileSet);
+        }
+
+        dataOutputStream.writeInt(resourceConfigList.size());
+        for (int i = 0; i < resourceConfigList.size(); i++) {
+            writeResourceConfig(dataOutputStream, resourceConfigList.get(i));
+        }
+        dataOutputStream.flush();
+    }
+
+    /**
+     * Read a snapshot of a configuration.
+     *
+     * @param inputStream The snapshot input stream.
+     * @param baseURI     The base URI of the configuration.
+     * @param config      The XML configuration.
+     * @param classLoader The ClassLoader the configuration is digested with.
+     * @return The {@link ResourceConfigList} as digested from <code>config</code>, or null if the snapshot is stale
+     * or was written in another format version.
+     * @throws IOException Error reading the snapshot or an imported configuration.
+     */
+    public static ResourceConfigList read(InputStream inputStream, String baseURI, byte[] config, ClassLoader classLoader) throws IOException {
+        AssertArgument.isNotNull(inputStream, "inputStream");
+        AssertArgument.isNotNullAndNotEmpty(baseURI, "baseURI");
+        AssertArgument.isNotNull(config, "config");
+
+        DataInputStream dataInputStream = new DataInputStream(inputStream);
+        if (dataInputStream.readInt() != MAGIC) {
+            throw new IOException("Not a Smooks configuration snapshot.");
+        }
+        if (dataInputStream.readInt() != FORMAT_VERSION) {
+            return null;
+        }
+
+        List<URI> loadedResources = new ArrayList<>();
+        int loadedResourceCount = dataInputStream.readInt();
+        for (int i = 0; i < loadedResourceCount; i++) {
+            try {
+                loadedResources.add(new URI(readString(dataInputStream)));
+            } catch (URISyntaxException e) {
+                throw new IOException("Invalid resource URI in configuration snapshot.", e);
+            }
+        }
+        List<String> extendedConfigNamespaces = new ArrayList<>();
+        int extendedConfigNamespaceCount = dataInputStream.readInt();
+        for (int i = 0; i < extendedConfigNamespaceCount; i++) {
+            extendedConfigNamespaces.add(readString(dataInputStream));
+        }
+        byte[] hash = new byte[dataInputStream.readInt()];
+        dataInputStream.readFully(hash);
+        try {
+            if (!Arrays.equals(hash, hash(baseURI, config, loadedResources, extendedConfigNamespaces, classLoader))) {
+                return null;
+            }
+        } catch (IOException e) {
+            // An imported configuration or an extension resource has gone away...
+            return null;
+        }
+
+        ResourceConfigList resourceConfigList = new ResourceConfigList(baseURI);
+        for (URI loadedResource : loadedResources) {
+            resourceConfigList.addLoadedResource(loadedResource);
+        }
+        for (String extendedConfigNamespace : extendedConfigNamespaces) {
+            resourceConfigList.addExtendedConfigNamespace(extendedConfigNamespace);
+        }
+
+        int profileSetCount = dataInputStream.readInt();
+        for (int i = 0; i < profileSetCount; i++) {
+            resourceConfigList.add(readProfileSet(dataInputStream));
+        }
+
+        Document document = XmlUtil.documentBuilder.newDocument();
+        int resourceConfigCount = dataInputStream.readInt();
+        for (int i = 0; i < resourceConfigCount; i++) {
+            resourceConfigList.add(readResourceConfig(dataInputStream, document));
+        }
+
+        return resourceConfigList;
+    }
+
+    private static byte[] hash(String baseURI, byte[] config, List<URI> loadedResources, List<String> extendedConfigNamespaces, ClassLoader classLoader) throws IOException {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        messageDigest.update((FORMAT_VERSION + "\n" + SMOOKS_VERSION + "\n" + baseURI + "\n").getBytes(StandardCharsets.UTF_8));
+        messageDigest.update(config);
+
+        URIResourceLocator resourceLocator = new URIResourceLocator();
+        for (URI loadedResource : loadedResources) {
+            messageDigest.update(("\n" + loadedResource + "\n").getBytes(StandardCharsets.UTF_8));
+            try (InputStream resourceStream = resourceLocator.getResource(loadedResource.toString())) {
+                messageDigest.update(StreamUtils.readStream(resourceStream));
+            }
+        }
+
+        // The extension resources feed the digestion of the extended configuration elements (see XMLConfigDigester)...
+        for (String extendedConfigNamespace : extendedConfigNamespaces) {
+            messageDigest.update(("\n" + extendedConfigNamespace + "\n").getBytes(StandardCharsets.UTF_8));
+            String namespacePath;
+            try {
+                namespacePath = new URI(extendedConfigNamespace).getPath();
+            } catch (URISyntaxException e) {
+                throw new IOException("Invalid extended config namespace '" + extendedConfigNamespace + "'.", e);
+            }
+            for (String resourcePath : new String[]{"/META-INF" + namespacePath + "-smooks.xml", "/META-INF" + namespacePath}) {
+                try (InputStream resourceStream = ClassUtil.getResourceAsStream(resourcePath, classLoader)) {
+                    if (resourceStream == null) {
+                        throw new IOException("Extended config resource '" + resourcePath + "' not found on the classpath.");
+                    }
+                    messageDigest.update(StreamUtils.readStream(resourceStream));
+                }
+            }
+        }
+
+        return messageDigest.digest();
+    }
+
+    /**
+     * The version is filtered into <code>META-INF/smooks-version.properties</code> by the build since the manifest of
+     * an unpackaged or repackaged (e.g. shaded) Smooks does not carry it.
+     */
+    private static String getSmooksVersion() {
+        Properties properties = new Properties();
+        try (InputStream versionStream = ConfigSnapshot.class.getResourceAsStream("/META-INF/smooks-version.properties")) {
+            if (versionStream != null) {
+                properties.load(versionStream);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read the Smooks version.", e);
+        }
+
+        return properties.getProperty("version");
+    }
+
+    private static void writeProfileSet(DataOutputStream dataOutputStream, ProfileSet profileSet) throws IOException {
+        if (profileSet.getClass() != DefaultProfileSet.class) {
+            throw new NotSerializableException(profileSet.getClass().getName());
+        }
+
+        List<String> profiles = new ArrayList<>();
+        for (Iterator<?> iterator = profileSet.iterator(); iterator.hasNext(); ) {
+            profiles.add(((Profile) iterator.next()).getName());
+        }
+        writeString(dataOutputStream, profileSet.getBaseProfile());
+        dataOutputStream.writeInt(profiles.size());
+        for (String profile : profiles) {
+            writeString(dataOutputStream, profile);
+        }
+    }
+
+    private static ProfileSet readProfileSet(DataInputStream dataInputStream) throws IOException {
+        DefaultProfileSet profileSet = new DefaultProfileSet(readString(dataInputStream));
+        int profileCount = dataInputStream.readInt();
+        for (int i = 0; i < profileCount; i++) {
+            profileSet.addProfile(readString(dataInputStream));
+        }
+
+        return profileSet;
+    }
+
+    // The deprecated selector namespace and extended config namespace are still set by the digester, and have no
+    // replacement accessors, so the snapshot must carry them
+    @SuppressWarnings("deprecation")
+    private static void writeResourceConfig(DataOutputStream dataOutputStream, ResourceConfig resourceConfig) throws IOException {
+        writeString(dataOutputStream, resourceConfig.getSelectorPath().getSelector());
+        writeString(dataOutputStream, resourceConfig.getSelectorPath().getSelectorNamespaceURI());
+        Properties namespaces = resourceConfig.getSelectorPath().getNamespaces();
+        dataOutputStream.writeInt(namespaces.size());
+        for (String prefix : namespaces.stringPropertyNames()) {
+            writeString(dataOutputStream, prefix);
+            writeString(dataOutputStream, namespaces.getProperty(prefix));
+        }
+
+        ExpressionEvaluator conditionEvaluator = resourceConfig.getSelectorPath().getConditionEvaluator();
+        if (conditionEvaluator == null) {
+            writeString(dataOutputStream, null);
+        } else if (conditionEvaluator instanceof ExecutionContextExpressionEvaluator && conditionEvaluator.getExpression() != null) {
+            writeString(dataOutputStream, conditionEvaluator.getClass().getName());
+            writeString(dataOutputStream, conditionEvaluator.getExpression());
+        } else {
+            throw new NotSerializableException(conditionEvaluator.getClass().getName());
+        }
+
+        writeString(dataOutputStream, resourceConfig.getTargetProfile());
+        writeString(dataOutputStream, resourceConfig.getResource());
+        writeString(dataOutputStream, resourceConfig.getExplicitResourceType());
+        dataOutputStream.writeBoolean(resourceConfig.isDefaultResource());
+        writeString(dataOutputStream, resourceConfig.getExtendedConfigNS());
+
+        List<Parameter<?>> parameters = new ArrayList<>();
+        for (Object parameter : resourceConfig.getParameters().values()) {
+            if (parameter instanceof Parameter) {
+                parameters.add((Parameter<?>) parameter);
+            } else {
+                for (Object listedParameter : (List<?>) parameter) {
+                    parameters.add((Parameter<?>) listedParameter);
+                }
+            }
+        }
+        dataOutputStream.writeInt(parameters.size());
+        for (Parameter<?> parameter : parameters) {
+            if (!(parameter.getValue() instanceof String)) {
+                throw new NotSerializableException("Value of parameter '" + parameter.getName() + "' is a " + parameter.getValue().getClass().getName());
+            }
+            writeString(dataOutputStream, parameter.getName());
+            writeString(dataOutputStream, parameter.getType());
+            writeString(dataOutputStream, (String) parameter.getValue());
+            writeXml(dataOutputStream, parameter.getXml());
+        }
+    }
+
+    // See writeResourceConfig
+    @SuppressWarnings("deprecation")
+    private static ResourceConfig readResourceConfig(DataInputStream dataInputStream, Document document) throws IOException {
+        ResourceConfig resourceConfig = new ResourceConfig(readString(dataInputStream));
+        resourceConfig.getSelectorPath().setSelectorNamespaceURI(readString(dataInputStream));
+        Properties namespaces = resourceConfig.getSelectorPath().getNamespaces();
+        int namespaceCount = dataInputStream.readInt();
+        for (int i = 0; i < namespaceCount; i++) {
+            namespaces.setProperty(readString(dataInputStream), readString(dataInputStream));
+        }
+
+        String conditionEvaluatorClass = readString(dataInputStream);
+        if (conditionEvaluatorClass != null) {
+            resourceConfig.getSelectorPath().setConditionEvaluator(ExpressionEvaluator.Factory.createInstance(conditionEvaluatorClass, readString(dataInputStream)));
+        }
+
+        resourceConfig.setTargetProfile(readString(dataInputStream));
+        resourceConfig.setResource(readString(dataInputStream));
+        resourceConfig.setResourceType(readString(dataInputStream));
+        resourceConfig.setDefaultResource(dataInputStream.readBoolean());
+        resourceConfig.setExtendedConfigNS(readString(dataInputStream));
+
+        int parameterCount = dataInputStream.readInt();
+        for (int i = 0; i < parameterCount; i++) {
+            Parameter<String> parameter = resourceConfig.setParameter(readString(dataInputStream), readString(dataInputStream), readString(dataInputStream));
+            parameter.setXML(readXml(dataInputStream, document));
+        }
+
+        return resourceConfig;
+    }
+
+    /**
+     * Parameter XML without child elements, like almost all <code>&lt;param&gt;</code> elements, is written as its
+     * name, attributes and text. This spares parsing it back on reading the snapshot.
+     */
+    private static void writeXml(DataOutputStream dataOutputStream, Element element) throws IOException {
+        if (element == null) {
+            dataOutputStream.writeByte(NO_XML);
+            return;
+        }
+
+        NodeList childNodes = element.getChildNodes();
+        for (int i = 0; i < childNodes.getLength(); i++) {
+            short nodeType = childNodes.item(i).getNodeType();
+            if (nodeType != Node.TEXT_NODE && nodeType != Node.CDATA_SECTION_NODE) {
+                dataOutputStream.writeByte(SERIALIZED_XML);
+                writeString(dataOutputStream, XmlUtil.serialize(element, false));
+                return;
+            }
+        }
+
+        dataOutputStream.writeByte(FLAT_XML);
+        writeString(dataOutputStream, element.getNamespaceURI());
+        writeString(dataOutputStream, element.getNodeName());
+        NamedNodeMap attributes = element.getAttributes();
+        List<Attr> flatAttributes = new ArrayList<>();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attribute = (Attr) attributes.item(i);
+            if (!XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attribute.getNamespaceURI())) {
+                flatAttributes.add(attribute);
+            }
+        }
+        dataOutputStream.writeInt(flatAttributes.size());
+        for (Attr attribute : flatAttributes) {
+            writeString(dataOutputStream, attribute.getNamespaceURI());
+            writeString(dataOutputStream, attribute.getName());
+            writeString(dataOutputStream, attribute.getValue());
+        }
+        writeString(dataOutputStream, element.getTextContent());
+    }
+
+    private static Element readXml(DataInputStream dataInputStream, Document document) throws IOException {
+        byte xmlType = dataInputStream.readByte();
+        if (xmlType == NO_XML) {
+            return null;
+        } else if (xmlType == SERIALIZED_XML) {
+            try {
+                return XmlUtil.parseStream(new StringReader(readString(dataInputStream))).getDocumentElement();
+            } catch (Exception e) {
+                throw new IOException("Unable to parse parameter XML in configuration snapshot.", e);
+            }
+        }
+
+        Element element = document.createElementNS(readString(dataInputStream), readString(dataInputStream));
+        int attributeCount = dataInputStream.readInt();
+        for (int i = 0; i < attributeCount; i++) {
+            element.setAttributeNS(readString(dataInputStream), readString(dataInputStream), readString(dataInputStream));
+        }
+        element.setTextContent(readString(dataInputStream));
+
+        return element;
+    }
+
+    private static void writeString(DataOutputStream dataOutputStream, String string) throws IOException {
+        if (string == null) {
+            dataOutputStream.writeInt(-1);
+        } else {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            dataOutputStream.writeInt(bytes.length);
+            dataOutputStream.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream dataInputStream) throws IOException {
+        int length = dataInputStream.readInt();
+        if (length == -1) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        dataInputStream.readFully(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
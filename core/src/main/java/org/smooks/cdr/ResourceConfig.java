@@ -550,6 +550,16 @@ public class ResourceConfig {
         return restype;
     }
 
+    /**
+     * Get the resource type explicitly set on this configuration, as opposed to the type
+     * derived from the resource by {@link #getResourceType()}.
+     *
+     * @return The explicit resource type, or null if it was never set.
+     */
+    String getExplicitResourceType() {
+        return resourceType;
+    }
+
     /**
      * Parse the targeting expressions for this configuration.
      *
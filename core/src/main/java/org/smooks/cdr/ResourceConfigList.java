@@ -49,7 +49,9 @@ import org.smooks.profile.ProfileSet;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.Vector;
 
 /**
@@ -82,6 +84,10 @@ public class ResourceConfigList {
      * List of loaded resource URIs.
      */
     private final List<URI> loadedResources = new ArrayList<URI>();
+    /**
+     * Set of digested extended config namespaces.
+     */
+    private final Set<String> extendedConfigNamespaces = new LinkedHashSet<String>();
 
     /**
      * Public constructor.
@@ -214,6 +220,41 @@ public class ResourceConfigList {
         return matchingResourceConfigs;
     }
 
+    /**
+     * Add the URI of a resource (e.g. an imported configuration) loaded into this list.
+     * @param resourceURI The loaded resource URI.
+     */
+    public void addLoadedResource(URI resourceURI) {
+        AssertArgument.isNotNull(resourceURI, "resourceURI");
+        loadedResources.add(resourceURI);
+    }
+
+    /**
+     * Get the URIs of the resources (e.g. imported configurations) loaded into this list, in load order.
+     * @return The loaded resource URIs.
+     */
+    public List<URI> getLoadedResources() {
+        return loadedResources;
+    }
+
+    /**
+     * Add the namespace of an extended configuration element digested into this list.
+     * @param extendedConfigNamespace The extended config namespace.
+     */
+    public void addExtendedConfigNamespace(String extendedConfigNamespace) {
+        AssertArgument.isNotNull(extendedConfigNamespace, "extendedConfigNamespace");
+        extendedConfigNamespaces.add(extendedConfigNamespace);
+    }
+
+    /**
+     * Get the namespaces of the extended configuration elements digested into this list, in digest order. Their
+     * <code>-smooks.xml</code> and XSD resources are loaded from the classpath.
+     * @return The extended config namespaces.
+     */
+    public Set<String> getExtendedConfigNamespaces() {
+        return extendedConfigNamespaces;
+    }
+
     /**
      * Get the list of profiles configured on this resource configuration list.
      * @return List of profiles.
@@ -45,6 +45,7 @@ package org.smooks.cdr;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.smooks.Smooks;
+import org.smooks.assertion.AssertArgument;
 import org.smooks.cdr.extension.ExtensionContext;
 import org.smooks.container.ExecutionContext;
 import org.smooks.container.standalone.DefaultApplicationContextBuilder;
@@ -54,6 +55,7 @@ import org.smooks.net.URIUtil;
 import org.smooks.profile.DefaultProfileSet;
 import org.smooks.registry.Registry;
 import org.smooks.resource.URIResourceLocator;
+import org.smooks.util.BoundedCache;
 import org.smooks.util.ClassUtil;
 import org.smooks.xml.DomUtils;
 import org.smooks.xml.XmlUtil;
@@ -87,13 +89,20 @@ public final class XMLConfigDigester {
     
     public static final String XSD_V20 = "https://www.smooks.org/xsd/smooks-2.0.xsd";
 
+    /**
+     * System property setting the maximum number of extension config digesters shared through the JVM-wide cache.
+     * Default 64.
+     */
+    public static final String EXTENDED_CONFIG_DIGESTERS_MAX_SIZE = XMLConfigDigester.class.getName() + ".extendedConfigDigestersMaxSize";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(XMLConfigDigester.class);
+    private static final BoundedCache<ExtendedConfigDigesterKey, Smooks> EXTENDED_CONFIG_DIGESTERS = new BoundedCache<>(Integer.getInteger(EXTENDED_CONFIG_DIGESTERS_MAX_SIZE, 64));
 
     private final ResourceConfigList resourceConfigList;
     private final Stack<SmooksConfig> configStack = new Stack<>();
     private ClassLoader classLoader;
 
-    private Map<String, Smooks> extendedConfigDigesters = new HashMap<>();
+    private Map<String, Smooks> extendedConfigDigesters;
     private static final ThreadLocal<Boolean> extensionDigestOn = new ThreadLocal<>();
 
     /**
@@ -124,7 +133,7 @@ public final class XMLConfigDigester {
      *
      * @param stream  The stream.
      * @param baseURI The base URI to be associated with the configuration stream.
-     * @param extendedConfigDigesters Config digesters.
+     * @param extendedConfigDigesters Config digesters, or null to share the extension config digesters cached JVM-wide.
      * @return A {@link ResourceConfigList} containing the list of
      *         {@link ResourceConfig ResourceConfigs} defined in the
      *         XML configuration.
@@ -365,6 +374,7 @@ public final class XMLConfigDigester {
 
             // Add the resource URI to the list.  Will fail if it was already loaded
             pushConfig(file, fileURI);
+            resourceConfigList.addLoadedResource(fileURI);
             try {
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("Importing resource configuration '" + file + "' from inside '" + configStack.peek().configFile + "'.");
@@ -514,6 +524,7 @@ public final class XMLConfigDigester {
     private void digestExtendedResourceConfig(Element configElement, @Deprecated String defaultSelector, @Deprecated String defaultNamespace, String defaultProfile, String defaultConditionRef) {
         String configNamespace = configElement.getNamespaceURI();
         Smooks configDigester = getExtendedConfigDigester(configNamespace);
+        resourceConfigList.addExtendedConfigNamespace(configNamespace);
         ExecutionContext executionContext = configDigester.createExecutionContext();
         ExtensionContext extentionContext;
         Element conditionElement = DomUtils.getElement(configElement, "condition", 1);
@@ -538,49 +549,101 @@ public final class XMLConfigDigester {
         }
     }
 
-    private Smooks getExtendedConfigDigester(String configNamespace) {
-        Smooks smooks = extendedConfigDigesters.get(configNamespace);
+    /**
+     * Remove all extension config digesters from the JVM-wide cache.
+     * <p/>
+     * Call this after replacing the <code>-smooks.xml</code> extension configurations on the classpath (e.g. on
+     * redeploying a module), together with {@link org.smooks.xml.SchemaCache#invalidate()} if their XSDs changed.
+     */
+    public static void invalidateExtendedConfigDigesters() {
+        EXTENDED_CONFIG_DIGESTERS.clear();
+    }
 
-        if(smooks == null) {
-            URI namespaceURI;
+    /**
+     * Remove the digesters of an extension config namespace from the JVM-wide cache.
+     *
+     * @param configNamespace The extension config namespace.
+     */
+    public static void invalidateExtendedConfigDigesters(String configNamespace) {
+        AssertArgument.isNotNull(configNamespace, "configNamespace");
+        EXTENDED_CONFIG_DIGESTERS.removeIf(key -> key.configNamespace.equals(configNamespace));
+    }
 
-            try {
-                namespaceURI = new URI(configNamespace);
-            } catch (URISyntaxException e) {
-                throw new SmooksConfigurationException("Unable to parse extended config namespace URI '" + configNamespace + "'.", e);
-            }
+    /**
+     * Remove the extension config digesters loaded through a ClassLoader from the JVM-wide cache.
+     * <p/>
+     * The cache references the ClassLoader until then. See also {@link org.smooks.xml.SchemaCache#invalidate(ClassLoader)}.
+     *
+     * @param classLoader The ClassLoader.
+     */
+    public static void invalidateExtendedConfigDigesters(ClassLoader classLoader) {
+        AssertArgument.isNotNull(classLoader, "classLoader");
+        EXTENDED_CONFIG_DIGESTERS.removeIf(key -> key.classLoader == classLoader);
+    }
 
-            String resourcePath = "/META-INF" + namespaceURI.getPath() + "-smooks.xml";
-            File resourceFile = new File(resourcePath);
-            String baseURI = resourceFile.getParent().replace('\\', '/');
+    static Smooks getCachedExtendedConfigDigester(String configNamespace, ClassLoader classLoader) {
+        return EXTENDED_CONFIG_DIGESTERS.get(new ExtendedConfigDigesterKey(configNamespace, classLoader));
+    }
 
-            // Validate the extended config...
-            assertExtendedConfigOK(configNamespace, resourcePath);
+    private Smooks getExtendedConfigDigester(String configNamespace) {
+        Smooks smooks;
 
-            // Construct the Smooks instance for processing this config namespace...
-            smooks = new Smooks(new DefaultApplicationContextBuilder().setRegisterInstalledResources(false).build());
-            setExtensionDigestOn();
-            try {
-                Registry registry = smooks.getApplicationContext().getRegistry();
-                ResourceConfigList extConfigList = new ResourceConfigList(baseURI);
+        if (extendedConfigDigesters != null) {
+            smooks = extendedConfigDigesters.get(configNamespace);
+            if (smooks == null) {
+                smooks = createExtendedConfigDigester(configNamespace);
+                extendedConfigDigesters.put(configNamespace, smooks);
+            }
+            if (classLoader != null) {
+                smooks.setClassLoader(classLoader);
+            }
+        } else {
+            ExtendedConfigDigesterKey key = new ExtendedConfigDigesterKey(configNamespace, classLoader);
+            smooks = EXTENDED_CONFIG_DIGESTERS.get(key);
+            if (smooks == null) {
+                smooks = createExtendedConfigDigester(configNamespace);
+                if (classLoader != null) {
+                    smooks.setClassLoader(classLoader);
+                }
+                smooks = EXTENDED_CONFIG_DIGESTERS.putIfAbsent(key, smooks);
+            }
+        }
 
-                XMLConfigDigester configDigester = new XMLConfigDigester(extConfigList);
+        return smooks;
+    }
 
-                configDigester.extendedConfigDigesters = extendedConfigDigesters;
-                configDigester.digestConfigRecursively(new InputStreamReader(ClassUtil.getResourceAsStream(resourcePath, classLoader)), baseURI);
-                registry.registerResourceConfigList(extConfigList);
-            } catch (Exception e) {
-                throw new SmooksConfigurationException("Failed to construct Smooks instance for processing extended configuration resource '" + resourcePath + "'.", e);
-            } finally {
-                setExtensionDigestOff();
-            }
+    private Smooks createExtendedConfigDigester(String configNamespace) {
+        URI namespaceURI;
 
-            // And add it to the Map of extension digesters...
-            extendedConfigDigesters.put(configNamespace, smooks);
+        try {
+            namespaceURI = new URI(configNamespace);
+        } catch (URISyntaxException e) {
+            throw new SmooksConfigurationException("Unable to parse extended config namespace URI '" + configNamespace + "'.", e);
         }
 
-        if(classLoader != null) {
-            smooks.setClassLoader(classLoader);
+        String resourcePath = "/META-INF" + namespaceURI.getPath() + "-smooks.xml";
+        File resourceFile = new File(resourcePath);
+        String baseURI = resourceFile.getParent().replace('\\', '/');
+
+        // Validate the extended config...
+        assertExtendedConfigOK(configNamespace, resourcePath);
+
+        // Construct the Smooks instance for processing this config namespace...
+        Smooks smooks = new Smooks(new DefaultApplicationContextBuilder().setRegisterInstalledResources(false).build());
+        setExtensionDigestOn();
+        try {
+            Registry registry = smooks.getApplicationContext().getRegistry();
+            ResourceConfigList extConfigList = new ResourceConfigList(baseURI);
+
+            XMLConfigDigester configDigester = new XMLConfigDigester(extConfigList);
+
+            configDigester.extendedConfigDigesters = extendedConfigDigesters;
+            configDigester.digestConfigRecursively(new InputStreamReader(ClassUtil.getResourceAsStream(resourcePath, classLoader)), baseURI);
+            registry.registerResourceConfigList(extConfigList);
+        } catch (Exception e) {
+            throw new SmooksConfigurationException("Failed to construct Smooks instance for processing extended configuration resource '" + resourcePath + "'.", e);
+        } finally {
+            setExtensionDigestOff();
         }
 
         return smooks;
@@ -764,4 +827,32 @@ public final class XMLConfigDigester {
             this.configFile = configFile;
         }
     }
+
+    private static final class ExtendedConfigDigesterKey {
+
+        private final String configNamespace;
+        private final ClassLoader classLoader;
+
+        private ExtendedConfigDigesterKey(String configNamespace, ClassLoader classLoader) {
+            this.configNamespace = configNamespace;
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ExtendedConfigDigesterKey)) {
+                return false;
+            }
+            ExtendedConfigDigesterKey that = (ExtendedConfigDigesterKey) o;
+            return configNamespace.equals(that.configNamespace) && classLoader == that.classLoader;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * configNamespace.hashCode() + System.identityHashCode(classLoader);
+        }
+    }
 }
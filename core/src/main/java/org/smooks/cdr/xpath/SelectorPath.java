@@ -69,6 +69,9 @@ public class SelectorPath implements List<SelectorStep> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SelectorPath.class);
 
+    static final int CONTEXT_MATCH = -1;
+    static final int CONTEXT_MISMATCH = -2;
+
     private Properties namespaces = new Properties();
     
     /**
@@ -299,16 +302,14 @@ public class SelectorPath implements List<SelectorStep> {
      * @return True if this resource configuration is targeted at the specified
      * element in context, otherwise false.
      */
-    private boolean isTargetedAtElementContext(Element element, ExecutionContext executionContext) {
+    boolean isTargetedAtElementContext(Element element, ExecutionContext executionContext) {
         Node currentNode = element;
-        ContextIndex index = new ContextIndex(executionContext);
-
-        index.i = selectorSteps.size() - 1;
+        int stepIndex = selectorSteps.size() - 1;
 
         // Unless it's **, start at the parent because the current element
         // has already been tested...
-        if (!selectorSteps.get(index.i).isStarStar()) {
-            index.i = selectorSteps.size() - 2;
+        if (!selectorSteps.get(stepIndex).isStarStar()) {
+            stepIndex = selectorSteps.size() - 2;
             currentNode = element.getParentNode();
         } else {
             // The target selector step is "**".  If the parent one is "#document" and we're at
@@ -323,7 +324,7 @@ public class SelectorPath implements List<SelectorStep> {
         }
 
         // Check the element name(s).
-        while (index.i >= 0) {
+        while (stepIndex >= 0) {
             Element currentElement = (Element) currentNode;
             Node parentNode;
 
@@ -332,7 +333,8 @@ public class SelectorPath implements List<SelectorStep> {
                 parentNode = null;
             }
 
-            if (!isTargetedAtElementContext(currentElement, (Element) parentNode, index)) {
+            stepIndex = matchContextStep(currentElement, (Element) parentNode, stepIndex, executionContext);
+            if (stepIndex == CONTEXT_MISMATCH) {
                 return false;
             }
 
@@ -401,67 +403,72 @@ public class SelectorPath implements List<SelectorStep> {
         return true;
     }
 
-    private boolean isTargetedAtElementContext(Element element, Element parentElement, ContextIndex index) {
-        if (selectorSteps.get(index.i).isRooted() && parentElement != null) {
-            return false;
-        } else if (selectorSteps.get(index.i).isStar()) {
-            index.i--;
-        } else if (selectorSteps.get(index.i).isStarStar()) {
-            if (index.i == 0) {
+    /**
+     * @return The index of the selector step to match against the parent element, which is negative once all steps are
+     * matched, or {@link #CONTEXT_MISMATCH}.
+     */
+    private int matchContextStep(Element element, Element parentElement, int stepIndex, ExecutionContext executionContext) {
+        int i = stepIndex;
+        if (selectorSteps.get(i).isRooted() && parentElement != null) {
+            return CONTEXT_MISMATCH;
+        } else if (selectorSteps.get(i).isStar()) {
+            i--;
+        } else if (selectorSteps.get(i).isStarStar()) {
+            if (i == 0) {
                 // No more tokens to match and ** matches everything
-                return true;
-            } else if (index.i == 1) {
-                SelectorStep parentStep = selectorSteps.get(index.i - 1);
+                return i;
+            } else if (i == 1) {
+                SelectorStep parentStep = selectorSteps.get(i - 1);
 
                 if (parentElement == null && parentStep.isRooted()) {
                     // we're at the root of the document and the only selector left is
                     // the document selector.  Pass..
-                    return true;
+                    return i;
                 } else if (parentElement == null) {
                     // we're at the root of the document, yet there are still
                     // unmatched tokens in the selector.  Fail...
-                    return false;
+                    return CONTEXT_MISMATCH;
                 }
             } else if (parentElement == null) {
                 // we're at the root of the document, yet there are still
                 // unmatched tokens in the selector.  Fail...
-                return false;
+                return CONTEXT_MISMATCH;
             }
 
-            SelectorStep parentStep = selectorSteps.get(index.i - 1);
+            SelectorStep parentStep = selectorSteps.get(i - 1);
 
             if (parentStep.isTargetedAtElement(parentElement)) {
                 if (!parentStep.isStarStar()) {
                     XPathExpressionEvaluator evaluator = parentStep.getPredicatesEvaluator();
                     if (evaluator == null) {
                         LOGGER.debug("Predicate Evaluators for resource [" + this + "] is null.  XPath step predicates will not be evaluated.");
-                    } else if (!evaluator.evaluate(parentElement, index.executionContext)) {
-                        return false;
+                    } else if (!evaluator.evaluate(parentElement, executionContext)) {
+                        return CONTEXT_MISMATCH;
                     }
                 }
-                index.i--;
+                i--;
             }
-        } else if (!selectorSteps.get(index.i).isTargetedAtElement(element)) {
-            return false;
+        } else if (!selectorSteps.get(i).isTargetedAtElement(element)) {
+            return CONTEXT_MISMATCH;
         } else {
-            if (!selectorSteps.get(index.i).isStarStar()) {
-                XPathExpressionEvaluator evaluator = selectorSteps.get(index.i).getPredicatesEvaluator();
+            if (!selectorSteps.get(i).isStarStar()) {
+                XPathExpressionEvaluator evaluator = selectorSteps.get(i).getPredicatesEvaluator();
                 if (evaluator == null) {
                     LOGGER.debug("Predicate Evaluators for resource [" + this + "] is null.  XPath step predicates will not be evaluated.");
-                } else if (!evaluator.evaluate(element, index.executionContext)) {
-                    return false;
+                } else if (!evaluator.evaluate(element, executionContext)) {
+                    return CONTEXT_MISMATCH;
                 }
             }
-            index.i--;
+            i--;
         }
 
         if (parentElement == null) {
-            if (index.i >= 0 && !selectorSteps.get(index.i).isStarStar()) {
-                return selectorSteps.get(index.i).isRooted();
+            if (i >= 0 && !selectorSteps.get(i).isStarStar()) {
+                return selectorSteps.get(i).isRooted() ? i : CONTEXT_MISMATCH;
             }
         }
 
-        return true;
+        return i;
     }
 
     private boolean isTargetedAtElementContext(SAXElement element, SAXElement parentElement, ContextIndex index) {
@@ -538,6 +545,19 @@ public class SelectorPath implements List<SelectorStep> {
      * @return True if this configuration is targeted at the supplied element, otherwise false.
      */
     public boolean isTargetedAtElement(Element element, ExecutionContext executionContext) {
+        return isTargetedAtElement(element, executionContext, null);
+    }
+
+    /**
+     * Is this configuration targeted at the supplied DOM element, matching the selector context with the supplied
+     * {@link SelectorPathMatcher} when not null.
+     *
+     * @param element             The element to be checked.
+     * @param executionContext    The current execution context.
+     * @param selectorPathMatcher The matcher tracking the element's ancestors, or null to walk the ancestors.
+     * @return True if this configuration is targeted at the supplied element, otherwise false.
+     */
+    boolean isTargetedAtElement(Element element, ExecutionContext executionContext, SelectorPathMatcher selectorPathMatcher) {
         if (!assertConditionTrue()) {
             return false;
         }
@@ -567,7 +587,7 @@ public class SelectorPath implements List<SelectorStep> {
             return false;
         }
 
-        if (selectorSteps.size() > 1 && !isTargetedAtElementContext(element, executionContext)) {
+        if (selectorSteps.size() > 1 && !(selectorPathMatcher != null ? selectorPathMatcher.isTargetedAtElementContext(this, element, executionContext) : isTargetedAtElementContext(element, executionContext))) {
             // Note: If the selector is not contextual, there's no need to perform the
             // isTargetedAtElementContext check because we already know the unit is targeted at the
             // element by name - because we looked it up by name in the 1st place (at least that's the assumption).
@@ -580,6 +600,60 @@ public class SelectorPath implements List<SelectorStep> {
         return true;
     }
 
+    /**
+     * Gets the element from which {@link #isTargetedAtElementContext(Element, ExecutionContext)} starts walking up 
+     * the supplied element's ancestors.
+     *
+     * @param element The element to be checked.
+     * @return The supplied element or its parent element, or null if the element cannot be in context.
+     */
+    Element getContextStartElement(Element element) {
+        if (!selectorSteps.get(selectorSteps.size() - 1).isStarStar()) {
+            final Node parentNode = element.getParentNode();
+            return parentNode != null && parentNode.getNodeType() == Node.ELEMENT_NODE ? (Element) parentNode : null;
+        } else if (selectorSteps.size() == 2 && selectorSteps.get(0).isRooted() && element.getParentNode() == null) {
+            return null;
+        } else {
+            return element;
+        }
+    }
+
+    /**
+     * Gets the index of the selector step from which {@link #isTargetedAtElementContext(Element, ExecutionContext)} 
+     * starts walking up the element's ancestors.
+     *
+     * @return The index of the first selector step to match against the {@link #getContextStartElement(Element)}.
+     */
+    int getContextStartStep() {
+        return selectorSteps.get(selectorSteps.size() - 1).isStarStar() ? selectorSteps.size() - 1 : selectorSteps.size() - 2;
+    }
+
+    /**
+     * Matches a single selector step against an element while walking up the ancestors of the targeted element.
+     *
+     * @param element          An ancestor of the targeted element, or the targeted element itself when targeted by 
+     *                         <code>**</code>.
+     * @param stepIndex        The index of the selector step to match.
+     * @param executionContext The current execution context.
+     * @return The index of the selector step to match against the parent of the element, or {@link #CONTEXT_MATCH} or 
+     * {@link #CONTEXT_MISMATCH} when the walk is over.
+     */
+    int matchContextStep(Element element, int stepIndex, ExecutionContext executionContext) {
+        Node parentNode = element.getParentNode();
+        if (parentNode == null || parentNode.getNodeType() != Node.ELEMENT_NODE) {
+            parentNode = null;
+        }
+
+        final int nextStepIndex = matchContextStep(element, (Element) parentNode, stepIndex, executionContext);
+        if (nextStepIndex == CONTEXT_MISMATCH) {
+            return CONTEXT_MISMATCH;
+        } else if (parentNode == null || nextStepIndex < 0) {
+            return CONTEXT_MATCH;
+        } else {
+            return nextStepIndex;
+        }
+    }
+
     /**
      * Is this configuration targeted at the supplied SAX element.
      * <p/>
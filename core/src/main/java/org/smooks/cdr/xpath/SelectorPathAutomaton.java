@@ -0,0 +1,87 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cdr.xpath;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Compiles the contextual {@link SelectorPath}s of a content delivery configuration into a single table of states, 
+ * one state per selector step. A state stands for "the rest of the selector context, from this step back to the first 
+ * step, matches from this element upwards". The states are resolved lazily, and at most once per element, by the 
+ * {@link SelectorPathMatcher}s created from this automaton.
+ * <p/>
+ * Selector paths which were not {@link #compile(SelectorPath) compiled} are matched by walking the ancestors of the 
+ * element as usual.
+ */
+public class SelectorPathAutomaton {
+    
+    private final Map<SelectorPath, Integer> stateOffsets = new IdentityHashMap<>();
+    private int stateCount;
+
+    /**
+     * Adds the states of a selector path to the automaton. Selector paths which are not contextual, or already 
+     * compiled, are ignored.
+     * 
+     * @param selectorPath the selector path to compile
+     */
+    public void compile(final SelectorPath selectorPath) {
+        if (selectorPath.size() > 1 && !stateOffsets.containsKey(selectorPath)) {
+            stateOffsets.put(selectorPath, stateCount);
+            stateCount += selectorPath.size();
+        }
+    }
+
+    public SelectorPathMatcher newMatcher() {
+        return new SelectorPathMatcher(this);
+    }
+
+    public int getStateCount() {
+        return stateCount;
+    }
+
+    int getStateOffset(final SelectorPath selectorPath) {
+        final Integer stateOffset = stateOffsets.get(selectorPath);
+        return stateOffset != null ? stateOffset : -1;
+    }
+}
@@ -0,0 +1,231 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cdr.xpath;
+
+import org.smooks.container.ExecutionContext;
+import org.w3c.dom.Element;
+
+import java.util.Arrays;
+
+/**
+ * Matches the {@link SelectorPath}s of a {@link SelectorPathAutomaton} against the elements of a single execution. The
+ * matcher is advanced on each start and end element so that it knows the ancestors of the current element. Each open
+ * element is given a table with one entry per automaton state, holding the outcome of matching the state's selector
+ * step against the element once it is known. The selector context of an element is therefore usually resolved from
+ * its parent's table instead of walking all the ancestors again, and each state is resolved at most once per element
+ * however many selector paths are compiled.
+ * <p/>
+ * Tables are allocated lazily, one per depth, and reused by the siblings opened at that depth. The states of elements
+ * nested deeper than the tables can hold within {@link #MAX_TABLE_ENTRIES} entries overall are resolved by walking the
+ * ancestors. Selector steps are assumed to keep matching an ancestor for as long as it is open, i.e., visitors should 
+ * not change the attributes of an element's ancestors which are tested by selector predicates.
+ * <p/>
+ * Not thread-safe.
+ */
+public class SelectorPathMatcher {
+
+    static final int MAX_TABLE_ENTRIES = 1 << 22;
+
+    private static final byte UNRESOLVED = 0;
+    private static final byte TARGETED = 1;
+    private static final byte NOT_TARGETED = 2;
+
+    private final SelectorPathAutomaton selectorPathAutomaton;
+    private final int maxTableDepth;
+    private Element[] elements = new Element[16];
+    private byte[][] stateTables = new byte[16][];
+    private int[][] resolvedStates = new int[16][];
+    private int[] resolvedStateCounts = new int[16];
+    private int[] pendingDepths = new int[16];
+    private int[] pendingStates = new int[16];
+    private int depth = -1;
+
+    SelectorPathMatcher(final SelectorPathAutomaton selectorPathAutomaton) {
+        this.selectorPathAutomaton = selectorPathAutomaton;
+        this.maxTableDepth = MAX_TABLE_ENTRIES / Math.max(selectorPathAutomaton.getStateCount(), 1);
+    }
+
+    /**
+     * Pushes an element which has started. The element must be a child of the previously pushed element that has not 
+     * ended yet, if any.
+     *
+     * @param element the started element
+     */
+    public void startElement(final Element element) {
+        depth++;
+        if (depth == elements.length) {
+            elements = Arrays.copyOf(elements, depth * 2);
+            stateTables = Arrays.copyOf(stateTables, depth * 2);
+            resolvedStates = Arrays.copyOf(resolvedStates, depth * 2);
+            resolvedStateCounts = Arrays.copyOf(resolvedStateCounts, depth * 2);
+        }
+        elements[depth] = element;
+
+        // Clear the states resolved against the previous element opened at this depth...
+        final byte[] stateTable = stateTables[depth];
+        if (stateTable != null) {
+            final int[] states = resolvedStates[depth];
+            for (int i = 0; i < resolvedStateCounts[depth]; i++) {
+                stateTable[states[i]] = UNRESOLVED;
+            }
+            resolvedStateCounts[depth] = 0;
+        }
+    }
+
+    /**
+     * Pops the last pushed element.
+     */
+    public void endElement() {
+        elements[depth] = null;
+        depth--;
+    }
+
+    /**
+     * Same as {@link SelectorPath#isTargetedAtElement(Element, ExecutionContext)} but with the selector context of the
+     * element resolved by this matcher.
+     *
+     * @param selectorPath     the selector path to match
+     * @param element          the element to be checked, typically the last pushed element
+     * @param executionContext the current execution context
+     * @return true if the selector path targets the element, otherwise false
+     */
+    public boolean isTargetedAtElement(final SelectorPath selectorPath, final Element element, final ExecutionContext executionContext) {
+        return selectorPath.isTargetedAtElement(element, executionContext, this);
+    }
+
+    boolean isTargetedAtElementContext(final SelectorPath selectorPath, final Element element, final ExecutionContext executionContext) {
+        final int stateOffset = selectorPathAutomaton.getStateOffset(selectorPath);
+        if (stateOffset < 0 || depth < 0 || elements[depth] != element) {
+            return selectorPath.isTargetedAtElementContext(element, executionContext);
+        }
+
+        Element currentElement = selectorPath.getContextStartElement(element);
+        if (currentElement == null) {
+            return false;
+        }
+
+        int currentDepth = currentElement == element ? depth : depth - 1;
+        int stepIndex = selectorPath.getContextStartStep();
+        int pendingCount = 0;
+        boolean isTargeted;
+        while (true) {
+            if (currentDepth < 0 || currentDepth >= maxTableDepth || elements[currentDepth] != currentElement) {
+                // No table to resolve the state against...
+                isTargeted = matchContextSteps(selectorPath, currentElement, stepIndex, executionContext);
+                break;
+            }
+
+            final int state = stateOffset + stepIndex;
+            final byte[] stateTable = getStateTable(currentDepth);
+            if (stateTable[state] != UNRESOLVED) {
+                isTargeted = stateTable[state] == TARGETED;
+                break;
+            }
+            if (pendingCount == pendingStates.length) {
+                pendingDepths = Arrays.copyOf(pendingDepths, pendingCount * 2);
+                pendingStates = Arrays.copyOf(pendingStates, pendingCount * 2);
+            }
+            pendingDepths[pendingCount] = currentDepth;
+            pendingStates[pendingCount] = state;
+            pendingCount++;
+
+            final int nextStepIndex = selectorPath.matchContextStep(currentElement, stepIndex, executionContext);
+            if (nextStepIndex == SelectorPath.CONTEXT_MATCH) {
+                isTargeted = true;
+                break;
+            } else if (nextStepIndex == SelectorPath.CONTEXT_MISMATCH) {
+                isTargeted = false;
+                break;
+            }
+            stepIndex = nextStepIndex;
+            currentElement = (Element) currentElement.getParentNode();
+            currentDepth--;
+        }
+
+        // Every state visited along the way leads to the same outcome...
+        for (int i = 0; i < pendingCount; i++) {
+            resolveState(pendingDepths[i], pendingStates[i], isTargeted);
+        }
+
+        return isTargeted;
+    }
+
+    private byte[] getStateTable(final int tableDepth) {
+        byte[] stateTable = stateTables[tableDepth];
+        if (stateTable == null) {
+            stateTable = new byte[selectorPathAutomaton.getStateCount()];
+            stateTables[tableDepth] = stateTable;
+            resolvedStates[tableDepth] = new int[16];
+        } else if (stateTable.length < selectorPathAutomaton.getStateCount()) {
+            // Selector paths were compiled after this matcher was created...
+            stateTable = Arrays.copyOf(stateTable, selectorPathAutomaton.getStateCount());
+            stateTables[tableDepth] = stateTable;
+        }
+
+        return stateTable;
+    }
+
+    private void resolveState(final int tableDepth, final int state, final boolean isTargeted) {
+        final int resolvedStateCount = resolvedStateCounts[tableDepth];
+        if (resolvedStateCount == resolvedStates[tableDepth].length) {
+            resolvedStates[tableDepth] = Arrays.copyOf(resolvedStates[tableDepth], resolvedStateCount * 2);
+        }
+        resolvedStates[tableDepth][resolvedStateCount] = state;
+        resolvedStateCounts[tableDepth] = resolvedStateCount + 1;
+        stateTables[tableDepth][state] = isTargeted ? TARGETED : NOT_TARGETED;
+    }
+
+    private boolean matchContextSteps(final SelectorPath selectorPath, final Element element, final int stepIndex, final ExecutionContext executionContext) {
+        Element currentElement = element;
+        int nextStepIndex = stepIndex;
+        while (true) {
+            nextStepIndex = selectorPath.matchContextStep(currentElement, nextStepIndex, executionContext);
+            if (nextStepIndex == SelectorPath.CONTEXT_MATCH) {
+                return true;
+            } else if (nextStepIndex == SelectorPath.CONTEXT_MISMATCH) {
+                return false;
+            }
+            currentElement = (Element) currentElement.getParentNode();
+        }
+    }
+}
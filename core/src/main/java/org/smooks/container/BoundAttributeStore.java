@@ -85,4 +85,33 @@ public interface BoundAttributeStore {
      * @param key The key against which the object is bound; cannot be null.
 	 */
     void removeAttribute(Object key);
+
+	/**
+	 * Binds an object to this {@link org.smooks.container.BoundAttributeStore} implementation under a {@link TypedKey}.
+	 * If an object is already bound under the key, the object is replaced.
+	 * @param key The key against which the object is bound; cannot be null.
+	 * @param value The object to be bound.
+	 */
+    default <T> void setAttribute(TypedKey<T> key, T value) {
+        setAttribute((Object) key, value);
+    }
+
+	/**
+	 * Returns the object bound under the {@link TypedKey} in this {@link org.smooks.container.BoundAttributeStore}
+	 * implementation, or null if no object is bound under the key.
+	 * @param key The key against which the object is bound; cannot be null.
+	 * @return The object bound under the key, or null if no object is bound under the key.
+	 */
+    default <T> T getAttribute(TypedKey<T> key) {
+        return getAttribute((Object) key);
+    }
+
+	/**
+	 * Removes the object bound under the {@link TypedKey} from this {@link org.smooks.container.BoundAttributeStore}
+	 * implementation.
+	 * @param key The key against which the object is bound; cannot be null.
+	 */
+    default void removeAttribute(TypedKey<?> key) {
+        removeAttribute((Object) key);
+    }
 }
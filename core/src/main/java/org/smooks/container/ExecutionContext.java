@@ -211,4 +211,16 @@ public interface ExecutionContext extends BoundAttributeStore {
      * @return  the {@link MementoCaretaker} for this <code>ExecutionContext</code>
      */
     MementoCaretaker getMementoCaretaker();
+
+    /**
+     * Resets this <code>ExecutionContext</code> so that it can be reused for another filter execution. Attributes, the
+     * beans, mementos, the termination error, the document source and the writer are discarded whereas the target
+     * profiles, the delivery config, the event listener and the bean context observers are kept. The
+     * {@link org.smooks.container.standalone.ExecutionContextPool} discards contexts that cannot be reset.
+     *
+     * @throws UnsupportedOperationException if this <code>ExecutionContext</code> cannot be reused
+     */
+    default void reset() {
+        throw new UnsupportedOperationException(getClass().getName() + " cannot be reset");
+    }
 }
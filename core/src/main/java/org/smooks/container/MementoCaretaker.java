@@ -96,6 +96,10 @@ public interface MementoCaretaker {
      * // ...
      * mementoCaretaker.save(visitorMemento);
      * </pre>
+     * Implementations may instead invoke the {@link Consumer} with the saved <code>VisitorMemento</code> when one exists, 
+     * leaving the <code>VisitorMemento</code> parameter untouched. The {@link Consumer} should therefore only act on 
+     * the <code>VisitorMemento</code> it is given. Repeatedly accumulating data this way then costs no more than 
+     * accumulating it into a single <code>VisitorMemento</code>.
      * 
      * @param visitorMemento  the <code>VisitorMemento</code> to be restored
      * @param consumer        the consumer acting on the restored <code>VisitorMemento</code>
@@ -165,6 +165,21 @@ public class MockExecutionContext implements ExecutionContext {
 		executionContext.removeAttribute(key);
 	}
 
+	@Override
+	public <T> void setAttribute(TypedKey<T> key, T value) {
+		executionContext.setAttribute(key, value);
+	}
+
+	@Override
+	public <T> T getAttribute(TypedKey<T> key) {
+		return executionContext.getAttribute(key);
+	}
+
+	@Override
+	public void removeAttribute(TypedKey<?> key) {
+		executionContext.removeAttribute(key);
+	}
+
 	@SuppressWarnings("unused")
     public MockContentDeliveryConfig getMockDeliveryConfig() {
         return (MockContentDeliveryConfig) this.deliveryConfig;
@@ -200,6 +215,11 @@ public class MockExecutionContext implements ExecutionContext {
 		return executionContext.getMementoCaretaker();
 	}
 
+	@Override
+	public void reset() {
+		executionContext.reset();
+	}
+
 	public void setApplicationContext(ApplicationContext applicationContext) {
 		this.applicationContext = applicationContext;
 	}
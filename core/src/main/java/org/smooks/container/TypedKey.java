@@ -0,0 +1,91 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.container;
+
+import org.smooks.assertion.AssertArgument;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Typed key of an attribute bound to a {@link BoundAttributeStore}.
+ * <p/>
+ * Each key is assigned a unique index on construction. {@link ExecutionContext} implementations may use the index to
+ * store the attribute in an array slot so that getting and setting it neither hashes, locks nor builds a key. Keys 
+ * are compared by identity: allocate them once (e.g., in a <code>static final</code> field) rather than on every 
+ * lookup or per instance, since indexes are never reclaimed. Attributes bound under a <code>TypedKey</code> are not necessarily part of 
+ * {@link BoundAttributeStore#getAttributes()}.
+ *
+ * @param <T> the type of the attribute value
+ */
+public final class TypedKey<T> {
+
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
+    private final String name;
+    private final int index;
+
+    /**
+     * @param name the name of the key for diagnostic purposes; need not be unique
+     */
+    public TypedKey(final String name) {
+        AssertArgument.isNotNull(name, "name");
+        this.name = name;
+        this.index = NEXT_INDEX.getAndIncrement();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the unique index of this key
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
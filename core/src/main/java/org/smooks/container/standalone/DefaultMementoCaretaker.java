@@ -44,17 +44,35 @@ package org.smooks.container.standalone;
 
 import org.smooks.container.BoundAttributeStore;
 import org.smooks.container.MementoCaretaker;
+import org.smooks.delivery.memento.AbstractVisitorMemento;
+import org.smooks.delivery.memento.NodeVisitable;
 import org.smooks.delivery.memento.Visitable;
 import org.smooks.delivery.memento.VisitorMemento;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 
+/**
+ * Stores {@link VisitorMemento}s in a table keyed by the sequence number of the visited node and the index of the 
+ * memento's {@link AbstractVisitorMemento#getOwner() owner}. Other <code>VisitorMemento</code>s (e.g., bound to a node
+ * which was not identified by {@link org.smooks.delivery.sax.ng.ElementPool}) are stored as attributes of the 
+ * {@link BoundAttributeStore} under their {@link VisitorMemento#getId() IDs}.
+ */
 public class DefaultMementoCaretaker implements MementoCaretaker {
 
+    private static final int OWNER_INDEX_BITS = 16;
+    private static final int MAX_OWNERS = 1 << OWNER_INDEX_BITS;
+    // Owners from this index onwards share the last bit of a node's owner mask
+    private static final int OVERFLOW_OWNER_INDEX = Long.SIZE - 1;
+
+    private final VisitorMementoTable visitorMementoTable = new VisitorMementoTable();
+    private final OwnerMaskTable ownerMaskTable = new OwnerMaskTable();
+    private final Map<Object, Integer> ownerIndexes = new IdentityHashMap<>();
     private final Map<Visitable, Set<String>> mementoIds = new HashMap<>();
     private final BoundAttributeStore boundAttributeStore;
 
@@ -64,39 +82,143 @@ public class DefaultMementoCaretaker implements MementoCaretaker {
     
     @Override
     public void save(final VisitorMemento visitorMemento) {
-        mementoIds.computeIfAbsent(visitorMemento.getVisitable(), o -> new HashSet<>()).add(visitorMemento.getId());
-        boundAttributeStore.setAttribute(visitorMemento.getId(), visitorMemento.copy());
+        final VisitorMemento savedVisitorMemento = visitorMemento.isImmutable() ? visitorMemento : visitorMemento.copy();
+        final long key = getKey(visitorMemento);
+        if (key >= 0) {
+            put(key, savedVisitorMemento);
+        } else {
+            mementoIds.computeIfAbsent(visitorMemento.getVisitable(), o -> new HashSet<>()).add(visitorMemento.getId());
+            boundAttributeStore.setAttribute(visitorMemento.getId(), savedVisitorMemento);
+        }
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T extends VisitorMemento> void stash(final T visitorMemento, final Consumer<T> visitorMementoConsumer) {
-        restore(visitorMemento);
-        visitorMementoConsumer.accept(visitorMemento);
-        save(visitorMemento);
+        final long key = getKey(visitorMemento);
+        final VisitorMemento savedVisitorMemento = key >= 0 ? visitorMementoTable.get(key) : null;
+        if (savedVisitorMemento != null && savedVisitorMemento.getClass() == visitorMemento.getClass() && !savedVisitorMemento.isImmutable()) {
+            // The saved memento is private to this caretaker so it can be mutated in place instead of being restored, 
+            // mutated and copied all over again...
+            visitorMementoConsumer.accept((T) savedVisitorMemento);
+        } else {
+            restore(visitorMemento);
+            visitorMementoConsumer.accept(visitorMemento);
+            save(visitorMemento);
+        }
     }
     
     @Override
     public void restore(final VisitorMemento visitorMemento) {
-        final String visitorMementoId = visitorMemento.getId();
-        final VisitorMemento restoredVisitorMemento = boundAttributeStore.getAttribute(visitorMementoId);
-        if (restoredVisitorMemento != null) {
-            visitorMemento.restore(restoredVisitorMemento);
+        final long key = getKey(visitorMemento);
+        if (key >= 0) {
+            final VisitorMemento restoredVisitorMemento = visitorMementoTable.get(key);
+            if (restoredVisitorMemento != null) {
+                visitorMemento.restore(restoredVisitorMemento);
+            } else {
+                put(key, visitorMemento.isImmutable() ? visitorMemento : visitorMemento.copy());
+            }
         } else {
-            boundAttributeStore.setAttribute(visitorMementoId, visitorMemento);
+            final String visitorMementoId = visitorMemento.getId();
+            final VisitorMemento restoredVisitorMemento = boundAttributeStore.getAttribute(visitorMementoId);
+            if (restoredVisitorMemento != null) {
+                visitorMemento.restore(restoredVisitorMemento);
+            } else {
+                boundAttributeStore.setAttribute(visitorMementoId, visitorMemento);
+            }
         }
     }
     
     @Override
     public void remove(final VisitorMemento visitorMemento) {
-        boundAttributeStore.removeAttribute(visitorMemento.getId());
-        mementoIds.getOrDefault(visitorMemento.getVisitable(), new HashSet<>()).remove(visitorMemento.getId());
+        final long key = getKey(visitorMemento);
+        if (key >= 0) {
+            final int ownerIndex = (int) (key & (MAX_OWNERS - 1));
+            if (visitorMementoTable.remove(key) != null && ownerIndex < OVERFLOW_OWNER_INDEX) {
+                ownerMaskTable.unset(key >>> OWNER_INDEX_BITS, 1L << ownerIndex);
+            }
+        } else {
+            boundAttributeStore.removeAttribute(visitorMemento.getId());
+            mementoIds.getOrDefault(visitorMemento.getVisitable(), Collections.emptySet()).remove(visitorMemento.getId());
+        }
     }
 
     @Override
     public void forget(final Visitable visitable) {
-        for (final String id : mementoIds.getOrDefault(visitable, new HashSet<>())) {
-            boundAttributeStore.removeAttribute(id);
+        final long sequence = visitable instanceof NodeVisitable ? ((NodeVisitable) visitable).getSequence() : -1;
+        if (sequence >= 0 && ownerMaskTable.size() > 0) {
+            final long ownerMask = ownerMaskTable.remove(sequence);
+            if (ownerMask != 0) {
+                final long sequenceKey = sequence << OWNER_INDEX_BITS;
+                for (long bits = ownerMask & ~(1L << OVERFLOW_OWNER_INDEX); bits != 0; bits &= bits - 1) {
+                    visitorMementoTable.remove(sequenceKey | Long.numberOfTrailingZeros(bits));
+                }
+                if (ownerMask < 0) {
+                    final int ownerCount = ownerIndexes.size();
+                    for (int ownerIndex = OVERFLOW_OWNER_INDEX; ownerIndex < ownerCount; ownerIndex++) {
+                        visitorMementoTable.remove(sequenceKey | ownerIndex);
+                    }
+                }
+            }
+        }
+
+        if (!mementoIds.isEmpty()) {
+            for (final String id : mementoIds.getOrDefault(visitable, Collections.emptySet())) {
+                boundAttributeStore.removeAttribute(id);
+            }
+            mementoIds.remove(visitable);
+        }
+    }
+
+    /**
+     * Forget all <code>VisitorMemento</code>s held in the table. <code>VisitorMemento</code>s stored as attributes
+     * are forgotten together with the attributes of the {@link BoundAttributeStore}.
+     */
+    public void clear() {
+        visitorMementoTable.clear();
+        ownerMaskTable.clear();
+        ownerIndexes.clear();
+        mementoIds.clear();
+    }
+
+    /**
+     * Puts the <code>VisitorMemento</code> in the table and marks its owner in the owner mask of the visited node so 
+     * that {@link #forget(Visitable)} only removes the entries the node actually has.
+     */
+    private void put(final long key, final VisitorMemento visitorMemento) {
+        visitorMementoTable.put(key, visitorMemento);
+        final int ownerIndex = (int) (key & (MAX_OWNERS - 1));
+        ownerMaskTable.set(key >>> OWNER_INDEX_BITS, 1L << Math.min(ownerIndex, OVERFLOW_OWNER_INDEX));
+    }
+
+    /**
+     * @return the table key of the <code>VisitorMemento</code>, or -1 if the <code>VisitorMemento</code> is stored in 
+     * the {@link BoundAttributeStore}
+     */
+    private long getKey(final VisitorMemento visitorMemento) {
+        if (visitorMemento instanceof AbstractVisitorMemento && visitorMemento.getVisitable() instanceof NodeVisitable) {
+            final long sequence = ((NodeVisitable) visitorMemento.getVisitable()).getSequence();
+            if (sequence >= 0 && sequence < (Long.MAX_VALUE >> OWNER_INDEX_BITS)) {
+                final int ownerIndex = getOwnerIndex(((AbstractVisitorMemento) visitorMemento).getOwner());
+                if (ownerIndex >= 0) {
+                    return (sequence << OWNER_INDEX_BITS) | ownerIndex;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    private int getOwnerIndex(final Object owner) {
+        final Integer ownerIndex = ownerIndexes.get(owner);
+        if (ownerIndex != null) {
+            return ownerIndex;
+        } else if (ownerIndexes.size() < MAX_OWNERS) {
+            final int nextOwnerIndex = ownerIndexes.size();
+            ownerIndexes.put(owner, nextOwnerIndex);
+            return nextOwnerIndex;
+        } else {
+            return -1;
         }
-        mementoIds.remove(visitable);
     }
 }
@@ -0,0 +1,128 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.container.standalone;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smooks.container.ExecutionContext;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Bounded pool of idle {@link ExecutionContext}s. Contexts are {@link ExecutionContext#reset() reset} when released
+ * so that a borrowed context is in the same state as a newly created one.
+ */
+public class ExecutionContextPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutionContextPool.class);
+
+    private final Deque<ExecutionContext> idleExecutionContexts = new ArrayDeque<>();
+    private final int maxSize;
+
+    /**
+     * @param maxSize the maximum number of idle <code>ExecutionContext</code>s held by the pool. A size of zero 
+     *                disables pooling.
+     */
+    public ExecutionContextPool(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Invalid 'maxSize' arg in method call. Must be zero or greater.");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return an idle <code>ExecutionContext</code>, or <code>null</code> if the pool is empty
+     */
+    public ExecutionContext borrow() {
+        synchronized (idleExecutionContexts) {
+            return idleExecutionContexts.pollFirst();
+        }
+    }
+
+    /**
+     * Resets the <code>ExecutionContext</code> and returns it to the pool. The <code>ExecutionContext</code> is 
+     * discarded if the pool is full or if it cannot be reset.
+     * 
+     * @param executionContext the <code>ExecutionContext</code> to release
+     * @return <code>true</code> if the <code>ExecutionContext</code> was pooled, otherwise <code>false</code>
+     */
+    public boolean release(final ExecutionContext executionContext) {
+        if (maxSize == 0) {
+            return false;
+        }
+        try {
+            executionContext.reset();
+        } catch (RuntimeException e) {
+            LOGGER.debug("Discarding ExecutionContext '" + executionContext.getClass().getName() + "' because it cannot be reset.", e);
+            return false;
+        }
+        synchronized (idleExecutionContexts) {
+            if (idleExecutionContexts.size() < maxSize) {
+                idleExecutionContexts.offerFirst(executionContext);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Discards all idle <code>ExecutionContext</code>s.
+     */
+    public void clear() {
+        synchronized (idleExecutionContexts) {
+            idleExecutionContexts.clear();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getIdleCount() {
+        synchronized (idleExecutionContexts) {
+            return idleExecutionContexts.size();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.container.standalone;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash table of non-zero <code>long</code> bitmasks keyed by non-negative <code>long</code>s. A key 
+ * whose mask drops to zero is removed. Lookups, updates of existing keys and removals do not allocate.
+ */
+class OwnerMaskTable {
+
+    private static final long FREE = -1L;
+
+    private long[] keys;
+    private long[] masks;
+    private int mask;
+    private int size;
+
+    OwnerMaskTable() {
+        allocate(64);
+    }
+
+    long get(final long key) {
+        for (int i = indexOf(key); ; i = (i + 1) & mask) {
+            final long slotKey = keys[i];
+            if (slotKey == key) {
+                return masks[i];
+            } else if (slotKey == FREE) {
+                return 0;
+            }
+        }
+    }
+
+    void set(final long key, final long bits) {
+        int i = indexOf(key);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) {
+                masks[i] |= bits;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        masks[i] = bits;
+        if (++size > (mask >> 1)) {
+            rehash();
+        }
+    }
+
+    void unset(final long key, final long bits) {
+        for (int i = indexOf(key); keys[i] != FREE; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                masks[i] &= ~bits;
+                if (masks[i] == 0) {
+                    removeAt(i);
+                }
+                return;
+            }
+        }
+    }
+
+    long remove(final long key) {
+        for (int i = indexOf(key); keys[i] != FREE; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                final long bits = masks[i];
+                removeAt(i);
+                return bits;
+            }
+        }
+        return 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, FREE);
+            size = 0;
+        }
+    }
+
+    private void removeAt(final int i) {
+        size--;
+
+        // Shift back the entries following the removed one so that no probe sequence is broken...
+        int free = i;
+        for (int j = (i + 1) & mask; keys[j] != FREE; j = (j + 1) & mask) {
+            final int home = indexOf(keys[j]);
+            if (((j - home) & mask) >= ((j - free) & mask)) {
+                keys[free] = keys[j];
+                masks[free] = masks[j];
+                free = j;
+            }
+        }
+        keys[free] = FREE;
+        masks[free] = 0;
+    }
+
+    private int indexOf(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+        masks = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    private void rehash() {
+        final long[] oldKeys = keys;
+        final long[] oldMasks = masks;
+        allocate(oldKeys.length << 1);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                set(oldKeys[i], oldMasks[i]);
+            }
+        }
+    }
+}
@@ -46,11 +46,13 @@ import org.smooks.cdr.ParameterAccessor;
 import org.smooks.container.ApplicationContext;
 import org.smooks.container.ExecutionContext;
 import org.smooks.container.MementoCaretaker;
+import org.smooks.container.TypedKey;
 import org.smooks.delivery.ContentDeliveryConfig;
 import org.smooks.delivery.ContentHandlerBinding;
 import org.smooks.delivery.Visitor;
 import org.smooks.event.ExecutionEventListener;
 import org.smooks.javabean.context.BeanContext;
+import org.smooks.javabean.context.StandaloneBeanContext;
 import org.smooks.javabean.context.StandaloneBeanContextFactory;
 import org.smooks.profile.ProfileSet;
 import org.smooks.profile.UnknownProfileMemberException;
@@ -59,6 +61,7 @@ import java.io.Writer;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.charset.UnsupportedCharsetException;
+import java.util.Arrays;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
@@ -71,15 +74,18 @@ public class StandaloneExecutionContext implements ExecutionContext {
 
     private final ProfileSet targetProfileSet;
     private final Map<Object, Object> attributes = new Hashtable<>();
+    private Object[] typedAttributes = new Object[16];
     private final ContentDeliveryConfig deliveryConfig;
-	private final MementoCaretaker mementoCaretaker;
+	private final DefaultMementoCaretaker mementoCaretaker;
 	private final ApplicationContext applicationContext;
+	private final String defaultContentEncoding;
 
 	private URI docSource;
 	private String contentEncoding;
     private ExecutionEventListener executionListener;
     private Throwable terminationError;
     private BeanContext beanContext;
+    private boolean beanContextReset;
 	private Writer writer;
 
 	/**
@@ -119,6 +125,7 @@ public class StandaloneExecutionContext implements ExecutionContext {
         }
 		this.applicationContext = applicationContext;
 		setContentEncoding(contentEncoding);
+		defaultContentEncoding = this.contentEncoding;
         targetProfileSet = applicationContext.getProfileStore().getProfileSet(targetProfile);
 		deliveryConfig = applicationContext.getContentDeliveryConfigBuilderFactory().create(targetProfileSet).build(extendedContentHandlerBindings);
 		mementoCaretaker = new DefaultMementoCaretaker(this);
@@ -213,8 +220,13 @@ public class StandaloneExecutionContext implements ExecutionContext {
       * @see org.smooks.container.BoundAttributeStore#setAttribute(java.lang.Object, java.lang.Object)
       */
 	@Override
+	@SuppressWarnings("unchecked")
 	public void setAttribute(Object key, Object value) {
-		attributes.put(key, value);
+		if (key instanceof TypedKey) {
+			setAttribute((TypedKey<Object>) key, value);
+		} else {
+			attributes.put(key, value);
+		}
 	}
 
 	/* (non-Javadoc)
@@ -222,6 +234,9 @@ public class StandaloneExecutionContext implements ExecutionContext {
 	 */
 	@Override
 	public Object getAttribute(Object key) {
+		if (key instanceof TypedKey) {
+			return getAttribute((TypedKey<?>) key);
+		}
 		return attributes.get(key);
 	}
 
@@ -230,7 +245,35 @@ public class StandaloneExecutionContext implements ExecutionContext {
 	 */
 	@Override
 	public void removeAttribute(Object key) {
-		attributes.remove(key);
+		if (key instanceof TypedKey) {
+			removeAttribute((TypedKey<?>) key);
+		} else {
+			attributes.remove(key);
+		}
+	}
+
+	@Override
+	public <T> void setAttribute(TypedKey<T> key, T value) {
+		final int index = key.getIndex();
+		if (index >= typedAttributes.length) {
+			typedAttributes = Arrays.copyOf(typedAttributes, Math.max(index + 1, typedAttributes.length << 1));
+		}
+		typedAttributes[index] = value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T getAttribute(TypedKey<T> key) {
+		final int index = key.getIndex();
+		return index < typedAttributes.length ? (T) typedAttributes[index] : null;
+	}
+
+	@Override
+	public void removeAttribute(TypedKey<?> key) {
+		final int index = key.getIndex();
+		if (index < typedAttributes.length) {
+			typedAttributes[index] = null;
+		}
 	}
 
 	@Override
@@ -247,6 +290,9 @@ public class StandaloneExecutionContext implements ExecutionContext {
 	public BeanContext getBeanContext() {
 		if(beanContext == null) {
 			beanContext = StandaloneBeanContextFactory.create(this);
+		} else if(beanContextReset) {
+			beanContextReset = false;
+			StandaloneBeanContextFactory.bind((StandaloneBeanContext) beanContext, this);
 		}
 		return beanContext;
 	}
@@ -254,6 +300,7 @@ public class StandaloneExecutionContext implements ExecutionContext {
 	@Override
 	public void setBeanContext(BeanContext beanContext) {
         this.beanContext = beanContext;
+        beanContextReset = false;
     }
 
 	@Override
@@ -270,4 +317,26 @@ public class StandaloneExecutionContext implements ExecutionContext {
 	public MementoCaretaker getMementoCaretaker() {
 		return mementoCaretaker;
 	}
+
+	/**
+	 * A {@link StandaloneBeanContext} is cleared but keeps its registered observers. It is bound to the
+	 * {@link org.smooks.payload.JavaSource} and {@link org.smooks.payload.JavaResult} of the next execution when it is
+	 * next looked up. Any other bean context is discarded.
+	 */
+	@Override
+	public void reset() {
+		attributes.clear();
+		Arrays.fill(typedAttributes, null);
+		mementoCaretaker.clear();
+		if (beanContext instanceof StandaloneBeanContext) {
+			((StandaloneBeanContext) beanContext).reset();
+			beanContextReset = true;
+		} else {
+			beanContext = null;
+		}
+		terminationError = null;
+		docSource = null;
+		writer = null;
+		contentEncoding = defaultContentEncoding;
+	}
 }
@@ -0,0 +1,155 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.container.standalone;
+
+import org.smooks.delivery.memento.VisitorMemento;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash table of {@link VisitorMemento}s keyed by non-negative <code>long</code>s. Lookups, inserts of 
+ * existing keys and removals do not allocate.
+ */
+class VisitorMementoTable {
+
+    private static final long FREE = -1L;
+
+    private long[] keys;
+    private VisitorMemento[] values;
+    private int mask;
+    private int size;
+
+    VisitorMementoTable() {
+        allocate(64);
+    }
+
+    VisitorMemento get(final long key) {
+        for (int i = indexOf(key); ; i = (i + 1) & mask) {
+            final long slotKey = keys[i];
+            if (slotKey == key) {
+                return values[i];
+            } else if (slotKey == FREE) {
+                return null;
+            }
+        }
+    }
+
+    void put(final long key, final VisitorMemento value) {
+        int i = indexOf(key);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > (mask >> 1)) {
+            rehash();
+        }
+    }
+
+    VisitorMemento remove(final long key) {
+        int i = indexOf(key);
+        while (keys[i] != key) {
+            if (keys[i] == FREE) {
+                return null;
+            }
+            i = (i + 1) & mask;
+        }
+        final VisitorMemento value = values[i];
+        size--;
+
+        // Shift back the entries following the removed one so that no probe sequence is broken...
+        int free = i;
+        for (int j = (i + 1) & mask; keys[j] != FREE; j = (j + 1) & mask) {
+            final int home = indexOf(keys[j]);
+            if (((j - home) & mask) >= ((j - free) & mask)) {
+                keys[free] = keys[j];
+                values[free] = values[j];
+                free = j;
+            }
+        }
+        keys[free] = FREE;
+        values[free] = null;
+
+        return value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, FREE);
+            Arrays.fill(values, null);
+            size = 0;
+        }
+    }
+
+    private int indexOf(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+        values = new VisitorMemento[capacity];
+        mask = capacity - 1;
+    }
+
+    private void rehash() {
+        final long[] oldKeys = keys;
+        final VisitorMemento[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
@@ -44,6 +44,7 @@ package org.smooks.db;
 
 import org.smooks.SmooksException;
 import org.smooks.container.ExecutionContext;
+import org.smooks.container.TypedKey;
 import org.smooks.delivery.Fragment;
 import org.smooks.delivery.dom.DOMVisitBefore;
 import org.smooks.delivery.ordering.Producer;
@@ -58,7 +59,9 @@ import org.w3c.dom.Element;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * DataSource management resource.
@@ -70,6 +73,7 @@ public abstract class AbstractDataSource implements SAXVisitBefore, DOMVisitBefo
     private static final String DS_CONTEXT_KEY_PREFIX = AbstractDataSource.class.getName() + "#datasource:";
     private static final String CONNECTION_CONTEXT_KEY_PREFIX = AbstractDataSource.class.getName() + "#connection:";
     private static final String TRANSACTION_MANAGER_CONTEXT_KEY_PREFIX = AbstractDataSource.class.getName() + "#transactionManager:";
+    private static final Map<String, ContextKeys> CONTEXT_KEYS = new ConcurrentHashMap<>();
 
     @Override
     public final void visitBefore(SAXElement element, ExecutionContext executionContext) throws SmooksException, IOException {
@@ -95,15 +99,16 @@ public abstract class AbstractDataSource implements SAXVisitBefore, DOMVisitBefo
     }
 
     protected void bind(ExecutionContext executionContext) {
-        executionContext.setAttribute(DS_CONTEXT_KEY_PREFIX + getName(), this);
+        executionContext.setAttribute(getContextKeys(getName()).dataSource, this);
     }
 
     protected void unbind(ExecutionContext executionContext) {
+        ContextKeys contextKeys = getContextKeys(getName());
         try {
-            Connection connection = executionContext.getAttribute(CONNECTION_CONTEXT_KEY_PREFIX + getName());
+            Connection connection = executionContext.getAttribute(contextKeys.connection);
 
             if(connection != null) {
-            	TransactionManager transactionManager = executionContext.getAttribute(TRANSACTION_MANAGER_CONTEXT_KEY_PREFIX  + getName());
+            	TransactionManager transactionManager = executionContext.getAttribute(contextKeys.transactionManager);
             	if(transactionManager == null) {
             		throw new SmooksException("No TransactionManager is set for the datasource '" + getName() + "'");
             	}
@@ -117,23 +122,24 @@ public abstract class AbstractDataSource implements SAXVisitBefore, DOMVisitBefo
                         }
                     }
                 } finally {
-                    executionContext.removeAttribute(CONNECTION_CONTEXT_KEY_PREFIX + getName());
+                    executionContext.removeAttribute(contextKeys.connection);
                     connection.close();
                 }
             }
         } catch (SQLException e) {
             throw new SmooksException("Unable to unbind DataSource '" + getName() + "'.", e);
         } finally {
-            executionContext.removeAttribute(DS_CONTEXT_KEY_PREFIX + getName());
-            executionContext.removeAttribute(TRANSACTION_MANAGER_CONTEXT_KEY_PREFIX + getName());
+            executionContext.removeAttribute(contextKeys.dataSource);
+            executionContext.removeAttribute(contextKeys.transactionManager);
         }
     }
 
     public static Connection getConnection(String dataSourceName, ExecutionContext executionContext) throws SmooksException {
-        Connection connection = (Connection) executionContext.getAttribute(CONNECTION_CONTEXT_KEY_PREFIX + dataSourceName);
+        ContextKeys contextKeys = getContextKeys(dataSourceName);
+        Connection connection = executionContext.getAttribute(contextKeys.connection);
 
         if(connection == null) {
-            AbstractDataSource datasource = (AbstractDataSource) executionContext.getAttribute(DS_CONTEXT_KEY_PREFIX + dataSourceName);
+            AbstractDataSource datasource = executionContext.getAttribute(contextKeys.dataSource);
 
             if(datasource == null) {
                 throw new SmooksException("DataSource '" + dataSourceName + "' not bound to context.  Configure an '" + AbstractDataSource.class.getName() +  "' implementation and target it at '#document'.");
@@ -144,8 +150,8 @@ public abstract class AbstractDataSource implements SAXVisitBefore, DOMVisitBefo
                 TransactionManager transactionManager = datasource.createTransactionManager(connection);
                 transactionManager.begin();
 
-                executionContext.setAttribute(CONNECTION_CONTEXT_KEY_PREFIX + dataSourceName, connection);
-                executionContext.setAttribute(TRANSACTION_MANAGER_CONTEXT_KEY_PREFIX + dataSourceName, transactionManager);
+                executionContext.setAttribute(contextKeys.connection, connection);
+                executionContext.setAttribute(contextKeys.transactionManager, transactionManager);
             } catch (SQLException e) {
                 throw new SmooksException("Unable to open connection to dataSource '" + dataSourceName + "'.", e);
             }
@@ -170,4 +176,23 @@ public abstract class AbstractDataSource implements SAXVisitBefore, DOMVisitBefo
     	return new JdbcTransactionManager(connection, isAutoCommit());
     }
 
+    private static ContextKeys getContextKeys(String dataSourceName) {
+        return CONTEXT_KEYS.computeIfAbsent(dataSourceName, ContextKeys::new);
+    }
+
+    /**
+     * The execution context keys of a named datasource.
+     */
+    private static final class ContextKeys {
+        private final TypedKey<AbstractDataSource> dataSource;
+        private final TypedKey<Connection> connection;
+        private final TypedKey<TransactionManager> transactionManager;
+
+        private ContextKeys(String dataSourceName) {
+            dataSource = new TypedKey<>(DS_CONTEXT_KEY_PREFIX + dataSourceName);
+            connection = new TypedKey<>(CONNECTION_CONTEXT_KEY_PREFIX + dataSourceName);
+            transactionManager = new TypedKey<>(TRANSACTION_MANAGER_CONTEXT_KEY_PREFIX + dataSourceName);
+        }
+    }
+
 }
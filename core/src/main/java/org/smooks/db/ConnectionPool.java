@@ -0,0 +1,565 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smooks.assertion.AssertArgument;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of JDBC {@link Connection}s.
+ * <p/>
+ * {@link #getConnection()} hands out a connection wrapping a pooled physical connection. Closing it returns the physical
+ * connection to the pool instead of closing it, which is what {@link AbstractDataSource} does at the end of the
+ * execution. Returned connections are rolled back if a transaction is still open, have the statements opened through
+ * them closed, and have their auto-commit, read-only, transaction isolation and catalog settings restored to the values
+ * the physical connection was created with.
+ * <p/>
+ * The pool has no housekeeping thread. Each borrow evicts connections idle for longer than the maximum idle time (down
+ * to the minimum size), validates the idle connection it is about to hand out with the validation query (if
+ * configured) and logs connections held for longer than the leak detection threshold (if configured), together with
+ * the stack trace of the borrow.
+ * <p/>
+ * The pool keeps counters so that it can be monitored, e.g., a rising timeout count means that the pool's maximum size
+ * is too small for the load, while a rising leak count points at code not closing its connections.
+ */
+public class ConnectionPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionPool.class);
+
+    /**
+     * Creates the physical connections of a {@link ConnectionPool}.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection createConnection() throws SQLException;
+    }
+
+    private final ConnectionFactory connectionFactory;
+    private final int minSize;
+    private final int maxSize;
+    private final String validationQuery;
+    private final long maxIdleTime;
+    private final long leakDetectionThreshold;
+    private final long maxWaitTime;
+
+    // guarded by this
+    private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+    private final Set<PooledConnection> activeConnections = new HashSet<>();
+    private int pendingCount;
+    private boolean closed;
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong validationFailureCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+
+    /**
+     * Public constructor.
+     *
+     * @param connectionFactory      Creates the physical connections.
+     * @param minSize                The number of idle connections kept from eviction.
+     * @param maxSize                The maximum number of physical connections, idle or in use.
+     * @param validationQuery        The query validating an idle connection before it is handed out, or null to only
+     *                               check that the connection is not closed.
+     * @param maxIdleTime            Milliseconds after which an idle connection is evicted. Zero disables eviction.
+     * @param leakDetectionThreshold Milliseconds after which a connection not yet returned is logged as a possible leak.
+     *                               Zero disables leak detection.
+     * @param maxWaitTime            Milliseconds to wait for a connection when all connections are in use.
+     */
+    public ConnectionPool(final ConnectionFactory connectionFactory, final int minSize, final int maxSize, final String validationQuery, final long maxIdleTime, final long leakDetectionThreshold, final long maxWaitTime) {
+        AssertArgument.isNotNull(connectionFactory, "connectionFactory");
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Invalid 'maxSize' arg in method call. Must be one or greater.");
+        }
+        if (minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid 'minSize' arg in method call. Must be zero or greater, and not greater than 'maxSize'.");
+        }
+        if (maxIdleTime < 0 || leakDetectionThreshold < 0 || maxWaitTime < 0) {
+            throw new IllegalArgumentException("Invalid 'maxIdleTime', 'leakDetectionThreshold' or 'maxWaitTime' arg in method call. Must be zero or greater.");
+        }
+
+        this.connectionFactory = connectionFactory;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.validationQuery = validationQuery;
+        this.maxIdleTime = maxIdleTime;
+        this.leakDetectionThreshold = leakDetectionThreshold;
+        this.maxWaitTime = maxWaitTime;
+    }
+
+    /**
+     * Borrow a connection from the pool, creating a physical connection if none is idle and the pool is not full.
+     *
+     * @return A connection returning its physical connection to the pool when closed.
+     * @throws SQLException Timed out waiting for a connection, or failed to create a physical connection.
+     */
+    public Connection getConnection() throws SQLException {
+        final long deadline = System.currentTimeMillis() + maxWaitTime;
+
+        while (true) {
+            PooledConnection pooledConnection;
+            final List<PooledConnection> evictedConnections;
+            synchronized (this) {
+                assertOpen();
+                evictedConnections = evictIdleConnections();
+                detectLeaks();
+                while (idleConnections.isEmpty() && getTotalCount() >= maxSize) {
+                    final long waitTime = deadline - System.currentTimeMillis();
+                    if (waitTime <= 0) {
+                        timeoutCount.incrementAndGet();
+                        destroy(evictedConnections);
+                        throw new SQLException("Timed out after " + maxWaitTime + "ms waiting for a connection from the pool: " + this);
+                    }
+                    try {
+                        wait(waitTime);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        destroy(evictedConnections);
+                        throw new SQLException("Interrupted while waiting for a connection from the pool.", e);
+                    }
+                    assertOpen();
+                }
+                pooledConnection = idleConnections.pollFirst();
+                pendingCount++;
+            }
+            destroy(evictedConnections);
+
+            if (pooledConnection == null) {
+                try {
+                    pooledConnection = newPooledConnection();
+                } catch (SQLException | RuntimeException e) {
+                    synchronized (this) {
+                        pendingCount--;
+                        notifyAll();
+                    }
+                    throw e;
+                }
+            } else if (!isValid(pooledConnection)) {
+                synchronized (this) {
+                    pendingCount--;
+                    notifyAll();
+                }
+                destroy(pooledConnection);
+                continue;
+            }
+
+            synchronized (this) {
+                pendingCount--;
+                if (closed) {
+                    notifyAll();
+                } else {
+                    activeConnections.add(pooledConnection);
+                    borrowCount.incrementAndGet();
+                    return pooledConnection.borrow();
+                }
+            }
+            destroy(pooledConnection);
+            assertOpen();
+        }
+    }
+
+    /**
+     * Close the idle physical connections and stop lending connections. Connections in use are closed when returned.
+     */
+    public void close() {
+        final List<PooledConnection> idlePooledConnections;
+        synchronized (this) {
+            closed = true;
+            idlePooledConnections = new ArrayList<>(idleConnections);
+            idleConnections.clear();
+            notifyAll();
+        }
+        destroy(idlePooledConnections);
+        LOGGER.debug("Closed {}", this);
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized int getIdleCount() {
+        return idleConnections.size();
+    }
+
+    public synchronized int getActiveCount() {
+        return activeConnections.size();
+    }
+
+    /**
+     * @return The number of connections borrowed from the pool.
+     */
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    /**
+     * @return The number of physical connections created.
+     */
+    public long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    /**
+     * @return The number of physical connections closed because they were evicted, invalid or broken, or because the
+     * pool was closed.
+     */
+    public long getDestroyedCount() {
+        return destroyedCount.get();
+    }
+
+    /**
+     * @return The number of borrows that timed out waiting for a connection.
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /**
+     * @return The number of idle connections failing the validation query.
+     */
+    public long getValidationFailureCount() {
+        return validationFailureCount.get();
+    }
+
+    /**
+     * @return The number of connections held for longer than the leak detection threshold.
+     */
+    public long getLeakCount() {
+        return leakCount.get();
+    }
+
+    @Override
+    public String toString() {
+        final int idleCount;
+        final int activeCount;
+        synchronized (this) {
+            idleCount = idleConnections.size();
+            activeCount = activeConnections.size();
+        }
+        return "ConnectionPool{minSize=" + minSize + ", maxSize=" + maxSize + ", idle=" + idleCount + ", active=" + activeCount + ", borrowed=" + getBorrowCount() + ", created=" + getCreatedCount() + ", destroyed=" + getDestroyedCount() + ", timeouts=" + getTimeoutCount() + ", validationFailures=" + getValidationFailureCount() + ", leaks=" + getLeakCount() + "}";
+    }
+
+    private void assertOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed.");
+        }
+    }
+
+    private int getTotalCount() {
+        return idleConnections.size() + activeConnections.size() + pendingCount;
+    }
+
+    private List<PooledConnection> evictIdleConnections() {
+        final List<PooledConnection> evictedConnections = new ArrayList<>();
+        if (maxIdleTime > 0) {
+            final long evictBefore = System.currentTimeMillis() - maxIdleTime;
+            // the least recently returned connections are at the tail
+            while (idleConnections.size() > minSize && idleConnections.peekLast().returnedAt < evictBefore) {
+                evictedConnections.add(idleConnections.pollLast());
+            }
+        }
+
+        return evictedConnections;
+    }
+
+    private void detectLeaks() {
+        if (leakDetectionThreshold > 0) {
+            final long leakedBefore = System.currentTimeMillis() - leakDetectionThreshold;
+            for (PooledConnection activeConnection : activeConnections) {
+                if (!activeConnection.leakReported && activeConnection.borrowedAt < leakedBefore) {
+                    activeConnection.leakReported = true;
+                    leakCount.incrementAndGet();
+                    LOGGER.warn("Connection not returned to the pool after " + leakDetectionThreshold + "ms. It was borrowed at:", activeConnection.borrowStackTrace);
+                }
+            }
+        }
+    }
+
+    private PooledConnection newPooledConnection() throws SQLException {
+        final Connection connection = connectionFactory.createConnection();
+        createdCount.incrementAndGet();
+        try {
+            return new PooledConnection(connection);
+        } catch (SQLException | RuntimeException e) {
+            destroyedCount.incrementAndGet();
+            try {
+                connection.close();
+            } catch (SQLException closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw e;
+        }
+    }
+
+    private boolean isValid(final PooledConnection pooledConnection) {
+        try {
+            if (pooledConnection.connection.isClosed()) {
+                return false;
+            }
+            if (validationQuery != null) {
+                try (Statement statement = pooledConnection.connection.createStatement()) {
+                    statement.execute(validationQuery);
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            validationFailureCount.incrementAndGet();
+            LOGGER.debug("Discarding pooled connection failing validation.", e);
+            return false;
+        }
+    }
+
+    private void release(final PooledConnection pooledConnection) {
+        boolean reusable;
+        try {
+            final Connection connection = pooledConnection.connection;
+            pooledConnection.closeOpenStatements();
+            reusable = !connection.isClosed();
+            if (reusable) {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                }
+                pooledConnection.restoreSettings();
+                connection.clearWarnings();
+            }
+        } catch (SQLException e) {
+            LOGGER.debug("Discarding pooled connection failing to reset.", e);
+            reusable = false;
+        }
+
+        final boolean pooled;
+        synchronized (this) {
+            activeConnections.remove(pooledConnection);
+            pooled = reusable && !closed;
+            if (pooled) {
+                pooledConnection.returnedAt = System.currentTimeMillis();
+                idleConnections.offerFirst(pooledConnection);
+            }
+            notifyAll();
+        }
+        if (!pooled) {
+            destroy(pooledConnection);
+        }
+    }
+
+    private void destroy(final List<PooledConnection> pooledConnections) {
+        for (PooledConnection pooledConnection : pooledConnections) {
+            destroy(pooledConnection);
+        }
+    }
+
+    private void destroy(final PooledConnection pooledConnection) {
+        destroyedCount.incrementAndGet();
+        try {
+            pooledConnection.connection.close();
+        } catch (SQLException e) {
+            LOGGER.debug("Failed to close pooled connection.", e);
+        }
+    }
+
+    private final class PooledConnection {
+        private final Connection connection;
+        private final boolean autoCommit;
+        private final boolean readOnly;
+        private final int transactionIsolation;
+        private final String catalog;
+        // statements opened through the borrowed connection and not yet closed, only touched by the borrower
+        private final List<Statement> openStatements = new ArrayList<>();
+        private long borrowedAt;
+        private long returnedAt;
+        private Throwable borrowStackTrace;
+        private boolean leakReported;
+
+        private PooledConnection(final Connection connection) throws SQLException {
+            this.connection = connection;
+            autoCommit = connection.getAutoCommit();
+            readOnly = connection.isReadOnly();
+            transactionIsolation = connection.getTransactionIsolation();
+            catalog = connection.getCatalog();
+        }
+
+        private void closeOpenStatements() {
+            for (Statement openStatement : openStatements) {
+                try {
+                    openStatement.close();
+                } catch (SQLException e) {
+                    LOGGER.debug("Failed to close statement left open on a pooled connection.", e);
+                }
+            }
+            openStatements.clear();
+        }
+
+        private void restoreSettings() throws SQLException {
+            if (connection.getAutoCommit() != autoCommit) {
+                connection.setAutoCommit(autoCommit);
+            }
+            if (connection.isReadOnly() != readOnly) {
+                connection.setReadOnly(readOnly);
+            }
+            if (connection.getTransactionIsolation() != transactionIsolation) {
+                connection.setTransactionIsolation(transactionIsolation);
+            }
+            if (catalog != null && !catalog.equals(connection.getCatalog())) {
+                connection.setCatalog(catalog);
+            }
+        }
+
+        private Connection borrow() {
+            borrowedAt = System.currentTimeMillis();
+            borrowStackTrace = leakDetectionThreshold > 0 ? new Throwable("Connection borrowed") : null;
+            leakReported = false;
+
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class[]{Connection.class}, new BorrowedConnectionHandler(this));
+        }
+    }
+
+    /**
+     * Hands out the physical connection of a {@link PooledConnection} until closed, at which point the physical
+     * connection is returned to the pool.
+     */
+    private final class BorrowedConnectionHandler implements InvocationHandler {
+        private final PooledConnection pooledConnection;
+        private volatile boolean closed;
+
+        private BorrowedConnectionHandler(final PooledConnection pooledConnection) {
+            this.pooledConnection = pooledConnection;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(pooledConnection);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || pooledConnection.connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + (closed ? " (closed) " : " ") + pooledConnection.connection;
+                default:
+                    if (closed) {
+                        throw new SQLException("Connection is closed.");
+                    }
+                    final Object result;
+                    try {
+                        result = method.invoke(pooledConnection.connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                        final Statement statement = (Statement) result;
+                        pooledConnection.openStatements.add(statement);
+                        return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class[]{method.getReturnType()}, new BorrowedStatementHandler(pooledConnection, statement, (Connection) proxy));
+                    }
+                    return result;
+            }
+        }
+    }
+
+    /**
+     * Hands out a statement opened through a borrowed connection, answering {@link Statement#getConnection()} with the
+     * borrowed connection rather than the physical one so that the physical connection cannot escape the pool.
+     */
+    private static final class BorrowedStatementHandler implements InvocationHandler {
+        private final PooledConnection pooledConnection;
+        private final Statement statement;
+        private final Connection connection;
+
+        private BorrowedStatementHandler(final PooledConnection pooledConnection, final Statement statement, final Connection connection) {
+            this.pooledConnection = pooledConnection;
+            this.statement = statement;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled " + statement;
+                default:
+                    if (method.getName().equals("close")) {
+                        pooledConnection.openStatements.remove(statement);
+                    }
+                    try {
+                        return method.invoke(statement, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
@@ -47,17 +47,25 @@ import org.smooks.event.report.annotation.VisitAfterReport;
 import org.smooks.event.report.annotation.VisitBeforeReport;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import java.sql.Connection;
 import java.sql.Driver;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Optional;
 
 /**
  * Direct DataSource.
  * <p/>
  * Configured with a specific JDBC driver plus username etc.
+ * <p/>
+ * By default, every execution opens its own connection. Setting <code>maxPoolSize</code> to one or more pools the
+ * connections in a {@link ConnectionPool} instead, so that the connection closed by the execution cleanup is returned
+ * to the pool. The pool is configured with <code>minPoolSize</code>, <code>validationQuery</code>,
+ * <code>maxIdleTime</code>, <code>leakDetectionThreshold</code> and <code>maxWaitTime</code> (all times in
+ * milliseconds) and its statistics are available from {@link #getConnectionPool()}.
  *
  * @author <a href="mailto:tom.fennelly@gmail.com">tom.fennelly@gmail.com</a>
  */
@@ -84,6 +92,26 @@ public class DirectDataSource extends AbstractDataSource {
     @Inject
     private String password;
 
+    @Inject
+    private Integer minPoolSize = 0;
+
+    @Inject
+    private Integer maxPoolSize = 0;
+
+    @Inject
+    private Optional<String> validationQuery = Optional.empty();
+
+    @Inject
+    private Long maxIdleTime = 600000L;
+
+    @Inject
+    private Long leakDetectionThreshold = 0L;
+
+    @Inject
+    private Long maxWaitTime = 30000L;
+
+    private ConnectionPool connectionPool;
+
     public String getName() {
         return name;
     }
@@ -123,6 +151,36 @@ public class DirectDataSource extends AbstractDataSource {
         return this;
     }
 
+    public DirectDataSource setMinPoolSize(int minPoolSize) {
+        this.minPoolSize = minPoolSize;
+        return this;
+    }
+
+    public DirectDataSource setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+        return this;
+    }
+
+    public DirectDataSource setValidationQuery(String validationQuery) {
+        this.validationQuery = Optional.ofNullable(validationQuery);
+        return this;
+    }
+
+    public DirectDataSource setMaxIdleTime(long maxIdleTime) {
+        this.maxIdleTime = maxIdleTime;
+        return this;
+    }
+
+    public DirectDataSource setLeakDetectionThreshold(long leakDetectionThreshold) {
+        this.leakDetectionThreshold = leakDetectionThreshold;
+        return this;
+    }
+
+    public DirectDataSource setMaxWaitTime(long maxWaitTime) {
+        this.maxWaitTime = maxWaitTime;
+        return this;
+    }
+
     @PostConstruct
     public void registerDriver() throws SQLException {
         Driver driverInstance;
@@ -141,12 +199,35 @@ public class DirectDataSource extends AbstractDataSource {
         }
         
         DriverManager.registerDriver(driverInstance);
+
+        if (maxPoolSize > 0) {
+            connectionPool = new ConnectionPool(() -> DriverManager.getConnection(url, username, password), minPoolSize, maxPoolSize, validationQuery.orElse(null), maxIdleTime, leakDetectionThreshold, maxWaitTime);
+        }
+    }
+
+    @PreDestroy
+    public void closeConnectionPool() {
+        if (connectionPool != null) {
+            connectionPool.close();
+        }
     }
 
     public Connection getConnection() throws SQLException {
+        if (connectionPool != null) {
+            return connectionPool.getConnection();
+        }
         return DriverManager.getConnection(url, username, password);
     }
 
+    /**
+     * Get the connection pool.
+     *
+     * @return The connection pool, or null if connections are not pooled.
+     */
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
     public boolean isAutoCommit() {
         return autoCommit;
     }
@@ -59,7 +59,7 @@ import org.xml.sax.XMLReader;
 
 import java.util.*;
 import java.util.Map.Entry;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Abstract {@link ContentDeliveryConfig}.
@@ -99,7 +99,9 @@ public abstract class AbstractContentDeliveryConfig implements ContentDeliveryCo
 
     private Boolean isDefaultSerializationOn = null;
 
-    private final List<XMLReader> readerPool = new CopyOnWriteArrayList<XMLReader>();
+    private static final Object DEFAULT_SAX_DRIVER = new Object();
+
+    private final Map<Object, XMLReaderPool> readerPools = new ConcurrentHashMap<>();
     private int readerPoolSize;
 
     public void setApplicationContext(ApplicationContext applicationContext) {
@@ -232,24 +234,20 @@ public abstract class AbstractContentDeliveryConfig implements ContentDeliveryCo
     	} catch(NumberFormatException e) {
     		readerPoolSize = 0;
     	}
+        readerPools.clear();
+    }
+
+    @Override
+    public XMLReaderPool getXMLReaderPool(ResourceConfig saxDriverConfig) {
+        return readerPools.computeIfAbsent(saxDriverConfig != null ? saxDriverConfig : DEFAULT_SAX_DRIVER, key -> new XMLReaderPool(Math.max(readerPoolSize, 0)));
     }
 
     public XMLReader getXMLReader() {
-        synchronized (readerPool) {
-            if (!readerPool.isEmpty()) {
-                return readerPool.remove(0);
-            } else {
-                return null;
-            }
-        }
+        return getXMLReaderPool(AbstractParser.getSAXParserConfiguration(this)).borrow();
     }
 
 	public void returnXMLReader(XMLReader reader) {
-		synchronized(readerPool) {
-			if(readerPool.size() < readerPoolSize) {
-				readerPool.add(reader);
-			}
-		}
+        getXMLReaderPool(AbstractParser.getSAXParserConfiguration(this)).release(reader);
 	}
 
     protected FilterBypass getFilterBypass(ContentHandlerBindings... visitorTables) {
@@ -49,6 +49,7 @@ import org.smooks.assertion.AssertArgument;
 import org.smooks.cdr.Parameter;
 import org.smooks.cdr.ResourceConfig;
 import org.smooks.container.ExecutionContext;
+import org.smooks.container.TypedKey;
 import org.smooks.delivery.java.JavaXMLReader;
 import org.smooks.delivery.java.XStreamXMLReader;
 import org.smooks.injector.Scope;
@@ -62,6 +63,7 @@ import org.smooks.payload.JavaSource;
 import org.smooks.registry.lookup.LifecycleManagerLookup;
 import org.smooks.util.ClassUtil;
 import org.smooks.xml.NamespaceManager;
+import org.smooks.xml.DOMSourceXMLReader;
 import org.smooks.xml.NullSourceXMLReader;
 import org.smooks.xml.SmooksXMLReader;
 import org.xml.sax.*;
@@ -69,6 +71,7 @@ import org.xml.sax.ext.DefaultHandler2;
 import org.xml.sax.helpers.XMLReaderFactory;
 
 import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamSource;
 import java.io.*;
 import java.net.MalformedURLException;
@@ -89,6 +92,8 @@ public class AbstractParser {
     public static final String FEATURE_OFF = "feature-off";
     
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractParser.class);
+    private static final TypedKey<Stack<XMLReader>> READERS_KEY = new TypedKey<>(XMLReader.class.getName());
+    static final DefaultHandler2 NO_OP_HANDLER = new DefaultHandler2();
 
     private final ExecutionContext executionContext;
     private final ResourceConfig saxDriverConfig;
@@ -147,9 +152,8 @@ public class AbstractParser {
         }
     }
 
-    @SuppressWarnings("unchecked")
     public static Stack<XMLReader> getReaders(ExecutionContext execContext) {
-        Stack<XMLReader> readers = execContext.getAttribute(XMLReader.class);
+        Stack<XMLReader> readers = execContext.getAttribute(READERS_KEY);
 
         if(readers == null) {
             readers = new Stack<>();
@@ -159,7 +163,7 @@ public class AbstractParser {
     }
 
     public static void setReaders(Stack<XMLReader> readers, ExecutionContext execContext) {
-        execContext.setAttribute(XMLReader.class, readers);
+        execContext.setAttribute(READERS_KEY, readers);
     }
 
     /**
@@ -260,6 +264,12 @@ public class AbstractParser {
             inputSource.setByteStream(inputStream);
             inputSource.setCharacterStream(reader);
 
+            return inputSource;
+        } else if (source instanceof DOMSource) {
+            // the node is handed to the DOMSourceXMLReader when the reader is configured so there is nothing to read here...
+            final InputSource inputSource = new InputSource();
+            inputSource.setSystemId(source.getSystemId());
+
             return inputSource;
         } else {
             return new InputSource(getReader(source, contentEncoding));
@@ -280,6 +290,76 @@ public class AbstractParser {
         return null;
     }
 
+    /**
+     * Borrow a configured reader from the {@link XMLReaderPool} of the {@link ContentDeliveryConfig}, or create
+     * one if the pool is empty. The reader must be handed back with {@link #releaseXMLReader(XMLReader)}.
+     *
+     * @return A configured reader.
+     * @throws SAXException Unable to create the reader.
+     */
+    protected XMLReader borrowXMLReader() throws SAXException {
+        if (isReaderPoolable()) {
+            final XMLReader reader = executionContext.getDeliveryConfig().getXMLReaderPool(saxDriverConfig).borrow();
+            if (reader != null) {
+                setHandlers(reader);
+                return reader;
+            }
+        }
+
+        return createXMLReader();
+    }
+
+    /**
+     * Release a reader obtained from {@link #borrowXMLReader()}. The reader is reset and pooled unless the pool
+     * is full or the reader is a {@link SmooksXMLReader} declaring itself non-reusable.
+     *
+     * @param reader The reader to release.
+     */
+    protected void releaseXMLReader(XMLReader reader) {
+        if (!isReaderPoolable()) {
+            return;
+        }
+
+        final XMLReaderPool readerPool = executionContext.getDeliveryConfig().getXMLReaderPool(saxDriverConfig);
+        if (reader instanceof SmooksXMLReader && !((SmooksXMLReader) reader).isReusable()) {
+            readerPool.discarded();
+        } else {
+            if (readerPool.getMaxSize() > 0) {
+                resetReader(reader);
+            }
+            readerPool.release(reader);
+        }
+    }
+
+    /**
+     * Readers created for a {@link JavaSource} are specific to the source so they cannot share the pool of
+     * the default reader.
+     */
+    private boolean isReaderPoolable() {
+        return (saxDriverConfig != null && saxDriverConfig.getResource() != null) || !(FilterSource.getSource(executionContext) instanceof JavaSource);
+    }
+
+    /**
+     * Drop the references an idle reader holds to the last execution by installing a shared no-op handler
+     * in place of every handler and detaching a {@link SmooksXMLReader} from the {@link ExecutionContext}.
+     * The handlers are installed again by {@link #borrowXMLReader()} and
+     * {@link #configureReader(XMLReader, DefaultHandler2, ExecutionContext, Source)} on the next use.
+     */
+    private void resetReader(XMLReader reader) {
+        reader.setContentHandler(NO_OP_HANDLER);
+        reader.setErrorHandler(NO_OP_HANDLER);
+        reader.setDTDHandler(NO_OP_HANDLER);
+        reader.setEntityResolver(NO_OP_HANDLER);
+        try {
+            reader.setProperty("http://xml.org/sax/properties/lexical-handler", NO_OP_HANDLER);
+        } catch (SAXException | RuntimeException e) {
+            LOGGER.debug("Unable to reset the lexical handler of XMLReader '" + reader.getClass().getName() + "'.", e);
+        }
+        if (reader instanceof SmooksXMLReader) {
+            ((SmooksXMLReader) reader).setExecutionContext(null);
+        }
+    }
+
     protected XMLReader createXMLReader() throws SAXException {
         XMLReader reader;
         ExecutionContext executionContext = getExecutionContext();
@@ -350,6 +430,13 @@ public class AbstractParser {
             ((JavaXMLReader) reader).setSourceObjects(((JavaSource) source).getSourceObjects());
         }
 
+        if (reader instanceof DOMSourceXMLReader) {
+            if (!(source instanceof DOMSource)) {
+                throw new SAXException("A " + DOMSource.class.getName() + " source must be supplied for " + DOMSourceXMLReader.class.getName() + " implementations.");
+            }
+            ((DOMSourceXMLReader) reader).setNode(((DOMSource) source).getNode());
+        }
+
         reader.setContentHandler(handler);
 
         try {
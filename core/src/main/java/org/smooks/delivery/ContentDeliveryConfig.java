@@ -157,6 +157,14 @@ public interface ContentDeliveryConfig {
      */
     void addToExecutionLifecycleSets() throws SmooksConfigurationException;
 
+    /**
+     * Freeze the visitor bindings of the configuration once it is built. The frozen bindings
+     * cannot be changed and are held in arrays for the filter to iterate over.
+     * @see ContentHandlerBindings#freeze()
+     */
+    default void freeze() {
+    }
+
     /**
      * Initialize execution context lifecycle aware handlers.
      * @param executionContext The execution context.
@@ -183,6 +191,19 @@ public interface ContentDeliveryConfig {
      * is left to the GC (i.e. lost).
      */
     void returnXMLReader(XMLReader reader);
+
+    /**
+     * Get the {@link XMLReaderPool} associated with this ContentDelivery config instance for the
+     * specified SAX driver configuration.
+     * @param saxDriverConfig The <code>org.xml.sax.driver</code> resource configuration, or null
+     * for readers created by the default {@link org.xml.sax.helpers.XMLReaderFactory}.
+     * @return The reader pool. The pool is empty and never pools readers if the
+     * {@link Filter#READER_POOL_SIZE} global parameter is not set. The default implementation
+     * returns a pool that never pools readers.
+     */
+    default XMLReaderPool getXMLReaderPool(ResourceConfig saxDriverConfig) {
+        return new XMLReaderPool(0);
+    }
     
     /**
      * Get the {@link FilterBypass} for this delivery configuration. 
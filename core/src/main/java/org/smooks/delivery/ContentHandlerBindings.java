@@ -50,15 +50,29 @@ import java.util.stream.Collectors;
 
 /**
  * Simple table for storing {@link ContentHandlerBinding} lists against a selector string.
+ * <p/>
+ * The table is {@link #freeze() frozen} once the {@link ContentDeliveryConfig} is built. A frozen table can no longer
+ * be changed and holds its bindings in arrays, along with the combined "*" and "**" bindings, and the "#document"
+ * bindings combined with the bindings of each selector, so that the filters look bindings up without allocating.
  * 
  * @author <a href="mailto:tom.fennelly@gmail.com">tom.fennelly@gmail.com</a>
  */
 public class ContentHandlerBindings<T extends ContentHandler> {
 
+    private static final String[] GLOBAL_SELECTORS = new String[]{"*", "**"};
+    @SuppressWarnings("rawtypes")
+    private static final ContentHandlerBinding[] NO_BINDINGS = new ContentHandlerBinding[0];
+
     private final Map<String, List<ContentHandlerBinding<T>>> contentHandlerBindingsByElementName = new LinkedHashMap<>();
     private int count = 0;
     private int userConfiguredCount = 0;
 
+    private boolean frozen = false;
+    private Map<String, ContentHandlerBinding<T>[]> frozenBindingsByElementName;
+    private Map<String, ContentHandlerBinding<T>[]> frozenDocumentBindingsByElementName;
+    private ContentHandlerBinding<T>[] frozenDocumentBindings;
+    private ContentHandlerBinding<T>[] frozenGlobalBindings;
+
     /**
      * Add a delivery unit mapping for the specified selector.
      *
@@ -76,7 +90,8 @@ public class ContentHandlerBindings<T extends ContentHandler> {
      * @param contentHandlerBinding The mapping instance to be added.
      */
     public void addBinding(String elementName, ContentHandlerBinding<T> contentHandlerBinding) {
-        List<ContentHandlerBinding<T>> elementMappings = contentHandlerBindingsByElementName.computeIfAbsent(elementName, k -> new Vector<>());
+        assertNotFrozen();
+        List<ContentHandlerBinding<T>> elementMappings = contentHandlerBindingsByElementName.computeIfAbsent(elementName, k -> new ArrayList<>());
 
         elementMappings.add(contentHandlerBinding);
         count++;
@@ -116,6 +131,47 @@ public class ContentHandlerBindings<T extends ContentHandler> {
         return contentHandlerBindingsByElementName.get(selector);
     }
 
+    /**
+     * Get the {@link ContentHandlerBinding} array for the supplied selector string.
+     * @param selector The lookup selector.
+     * @return It's array of {@link ContentHandlerBinding} instances, or an empty array if there are none.
+     */
+    public ContentHandlerBinding<T>[] getBindings(String selector) {
+        if (frozen) {
+            ContentHandlerBinding<T>[] bindings = frozenBindingsByElementName.get(selector);
+            return bindings != null ? bindings : noBindings();
+        }
+
+        List<ContentHandlerBinding<T>> bindings = contentHandlerBindingsByElementName.get(selector);
+        return bindings != null ? toArray(bindings) : noBindings();
+    }
+
+    /**
+     * Get the combined "*" and "**" {@link ContentHandlerBinding} array.
+     * @return The combined "*" and "**" {@link ContentHandlerBinding} array, or an empty array if there are none.
+     */
+    public ContentHandlerBinding<T>[] getGlobalBindings() {
+        if (frozen) {
+            return frozenGlobalBindings;
+        }
+
+        return toArray(getMappings(GLOBAL_SELECTORS));
+    }
+
+    /**
+     * Get the "#document" {@link ContentHandlerBinding} array combined with the array for the supplied element name.
+     * @param elementName The element name.
+     * @return The combined "#document" and element {@link ContentHandlerBinding} array, or an empty array if there are none.
+     */
+    public ContentHandlerBinding<T>[] getDocumentBindings(String elementName) {
+        if (frozen) {
+            ContentHandlerBinding<T>[] bindings = frozenDocumentBindingsByElementName.get(elementName);
+            return bindings != null ? bindings : frozenDocumentBindings;
+        }
+
+        return toArray(getMappings(new String[]{ResourceConfig.DOCUMENT_FRAGMENT_SELECTOR, elementName}));
+    }
+
     /**
      * Get the combined {@link ContentHandlerBinding} list for the supplied list of selector strings.
      * @param selectors The lookup selectors.
@@ -168,10 +224,101 @@ public class ContentHandlerBindings<T extends ContentHandler> {
      * @param sortOrder The sort order.
      */
     public void sort(Sorter.SortOrder sortOrder) {
+        assertNotFrozen();
         Set<Map.Entry<String,List<ContentHandlerBinding<T>>>> tableEntries = contentHandlerBindingsByElementName.entrySet();
 
         for(Map.Entry<String, List<ContentHandlerBinding<T>>> tableEntry : tableEntries) {
             Sorter.sort(tableEntry.getValue(), sortOrder);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Freeze the table. The {@link ContentHandlerBinding} lists of a frozen table are unmodifiable and the
+     * table can no longer be added to or sorted. Freezing a frozen table has no effect.
+     */
+    public void freeze() {
+        if (frozen) {
+            return;
+        }
+
+        Map<String, ContentHandlerBinding<T>[]> bindingsByElementName = new HashMap<>();
+        for (Map.Entry<String, List<ContentHandlerBinding<T>>> tableEntry : contentHandlerBindingsByElementName.entrySet()) {
+            ContentHandlerBinding<T>[] bindings = toArray(tableEntry.getValue());
+            bindingsByElementName.put(tableEntry.getKey(), bindings);
+            tableEntry.setValue(toList(bindings));
+        }
+
+        ContentHandlerBinding<T>[] documentBindings = bindingsByElementName.getOrDefault(ResourceConfig.DOCUMENT_FRAGMENT_SELECTOR, noBindings());
+        Map<String, ContentHandlerBinding<T>[]> documentBindingsByElementName = new HashMap<>();
+        for (Map.Entry<String, ContentHandlerBinding<T>[]> bindingsEntry : bindingsByElementName.entrySet()) {
+            if (!bindingsEntry.getKey().equals(ResourceConfig.DOCUMENT_FRAGMENT_SELECTOR)) {
+                documentBindingsByElementName.put(bindingsEntry.getKey(), concat(documentBindings, bindingsEntry.getValue()));
+            }
+        }
+
+        frozenBindingsByElementName = bindingsByElementName;
+        frozenDocumentBindingsByElementName = documentBindingsByElementName;
+        frozenDocumentBindings = documentBindings;
+        frozenGlobalBindings = concat(bindingsByElementName.getOrDefault("*", noBindings()), bindingsByElementName.getOrDefault("**", noBindings()));
+        frozen = true;
+    }
+
+    /**
+     * Is the table frozen.
+     * @return True if the table is frozen, otherwise false.
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Copy a {@link ContentHandlerBinding} list into an array.
+     * @param contentHandlerBindings The list.
+     * @return The {@link ContentHandlerBinding} array, or null if the list is null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends ContentHandler> ContentHandlerBinding<T>[] toArray(List<ContentHandlerBinding<T>> contentHandlerBindings) {
+        if (contentHandlerBindings == null) {
+            return null;
+        }
+
+        return contentHandlerBindings.toArray(new ContentHandlerBinding[contentHandlerBindings.size()]);
+    }
+
+    /**
+     * Wrap a {@link ContentHandlerBinding} array in an unmodifiable list.
+     * @param contentHandlerBindings The array.
+     * @return The unmodifiable {@link ContentHandlerBinding} list, or null if the array is null.
+     */
+    public static <T extends ContentHandler> List<ContentHandlerBinding<T>> toList(ContentHandlerBinding<T>[] contentHandlerBindings) {
+        if (contentHandlerBindings == null) {
+            return null;
+        }
+
+        return Collections.unmodifiableList(Arrays.asList(contentHandlerBindings));
+    }
+
+    private void assertNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Illegal attempt to modify a frozen " + ContentHandlerBindings.class.getSimpleName() + ". The bindings cannot be changed once the content delivery configuration is built.");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ContentHandlerBinding<T>[] noBindings() {
+        return NO_BINDINGS;
+    }
+
+    private ContentHandlerBinding<T>[] concat(ContentHandlerBinding<T>[] bindings, ContentHandlerBinding<T>[] moreBindings) {
+        if (moreBindings.length == 0) {
+            return bindings;
+        } else if (bindings.length == 0) {
+            return moreBindings;
+        }
+
+        ContentHandlerBinding<T>[] combinedBindings = Arrays.copyOf(bindings, bindings.length + moreBindings.length);
+        System.arraycopy(moreBindings, 0, combinedBindings, bindings.length, moreBindings.length);
+
+        return combinedBindings;
+    }
+}
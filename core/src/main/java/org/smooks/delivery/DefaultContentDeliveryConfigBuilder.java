@@ -156,6 +156,7 @@ public class DefaultContentDeliveryConfigBuilder implements ContentDeliveryConfi
         configBuilderEvents.add(new ConfigBuilderEvent(String.format("Activating %s filter", filterProvider.getName())));
 
         ContentDeliveryConfig contentDeliveryConfig = filterProvider.createContentDeliveryConfig(visitorBindings, applicationContext, resourceConfigTable, configBuilderEvents, dtd, sortVisitors);
+        contentDeliveryConfig.freeze();
         fireEvent(ContentDeliveryConfigBuilderLifecycleEvent.CONFIG_BUILDER_CREATED);
 
         return contentDeliveryConfig;
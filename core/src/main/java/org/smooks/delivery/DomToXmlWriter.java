@@ -42,11 +42,13 @@
  */
 package org.smooks.delivery;
 
+import org.smooks.delivery.sax.TextType;
 import org.smooks.xml.XmlUtil;
 import org.w3c.dom.*;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.CharBuffer;
 
 /**
  * Default SerializationUnit implementation.
@@ -72,10 +74,23 @@ public class DomToXmlWriter {
 	 * @see org.smooks.serialize.SerializationUnit#writeElementStart(org.w3c.dom.Element, java.io.Writer)
 	 */
 	public void writeStartElement(Element element, Writer writer) throws IOException {
+		writeStartElement(element, writer, false);
+	}
+
+	/**
+	 * Write the element start tag.
+	 *
+	 * @param element    The element.
+	 * @param writer     The writer to be written to.
+	 * @param hasContent True if content not held by the element (e.g., streamed character data) is written after the
+	 *                   start tag, in which case the tag is closed even when the element has no child nodes.
+	 * @throws IOException Exception writing output.
+	 */
+	public void writeStartElement(Element element, Writer writer, boolean hasContent) throws IOException {
 		writer.write('<');
 		writer.write(element.getTagName());
 		writeAttributes(element.getAttributes(), writer);
-		if (closeEmptyElements && !element.hasChildNodes()) {
+		if (!hasContent && closeEmptyElements && !element.hasChildNodes()) {
 			// Do nothing.  We'll close it "short-hand" in writeElementEnd below...
 		} else {
 			writer.write('>');
@@ -169,6 +184,45 @@ public class DomToXmlWriter {
 		}
 	}
 
+	public void writeCharacterData(final CharSequence characterData, final TextType textType, final Writer writer) throws IOException {
+		switch (textType) {
+			case CDATA: {
+				writer.write("<![CDATA[");
+				write(characterData, writer);
+				writer.write("]]>");
+				break;
+			}
+			case COMMENT: {
+				writer.write("<!--");
+				write(characterData, writer);
+				writer.write("-->");
+				break;
+			}
+			default: {
+				if (rewriteEntities) {
+					if (characterData instanceof CharBuffer && ((CharBuffer) characterData).hasArray()) {
+						final CharBuffer charBuffer = (CharBuffer) characterData;
+						XmlUtil.encodeTextValue(charBuffer.array(), charBuffer.arrayOffset() + charBuffer.position(), charBuffer.remaining(), writer);
+					} else {
+						final String textString = characterData.toString();
+						XmlUtil.encodeTextValue(textString.toCharArray(), 0, textString.length(), writer);
+					}
+				} else {
+					write(characterData, writer);
+				}
+			}
+		}
+	}
+
+	private void write(final CharSequence characterData, final Writer writer) throws IOException {
+		if (characterData instanceof CharBuffer && ((CharBuffer) characterData).hasArray()) {
+			final CharBuffer charBuffer = (CharBuffer) characterData;
+			writer.write(charBuffer.array(), charBuffer.arrayOffset() + charBuffer.position(), charBuffer.remaining());
+		} else {
+			writer.append(characterData);
+		}
+	}
+
 	/* (non-Javadoc)
 	 * @see org.smooks.serialize.SerializationUnit#writeElementComment(org.w3c.dom.Comment, java.io.Writer)
 	 */
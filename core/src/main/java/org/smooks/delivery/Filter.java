@@ -105,6 +105,18 @@ public abstract class Filter {
 
     public static final String READER_POOL_SIZE = "reader.pool.size";
 
+    public static final String ELEMENT_POOL_SIZE = "element.pool.size";
+
+    public static final String EXECUTION_CONTEXT_POOL_SIZE = "execution.context.pool.size";
+
+    public static final String DOM_STRICT_ERROR_CHECKING = "dom.strict.error.checking";
+
+    public static final String ROOT_VISITOR_BINDINGS_CACHE_SIZE = "root.visitor.bindings.cache.size";
+
+    public static final String OUTPUT_BUFFER_SIZE = "output.buffer.size";
+
+    public static final String OUTPUT_FLUSH_POLICY = "output.flush.policy";
+
     /**
      * Filter the content in the supplied {@link javax.xml.transform.Source} instance, outputing the result
      * to the supplied {@link javax.xml.transform.Result} instance.
@@ -44,6 +44,7 @@ package org.smooks.delivery;
 
 import org.smooks.SmooksException;
 import org.smooks.container.ExecutionContext;
+import org.smooks.container.TypedKey;
 import org.smooks.delivery.replay.EndElementEvent;
 import org.smooks.delivery.replay.SAXEventReplay;
 import org.smooks.delivery.replay.StartElementEvent;
@@ -61,6 +62,8 @@ import org.xml.sax.ext.DefaultHandler2;
  */
 public abstract class SmooksContentHandler extends DefaultHandler2 implements SAXEventReplay {
 
+    private static final TypedKey<SmooksContentHandler> CONTENT_HANDLER_KEY = new TypedKey<>(SmooksContentHandler.class.getName());
+
     private final ExecutionContext executionContext;
     private final SmooksContentHandler parentContentHandler;
     private SmooksContentHandler nestedContentHandler;
@@ -147,15 +150,15 @@ public abstract class SmooksContentHandler extends DefaultHandler2 implements SA
     }
 
     private void attachHandler() {
-        executionContext.setAttribute(DefaultHandler2.class, this);
+        executionContext.setAttribute(CONTENT_HANDLER_KEY, this);
     }
 
     public static SmooksContentHandler getHandler(ExecutionContext executionContext) {
-        return (SmooksContentHandler) executionContext.getAttribute(DefaultHandler2.class);
+        return executionContext.getAttribute(CONTENT_HANDLER_KEY);
     }
 
     public void detachHandler() {
-        executionContext.removeAttribute(DefaultHandler2.class);
+        executionContext.removeAttribute(CONTENT_HANDLER_KEY);
     }
 
     public ExecutionContext getExecutionContext() {
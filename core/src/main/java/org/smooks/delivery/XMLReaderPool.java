@@ -0,0 +1,181 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.delivery;
+
+import org.smooks.assertion.AssertArgument;
+import org.xml.sax.XMLReader;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of configured {@link XMLReader}s.
+ * <p/>
+ * A {@link ContentDeliveryConfig} holds one pool per <code>org.xml.sax.driver</code> {@link org.smooks.cdr.ResourceConfig}.
+ * Readers are borrowed by the {@link AbstractParser} before parsing and released once parsing completes. Readers
+ * declaring themselves non-reusable through {@link org.smooks.xml.SmooksXMLReader#isReusable()} are never pooled.
+ * <p/>
+ * The pool keeps counters so that its effectiveness can be monitored: a low hit count relative to the miss count
+ * suggests that the pool size (see {@link Filter#READER_POOL_SIZE}) is too small for the load.
+ */
+public class XMLReaderPool {
+
+    private final Deque<XMLReader> idleReaders = new ArrayDeque<>();
+    private final int maxSize;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong returnedCount = new AtomicLong();
+    private final AtomicLong discardedCount = new AtomicLong();
+
+    /**
+     * Public constructor.
+     *
+     * @param maxSize The maximum number of idle readers held by the pool. A size of zero disables pooling.
+     */
+    public XMLReaderPool(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Invalid 'maxSize' arg in method call. Must be zero or greater.");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Borrow an idle reader from the pool.
+     *
+     * @return An idle reader, or null if the pool is empty.
+     */
+    public XMLReader borrow() {
+        final XMLReader reader;
+        synchronized (idleReaders) {
+            reader = idleReaders.pollFirst();
+        }
+        if (reader == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+
+        return reader;
+    }
+
+    /**
+     * Release a reader to the pool.
+     *
+     * @param reader The reader to release. The reader is discarded if the pool is full.
+     * @return True if the reader was pooled, otherwise false.
+     */
+    public boolean release(final XMLReader reader) {
+        AssertArgument.isNotNull(reader, "reader");
+        synchronized (idleReaders) {
+            if (idleReaders.size() < maxSize) {
+                idleReaders.offerFirst(reader);
+                returnedCount.incrementAndGet();
+                return true;
+            }
+        }
+        discardedCount.incrementAndGet();
+
+        return false;
+    }
+
+    /**
+     * Discard all idle readers.
+     */
+    public void clear() {
+        synchronized (idleReaders) {
+            idleReaders.clear();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getIdleCount() {
+        synchronized (idleReaders) {
+            return idleReaders.size();
+        }
+    }
+
+    /**
+     * @return The number of borrows served by an idle reader.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return The number of borrows that found the pool empty, i.e., the number of readers the caller had to create.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return The number of readers released back to the pool.
+     */
+    public long getReturnedCount() {
+        return returnedCount.get();
+    }
+
+    /**
+     * @return The number of readers discarded because the pool was full or the reader is not reusable.
+     */
+    public long getDiscardedCount() {
+        return discardedCount.get();
+    }
+
+    /**
+     * Count a reader that was discarded without being offered to the pool.
+     */
+    void discarded() {
+        discardedCount.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "XMLReaderPool{maxSize=" + maxSize + ", idle=" + getIdleCount() + ", hits=" + getHitCount() + ", misses=" + getMissCount() + ", returned=" + getReturnedCount() + ", discarded=" + getDiscardedCount() + "}";
+    }
+}
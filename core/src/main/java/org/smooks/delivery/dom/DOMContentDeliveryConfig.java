@@ -127,6 +127,15 @@ public class DOMContentDeliveryConfig extends AbstractContentDeliveryConfig {
         processingVisitAfters.sort(Sorter.SortOrder.CONSUMERS_FIRST);
     }
 
+    public void freeze() {
+        assemblyVisitBefores.freeze();
+        assemblyVisitAfters.freeze();
+        processingVisitBefores.freeze();
+        processingVisitAfters.freeze();
+        serializationVisitors.freeze();
+        visitCleanables.freeze();
+    }
+
     public void addToExecutionLifecycleSets() throws SmooksConfigurationException {
         addToExecutionLifecycleSets(assemblyVisitBefores);
         addToExecutionLifecycleSets(assemblyVisitAfters);
@@ -47,7 +47,6 @@ import org.slf4j.LoggerFactory;
 import org.smooks.cdr.ResourceConfig;
 import org.smooks.container.ExecutionContext;
 import org.smooks.delivery.AbstractParser;
-import org.smooks.delivery.ContentDeliveryConfig;
 import org.smooks.delivery.XMLReaderHierarchyChangeListener;
 import org.smooks.namespace.NamespaceDeclarationStack;
 import org.smooks.xml.NamespaceManager;
@@ -152,16 +151,13 @@ public class DOMParser extends AbstractParser {
   		ExecutionContext executionContext = getExecutionContext();
   		
   		if(executionContext != null) {
-			ContentDeliveryConfig deliveryConfig = executionContext.getDeliveryConfig();
-
 	  		XMLReader domReader = getXMLReader(executionContext);
+	  		boolean borrowedReader = false;
 
 	  		try {
                 if(domReader == null) {
-                    domReader = deliveryConfig.getXMLReader();
-                }
-                if(domReader == null) {
-                    domReader = createXMLReader();
+                    domReader = borrowXMLReader();
+                    borrowedReader = true;
                 }
 
                 if(domReader instanceof HierarchyChangeReader) {
@@ -185,8 +181,8 @@ public class DOMParser extends AbstractParser {
                         try {
                             detachXMLReader(executionContext);
                         } finally {
-                            if(domReader != null) {
-                                deliveryConfig.returnXMLReader(domReader);
+                            if(borrowedReader) {
+                                releaseXMLReader(domReader);
                             }
                         }
                     } finally {
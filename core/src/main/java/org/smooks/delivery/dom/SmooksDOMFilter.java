@@ -67,7 +67,6 @@ import org.smooks.xml.DomUtils;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
@@ -78,8 +77,9 @@ import javax.xml.transform.stream.StreamSource;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Vector;
 
 /**
  * Smooks DOM based content filtering class.
@@ -194,19 +194,33 @@ public class SmooksDOMFilter extends Filter {
     /**
      * Global assembly befores.
      */
-    private List<ContentHandlerBinding<DOMVisitBefore>> globalAssemblyBefores;
+    private ContentHandlerBinding<DOMVisitBefore>[] globalAssemblyBefores;
     /**
      * Global assembly afters.
      */
-    private List<ContentHandlerBinding<DOMVisitAfter>> globalAssemblyAfters;
+    private ContentHandlerBinding<DOMVisitAfter>[] globalAssemblyAfters;
     /**
      * Global process befores.
      */
-    private List<ContentHandlerBinding<DOMVisitBefore>> globalProcessingBefores;
+    private ContentHandlerBinding<DOMVisitBefore>[] globalProcessingBefores;
     /**
      * Global process afters.
      */
-    private List<ContentHandlerBinding<DOMVisitAfter>> globalProcessingAfters;
+    private ContentHandlerBinding<DOMVisitAfter>[] globalProcessingAfters;
+    /**
+     * Child elements of the elements on the path from the root element to the element being
+     * assembled.
+     */
+    private final List<Element> childElementStack = new ArrayList<>();
+    /**
+     * The elements present in the document when the processing phase starts, in document order.
+     */
+    private final List<Element> processingElements = new ArrayList<>();
+    /**
+     * The index in {@link #processingElements} following the last descendant of the element at
+     * the same index.
+     */
+    private int[] processingElementEnds = new int[0];
 
     /**
      * Public constructor.
@@ -352,8 +366,6 @@ public class SmooksDOMFilter extends Filter {
         return deliveryNode;
     }
 
-    private static final String[] GLOBAL_SELECTORS = new String[] {"*", "**"};
-
     /**
      * Filter the supplied W3C Element.
      * <p/>
@@ -384,8 +396,8 @@ public class SmooksDOMFilter extends Filter {
         });
         ContentHandlerBindings<DOMVisitBefore> visitBefores = deliveryConfig.getAssemblyVisitBefores();
         ContentHandlerBindings<DOMVisitAfter> visitAfters = deliveryConfig.getAssemblyVisitAfters();
-        globalAssemblyBefores = visitBefores.getMappings(GLOBAL_SELECTORS);
-        globalAssemblyAfters = visitAfters.getMappings(GLOBAL_SELECTORS);
+        globalAssemblyBefores = visitBefores.getGlobalBindings();
+        globalAssemblyAfters = visitAfters.getGlobalBindings();
 
         // Register the DOM phase events...
         if (eventListener != null) {
@@ -398,6 +410,7 @@ public class SmooksDOMFilter extends Filter {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Starting assembly phase [" + executionContext.getTargetProfiles().getBaseProfile() + "]");
             }
+            childElementStack.clear();
             assemble(element, true);
         } else {
             if (LOGGER.isDebugEnabled()) {
@@ -415,23 +428,21 @@ public class SmooksDOMFilter extends Filter {
             LOGGER.debug("Starting processing phase [" + executionContext.getTargetProfiles().getBaseProfile() + "]");
         }
 
-        globalProcessingBefores = deliveryConfig.getProcessingVisitBefores().getMappings(GLOBAL_SELECTORS);
-        if(globalProcessingBefores != null && globalProcessingBefores.isEmpty()) {
+        globalProcessingBefores = deliveryConfig.getProcessingVisitBefores().getGlobalBindings();
+        if(globalProcessingBefores.length == 0) {
         	globalProcessingBefores = null;
         }
-        globalProcessingAfters = deliveryConfig.getProcessingVisitAfters().getMappings(GLOBAL_SELECTORS);
-        if(globalProcessingAfters != null && globalProcessingAfters.isEmpty()) {
+        globalProcessingAfters = deliveryConfig.getProcessingVisitAfters().getGlobalBindings();
+        if(globalProcessingAfters.length == 0) {
         	globalProcessingAfters = null;
         }
 
-        int transListLength;
-        Vector<ElementProcessor> transList = new Vector<>();
-
-        buildProcessingList(transList, element, true);
-        transListLength = transList.size();
-        for (int i = 0; i < transListLength; i++) {
-            ElementProcessor elementTrans = transList.get(i);
-            elementTrans.process(executionContext);
+        processingElements.clear();
+        addProcessingElements(element);
+        try {
+            process(0, true);
+        } finally {
+            processingElements.clear();
         }
 
         return executionContext.getAttribute(DELIVERY_NODE_REQUEST_KEY);
@@ -439,8 +450,7 @@ public class SmooksDOMFilter extends Filter {
 
     private boolean applyAssembly(ContentHandlerBindings<DOMVisitBefore> visitBefores, ContentHandlerBindings<DOMVisitAfter> visitAfters) {
         return !visitBefores.isEmpty() || !visitAfters.isEmpty() ||
-                (globalAssemblyBefores != null && !globalAssemblyBefores.isEmpty()) ||
-                (globalAssemblyAfters != null && !globalAssemblyAfters.isEmpty());
+                globalAssemblyBefores.length > 0 || globalAssemblyAfters.length > 0;
     }
 
     /**
@@ -452,7 +462,8 @@ public class SmooksDOMFilter extends Filter {
      * @param isRoot  Is the supplied element the document root element.
      */
     private void assemble(Element element, boolean isRoot) {
-        List<Node> nodeListCopy = copyList(element.getChildNodes());
+        int childElementsStart = childElementStack.size();
+        int childElementsEnd = pushChildElements(element);
 
         ContentHandlerBindings<DOMVisitBefore> visitBeforeTable = deliveryConfig.getAssemblyVisitBefores();
         ContentHandlerBindings<DOMVisitAfter> visitAfterTable = deliveryConfig.getAssemblyVisitAfters();
@@ -463,45 +474,41 @@ public class SmooksDOMFilter extends Filter {
             eventListener.onEvent(new ElementPresentEvent(element));
         }
 
-        List<ContentHandlerBinding<DOMVisitBefore>> elementVisitBefores;
-        List<ContentHandlerBinding<DOMVisitAfter>> elementVisitAfters;
+        ContentHandlerBinding<DOMVisitBefore>[] elementVisitBefores;
+        ContentHandlerBinding<DOMVisitAfter>[] elementVisitAfters;
         if (isRoot) {
             // The document as a whole (root node) can also be targeted through the "#document" selector.
-            elementVisitBefores = visitBeforeTable.getMappings(new String[]{ResourceConfig.DOCUMENT_FRAGMENT_SELECTOR, elementName});
-            elementVisitAfters = visitAfterTable.getMappings(new String[]{ResourceConfig.DOCUMENT_FRAGMENT_SELECTOR, elementName});
+            elementVisitBefores = visitBeforeTable.getDocumentBindings(elementName);
+            elementVisitAfters = visitAfterTable.getDocumentBindings(elementName);
         } else {
-            elementVisitBefores = visitBeforeTable.getMappings(elementName);
-            elementVisitAfters = visitAfterTable.getMappings(elementName);
+            elementVisitBefores = visitBeforeTable.getBindings(elementName);
+            elementVisitAfters = visitAfterTable.getBindings(elementName);
         }
 
         // Visit element with its assembly units before visiting its child content.
-        if (elementVisitBefores != null && !elementVisitBefores.isEmpty()) {
+        if (elementVisitBefores.length > 0) {
             applyAssemblyBefores(element, elementVisitBefores);
         }
-        if (globalAssemblyBefores != null && !globalAssemblyBefores.isEmpty()) {
+        if (globalAssemblyBefores.length > 0) {
             applyAssemblyBefores(element, globalAssemblyBefores);
         }
 
         // Recursively iterate the elements child content...
-        for (final Object aNodeListCopy : nodeListCopy)
-        {
-            Node child = (Node) aNodeListCopy;
-            if (child.getNodeType() == Node.ELEMENT_NODE)
-            {
-                assemble((Element) child, false);
-            }
+        for (int i = childElementsStart; i < childElementsEnd; i++) {
+            assemble(childElementStack.get(i), false);
         }
+        popChildElements(childElementsStart, childElementsEnd);
 
         // Revisit the element with its assembly units after visiting its child content.
-        if (elementVisitAfters != null && !elementVisitAfters.isEmpty()) {
+        if (elementVisitAfters.length > 0) {
             applyAssemblyAfters(element, elementVisitAfters);
         }
-        if (globalAssemblyAfters != null && !globalAssemblyAfters.isEmpty()) {
+        if (globalAssemblyAfters.length > 0) {
             applyAssemblyAfters(element, globalAssemblyAfters);
         }
     }
 
-    private void applyAssemblyBefores(Element element, List<ContentHandlerBinding<DOMVisitBefore>> assemblyBefores) {
+    private void applyAssemblyBefores(Element element, ContentHandlerBinding<DOMVisitBefore>[] assemblyBefores) {
         for (final ContentHandlerBinding<DOMVisitBefore> configMap : assemblyBefores)
         {
             ResourceConfig config = configMap.getResourceConfig();
@@ -541,10 +548,10 @@ public class SmooksDOMFilter extends Filter {
         }
     }
 
-    private void applyAssemblyAfters(Element element, List<ContentHandlerBinding<DOMVisitAfter>> elementVisitAfters) {
+    private void applyAssemblyAfters(Element element, ContentHandlerBinding<DOMVisitAfter>[] elementVisitAfters) {
         if (reverseVisitOrderOnVisitAfter) {
-            for (int i = elementVisitAfters.size() - 1; i >= 0; i--) {
-                ContentHandlerBinding<DOMVisitAfter> configMap = elementVisitAfters.get(i);
+            for (int i = elementVisitAfters.length - 1; i >= 0; i--) {
+                ContentHandlerBinding<DOMVisitAfter> configMap = elementVisitAfters[i];
                 applyAssemblyAfter(element, configMap);
             }
         } else {
@@ -579,75 +586,128 @@ public class SmooksDOMFilter extends Filter {
     }
 
     /**
-     * Recurcively build the processing list for the supplied element, iterating over the elements
-     * child content.
+     * Add the supplied element and its descendants to the {@link #processingElements}.
+     * <p/>
+     * The processing phase only operates on the elements present in the document when it starts,
+     * so visitors can add, remove, rename or replace elements without affecting which elements
+     * are visited.
      *
-     * @param processingList List under construction.  List of ElementProcessor instances.
-     * @param element        Current element being tested.  Starts at the document root element.
-     * @param isRoot         Is the supplied element the document root element.
+     * @param element The element to add.
      */
-    private void buildProcessingList(List<ElementProcessor> processingList, Element element, boolean isRoot) {
-        String elementName;
-        List<ContentHandlerBinding<DOMVisitBefore>> processingBefores;
-        List<ContentHandlerBinding<DOMVisitAfter>> processingAfters;
-        List<ContentHandlerBinding<VisitLifecycleCleanable>> processingCleanables;
-
+    private void addProcessingElements(Element element) {
         // Register the "presence" of the element...
         if (eventListener != null) {
             eventListener.onEvent(new ElementPresentEvent(element));
         }
 
+        int index = processingElements.size();
+        processingElements.add(element);
+        if (index == processingElementEnds.length) {
+            processingElementEnds = Arrays.copyOf(processingElementEnds, Math.max(16, index * 2));
+        }
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                addProcessingElements((Element) child);
+            }
+        }
+        processingElementEnds[index] = processingElements.size();
+    }
+
+    /**
+     * Recursively process the element at the supplied index of the {@link #processingElements},
+     * iterating over the elements child content.
+     * <p/>
+     * The visitors targeted at an element are resolved when the element is reached, so no processing
+     * list of visitors is built up front for the whole document.
+     *
+     * @param index  Index of the element being processed.  Starts at the document root element.
+     * @param isRoot Is the element the document root element.
+     */
+    private void process(int index, boolean isRoot) {
+        Element element = processingElements.get(index);
+        String elementName;
+        ContentHandlerBinding<DOMVisitBefore>[] processingBefores;
+        ContentHandlerBinding<DOMVisitAfter>[] processingAfters;
+        ContentHandlerBinding<VisitLifecycleCleanable>[] processingCleanables;
+
         elementName = DomUtils.getName(element);
         if (isRoot) {
             // The document as a whole (root node) can also be targeted through the "#document" selector.
-            processingBefores = deliveryConfig.getProcessingVisitBefores().getMappings(new String[]{ResourceConfig.DOCUMENT_FRAGMENT_SELECTOR, elementName});
-            processingAfters = deliveryConfig.getProcessingVisitAfters().getMappings(new String[]{ResourceConfig.DOCUMENT_FRAGMENT_SELECTOR, elementName});
-            processingCleanables = deliveryConfig.getVisitCleanables().getMappings(new String[]{ResourceConfig.DOCUMENT_FRAGMENT_SELECTOR, elementName});
+            processingBefores = deliveryConfig.getProcessingVisitBefores().getDocumentBindings(elementName);
+            processingAfters = deliveryConfig.getProcessingVisitAfters().getDocumentBindings(elementName);
+            processingCleanables = deliveryConfig.getVisitCleanables().getDocumentBindings(elementName);
         } else {
-            processingBefores = deliveryConfig.getProcessingVisitBefores().getMappings(elementName);
-            processingAfters = deliveryConfig.getProcessingVisitAfters().getMappings(elementName);
-            processingCleanables = deliveryConfig.getVisitCleanables().getMappings(elementName);
+            processingBefores = deliveryConfig.getProcessingVisitBefores().getBindings(elementName);
+            processingAfters = deliveryConfig.getProcessingVisitAfters().getBindings(elementName);
+            processingCleanables = deliveryConfig.getVisitCleanables().getBindings(elementName);
         }
 
-        if (processingBefores != null && !processingBefores.isEmpty()) {
-            ElementProcessor processor = new ElementProcessor(element);
-            processor.setVisitBefores(processingBefores);
-            processingList.add(processor);
+        if (processingBefores.length > 0) {
+            applyProcessingBefores(element, processingBefores);
         }
         if (globalProcessingBefores != null) {
-            // TODO: Inefficient. Find a better way!
-            ElementProcessor processor = new ElementProcessor(element);
-            processor.setVisitBefores(globalProcessingBefores);
-            processingList.add(processor);
+            applyProcessingBefores(element, globalProcessingBefores);
         }
 
         // Iterate over the child elements, calling this method recursively....
-        NodeList children = element.getChildNodes();
-        int childCount = children.getLength();
-        for (int i = 0; i < childCount; i++) {
-            Node child = children.item(i);
-            if (child.getNodeType() == Node.ELEMENT_NODE) {
-                buildProcessingList(processingList, (Element) child, false);
-            }
+        int end = processingElementEnds[index];
+        for (int child = index + 1; child < end; child = processingElementEnds[child]) {
+            process(child, false);
         }
 
-        if (processingAfters != null && !processingAfters.isEmpty()) {
-            ElementProcessor processor = new ElementProcessor(element);
-            processor.setVisitAfters(processingAfters);
-            processingList.add(processor);
+        if (processingAfters.length > 0) {
+            applyProcessingAfters(element, processingAfters);
         }
         if (globalProcessingAfters != null) {
-            // TODO: Inefficient. Find a better way!
-            ElementProcessor processor = new ElementProcessor(element);
-            processor.setVisitAfters(globalProcessingAfters);
-            processingList.add(processor);
+            applyProcessingAfters(element, globalProcessingAfters);
+        }
+
+        if (processingCleanables.length > 0) {
+            for (final ContentHandlerBinding<VisitLifecycleCleanable> visitCleanable : processingCleanables) {
+                processMapping(element, visitCleanable, VisitSequence.CLEAN);
+            }
+        }
+    }
+
+    private void applyProcessingBefores(Element element, ContentHandlerBinding<DOMVisitBefore>[] visitBefores) {
+        for (final ContentHandlerBinding<DOMVisitBefore> visitBefore : visitBefores) {
+            processMapping(element, visitBefore, VisitSequence.BEFORE);
+        }
+    }
+
+    private void applyProcessingAfters(Element element, ContentHandlerBinding<DOMVisitAfter>[] visitAfters) {
+        if (reverseVisitOrderOnVisitAfter) {
+            for (int i = visitAfters.length - 1; i >= 0; i--) {
+                processMapping(element, visitAfters[i], VisitSequence.AFTER);
+            }
+        } else {
+            for (final ContentHandlerBinding<DOMVisitAfter> visitAfter : visitAfters) {
+                processMapping(element, visitAfter, VisitSequence.AFTER);
+            }
         }
+    }
 
-        if (processingCleanables != null && !processingCleanables.isEmpty()) {
-            ElementProcessor processor = new ElementProcessor(element);
-            processor.setVisitCleanables(processingCleanables);
-            processingList.add(processor);
+    /**
+     * Push the child elements of the supplied element onto the {@link #childElementStack}.
+     * <p/>
+     * Iterating over the pushed elements, rather than over the element's NodeList, is safe
+     * when visitors add or remove child elements while we're iterating.
+     *
+     * @param element The parent element.
+     * @return The end index (exclusive) of the pushed child elements.
+     */
+    private int pushChildElements(Element element) {
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                childElementStack.add((Element) child);
+            }
         }
+
+        return childElementStack.size();
+    }
+
+    private void popChildElements(int fromIndex, int toIndex) {
+        childElementStack.subList(fromIndex, toIndex).clear();
     }
 
     /**
@@ -683,175 +743,78 @@ public class SmooksDOMFilter extends Filter {
         }
     }
 
-    /**
-     * Copy the nodes of a NodeList into the supplied list.
-     * <p/>
-     * This is not a clone.  It's just a copy of the node references.
-     * <p/>
-     * Allows iteration over the Nodelist using the copy in the knowledge that
-     * the list will remain the same length.  Using the NodeList can result in problems
-     * because elements can get removed from the list while we're iterating over it.
-     *
-     * @param nodeList Nodelist to copy.
-     * @return List copy.
-     */
-    private List<Node> copyList(NodeList nodeList) {
-        Vector<Node> copy = new Vector<>(nodeList.getLength());
-        int nodeCount = nodeList.getLength();
-
-        for (int i = 0; i < nodeCount; i++) {
-            copy.add(nodeList.item(i));
-        }
-
-        return copy;
-    }
-
-    /**
-     * Element Processor class.
-     * <p/>
-     * Simple DOM Element to ProcessingUnit[] processing mapping and support functions.
-     *
-     * @author tfennelly
-     */
-    private class ElementProcessor {
-        /**
-         * The Element instance to be processed.
-         */
-        private final Element element;
-
-        private List<ContentHandlerBinding<DOMVisitBefore>> visitBefores;
-        private List<ContentHandlerBinding<DOMVisitAfter>> visitAfters;
-        private List<ContentHandlerBinding<VisitLifecycleCleanable>> visitCleanables;
-
-        /**
-         * Constructor.
-         *
-         * @param element         Element to be processed.
-         */
-        private ElementProcessor(Element element) {
-            this.element = element;
-        }
-
-        private void setVisitBefores(List<ContentHandlerBinding<DOMVisitBefore>> visitBefores) {
-            this.visitBefores = visitBefores;
-        }
+    private void processMapping(Element element, ContentHandlerBinding<? extends Visitor> configMap, VisitSequence visitSequence) {
+        ResourceConfig config = configMap.getResourceConfig();
 
-        private void setVisitAfters(List<ContentHandlerBinding<DOMVisitAfter>> visitAfters) {
-            this.visitAfters = visitAfters;
+        // Make sure the processing unit is targeted at this element...
+        if (!config.getSelectorPath().isTargetedAtElement(element, executionContext)) {
+            return;
         }
 
-        public void setVisitCleanables(List<ContentHandlerBinding<VisitLifecycleCleanable>> visitCleanables) {
-            this.visitCleanables = visitCleanables;
-        }
+        // Could add an "is-element-in-document-tree" check here
+        // but might not be valid.  Also, this check
+        // would need to iterate back up to the document root
+        // every time. Doing this for every element could be very
+        // costly.
 
-        /**
-         * Apply the ProcessingUnits.
-         * <p/>
-         * Iterate over the ProcessingUnit instances calling the visitAfter method.
-         *
-         * @param executionContext Container request instance.
-         */
-        private void process(ExecutionContext executionContext) {
+        if(visitSequence == VisitSequence.BEFORE) {
+            // Register the targeting event...
+            if (eventListener != null) {
+                eventListener.onEvent(new ResourceTargetingEvent(element, config, VisitSequence.BEFORE));
+            }
 
-            if (visitBefores != null) {
-                for (final ContentHandlerBinding<DOMVisitBefore> visitBefore : visitBefores)
-                {
-                    processMapping(executionContext, visitBefore, VisitSequence.BEFORE);
+            DOMVisitBefore visitor = (DOMVisitBefore) configMap.getContentHandler();
+            try {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Applying processing resource [" + config + "] to element [" + DomUtils.getXPath(element) + "] before applying resources to its child elements.");
                 }
-            } else if(visitAfters != null) {
-                int loopLength = visitAfters.size();
-                if (reverseVisitOrderOnVisitAfter) {
-                    for (int i = loopLength - 1; i >= 0; i--) {
-                        ContentHandlerBinding<? extends Visitor> configMap = visitAfters.get(i);
-                        processMapping(executionContext, configMap, VisitSequence.AFTER);
-                    }
-                } else {
-                    for (final ContentHandlerBinding<DOMVisitAfter> visitAfter : visitAfters)
-                    {
-                        processMapping(executionContext, visitAfter, VisitSequence.AFTER);
-                    }
-                }
-            } else {
-                for (final ContentHandlerBinding<VisitLifecycleCleanable> visitCleanable : visitCleanables)
-                {
-                    processMapping(executionContext, visitCleanable, VisitSequence.CLEAN);
+                visitor.visitBefore(element, executionContext);
+                if (eventListener != null) {
+                    eventListener.onEvent(new ElementVisitEvent<>(element, configMap, VisitSequence.BEFORE));
                 }
+            } catch (Throwable e) {
+                String errorMsg = "Failed to apply processing unit [" + visitor.getClass().getName() + "] to [" + executionContext.getDocumentSource() + ":" + DomUtils.getXPath(element) + "].";
+                processVisitorException(element, e, configMap, VisitSequence.BEFORE, errorMsg);
             }
-        }
-
-        private void processMapping(ExecutionContext executionContext, ContentHandlerBinding<? extends Visitor> configMap, VisitSequence visitSequence) {
-            ResourceConfig config = configMap.getResourceConfig();
-
-            // Make sure the processing unit is targeted at this element...
-            if (!config.getSelectorPath().isTargetedAtElement(element, executionContext)) {
-                return;
+        } else if(visitSequence == VisitSequence.AFTER) {
+            // Register the targeting event...
+            if (eventListener != null) {
+                eventListener.onEvent(new ResourceTargetingEvent(element, config, VisitSequence.AFTER));
             }
 
-            // Could add an "is-element-in-document-tree" check here
-            // but might not be valid.  Also, this check
-            // would need to iterate back up to the document root
-            // every time. Doing this for every element could be very
-            // costly.
-
-            if(visitSequence == VisitSequence.BEFORE) {
-                // Register the targeting event...
-                if (eventListener != null) {
-                    eventListener.onEvent(new ResourceTargetingEvent(element, config, VisitSequence.BEFORE));
-                }
-
-                DOMVisitBefore visitor = (DOMVisitBefore) configMap.getContentHandler();
-                try {
-                    if (LOGGER.isDebugEnabled()) {
-                        LOGGER.debug("Applying processing resource [" + config + "] to element [" + DomUtils.getXPath(element) + "] before applying resources to its child elements.");
-                    }
-                    visitor.visitBefore(element, executionContext);
-                    if (eventListener != null) {
-                        eventListener.onEvent(new ElementVisitEvent<>(element, configMap, VisitSequence.BEFORE));
-                    }
-                } catch (Throwable e) {
-                    String errorMsg = "Failed to apply processing unit [" + visitor.getClass().getName() + "] to [" + executionContext.getDocumentSource() + ":" + DomUtils.getXPath(element) + "].";
-                    processVisitorException(element, e, configMap, VisitSequence.BEFORE, errorMsg);
+            DOMVisitAfter visitor = (DOMVisitAfter) configMap.getContentHandler();
+            try {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Applying processing resource [" + config + "] to element [" + DomUtils.getXPath(element) + "] after applying resources to its child elements.");
                 }
-            } else if(visitSequence == VisitSequence.AFTER) {
-                // Register the targeting event...
+                visitor.visitAfter(element, executionContext);
                 if (eventListener != null) {
-                    eventListener.onEvent(new ResourceTargetingEvent(element, config, VisitSequence.AFTER));
+                    eventListener.onEvent(new ElementVisitEvent<>(element, configMap, VisitSequence.AFTER));
                 }
+            } catch (Throwable e) {
+                String errorMsg = "Failed to apply processing unit [" + visitor.getClass().getName() + "] to [" + executionContext.getDocumentSource() + ":" + DomUtils.getXPath(element) + "].";
+                processVisitorException(element, e, configMap, VisitSequence.BEFORE, errorMsg);
+            }
+        } else if(visitSequence == VisitSequence.CLEAN) {
+            // Register the targeting event...
+            if (eventListener != null) {
+                eventListener.onEvent(new ResourceTargetingEvent(element, config, VisitSequence.CLEAN));
+            }
 
-                DOMVisitAfter visitor = (DOMVisitAfter) configMap.getContentHandler();
+            ContentHandler contentHandler = configMap.getContentHandler();
+            if(contentHandler instanceof VisitLifecycleCleanable) {
+                VisitLifecycleCleanable visitor = (VisitLifecycleCleanable) contentHandler;
                 try {
                     if (LOGGER.isDebugEnabled()) {
-                        LOGGER.debug("Applying processing resource [" + config + "] to element [" + DomUtils.getXPath(element) + "] after applying resources to its child elements.");
+                        LOGGER.debug("Cleaning up processing resource [" + config + "] that was targeted to element [" + DomUtils.getXPath(element) + "].");
                     }
-                    visitor.visitAfter(element, executionContext);
+                    visitor.executeVisitLifecycleCleanup(new Fragment(element), executionContext);
                     if (eventListener != null) {
-                        eventListener.onEvent(new ElementVisitEvent<>(element, configMap, VisitSequence.AFTER));
+                        eventListener.onEvent(new ElementVisitEvent<>(element, configMap, VisitSequence.CLEAN));
                     }
                 } catch (Throwable e) {
-                    String errorMsg = "Failed to apply processing unit [" + visitor.getClass().getName() + "] to [" + executionContext.getDocumentSource() + ":" + DomUtils.getXPath(element) + "].";
-                    processVisitorException(element, e, configMap, VisitSequence.BEFORE, errorMsg);
-                }
-            } else if(visitSequence == VisitSequence.CLEAN) {
-                // Register the targeting event...
-                if (eventListener != null) {
-                    eventListener.onEvent(new ResourceTargetingEvent(element, config, VisitSequence.CLEAN));
-                }
-
-                ContentHandler contentHandler = configMap.getContentHandler();
-                if(contentHandler instanceof VisitLifecycleCleanable) {
-                    VisitLifecycleCleanable visitor = (VisitLifecycleCleanable) contentHandler;
-                    try {
-                        if (LOGGER.isDebugEnabled()) {
-                            LOGGER.debug("Cleaning up processing resource [" + config + "] that was targeted to element [" + DomUtils.getXPath(element) + "].");
-                        }
-                        visitor.executeVisitLifecycleCleanup(new Fragment(element), executionContext);
-                        if (eventListener != null) {
-                            eventListener.onEvent(new ElementVisitEvent<>(element, configMap, VisitSequence.CLEAN));
-                        }
-                    } catch (Throwable e) {
-                        String errorMsg = "Failed to clean up [" + visitor.getClass().getName() + "]. Targeted at [" + executionContext.getDocumentSource() + ":" + DomUtils.getXPath(element) + "].";
-                        processVisitorException(element, e, configMap, VisitSequence.CLEAN, errorMsg);
-                    }
+                    String errorMsg = "Failed to clean up [" + visitor.getClass().getName() + "]. Targeted at [" + executionContext.getDocumentSource() + ":" + DomUtils.getXPath(element) + "].";
+                    processVisitorException(element, e, configMap, VisitSequence.CLEAN, errorMsg);
                 }
             }
         }
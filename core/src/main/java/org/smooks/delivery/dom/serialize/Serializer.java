@@ -67,7 +67,6 @@ import org.w3c.dom.NodeList;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -103,7 +102,7 @@ public class Serializer {
     /**
 	 * Global SerializationUnits.
 	 */
-	private final List globalSUs;
+	private final ContentHandlerBinding<SerializerVisitor>[] globalSUs;
     /**
      * Event Listener.
      */
@@ -132,7 +131,7 @@ public class Serializer {
         // Initialise the serializationUnits member
         serializationUnits = deliveryConfig.getSerializationVisitors();
 
-        globalSUs = serializationUnits.getMappings(new String[]{"*", "**"});
+        globalSUs = serializationUnits.getGlobalBindings();
 
         // Set the default SerializationUnit
     /*
@@ -260,7 +259,7 @@ public class Serializer {
 	@SuppressWarnings("unchecked")
   private SerializerVisitor getSerializationUnit(Element element, boolean isRoot) {
 		String elementName = DomUtils.getName(element);
-        List<ContentHandlerBinding<SerializerVisitor>> elementSUs;
+        ContentHandlerBinding<SerializerVisitor>[] elementSUs;
 
         // Register the "presence" of the element...
         if(eventListener != null) {
@@ -269,40 +268,38 @@ public class Serializer {
 
         if(isRoot) {
             // The document as a whole (root node) can also be targeted through the "#document" selector.
-            elementSUs = serializationUnits.getMappings(new String[] {ResourceConfig.DOCUMENT_FRAGMENT_SELECTOR, elementName});
+            elementSUs = serializationUnits.getDocumentBindings(elementName);
         } else {
-            elementSUs = serializationUnits.getMappings(elementName);
+            elementSUs = serializationUnits.getBindings(elementName);
         }
 
-        if(elementSUs == null || elementSUs.isEmpty()) {
+        if(elementSUs.length == 0) {
 			elementSUs = globalSUs;
 		}
 
-        if(elementSUs != null) {
-          for (final ContentHandlerBinding<SerializerVisitor> elementSU : elementSUs)
-          {
-            ResourceConfig config = elementSU.getResourceConfig();
-
-            // Make sure the serialization unit is targeted at this element.
-            if (!config.getSelectorPath().isTargetedAtElement(element, executionContext))
-            {
-              continue;
-            }
+        for (final ContentHandlerBinding<SerializerVisitor> elementSU : elementSUs)
+        {
+          ResourceConfig config = elementSU.getResourceConfig();
 
-            // Register the targeting event...
-            if (eventListener != null)
-            {
-              eventListener.onEvent(new ResourceTargetingEvent(element, config));
-            }
+          // Make sure the serialization unit is targeted at this element.
+          if (!config.getSelectorPath().isTargetedAtElement(element, executionContext))
+          {
+            continue;
+          }
 
-            if (LOGGER.isDebugEnabled())
-            {
-              LOGGER.debug("Applying serialisation resource [" + config + "] to element [" + DomUtils.getXPath(element) + "].");
-            }
+          // Register the targeting event...
+          if (eventListener != null)
+          {
+            eventListener.onEvent(new ResourceTargetingEvent(element, config));
+          }
 
-            // This is the one, return it...
-            return (SerializerVisitor) ((ContentHandlerBinding) elementSU).getContentHandler();
+          if (LOGGER.isDebugEnabled())
+          {
+            LOGGER.debug("Applying serialisation resource [" + config + "] to element [" + DomUtils.getXPath(element) + "].");
           }
+
+          // This is the one, return it...
+          return (SerializerVisitor) ((ContentHandlerBinding) elementSU).getContentHandler();
         }
 
         return defaultSerializationUnit;
@@ -45,17 +45,89 @@ package org.smooks.delivery.interceptor;
 import org.smooks.container.ApplicationContext;
 import org.smooks.delivery.ContentHandlerBinding;
 import org.smooks.delivery.Visitor;
+import org.smooks.delivery.sax.SAXVisitAfter;
+import org.smooks.delivery.sax.SAXVisitBefore;
+import org.smooks.delivery.sax.SAXVisitChildren;
+import org.smooks.delivery.sax.ng.AfterVisitor;
+import org.smooks.delivery.sax.ng.BeforeVisitor;
+import org.smooks.delivery.sax.ng.CharacterDataVisitor;
+import org.smooks.delivery.sax.ng.ChildrenVisitor;
 
-import java.lang.reflect.ParameterizedType;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * Base class of {@link InterceptorVisitor}s. The visitors following this interceptor in its chain are resolved once, 
+ * when the chain is built, so that an interceptor dispatches an event with a field read and a single call to the next 
+ * visitor implementing the event's interface.
+ */
 public abstract class AbstractInterceptorVisitor implements InterceptorVisitor {
     
     protected ContentHandlerBinding<Visitor> visitorBinding;
     protected ApplicationContext applicationContext;
+
+    /**
+     * The next visitors in the chain implementing {@link BeforeVisitor}, {@link AfterVisitor}, {@link ChildrenVisitor} 
+     * and {@link CharacterDataVisitor}, respectively, or null if there is no such visitor.
+     */
+    protected BeforeVisitor beforeVisitor;
+    protected AfterVisitor afterVisitor;
+    protected ChildrenVisitor childrenVisitor;
+    protected CharacterDataVisitor characterDataVisitor;
+
+    /**
+     * The next visitors in the chain implementing {@link SAXVisitBefore}, {@link SAXVisitAfter} and 
+     * {@link SAXVisitChildren}, respectively, or null if there is no such visitor.
+     */
+    protected SAXVisitBefore saxVisitBefore;
+    protected SAXVisitAfter saxVisitAfter;
+    protected SAXVisitChildren saxVisitChildren;
+
+    private ContentHandlerBinding<Visitor> target;
+    private Map<Class<?>, Visitor> interceptedVisitors = Collections.emptyMap();
     
     @Override
     public void setVisitorBinding(final ContentHandlerBinding<Visitor> visitorBinding) {
         this.visitorBinding = visitorBinding;
+
+        final Map<Class<?>, Visitor> interceptedVisitors = new HashMap<>();
+        ContentHandlerBinding<Visitor> nextVisitorBinding = visitorBinding;
+        while (true) {
+            final Visitor nextVisitor = nextVisitorBinding.getContentHandler();
+            addInterfaces(nextVisitor, interceptedVisitors);
+            if (nextVisitor instanceof InterceptorVisitor) {
+                nextVisitorBinding = ((InterceptorVisitor) nextVisitor).getVisitorBinding();
+            } else {
+                break;
+            }
+        }
+
+        this.target = nextVisitorBinding;
+        this.interceptedVisitors = interceptedVisitors;
+        beforeVisitor = getInterceptedVisitor(BeforeVisitor.class);
+        afterVisitor = getInterceptedVisitor(AfterVisitor.class);
+        childrenVisitor = getInterceptedVisitor(ChildrenVisitor.class);
+        characterDataVisitor = getInterceptedVisitor(CharacterDataVisitor.class);
+        saxVisitBefore = getInterceptedVisitor(SAXVisitBefore.class);
+        saxVisitAfter = getInterceptedVisitor(SAXVisitAfter.class);
+        saxVisitChildren = getInterceptedVisitor(SAXVisitChildren.class);
+    }
+
+    private static void addInterfaces(final Visitor visitor, final Map<Class<?>, Visitor> interceptedVisitors) {
+        final Deque<Class<?>> interfaces = new ArrayDeque<>();
+        for (Class<?> visitorClass = visitor.getClass(); visitorClass != null; visitorClass = visitorClass.getSuperclass()) {
+            Collections.addAll(interfaces, visitorClass.getInterfaces());
+        }
+        while (!interfaces.isEmpty()) {
+            final Class<?> visitorInterface = interfaces.pop();
+            if (!interceptedVisitors.containsKey(visitorInterface)) {
+                interceptedVisitors.put(visitorInterface, visitor);
+                Collections.addAll(interfaces, visitorInterface.getInterfaces());
+            }
+        }
     }
 
     @Override
@@ -65,12 +137,7 @@ public abstract class AbstractInterceptorVisitor implements InterceptorVisitor {
 
     @Override
     public ContentHandlerBinding<Visitor> getTarget() {
-        ContentHandlerBinding<Visitor> nextVisitorBinding = visitorBinding;
-        while (nextVisitorBinding.getContentHandler() instanceof InterceptorVisitor) {
-            nextVisitorBinding = ((InterceptorVisitor) visitorBinding.getContentHandler()).getTarget();
-        }
-
-        return nextVisitorBinding;    
+        return target;
     }
 
     @Override
@@ -78,22 +145,24 @@ public abstract class AbstractInterceptorVisitor implements InterceptorVisitor {
         this.applicationContext = applicationContext;
     }
 
+    /**
+     * Gets the next visitor in this interceptor's chain implementing an interface.
+     *
+     * @param visitorInterface the interface which the visitor implements
+     * @return the visitor, or null if no visitor following this interceptor implements the interface
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> T getInterceptedVisitor(final Class<T> visitorInterface) {
+        return (T) interceptedVisitors.get(visitorInterface);
+    }
+
     protected <T extends Visitor> Object intercept(final Invocation<T> invocation) {
-        final Class<?> targetClass = (Class<?>) ((ParameterizedType) invocation.getClass().getGenericInterfaces()[0]).getActualTypeArguments()[0];
-        ContentHandlerBinding<Visitor> nextVisitorBinding = visitorBinding;
-        while (nextVisitorBinding != null) {
-            if (targetClass.isInstance(nextVisitorBinding.getContentHandler())) {
-                return invocation.invoke((T) nextVisitorBinding.getContentHandler());
-            } else {
-                if (nextVisitorBinding.getContentHandler() instanceof InterceptorVisitor) {
-                    nextVisitorBinding = ((InterceptorVisitor) nextVisitorBinding.getContentHandler()).getVisitorBinding();
-                } else {
-                    nextVisitorBinding = null;
-                }
-            }
+        final T visitor = getInterceptedVisitor(invocation.getTarget());
+        if (visitor != null) {
+            return invocation.invoke(visitor);
+        } else {
+            return null;
         }
-
-        return null;
     }
 
     public interface Invocation<T extends Visitor> {
@@ -101,4 +170,4 @@ public abstract class AbstractInterceptorVisitor implements InterceptorVisitor {
 
         Class<T> getTarget();
     }
-}
\ No newline at end of file
+}
@@ -42,12 +42,12 @@
  */
 package org.smooks.delivery.interceptor;
 
-import org.smooks.SmooksException;
 import org.smooks.container.ExecutionContext;
 import org.smooks.delivery.VisitSequence;
 import org.smooks.delivery.sax.*;
 import org.smooks.delivery.sax.ng.AfterVisitor;
 import org.smooks.delivery.sax.ng.BeforeVisitor;
+import org.smooks.delivery.sax.ng.CharacterDataVisitor;
 import org.smooks.delivery.sax.ng.ChildrenVisitor;
 import org.smooks.delivery.sax.ng.ElementVisitor;
 import org.smooks.event.types.ElementVisitEvent;
@@ -56,55 +56,28 @@ import org.w3c.dom.Element;
 
 import java.io.IOException;
 
-public class EventInterceptor extends AbstractInterceptorVisitor implements SAXElementVisitor, ElementVisitor {
+public class EventInterceptor extends AbstractInterceptorVisitor implements SAXElementVisitor, ElementVisitor, CharacterDataVisitor {
 
     @Override
     public void visitBefore(SAXElement element, ExecutionContext executionContext) throws IOException {
-        final Invocation<SAXVisitBefore> invocation = new Invocation<SAXVisitBefore>() {
-            @Override
-            public Object invoke(SAXVisitBefore visitor) {
-                try {
-                    visitor.visitBefore(element, executionContext);
-                } catch (IOException e) {
-                    throw new SmooksException(e.getMessage(), e);
-                }
-                return null;
-            }
-
-            @Override
-            public Class<SAXVisitBefore> getTarget() {
-                return SAXVisitBefore.class;
-            }
-        };
         if (getTarget() instanceof SAXVisitBefore) {
             if (executionContext.getEventListener() != null) {
                 executionContext.getEventListener().onEvent(new ResourceTargetingEvent(element, getTarget().getResourceConfig(), VisitSequence.BEFORE));
             }
-            intercept(invocation);
+            if (saxVisitBefore != null) {
+                saxVisitBefore.visitBefore(element, executionContext);
+            }
             onEvent(executionContext, element, VisitSequence.BEFORE);
-        } else {
-            intercept(invocation);
+        } else if (saxVisitBefore != null) {
+            saxVisitBefore.visitBefore(element, executionContext);
         }
     }
     
     @Override
     public void visitAfter(SAXElement element, ExecutionContext executionContext) throws IOException {
-        intercept(new Invocation<SAXVisitAfter>() {
-            @Override
-            public Object invoke(SAXVisitAfter visitor) {
-                try {
-                    visitor.visitAfter(element, executionContext);
-                } catch (IOException e) {
-                    throw new SmooksException(e.getMessage(), e);
-                }
-                return null;
-            }
-
-            @Override
-            public Class<SAXVisitAfter> getTarget() {
-                return SAXVisitAfter.class;
-            }
-        });
+        if (saxVisitAfter != null) {
+            saxVisitAfter.visitAfter(element, executionContext);
+        }
         
         if (getTarget() instanceof SAXVisitAfter) {
             onEvent(executionContext, element, VisitSequence.AFTER);
@@ -113,22 +86,9 @@ public class EventInterceptor extends AbstractInterceptorVisitor implements SAXE
     
     @Override
     public void onChildText(SAXElement element, SAXText childText, ExecutionContext executionContext) throws IOException {
-        intercept(new Invocation<SAXVisitChildren>() {
-            @Override
-            public Object invoke(SAXVisitChildren visitor) {
-                try {
-                    visitor.onChildText(element, childText, executionContext);
-                } catch (IOException e) {
-                    throw new SmooksException(e.getMessage(), e);
-                }
-                return null;
-            }
-
-            @Override
-            public Class<SAXVisitChildren> getTarget() {
-                return SAXVisitChildren.class;
-            }
-        });
+        if (saxVisitChildren != null) {
+            saxVisitChildren.onChildText(element, childText, executionContext);
+        }
 
         if (getTarget() instanceof SAXVisitChildren) {
             onEvent(executionContext, element, VisitSequence.AFTER);
@@ -137,22 +97,9 @@ public class EventInterceptor extends AbstractInterceptorVisitor implements SAXE
 
     @Override
     public void onChildElement(SAXElement element, SAXElement childElement, ExecutionContext executionContext) throws IOException {
-        intercept(new Invocation<SAXVisitChildren>() {
-            @Override
-            public Object invoke(SAXVisitChildren visitor) {
-                try {
-                    visitor.onChildElement(element, childElement, executionContext);
-                } catch (IOException e) {
-                    throw new SmooksException(e.getMessage(), e);
-                }
-                return null;
-            }
-
-            @Override
-            public Class<SAXVisitChildren> getTarget() {
-                return SAXVisitChildren.class;
-            }
-        });
+        if (saxVisitChildren != null) {
+            saxVisitChildren.onChildElement(element, childElement, executionContext);
+        }
         
         if (getTarget() instanceof SAXVisitChildren) {
             onEvent(executionContext, element, VisitSequence.AFTER);
@@ -161,44 +108,24 @@ public class EventInterceptor extends AbstractInterceptorVisitor implements SAXE
 
     @Override
     public void visitBefore(Element element, ExecutionContext executionContext) {
-        final Invocation<BeforeVisitor> invocation = new Invocation<BeforeVisitor>() {
-            @Override
-            public Object invoke(BeforeVisitor visitor) {
-                visitor.visitBefore(element, executionContext);
-                return null;
-            }
-
-            @Override
-            public Class<BeforeVisitor> getTarget() {
-                return BeforeVisitor.class;
-            }
-        };
-
         if (getTarget() instanceof BeforeVisitor) {
             if (executionContext.getEventListener() != null) {
                 executionContext.getEventListener().onEvent(new ResourceTargetingEvent(element, getTarget().getResourceConfig(), VisitSequence.BEFORE));
             }
-            intercept(invocation);
+            if (beforeVisitor != null) {
+                beforeVisitor.visitBefore(element, executionContext);
+            }
             onEvent(executionContext, element, VisitSequence.BEFORE);
-        } else {
-            intercept(invocation);
+        } else if (beforeVisitor != null) {
+            beforeVisitor.visitBefore(element, executionContext);
         }
     }
 
     @Override
     public void visitAfter(Element element, ExecutionContext executionContext) {
-        intercept(new Invocation<AfterVisitor>() {
-            @Override
-            public Object invoke(AfterVisitor visitor) {
-                visitor.visitAfter(element, executionContext);
-                return null;
-            }
-
-            @Override
-            public Class<AfterVisitor> getTarget() {
-                return AfterVisitor.class;
-            }
-        });
+        if (afterVisitor != null) {
+            afterVisitor.visitAfter(element, executionContext);
+        }
         
         if (getTarget() instanceof AfterVisitor) {
             onEvent(executionContext, element, VisitSequence.AFTER);
@@ -207,18 +134,20 @@ public class EventInterceptor extends AbstractInterceptorVisitor implements SAXE
     
     @Override
     public void visitChildText(Element element, ExecutionContext executionContext) {
-        intercept(new Invocation<ChildrenVisitor>() {
-            @Override
-            public Object invoke(ChildrenVisitor visitor) {
-                visitor.visitChildText(element, executionContext);
-                return null;
-            }
+        if (childrenVisitor != null) {
+            childrenVisitor.visitChildText(element, executionContext);
+        }
+        
+        if (getTarget() instanceof ChildrenVisitor) {
+            onEvent(executionContext, element, VisitSequence.AFTER);
+        }
+    }
 
-            @Override
-            public Class<ChildrenVisitor> getTarget() {
-                return ChildrenVisitor.class;
-            }
-        });
+    @Override
+    public void visitChildText(Element element, CharSequence characterData, TextType textType, ExecutionContext executionContext) {
+        if (characterDataVisitor != null) {
+            characterDataVisitor.visitChildText(element, characterData, textType, executionContext);
+        }
         
         if (getTarget() instanceof ChildrenVisitor) {
             onEvent(executionContext, element, VisitSequence.AFTER);
@@ -227,18 +156,9 @@ public class EventInterceptor extends AbstractInterceptorVisitor implements SAXE
 
     @Override
     public void visitChildElement(Element childElement, ExecutionContext executionContext) {
-        intercept(new Invocation<ChildrenVisitor>() {
-            @Override
-            public Object invoke(ChildrenVisitor visitor) {
-                visitor.visitChildElement(childElement, executionContext);
-                return null;
-            }
-
-            @Override
-            public Class<ChildrenVisitor> getTarget() {
-                return ChildrenVisitor.class;
-            }
-        });
+        if (childrenVisitor != null) {
+            childrenVisitor.visitChildElement(childElement, executionContext);
+        }
         if (getTarget() instanceof ChildrenVisitor) {
             onEvent(executionContext, childElement.getParentNode(), VisitSequence.AFTER);
         }
@@ -249,4 +169,4 @@ public class EventInterceptor extends AbstractInterceptorVisitor implements SAXE
             executionContext.getEventListener().onEvent(new ElementVisitEvent<>(visitable, getTarget(), visitSequence));
         }
     }
-}
\ No newline at end of file
+}
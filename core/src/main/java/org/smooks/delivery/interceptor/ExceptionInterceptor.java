@@ -53,9 +53,7 @@ import org.smooks.delivery.VisitSequence;
 import org.smooks.delivery.Visitor;
 import org.smooks.delivery.dom.DOMElementVisitor;
 import org.smooks.delivery.sax.*;
-import org.smooks.delivery.sax.ng.AfterVisitor;
-import org.smooks.delivery.sax.ng.BeforeVisitor;
-import org.smooks.delivery.sax.ng.ChildrenVisitor;
+import org.smooks.delivery.sax.ng.CharacterDataVisitor;
 import org.smooks.delivery.sax.ng.ElementVisitor;
 import org.smooks.delivery.sax.ng.terminate.TerminateException;
 import org.smooks.event.report.AbstractReportGenerator;
@@ -65,7 +63,7 @@ import org.w3c.dom.Element;
 
 import java.io.IOException;
 
-public class ExceptionInterceptor extends AbstractInterceptorVisitor implements ElementVisitor, DOMElementVisitor, SAXElementVisitor {
+public class ExceptionInterceptor extends AbstractInterceptorVisitor implements ElementVisitor, CharacterDataVisitor, DOMElementVisitor, SAXElementVisitor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ExceptionInterceptor.class);
 
@@ -73,146 +71,101 @@ public class ExceptionInterceptor extends AbstractInterceptorVisitor implements
 
     @Override
     public void visitBefore(SAXElement element, ExecutionContext executionContext) throws SmooksException, IOException {
-        intercept(new Invocation<SAXVisitBefore>() {
-            @Override
-            public Object invoke(SAXVisitBefore visitor) {
-                try {
-                    visitor.visitBefore(element, executionContext);
-                } catch (IOException e) {
-                    throw new SmooksException(e.getMessage(), e);
-                }
-                return null;
-            }
-
-            @Override
-            public Class<SAXVisitBefore> getTarget() {
-                return SAXVisitBefore.class;
+        try {
+            if (saxVisitBefore != null) {
+                saxVisitBefore.visitBefore(element, executionContext);
             }
-        }, executionContext, String.format("Error in %s while processing visitBefore SAX event", visitorBinding.getContentHandler().getClass().getName()), element, VisitSequence.BEFORE);
+        } catch (Throwable t) {
+            processVisitorException(t, "visitBefore SAX", executionContext, element, VisitSequence.BEFORE, visitorBinding);
+        }
     }
 
     @Override
     public void visitAfter(SAXElement element, ExecutionContext executionContext) throws SmooksException, IOException {
-        intercept(new Invocation<SAXVisitAfter>() {
-            @Override
-            public Object invoke(SAXVisitAfter visitor) {
-                try {
-                    visitor.visitAfter(element, executionContext);
-                } catch (IOException e) {
-                    throw new SmooksException(e.getMessage(), e);
-                }
-                return null;
-            }
-
-            @Override
-            public Class<SAXVisitAfter> getTarget() {
-                return SAXVisitAfter.class;
+        try {
+            if (saxVisitAfter != null) {
+                saxVisitAfter.visitAfter(element, executionContext);
             }
-        }, executionContext, String.format("Error in %s while processing visitAfter SAX event", visitorBinding.getContentHandler().getClass().getName()), element, VisitSequence.AFTER);
+        } catch (Throwable t) {
+            processVisitorException(t, "visitAfter SAX", executionContext, element, VisitSequence.AFTER, visitorBinding);
+        }
     }
 
     @Override
     public void onChildText(SAXElement element, SAXText childText, ExecutionContext executionContext) throws SmooksException {
-        intercept(new Invocation<SAXVisitChildren>() {
-            @Override
-            public Object invoke(SAXVisitChildren visitor) {
-                try {
-                    visitor.onChildText(element, childText, executionContext);
-                } catch (IOException e) {
-                    throw new SmooksException(e.getMessage(), e);
-                }
-                return null;
-            }
-
-            @Override
-            public Class<SAXVisitChildren> getTarget() {
-                return SAXVisitChildren.class;
+        try {
+            if (saxVisitChildren != null) {
+                saxVisitChildren.onChildText(element, childText, executionContext);
             }
-        }, executionContext, String.format("Error in %s while processing onChildText SAX event", visitorBinding.getContentHandler().getClass().getName()), element, VisitSequence.AFTER);
+        } catch (Throwable t) {
+            processVisitorException(t, "onChildText SAX", executionContext, element, VisitSequence.AFTER, visitorBinding);
+        }
     }
 
     @Override
     public void onChildElement(SAXElement element, SAXElement childElement, ExecutionContext executionContext) throws SmooksException, IOException {
-        intercept(new Invocation<SAXVisitChildren>() {
-            @Override
-            public Object invoke(SAXVisitChildren visitor) {
-                try {
-                    visitor.onChildElement(element, childElement, executionContext);
-                } catch (IOException e) {
-                    throw new SmooksException(e.getMessage(), e);
-                }
-                return null;
-            }
-
-            @Override
-            public Class<SAXVisitChildren> getTarget() {
-                return SAXVisitChildren.class;
+        try {
+            if (saxVisitChildren != null) {
+                saxVisitChildren.onChildElement(element, childElement, executionContext);
             }
-        }, executionContext, String.format("Error in %s while processing onChildElement SAX event", visitorBinding.getContentHandler().getClass().getName()), element, VisitSequence.AFTER);
+        } catch (Throwable t) {
+            processVisitorException(t, "onChildElement SAX", executionContext, element, VisitSequence.AFTER, visitorBinding);
+        }
     }
 
     @Override
     public void visitBefore(Element element, ExecutionContext executionContext) {
-        intercept(new Invocation<BeforeVisitor>() {
-            @Override
-            public Object invoke(BeforeVisitor visitor) {
-                visitor.visitBefore(element, executionContext);
-                return null;
-            }
-
-            @Override
-            public Class<BeforeVisitor> getTarget() {
-                return BeforeVisitor.class;
+        try {
+            if (beforeVisitor != null) {
+                beforeVisitor.visitBefore(element, executionContext);
             }
-        }, executionContext, String.format("Error in %s while processing visitBefore SAX-NG event", visitorBinding.getContentHandler().getClass().getName()), element, VisitSequence.BEFORE);
+        } catch (Throwable t) {
+            processVisitorException(t, "visitBefore SAX-NG", executionContext, element, VisitSequence.BEFORE, visitorBinding);
+        }
     }
 
     @Override
     public void visitAfter(Element element, ExecutionContext executionContext) {
-        intercept(new Invocation<AfterVisitor>() {
-            @Override
-            public Object invoke(AfterVisitor visitor) {
-                visitor.visitAfter(element, executionContext);
-                return null;
-            }
-
-            @Override
-            public Class<AfterVisitor> getTarget() {
-                return AfterVisitor.class;
+        try {
+            if (afterVisitor != null) {
+                afterVisitor.visitAfter(element, executionContext);
             }
-        }, executionContext, String.format("Error in %s while processing visitAfter SAX-NG event", visitorBinding.getContentHandler().getClass().getName()), element, VisitSequence.AFTER);
+        } catch (Throwable t) {
+            processVisitorException(t, "visitAfter SAX-NG", executionContext, element, VisitSequence.AFTER, visitorBinding);
+        }
     }
 
     @Override
     public void visitChildText(Element element, ExecutionContext executionContext) {
-        intercept(new Invocation<ChildrenVisitor>() {
-            @Override
-            public Object invoke(ChildrenVisitor visitor) {
-                visitor.visitChildText(element, executionContext);
-                return null;
+        try {
+            if (childrenVisitor != null) {
+                childrenVisitor.visitChildText(element, executionContext);
             }
+        } catch (Throwable t) {
+            processVisitorException(t, "visitChildText SAX-NG", executionContext, element, VisitSequence.AFTER, visitorBinding);
+        }
+    }
 
-            @Override
-            public Class<ChildrenVisitor> getTarget() {
-                return ChildrenVisitor.class;
+    @Override
+    public void visitChildText(Element element, CharSequence characterData, TextType textType, ExecutionContext executionContext) {
+        try {
+            if (characterDataVisitor != null) {
+                characterDataVisitor.visitChildText(element, characterData, textType, executionContext);
             }
-        }, executionContext, String.format("Error in %s while processing visitChildText SAX-NG event", visitorBinding.getContentHandler().getClass().getName()), element, VisitSequence.AFTER);
+        } catch (Throwable t) {
+            processVisitorException(t, "visitChildText SAX-NG", executionContext, element, VisitSequence.AFTER, visitorBinding);
+        }
     }
 
     @Override
     public void visitChildElement(Element childElement, ExecutionContext executionContext) {
-        intercept(new Invocation<ChildrenVisitor>() {
-            @Override
-            public Object invoke(ChildrenVisitor visitor) {
-                visitor.visitChildElement(childElement, executionContext);
-                return null;
-            }
-
-            @Override
-            public Class<ChildrenVisitor> getTarget() {
-                return ChildrenVisitor.class;
+        try {
+            if (childrenVisitor != null) {
+                childrenVisitor.visitChildElement(childElement, executionContext);
             }
-        }, executionContext, String.format("Error in %s while processing visitChildElement SAX-NG event", visitorBinding.getContentHandler().getClass().getName()), childElement.getParentNode(), VisitSequence.AFTER);
+        } catch (Throwable t) {
+            processVisitorException(t, "visitChildElement SAX-NG", executionContext, childElement.getParentNode(), VisitSequence.AFTER, visitorBinding);
+        }
     }
 
     @Override
@@ -221,15 +174,7 @@ public class ExceptionInterceptor extends AbstractInterceptorVisitor implements
         terminateOnVisitorException = Boolean.parseBoolean(applicationContext.getRegistry().lookup(new GlobalParamsLookup(applicationContext.getRegistry())).getParameterValue(Filter.TERMINATE_ON_VISITOR_EXCEPTION, String.class, "true"));
     }
     
-    private <T extends Visitor> void intercept(final Invocation<T> invocation, final ExecutionContext executionContext, final String exceptionMessage, final Object visitable, final VisitSequence visitSequence) {
-        try {
-            intercept(invocation);
-        } catch (Throwable t) {
-            processVisitorException(t, exceptionMessage, executionContext, visitable, visitSequence, visitorBinding);
-        }
-    }
-    
-    private void processVisitorException(final Throwable t, final String exceptionMessage, final ExecutionContext executionContext, final Object visitable, final VisitSequence visitSequence, final ContentHandlerBinding<Visitor> visitorBinding) {
+    private void processVisitorException(final Throwable t, final String eventName, final ExecutionContext executionContext, final Object visitable, final VisitSequence visitSequence, final ContentHandlerBinding<Visitor> visitorBinding) {
         if (executionContext.getEventListener() != null) {
             executionContext.getEventListener().onEvent(new ElementVisitEvent<>(visitable, visitorBinding, visitSequence, t));
         }
@@ -240,6 +185,7 @@ public class ExceptionInterceptor extends AbstractInterceptorVisitor implements
 
         executionContext.setTerminationError(t);
         
+        final String exceptionMessage = String.format("Error in %s while processing %s event", visitorBinding.getContentHandler().getClass().getName(), eventName);
         if (!(executionContext.getEventListener() instanceof AbstractReportGenerator) && terminateOnVisitorException) {
             if (t instanceof SmooksException) {
                 throw (SmooksException) t;
@@ -250,4 +196,4 @@ public class ExceptionInterceptor extends AbstractInterceptorVisitor implements
             LOGGER.error(exceptionMessage, t);
         }
     }
-}
\ No newline at end of file
+}
@@ -59,183 +59,87 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.Set;
 
-public class StaticProxyInterceptor extends AbstractInterceptorVisitor implements SAXElementVisitor, ElementVisitor, DOMElementVisitor, VisitLifecycleCleanable, Producer, Consumer, ParameterizedVisitor, ExecutionLifecycleInitializable, ExecutionLifecycleCleanable {
+public class StaticProxyInterceptor extends AbstractInterceptorVisitor implements SAXElementVisitor, ElementVisitor, CharacterDataVisitor, DOMElementVisitor, VisitLifecycleCleanable, Producer, Consumer, ParameterizedVisitor, ExecutionLifecycleInitializable, ExecutionLifecycleCleanable {
     @Override
     public void visitAfter(SAXElement element, ExecutionContext executionContext) throws SmooksException, IOException {
-        intercept(new Invocation<SAXVisitAfter>() {
-            @Override
-            public Object invoke(SAXVisitAfter visitor) {
-                try {
-                    visitor.visitAfter(element, executionContext);
-                } catch (IOException e) {
-                    throw new SmooksException(e.getMessage(), e);
-                }
-                return null;
-            }
-
-            @Override
-            public Class<SAXVisitAfter> getTarget() {
-                return SAXVisitAfter.class;
-            }
-        });
+        if (saxVisitAfter != null) {
+            saxVisitAfter.visitAfter(element, executionContext);
+        }
     }
 
     @Override
     public void visitBefore(SAXElement element, ExecutionContext executionContext) throws SmooksException, IOException {
-        intercept(new Invocation<SAXVisitBefore>() {
-            @Override
-            public Object invoke(SAXVisitBefore visitor) {
-                try {
-                    visitor.visitBefore(element, executionContext);
-                } catch (IOException e) {
-                    throw new SmooksException(e.getMessage(), e);
-                }
-                return null;
-            }
-
-            @Override
-            public Class<SAXVisitBefore> getTarget() {
-                return SAXVisitBefore.class;
-            }
-        });
+        if (saxVisitBefore != null) {
+            saxVisitBefore.visitBefore(element, executionContext);
+        }
     }
 
     @Override
     public void onChildText(SAXElement element, SAXText childText, ExecutionContext executionContext) throws SmooksException {
-        intercept(new Invocation<SAXVisitChildren>() {
-            @Override
-            public Object invoke(SAXVisitChildren visitor) {
-                try {
-                    visitor.onChildText(element, childText, executionContext);
-                } catch (IOException e) {
-                    throw new SmooksException(e.getMessage(), e);
-                }
-                return null;
+        if (saxVisitChildren != null) {
+            try {
+                saxVisitChildren.onChildText(element, childText, executionContext);
+            } catch (IOException e) {
+                throw new SmooksException(e.getMessage(), e);
             }
-
-            @Override
-            public Class<SAXVisitChildren> getTarget() {
-                return SAXVisitChildren.class;
-            }
-        });
+        }
     }
 
     @Override
     public void onChildElement(SAXElement element, SAXElement childElement, ExecutionContext executionContext) throws SmooksException, IOException {
-        intercept(new Invocation<SAXVisitChildren>() {
-            @Override
-            public Object invoke(SAXVisitChildren visitor) {
-                try {
-                    visitor.onChildElement(element, childElement, executionContext);
-                } catch (IOException e) {
-                    throw new SmooksException(e.getMessage(), e);
-                }
-                return null;
-            }
-
-            @Override
-            public Class<SAXVisitChildren> getTarget() {
-                return SAXVisitChildren.class;
-            }
-        });
+        if (saxVisitChildren != null) {
+            saxVisitChildren.onChildElement(element, childElement, executionContext);
+        }
     }
 
     @Override
     public void visitBefore(Element element, ExecutionContext executionContext) {
-        intercept(new Invocation<BeforeVisitor>() {
-            @Override
-            public Object invoke(BeforeVisitor visitor) {
-                visitor.visitBefore(element, executionContext);
-                return null;
-            }
-
-            @Override
-            public Class<BeforeVisitor> getTarget() {
-                return BeforeVisitor.class;
-            }
-        });
+        if (beforeVisitor != null) {
+            beforeVisitor.visitBefore(element, executionContext);
+        }
     }
 
     @Override
     public void visitAfter(Element element, ExecutionContext executionContext) {
-        intercept(new Invocation<AfterVisitor>() {
-            @Override
-            public Object invoke(AfterVisitor visitor) {
-                visitor.visitAfter(element, executionContext);
-                return null;
-            }
-
-            @Override
-            public Class<AfterVisitor> getTarget() {
-                return AfterVisitor.class;
-            }
-        });
+        if (afterVisitor != null) {
+            afterVisitor.visitAfter(element, executionContext);
+        }
     }
 
     @Override
     public void visitChildText(Element element, ExecutionContext executionContext) {
-        intercept(new Invocation<ChildrenVisitor>() {
-            @Override
-            public Object invoke(ChildrenVisitor visitor) {
-                visitor.visitChildText(element, executionContext);
-                return null;
-            }
+        if (childrenVisitor != null) {
+            childrenVisitor.visitChildText(element, executionContext);
+        }
+    }
 
-            @Override
-            public Class<ChildrenVisitor> getTarget() {
-                return ChildrenVisitor.class;
-            }
-        });
+    @Override
+    public void visitChildText(Element element, CharSequence characterData, TextType textType, ExecutionContext executionContext) {
+        if (characterDataVisitor != null) {
+            characterDataVisitor.visitChildText(element, characterData, textType, executionContext);
+        }
     }
 
     @Override
     public void visitChildElement(Element childElement, ExecutionContext executionContext) {
-        intercept(new Invocation<ChildrenVisitor>() {
-            @Override
-            public Object invoke(ChildrenVisitor visitor) {
-                visitor.visitChildElement(childElement, executionContext);
-                return null;
-            }
-
-            @Override
-            public Class<ChildrenVisitor> getTarget() {
-                return ChildrenVisitor.class;
-            }
-        });
+        if (childrenVisitor != null) {
+            childrenVisitor.visitChildElement(childElement, executionContext);
+        }
     }
 
     @Override
     public void executeVisitLifecycleCleanup(Fragment fragment, ExecutionContext executionContext) {
-        intercept(new Invocation<VisitLifecycleCleanable>() {
-            @Override
-            public Object invoke(VisitLifecycleCleanable visitor) {
-                visitor.executeVisitLifecycleCleanup(fragment, executionContext);
-                return null;
-            }
-
-            @Override
-            public Class<VisitLifecycleCleanable> getTarget() {
-                return VisitLifecycleCleanable.class;
-            }
-        });
+        final VisitLifecycleCleanable visitLifecycleCleanable = getInterceptedVisitor(VisitLifecycleCleanable.class);
+        if (visitLifecycleCleanable != null) {
+            visitLifecycleCleanable.executeVisitLifecycleCleanup(fragment, executionContext);
+        }
     }
 
     @Override
     public boolean consumes(Object object) {
-        final Object result = intercept(new Invocation<Consumer>() {
-            @Override
-            public Object invoke(Consumer visitor) {
-                return visitor.consumes(object);
-            }
-
-            @Override
-            public Class<Consumer> getTarget() {
-                return Consumer.class;
-            }
-        });
-        
-        if (result != null) {
-            return (boolean) result;
+        final Consumer consumer = getInterceptedVisitor(Consumer.class);
+        if (consumer != null) {
+            return consumer.consumes(object);
         } else {
             return false;
         }
@@ -243,71 +147,33 @@ public class StaticProxyInterceptor extends AbstractInterceptorVisitor implement
 
     @Override
     public Set<?> getProducts() {
-        Object result = intercept(new Invocation<Producer>() {
-            @Override
-            public Object invoke(Producer visitor) {
-                return visitor.getProducts();
-            }
-
-            @Override
-            public Class<Producer> getTarget() {
-                return Producer.class;
-            }
-        });
-
-        if (result == null) {
-            return Collections.EMPTY_SET;
+        final Producer producer = getInterceptedVisitor(Producer.class);
+        if (producer != null) {
+            return producer.getProducts();
         } else {
-            return (Set<?>) result;
+            return Collections.EMPTY_SET;
         }
     }
 
     @Override
     public int getMaxNodeDepth() {
-        Object depth = intercept(new Invocation<ParameterizedVisitor>() {
-            @Override
-            public Object invoke(ParameterizedVisitor visitor) {
-                return visitor.getMaxNodeDepth();
-            }
-
-            @Override
-            public Class<ParameterizedVisitor> getTarget() {
-                return ParameterizedVisitor.class;
-            }
-        });
-        
-        return depth == null ? 1 : (int) depth;
+        final ParameterizedVisitor parameterizedVisitor = getInterceptedVisitor(ParameterizedVisitor.class);
+        return parameterizedVisitor == null ? 1 : parameterizedVisitor.getMaxNodeDepth();
     }
 
     @Override
     public void executeExecutionLifecycleInitialize(ExecutionContext executionContext) {
-        intercept(new Invocation<ExecutionLifecycleInitializable>() {
-            @Override
-            public Object invoke(ExecutionLifecycleInitializable visitor) {
-                visitor.executeExecutionLifecycleInitialize(executionContext);
-                return null;
-            }
-
-            @Override
-            public Class<ExecutionLifecycleInitializable> getTarget() {
-                return ExecutionLifecycleInitializable.class;
-            }
-        });
+        final ExecutionLifecycleInitializable executionLifecycleInitializable = getInterceptedVisitor(ExecutionLifecycleInitializable.class);
+        if (executionLifecycleInitializable != null) {
+            executionLifecycleInitializable.executeExecutionLifecycleInitialize(executionContext);
+        }
     }
 
     @Override
     public void executeExecutionLifecycleCleanup(ExecutionContext executionContext) {
-        intercept(new Invocation<ExecutionLifecycleCleanable>() {
-            @Override
-            public Object invoke(ExecutionLifecycleCleanable visitor) {
-                visitor.executeExecutionLifecycleCleanup(executionContext);
-                return null;
-            }
-
-            @Override
-            public Class<ExecutionLifecycleCleanable> getTarget() {
-                return ExecutionLifecycleCleanable.class;
-            }
-        });
+        final ExecutionLifecycleCleanable executionLifecycleCleanable = getInterceptedVisitor(ExecutionLifecycleCleanable.class);
+        if (executionLifecycleCleanable != null) {
+            executionLifecycleCleanable.executeExecutionLifecycleCleanup(executionContext);
+        }
     }
-}
\ No newline at end of file
+}
@@ -48,85 +48,71 @@ import org.smooks.delivery.ContentHandlerBinding;
 import org.smooks.delivery.Visitor;
 import org.smooks.delivery.memento.NodeVisitable;
 import org.smooks.delivery.memento.TextAccumulatorMemento;
+import org.smooks.delivery.sax.TextType;
 import org.smooks.delivery.sax.annotation.TextConsumer;
 import org.smooks.delivery.sax.ng.*;
 import org.w3c.dom.Element;
 
-public class TextConsumerInterceptor extends AbstractInterceptorVisitor implements ElementVisitor, InterceptorVisitor {
+public class TextConsumerInterceptor extends AbstractInterceptorVisitor implements ElementVisitor, CharacterDataVisitor, InterceptorVisitor {
+
+    private Boolean textConsumer;
     
     @Override
     public void visitBefore(final Element element, final ExecutionContext executionContext) throws SmooksException {
-        intercept(new Invocation<BeforeVisitor>() {
-            @Override
-            public Object invoke(BeforeVisitor visitor) {
-                visitor.visitBefore(element, executionContext);
-                return null;
-            }
-
-            @Override
-            public Class<BeforeVisitor> getTarget() {
-                return BeforeVisitor.class;
-            }
-        });
+        if (beforeVisitor != null) {
+            beforeVisitor.visitBefore(element, executionContext);
+        }
     }
 
     @Override
     public void visitAfter(final Element element, final ExecutionContext executionContext) throws SmooksException {
-        if (isTextConsumer(getTarget())) {
+        final boolean consumesText = isTextConsumer();
+        if (consumesText) {
             TextAccumulatorMemento textAccumulatorMemento = new TextAccumulatorMemento(new NodeVisitable(element), this);
             executionContext.getMementoCaretaker().restore(textAccumulatorMemento);
             element.setTextContent(textAccumulatorMemento.getText());
         }
-        intercept(new Invocation<AfterVisitor>() {
-            @Override
-            public Object invoke(AfterVisitor visitor) {
-                visitor.visitAfter(element, executionContext);
-                return null;
-            }
-
-            @Override
-            public Class<AfterVisitor> getTarget() {
-                return AfterVisitor.class;
-            }
-        });
-        if (isTextConsumer(getTarget())) {
+        if (afterVisitor != null) {
+            afterVisitor.visitAfter(element, executionContext);
+        }
+        if (consumesText) {
             element.setTextContent("");
         }
     }
 
     @Override
     public void visitChildText(final Element element, final ExecutionContext executionContext) throws SmooksException {
-        if (isTextConsumer(getTarget())) {
+        if (isTextConsumer()) {
             executionContext.getMementoCaretaker().stash(new TextAccumulatorMemento(new NodeVisitable(element), this), textAccumulatorMemento -> textAccumulatorMemento.accumulateText(element.getTextContent()));
         }
-        intercept(new Invocation<ChildrenVisitor>() {
-            @Override
-            public Object invoke(ChildrenVisitor visitor) {
-                visitor.visitChildText(element, executionContext);
-                return null;
-            }
+        if (childrenVisitor != null) {
+            childrenVisitor.visitChildText(element, executionContext);
+        }
+    }
 
-            @Override
-            public Class<ChildrenVisitor> getTarget() {
-                return ChildrenVisitor.class;
-            }
-        });
+    @Override
+    public void visitChildText(final Element element, final CharSequence characterData, final TextType textType, final ExecutionContext executionContext) throws SmooksException {
+        if (textType != TextType.COMMENT && isTextConsumer()) {
+            executionContext.getMementoCaretaker().stash(new TextAccumulatorMemento(new NodeVisitable(element), this), textAccumulatorMemento -> textAccumulatorMemento.accumulateText(characterData));
+        }
+        if (characterDataVisitor != null) {
+            characterDataVisitor.visitChildText(element, characterData, textType, executionContext);
+        }
     }
 
     @Override
     public void visitChildElement(Element childElement, ExecutionContext executionContext) {
-        intercept(new Invocation<ChildrenVisitor>() {
-            @Override
-            public Object invoke(ChildrenVisitor visitor) {
-                visitor.visitChildElement(childElement, executionContext);
-                return null;
-            }
+        if (childrenVisitor != null) {
+            childrenVisitor.visitChildElement(childElement, executionContext);
+        }
+    }
 
-            @Override
-            public Class<ChildrenVisitor> getTarget() {
-                return ChildrenVisitor.class;
-            }
-        });
+    private boolean isTextConsumer() {
+        // the target's binding does not change once the chain is built so the outcome is worked out on the first event only
+        if (textConsumer == null) {
+            textConsumer = isTextConsumer(getTarget());
+        }
+        return textConsumer;
     }
 
     protected boolean isTextConsumer(final ContentHandlerBinding<Visitor> visitorBinding) {
@@ -51,17 +51,16 @@ import org.smooks.delivery.memento.NodeVisitable;
 import org.smooks.delivery.memento.Visitable;
 import org.smooks.delivery.memento.VisitorMemento;
 import org.smooks.delivery.sax.SAXWriterAccessException;
+import org.smooks.delivery.sax.TextType;
 import org.smooks.delivery.sax.annotation.StreamResultWriter;
-import org.smooks.delivery.sax.ng.AfterVisitor;
-import org.smooks.delivery.sax.ng.BeforeVisitor;
-import org.smooks.delivery.sax.ng.ChildrenVisitor;
+import org.smooks.delivery.sax.ng.CharacterDataVisitor;
 import org.smooks.delivery.sax.ng.ElementVisitor;
 import org.w3c.dom.Element;
 
 import java.io.IOException;
 import java.io.Writer;
 
-public class WriterInterceptor extends AbstractInterceptorVisitor implements ElementVisitor, DOMElementVisitor, InterceptorVisitor {
+public class WriterInterceptor extends AbstractInterceptorVisitor implements ElementVisitor, CharacterDataVisitor, DOMElementVisitor, InterceptorVisitor {
 
     public static class ExclusiveWriter extends Writer {
         private Visitor currentVisitor;
@@ -91,6 +90,16 @@ public class WriterInterceptor extends AbstractInterceptorVisitor implements Ele
                 ownerVisitor = currentVisitor;
             }   
         }
+
+        /**
+         * Acquires this writer for the current visitor unless another visitor acquired it first.
+         * 
+         * @return true if the current visitor owns this writer
+         */
+        public boolean tryAcquire() {
+            acquire();
+            return ownerVisitor == currentVisitor;
+        }
         
         @Override
         public void write(char[] cbuf, int off, int len) throws IOException {
@@ -145,11 +154,13 @@ public class WriterInterceptor extends AbstractInterceptorVisitor implements Ele
         }
 
         @Override
-        public String getId() {
-            if (id == null) {
-                id = visitable.getId() + "@" + getClass().getName();
-            }
-            return id;
+        public Object getOwner() {
+            return WriterMemento.class;
+        }
+
+        @Override
+        public boolean isImmutable() {
+            return true;
         }
 
         public Writer getWriter() {
@@ -170,91 +181,114 @@ public class WriterInterceptor extends AbstractInterceptorVisitor implements Ele
 
     @Override
     public void visitAfter(final Element element, final ExecutionContext executionContext) {
-        intercept(new Invocation<AfterVisitor>() {
-            @Override
-            public Object invoke(final AfterVisitor visitor) {
-                visitor.visitAfter(element, executionContext);
-                return null;
-            }
-
-            @Override
-            public Class<AfterVisitor> getTarget() {
-                return AfterVisitor.class;
-            }
-        }, executionContext, element);
+        final Writer originalWriter = executionContext.getWriter();
+        final WriterMemento writerMemento = acquireWriter(executionContext, element);
+        if (afterVisitor != null) {
+            afterVisitor.visitAfter(element, executionContext);
+        }
+        releaseWriter(executionContext, writerMemento, originalWriter);
     }
 
     @Override
     public void visitBefore(final Element element, final ExecutionContext executionContext) {
-        intercept(new Invocation<BeforeVisitor>() {
-            @Override
-            public Object invoke(final BeforeVisitor visitor) {
-                visitor.visitBefore(element, executionContext);
-                return null;
-            }
-
-            @Override
-            public Class<BeforeVisitor> getTarget() {
-                return BeforeVisitor.class;
-            }
-        }, executionContext, element);
+        final Writer originalWriter = executionContext.getWriter();
+        final WriterMemento writerMemento = acquireWriter(executionContext, element);
+        if (beforeVisitor != null) {
+            beforeVisitor.visitBefore(element, executionContext);
+        }
+        releaseWriter(executionContext, writerMemento, originalWriter);
     }
 
     @Override
     public void visitChildText(final Element element, final ExecutionContext executionContext) {
-        intercept(new Invocation<ChildrenVisitor>() {
-            @Override
-            public Object invoke(ChildrenVisitor visitor) {
-                visitor.visitChildText(element, executionContext);
-                return null;
-            }
+        final Writer originalWriter = executionContext.getWriter();
+        final WriterMemento writerMemento = acquireWriter(executionContext, element);
+        if (childrenVisitor != null) {
+            childrenVisitor.visitChildText(element, executionContext);
+        }
+        releaseWriter(executionContext, writerMemento, originalWriter);
+    }
 
-            @Override
-            public Class<ChildrenVisitor> getTarget() {
-                return ChildrenVisitor.class;
-            }
-        }, executionContext, element);
+    @Override
+    public void visitChildText(final Element element, final CharSequence characterData, final TextType textType, final ExecutionContext executionContext) {
+        final Writer originalWriter = executionContext.getWriter();
+        final WriterMemento writerMemento = acquireWriter(executionContext, element);
+        if (characterDataVisitor != null) {
+            characterDataVisitor.visitChildText(element, characterData, textType, executionContext);
+        }
+        releaseWriter(executionContext, writerMemento, originalWriter);
     }
 
     @Override
     public void visitChildElement(final Element childElement, final ExecutionContext executionContext) {
-        final WriterMemento parentElementWriterMemento = new WriterMemento(new ExclusiveWriter(executionContext.getWriter(), (Element) childElement.getParentNode()), new NodeVisitable(childElement.getParentNode()), this);
-        executionContext.getMementoCaretaker().restore(parentElementWriterMemento);
+        final Element parentElement = (Element) childElement.getParentNode();
+        final WriterMemento parentElementWriterMemento = getWriterMemento(executionContext, parentElement);
 
-        final WriterMemento childWriterMemento;
+        final Writer childWriter;
         if (parentElementWriterMemento.getWriter() instanceof ExclusiveWriter) {
-            childWriterMemento = new WriterMemento(new ExclusiveWriter(((ExclusiveWriter) parentElementWriterMemento.getWriter()).getWriter(), childElement), new NodeVisitable(childElement), this);
+            childWriter = new ExclusiveWriter(((ExclusiveWriter) parentElementWriterMemento.getWriter()).getWriter(), childElement);
         } else {
-            childWriterMemento = new WriterMemento(parentElementWriterMemento.getWriter(), new NodeVisitable(childElement), this);
+            childWriter = parentElementWriterMemento.getWriter();
         }
+        executionContext.getMementoCaretaker().save(new WriterMemento(childWriter, new NodeVisitable(childElement), this));
 
-        executionContext.getMementoCaretaker().save(childWriterMemento);
-
-        intercept(new Invocation<ChildrenVisitor>() {
-            @Override
-            public Object invoke(final ChildrenVisitor visitor) {
-                visitor.visitChildElement(childElement, executionContext);
-                return null;
-            }
-
-            @Override
-            public Class<ChildrenVisitor> getTarget() {
-                return ChildrenVisitor.class;
-            }
-        }, executionContext, (Element) childElement.getParentNode());
+        final Writer originalWriter = executionContext.getWriter();
+        acquireWriter(executionContext, parentElementWriterMemento);
+        if (childrenVisitor != null) {
+            childrenVisitor.visitChildElement(childElement, executionContext);
+        }
+        releaseWriter(executionContext, parentElementWriterMemento, originalWriter);
     }
     
     protected <T extends Visitor> void intercept(final Invocation<T> invocation, final ExecutionContext executionContext, final Element element) {
-        final WriterMemento writerMemento = new WriterMemento(new ExclusiveWriter(executionContext.getWriter(), element), new NodeVisitable(element), this);
+        final Writer originalWriter = executionContext.getWriter();
+        final WriterMemento writerMemento = acquireWriter(executionContext, element);
+        intercept(invocation);
+        releaseWriter(executionContext, writerMemento, originalWriter);
+    }
+
+    /**
+     * Gets the memento of the element's writer. The element's {@link ExclusiveWriter} is created, and saved, on the 
+     * first event of the element only so that the following events of the element reuse it.
+     */
+    private WriterMemento getWriterMemento(final ExecutionContext executionContext, final Element element) {
+        final WriterMemento writerMemento = new WriterMemento(null, new NodeVisitable(element), this);
         executionContext.getMementoCaretaker().restore(writerMemento);
+        if (writerMemento.writer == null) {
+            writerMemento.writer = new ExclusiveWriter(executionContext.getWriter(), element);
+            executionContext.getMementoCaretaker().save(writerMemento);
+        }
+
+        return writerMemento;
+    }
+
+    /**
+     * Sets the element's writer as the execution context writer before the intercepted visitor is called.
+     * 
+     * @return the memento of the element's writer to be handed to {@link #releaseWriter(ExecutionContext, WriterMemento, Writer)}
+     */
+    private WriterMemento acquireWriter(final ExecutionContext executionContext, final Element element) {
+        final WriterMemento writerMemento = getWriterMemento(executionContext, element);
+        acquireWriter(executionContext, writerMemento);
+
+        return writerMemento;
+    }
+
+    private void acquireWriter(final ExecutionContext executionContext, final WriterMemento writerMemento) {
         if (writerMemento.getWriter() instanceof ExclusiveWriter) {
             ((ExclusiveWriter) writerMemento.getWriter()).setCurrentVisitor(getTarget().getContentHandler());
         }
-        
-        final Writer originalWriter = executionContext.getWriter();
         executionContext.setWriter(writerMemento.getWriter());
-        intercept(invocation);
-        executionContext.getMementoCaretaker().save(new WriterMemento(executionContext.getWriter(), new NodeVisitable(element), this));
+    }
+
+    /**
+     * Saves the execution context writer as the element's writer, if the intercepted visitor replaced it, and 
+     * reinstates the original execution context writer.
+     */
+    private void releaseWriter(final ExecutionContext executionContext, final WriterMemento writerMemento, final Writer originalWriter) {
+        if (executionContext.getWriter() != writerMemento.getWriter()) {
+            executionContext.getMementoCaretaker().save(new WriterMemento(executionContext.getWriter(), writerMemento.getVisitable(), this));
+        }
         executionContext.setWriter(originalWriter);
     }
-}
\ No newline at end of file
+}
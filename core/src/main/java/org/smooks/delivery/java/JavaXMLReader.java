@@ -62,4 +62,14 @@ public interface JavaXMLReader extends SmooksXMLReader {
      * @throws SmooksConfigurationException Unable to set source Java Objects.
      */
     void setSourceObjects(List<Object> sourceObjects) throws SmooksConfigurationException;
+
+    /**
+     * Java readers are bound to the source objects of a single execution and so are not reused.
+     *
+     * @return False.
+     */
+    @Override
+    default boolean isReusable() {
+        return false;
+    }
 }
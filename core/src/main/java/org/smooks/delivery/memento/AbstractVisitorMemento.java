@@ -68,10 +68,25 @@ public abstract class AbstractVisitorMemento implements VisitorMemento {
         return visitable;
     }
 
+    /**
+     * Gets the object which, together with the visitable, identifies the state captured by this memento. The owner 
+     * is the visitor unless overridden. {@link #getId()} is derived from the owner.
+     *
+     * @return the owner of this memento's state
+     */
+    public Object getOwner() {
+        return visitor;
+    }
+
     @Override
     public String getId() {
         if (id == null) {
-            id = visitable.getId() + "@" + visitor.getClass().getName() + "@" + System.identityHashCode(visitor);
+            final Object owner = getOwner();
+            if (owner instanceof Class) {
+                id = visitable.getId() + "@" + ((Class<?>) owner).getName();
+            } else {
+                id = visitable.getId() + "@" + owner.getClass().getName() + "@" + System.identityHashCode(owner);
+            }
         }
         return id;
     }
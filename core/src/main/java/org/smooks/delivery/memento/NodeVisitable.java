@@ -54,7 +54,27 @@ public class NodeVisitable implements Visitable {
     
     @Override
     public String getId() {
-        return (String) node.getUserData("id");
+        final Object id = node.getUserData("id");
+        return id == null ? null : id.toString();
+    }
+
+    /**
+     * @return the sequence number {@link org.smooks.delivery.sax.ng.ElementPool} identified the node with, or -1 if 
+     * the node is not identified by a sequence number
+     */
+    public long getSequence() {
+        final Object id = node.getUserData("id");
+        return id instanceof Long ? (Long) id : -1;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof NodeVisitable && ((NodeVisitable) o).node == node;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(node);
     }
 
     @Override
@@ -55,14 +55,14 @@ public class TextAccumulatorMemento extends AbstractVisitorMemento {
     @Override
     public VisitorMemento copy() {
         final TextAccumulatorMemento textAccumulatorMemento = new TextAccumulatorMemento(visitable, visitor);
-        textAccumulatorMemento.accumulateText(getText());
+        textAccumulatorMemento.stringBuilder.append(stringBuilder);
         
         return textAccumulatorMemento;
     }
 
     @Override
     public void restore(final VisitorMemento visitorMemento) {
-        stringBuilder.append(((TextAccumulatorMemento) visitorMemento).getText());
+        stringBuilder.append(((TextAccumulatorMemento) visitorMemento).stringBuilder);
     }
 
     public TextAccumulatorMemento accumulateText(final String text) {
@@ -70,6 +70,11 @@ public class TextAccumulatorMemento extends AbstractVisitorMemento {
         return this;
     }
 
+    public TextAccumulatorMemento accumulateText(final CharSequence text) {
+        stringBuilder.append(text);
+        return this;
+    }
+
     public String getText() {
         return stringBuilder.toString();
     }
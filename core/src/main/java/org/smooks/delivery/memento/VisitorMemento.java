@@ -84,5 +84,15 @@ public interface VisitorMemento  {
      * @return the ID of this <code>VisitorMemento</code>
      */
     String getId();
-    
+
+    /**
+     * Tells whether this <code>VisitorMemento</code> can be saved as is rather than as a {@link #copy()}. An immutable 
+     * <code>VisitorMemento</code> is only mutated by {@link #restore(VisitorMemento)} and is not restored once saved.
+     *
+     * @return true if {@link org.smooks.container.MementoCaretaker#save(VisitorMemento)} need not copy this 
+     * <code>VisitorMemento</code>, otherwise false
+     */
+    default boolean isImmutable() {
+        return false;
+    }
 }
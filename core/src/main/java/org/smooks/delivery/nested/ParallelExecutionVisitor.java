@@ -0,0 +1,541 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.delivery.nested;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smooks.Smooks;
+import org.smooks.SmooksException;
+import org.smooks.container.ExecutionContext;
+import org.smooks.container.TypedKey;
+import org.smooks.delivery.AbstractParser;
+import org.smooks.delivery.SmooksContentHandler;
+import org.smooks.delivery.sax.annotation.StreamResultWriter;
+import org.smooks.delivery.sax.ng.AfterVisitor;
+import org.smooks.delivery.sax.ng.BeforeVisitor;
+import org.smooks.delivery.sax.ng.DynamicSaxNgElementVisitorList;
+import org.smooks.delivery.sax.ng.SaxNgHandler;
+import org.smooks.javabean.context.BeanContext;
+import org.smooks.lifecycle.ExecutionLifecycleCleanable;
+import org.smooks.namespace.NamespaceDeclarationStack;
+import org.smooks.payload.StringResult;
+import org.smooks.payload.StringSource;
+import org.smooks.xml.XmlUtil;
+import org.w3c.dom.Element;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.DefaultHandler2;
+import org.xml.sax.ext.LexicalHandler;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.xml.XMLConstants;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel Smooks execution visitor.
+ * <p/>
+ * Forks the fragment of each targeted element (the "fork point", e.g., a repeating <code>&lt;order&gt;</code> record)
+ * off the SAX NG event stream and filters it with a nested Smooks instance on a worker thread. Each fragment is
+ * filtered on its own child {@link ExecutionContext}, whose {@link BeanContext} starts out with a copy of the beans
+ * in the parent <code>BeanContext</code> at the time the fork point was reached. Beans created while filtering a
+ * fragment are not mapped back onto the parent <code>BeanContext</code>.
+ * <p/>
+ * Only the bean map is copied: the beans themselves are shared between the parent execution and the nested executions
+ * of all fragments in flight, which run concurrently. Beans in the parent <code>BeanContext</code> must therefore be
+ * immutable or thread-safe, and neither the parent execution nor the nested executions may mutate them while
+ * fragments are outstanding.
+ * <p/>
+ * The output of the nested executions replaces the fork point fragments in the result. With <code>ordered</code>
+ * set to true (the default), fragment outputs are written in document order. Otherwise, they are written in the
+ * order the nested executions complete. Either way, all outstanding fragments are written out before the stream
+ * moves past an element other than a fork point, or before the document ends when the fork point is the root
+ * element, although character data (e.g., whitespace) between fork points may be written ahead of the fragments
+ * preceding it. At most <code>maxPendingFragments</code> fragments are in flight
+ * per execution: the parser waits for the nested executions to catch up once the limit is reached.
+ * <p/>
+ * Only supported by the SAX NG filter.
+ */
+@StreamResultWriter
+public class ParallelExecutionVisitor implements BeforeVisitor, AfterVisitor, ExecutionLifecycleCleanable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelExecutionVisitor.class);
+    private static final String LEXICAL_HANDLER_PROPERTY = "http://xml.org/sax/properties/lexical-handler";
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    // Keyed by visitor because more than one ParallelExecutionVisitor may be bound to the same execution...
+    private static final TypedKey<Map<ParallelExecutionVisitor, ForkedFragments>> FORKED_FRAGMENTS_KEY = new TypedKey<>(ForkedFragments.class.getName());
+
+    @Inject
+    private String smooksConfig;
+
+    @Inject
+    private Integer threads = Runtime.getRuntime().availableProcessors();
+
+    @Inject
+    private Boolean ordered = true;
+
+    @Inject
+    private Integer maxPendingFragments = 256;
+
+    private volatile Smooks smooksInstance;
+    private volatile ExecutorService executorService;
+
+    public void setSmooksConfig(String smooksConfig) {
+        this.smooksConfig = smooksConfig;
+    }
+
+    public void setSmooksInstance(Smooks smooksInstance) {
+        this.smooksInstance = smooksInstance;
+    }
+
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Invalid 'threads' arg in method call. Must be greater than 0.");
+        }
+        this.threads = threads;
+    }
+
+    public void setOrdered(boolean ordered) {
+        this.ordered = ordered;
+    }
+
+    public void setMaxPendingFragments(int maxPendingFragments) {
+        if (maxPendingFragments < 1) {
+            throw new IllegalArgumentException("Invalid 'maxPendingFragments' arg in method call. Must be greater than 0.");
+        }
+        this.maxPendingFragments = maxPendingFragments;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+        if (smooksInstance != null) {
+            smooksInstance.close();
+        }
+    }
+
+    @Override
+    public void visitBefore(Element element, ExecutionContext executionContext) {
+        SmooksContentHandler parentContentHandler = SmooksContentHandler.getHandler(executionContext);
+        if (!(parentContentHandler instanceof SaxNgHandler)) {
+            throw new SmooksException(getClass().getSimpleName() + " is only supported by the SAX NG filter.");
+        }
+        if (parentContentHandler.getNestedContentHandler() != null) {
+            throw new SmooksException("Illegal use of more than one nested content handler fired on the same element.");
+        }
+
+        ForkedFragments forkedFragments = getForkedFragments(executionContext);
+        forkedFragments.forkElement = element;
+
+        // Swap the handlers on the XMLReader so that the fragment's events are recorded instead of being
+        // filtered. The recorder hands control back to the parent handler on the fork point's end element...
+        XMLReader xmlReader = AbstractParser.getXMLReader(executionContext);
+        FragmentRecorder fragmentRecorder = new FragmentRecorder(xmlReader, parentContentHandler, forkedFragments);
+        xmlReader.setContentHandler(fragmentRecorder);
+        setLexicalHandler(xmlReader, fragmentRecorder);
+        parentContentHandler.replay(fragmentRecorder);
+    }
+
+    @Override
+    public void visitAfter(Element element, ExecutionContext executionContext) {
+        Map<ParallelExecutionVisitor, ForkedFragments> forkedFragmentsMap = executionContext.getAttribute(FORKED_FRAGMENTS_KEY);
+        ForkedFragments forkedFragments = forkedFragmentsMap != null ? forkedFragmentsMap.get(this) : null;
+        if (forkedFragments == null || forkedFragments.fragment == null) {
+            return;
+        }
+
+        final String fragment = forkedFragments.fragment;
+        // Shallow copy: the beans are shared with the nested execution (see the class Javadoc)...
+        final Map<String, Object> beans = new HashMap<>(executionContext.getBeanContext().getBeanMap());
+        forkedFragments.forkElement = null;
+        forkedFragments.fragment = null;
+        forkedFragments.submit(() -> filterFragment(fragment, beans));
+        // No element follows the root so its fragments are written out now rather than left for the cleanup to cancel...
+        final boolean isRoot = !(element.getParentNode() instanceof Element);
+        forkedFragments.merge(executionContext.getWriter(), isRoot ? 0 : maxPendingFragments);
+    }
+
+    @Override
+    public void executeExecutionLifecycleCleanup(ExecutionContext executionContext) {
+        Map<ParallelExecutionVisitor, ForkedFragments> forkedFragmentsMap = executionContext.getAttribute(FORKED_FRAGMENTS_KEY);
+        ForkedFragments forkedFragments = forkedFragmentsMap != null ? forkedFragmentsMap.get(this) : null;
+        if (forkedFragments != null) {
+            try {
+                // Only an aborted execution leaves fragments behind...
+                forkedFragments.cancel();
+                DynamicSaxNgElementVisitorList dynamicVisitorList = DynamicSaxNgElementVisitorList.getList(executionContext);
+                if (dynamicVisitorList != null) {
+                    DynamicSaxNgElementVisitorList.removeDynamicVisitor(forkedFragments, executionContext);
+                }
+            } finally {
+                forkedFragmentsMap.remove(this);
+                if (forkedFragmentsMap.isEmpty()) {
+                    executionContext.removeAttribute(FORKED_FRAGMENTS_KEY);
+                }
+            }
+        }
+    }
+
+    private String filterFragment(String fragment, Map<String, Object> beans) {
+        Smooks smooks = getSmooksInstance();
+        ExecutionContext nestedExecutionContext = smooks.createExecutionContext();
+        BeanContext nestedBeanContext = nestedExecutionContext.getBeanContext();
+        for (Map.Entry<String, Object> bean : beans.entrySet()) {
+            nestedBeanContext.addBean(bean.getKey(), bean.getValue());
+        }
+
+        StringResult result = new StringResult();
+        smooks.filterSource(nestedExecutionContext, new StringSource(fragment), result);
+
+        return result.toString();
+    }
+
+    private ForkedFragments getForkedFragments(ExecutionContext executionContext) {
+        Map<ParallelExecutionVisitor, ForkedFragments> forkedFragmentsMap = executionContext.getAttribute(FORKED_FRAGMENTS_KEY);
+        if (forkedFragmentsMap == null) {
+            forkedFragmentsMap = new IdentityHashMap<>();
+            executionContext.setAttribute(FORKED_FRAGMENTS_KEY, forkedFragmentsMap);
+        }
+        ForkedFragments forkedFragments = forkedFragmentsMap.get(this);
+        if (forkedFragments == null) {
+            forkedFragments = new ForkedFragments(getExecutorService(), ordered);
+            forkedFragmentsMap.put(this, forkedFragments);
+            DynamicSaxNgElementVisitorList.addDynamicVisitor(forkedFragments, executionContext);
+        }
+        return forkedFragments;
+    }
+
+    private Smooks getSmooksInstance() {
+        // Lazily create the Smooks instance...
+        if (smooksInstance == null) {
+            synchronized (this) {
+                if (smooksInstance == null) {
+                    try {
+                        smooksInstance = new Smooks(smooksConfig);
+                    } catch (Exception e) {
+                        throw new SmooksException("Error creating nested Smooks instance for Smooks configuration '" + smooksConfig + "'.", e);
+                    }
+                }
+            }
+        }
+        return smooksInstance;
+    }
+
+    private ExecutorService getExecutorService() {
+        if (executorService == null) {
+            synchronized (this) {
+                if (executorService == null) {
+                    executorService = Executors.newFixedThreadPool(threads, new ForkThreadFactory());
+                }
+            }
+        }
+        return executorService;
+    }
+
+    private static void setLexicalHandler(XMLReader xmlReader, LexicalHandler lexicalHandler) {
+        try {
+            xmlReader.setProperty(LEXICAL_HANDLER_PROPERTY, lexicalHandler);
+        } catch (SAXException e) {
+            LOGGER.debug("XMLReader property '" + LEXICAL_HANDLER_PROPERTY + "' not recognized by XMLReader '" + xmlReader.getClass().getName() + "'.");
+        }
+    }
+
+    private static final class ForkThreadFactory implements ThreadFactory {
+        private final int poolNumber = POOL_NUMBER.incrementAndGet();
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "smooks-fork-" + poolNumber + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * The fragments forked within an execution. Doubles as the dynamic visitor which writes out the outstanding
+     * fragments as soon as the parent handler visits an element other than a fork point.
+     */
+    private static final class ForkedFragments implements BeforeVisitor, AfterVisitor {
+        private final Deque<Future<String>> futures = new ArrayDeque<>();
+        private final ExecutorService executorService;
+        private final CompletionService<String> completionService;
+        private Element forkElement;
+        private String fragment;
+
+        private ForkedFragments(ExecutorService executorService, boolean ordered) {
+            this.executorService = executorService;
+            this.completionService = ordered ? null : new ExecutorCompletionService<>(executorService);
+        }
+
+        @Override
+        public void visitBefore(Element element, ExecutionContext executionContext) {
+            if (element != forkElement) {
+                merge(executionContext.getWriter(), 0);
+            }
+        }
+
+        @Override
+        public void visitAfter(Element element, ExecutionContext executionContext) {
+            if (element == null || element != forkElement) {
+                merge(executionContext.getWriter(), 0);
+            }
+        }
+
+        private void submit(Callable<String> task) {
+            if (completionService == null) {
+                futures.add(executorService.submit(task));
+            } else {
+                futures.add(completionService.submit(task));
+            }
+        }
+
+        /**
+         * Writes out the completed fragments, waiting for the nested executions while more than
+         * <code>maxPending</code> fragments are outstanding.
+         */
+        private void merge(Writer writer, int maxPending) {
+            if (futures.isEmpty()) {
+                return;
+            }
+            try {
+                if (completionService == null) {
+                    while (!futures.isEmpty() && (futures.size() > maxPending || futures.peek().isDone())) {
+                        writer.write(getOutput(futures.poll()));
+                    }
+                } else {
+                    Future<String> future;
+                    while ((future = futures.size() > maxPending ? completionService.take() : completionService.poll()) != null) {
+                        futures.remove(future);
+                        writer.write(getOutput(future));
+                        if (futures.isEmpty()) {
+                            break;
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new SmooksException("Failed to write forked fragment output.", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SmooksException("Interrupted while waiting for forked fragment output.", e);
+            }
+        }
+
+        private String getOutput(Future<String> future) throws InterruptedException {
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                cancel();
+                if (e.getCause() instanceof SmooksException) {
+                    throw (SmooksException) e.getCause();
+                }
+                throw new SmooksException("Failed to filter forked fragment.", e.getCause());
+            }
+        }
+
+        private void cancel() {
+            for (Future<String> future : futures) {
+                future.cancel(true);
+            }
+            futures.clear();
+        }
+    }
+
+    /**
+     * Records the events of a fork point fragment as XML.
+     */
+    private static final class FragmentRecorder extends DefaultHandler2 {
+        private final StringWriter fragmentWriter = new StringWriter();
+        private final List<String[]> prefixMappings = new ArrayList<>();
+        private final XMLReader xmlReader;
+        private final SmooksContentHandler parentContentHandler;
+        private final ForkedFragments forkedFragments;
+        private int depth;
+        private boolean cdata;
+
+        private FragmentRecorder(XMLReader xmlReader, SmooksContentHandler parentContentHandler, ForkedFragments forkedFragments) {
+            this.xmlReader = xmlReader;
+            this.parentContentHandler = parentContentHandler;
+            this.forkedFragments = forkedFragments;
+        }
+
+        @Override
+        public void startPrefixMapping(String prefix, String uri) {
+            prefixMappings.add(new String[]{prefix, uri});
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+            try {
+                fragmentWriter.write('<');
+                fragmentWriter.write(qName.isEmpty() ? localName : qName);
+                if (depth == 0) {
+                    // The fork point is the root of the nested execution's document so it declares every namespace in scope...
+                    NamespaceDeclarationStack namespaceDeclarationStack = parentContentHandler.getNamespaceDeclarationStack();
+                    for (Map.Entry<String, String> namespace : namespaceDeclarationStack.getActiveNamespaces().entrySet()) {
+                        writeNamespace(namespace.getKey(), namespace.getValue());
+                    }
+                } else {
+                    for (String[] prefixMapping : prefixMappings) {
+                        writeNamespace(prefixMapping[0], prefixMapping[1]);
+                    }
+                }
+                prefixMappings.clear();
+
+                for (int i = 0; i < attributes.getLength(); i++) {
+                    String attributeName = attributes.getQName(i).isEmpty() ? attributes.getLocalName(i) : attributes.getQName(i);
+                    if (!attributeName.equals(XMLConstants.XMLNS_ATTRIBUTE) && !attributeName.startsWith(XMLConstants.XMLNS_ATTRIBUTE + ":")) {
+                        writeAttribute(attributeName, attributes.getValue(i));
+                    }
+                }
+                fragmentWriter.write('>');
+            } catch (IOException e) {
+                throw new SAXException(e);
+            }
+            depth++;
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            depth--;
+            fragmentWriter.write("</");
+            fragmentWriter.write(qName.isEmpty() ? localName : qName);
+            fragmentWriter.write('>');
+
+            if (depth == 0) {
+                xmlReader.setContentHandler(parentContentHandler);
+                setLexicalHandler(xmlReader, parentContentHandler);
+                forkedFragments.fragment = fragmentWriter.toString();
+                parentContentHandler.endElement(uri, localName, qName);
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            if (cdata) {
+                fragmentWriter.write(ch, start, length);
+            } else {
+                try {
+                    XmlUtil.encodeTextValue(ch, start, length, fragmentWriter);
+                } catch (IOException e) {
+                    throw new SAXException(e);
+                }
+            }
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) {
+            fragmentWriter.write(ch, start, length);
+        }
+
+        @Override
+        public void processingInstruction(String target, String data) {
+            fragmentWriter.write("<?");
+            fragmentWriter.write(target);
+            if (data != null && !data.isEmpty()) {
+                fragmentWriter.write(' ');
+                fragmentWriter.write(data);
+            }
+            fragmentWriter.write("?>");
+        }
+
+        @Override
+        public void startCDATA() {
+            fragmentWriter.write("<![CDATA[");
+            cdata = true;
+        }
+
+        @Override
+        public void endCDATA() {
+            cdata = false;
+            fragmentWriter.write("]]>");
+        }
+
+        @Override
+        public void comment(char[] ch, int start, int length) {
+            fragmentWriter.write("<!--");
+            fragmentWriter.write(ch, start, length);
+            fragmentWriter.write("-->");
+        }
+
+        private void writeNamespace(String prefix, String uri) throws IOException {
+            if (prefix.isEmpty()) {
+                if (!uri.isEmpty()) {
+                    writeAttribute(XMLConstants.XMLNS_ATTRIBUTE, uri);
+                }
+            } else {
+                writeAttribute(XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix, uri);
+            }
+        }
+
+        private void writeAttribute(String name, String value) throws IOException {
+            fragmentWriter.write(' ');
+            fragmentWriter.write(name);
+            fragmentWriter.write("=\"");
+            XmlUtil.encodeAttributeValue(value.toCharArray(), 0, value.length(), fragmentWriter);
+            fragmentWriter.write('"');
+        }
+    }
+}
@@ -77,6 +77,9 @@ public class SAXContentDeliveryConfig extends AbstractContentDeliveryConfig {
     private FilterBypass filterBypass;
 
     private final Map<String, SAXElementVisitorMap> optimizedVisitorConfig = new HashMap<>();
+    private Map<String, SAXElementVisitorMap> documentVisitorConfig;
+    private SAXElementVisitorMap documentOnlyVisitorConfig;
+    private SAXElementVisitorMap globalVisitorConfig;
 
     public ContentHandlerBindings<SAXVisitBefore> getVisitBefores() {
         return visitBefores;
@@ -124,6 +127,71 @@ public class SAXContentDeliveryConfig extends AbstractContentDeliveryConfig {
         visitAfters.sort(Sorter.SortOrder.CONSUMERS_FIRST);
     }
 
+    public void freeze() {
+        visitBefores.freeze();
+        childVisitors.freeze();
+        visitAfters.freeze();
+        visitCleanables.freeze();
+
+        for (SAXElementVisitorMap visitorMap : optimizedVisitorConfig.values()) {
+            visitorMap.freeze();
+        }
+
+        // Combine the "#document" visitors with the visitors of each element that can be the root...
+        final Map<String, SAXElementVisitorMap> documentVisitorConfig = new HashMap<>();
+        for (String elementName : optimizedVisitorConfig.keySet()) {
+            documentVisitorConfig.put(elementName, freeze(getCombinedOptimizedConfig(new String[]{ResourceConfig.DOCUMENT_FRAGMENT_SELECTOR, elementName})));
+        }
+        documentOnlyVisitorConfig = freeze(getCombinedOptimizedConfig(new String[]{ResourceConfig.DOCUMENT_FRAGMENT_SELECTOR}));
+        this.documentVisitorConfig = documentVisitorConfig;
+        globalVisitorConfig = freeze(combineGlobalVisitorConfig());
+    }
+
+    private SAXElementVisitorMap freeze(SAXElementVisitorMap visitorMap) {
+        if (visitorMap != null) {
+            visitorMap.freeze();
+        }
+        return visitorMap;
+    }
+
+    /**
+     * Get the "#document" visitors combined with the visitors of the root element.
+     * @param elementName The root element name.
+     * @return The combined visitors, or null if no visitor is targeted at the document or the root element.
+     */
+    public SAXElementVisitorMap getDocumentVisitorConfig(String elementName) {
+        if (documentVisitorConfig == null) {
+            return getCombinedOptimizedConfig(new String[]{ResourceConfig.DOCUMENT_FRAGMENT_SELECTOR, elementName});
+        } else if (documentVisitorConfig.containsKey(elementName)) {
+            return documentVisitorConfig.get(elementName);
+        } else {
+            return documentOnlyVisitorConfig;
+        }
+    }
+
+    /**
+     * Get the "*" visitors combined with the "**" visitors.
+     * @return The combined visitors, or null if no visitor is targeted at all elements.
+     */
+    public SAXElementVisitorMap getGlobalVisitorConfig() {
+        if (documentVisitorConfig == null) {
+            return combineGlobalVisitorConfig();
+        } else {
+            return globalVisitorConfig;
+        }
+    }
+
+    private SAXElementVisitorMap combineGlobalVisitorConfig() {
+        final SAXElementVisitorMap starVisitorConfigs = optimizedVisitorConfig.get("*");
+        final SAXElementVisitorMap starStarVisitorConfigs = optimizedVisitorConfig.get("**");
+
+        if (starVisitorConfigs != null) {
+            return starVisitorConfigs.merge(starStarVisitorConfigs);
+        } else {
+            return starStarVisitorConfigs;
+        }
+    }
+
     public void addToExecutionLifecycleSets() throws SmooksConfigurationException {
         addToExecutionLifecycleSets(visitBefores);
         addToExecutionLifecycleSets(visitAfters);
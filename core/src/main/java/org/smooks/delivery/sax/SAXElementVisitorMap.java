@@ -44,7 +44,9 @@ package org.smooks.delivery.sax;
 
 import org.smooks.cdr.ResourceConfig;
 import org.smooks.cdr.xpath.SelectorStep;
+import org.smooks.delivery.ContentHandler;
 import org.smooks.delivery.ContentHandlerBinding;
+import org.smooks.delivery.ContentHandlerBindings;
 import org.smooks.delivery.sax.annotation.StreamResultWriter;
 import org.smooks.delivery.sax.annotation.TextConsumer;
 import org.smooks.lifecycle.VisitLifecycleCleanable;
@@ -56,6 +58,9 @@ import java.util.List;
 
 /**
  * SAXElement visitor Map.
+ * <p/>
+ * The map is {@link #freeze() frozen} once the {@link SAXContentDeliveryConfig} is built, after which
+ * {@link SAXHandler} iterates over the visitor arrays.
  * 
  * @author <a href="mailto:tom.fennelly@gmail.com">tom.fennelly@gmail.com</a>
  */
@@ -68,11 +73,18 @@ public class SAXElementVisitorMap {
     private boolean accumulateText = false;
     private SAXVisitor acquireWriterFor = null;
 
+    private boolean frozen = false;
+    private ContentHandlerBinding<SAXVisitBefore>[] visitBeforeArray;
+    private ContentHandlerBinding<SAXVisitChildren>[] childVisitorArray;
+    private ContentHandlerBinding<SAXVisitAfter>[] visitAfterArray;
+    private ContentHandlerBinding<VisitLifecycleCleanable>[] visitCleanableArray;
+
     public List<ContentHandlerBinding<SAXVisitBefore>> getVisitBefores() {
         return visitBefores;
     }
 
     public void setVisitBefores(List<ContentHandlerBinding<SAXVisitBefore>> visitBefores) {
+        assertNotFrozen();
         this.visitBefores = visitBefores;
     }
 
@@ -81,6 +93,7 @@ public class SAXElementVisitorMap {
     }
 
     public void setChildVisitors(List<ContentHandlerBinding<SAXVisitChildren>> childVisitors) {
+        assertNotFrozen();
         this.childVisitors = childVisitors;
     }
 
@@ -89,6 +102,7 @@ public class SAXElementVisitorMap {
     }
 
     public void setVisitAfters(List<ContentHandlerBinding<SAXVisitAfter>> visitAfters) {
+        assertNotFrozen();
         this.visitAfters = visitAfters;
     }
 
@@ -97,9 +111,26 @@ public class SAXElementVisitorMap {
     }
 
     public void setVisitCleanables(List<ContentHandlerBinding<VisitLifecycleCleanable>> visitCleanables) {
+        assertNotFrozen();
         this.visitCleanables = visitCleanables;
     }
 
+    public ContentHandlerBinding<SAXVisitBefore>[] getVisitBeforeArray() {
+        return frozen ? visitBeforeArray : ContentHandlerBindings.toArray(visitBefores);
+    }
+
+    public ContentHandlerBinding<SAXVisitChildren>[] getChildVisitorArray() {
+        return frozen ? childVisitorArray : ContentHandlerBindings.toArray(childVisitors);
+    }
+
+    public ContentHandlerBinding<SAXVisitAfter>[] getVisitAfterArray() {
+        return frozen ? visitAfterArray : ContentHandlerBindings.toArray(visitAfters);
+    }
+
+    public ContentHandlerBinding<VisitLifecycleCleanable>[] getVisitCleanableArray() {
+        return frozen ? visitCleanableArray : ContentHandlerBindings.toArray(visitCleanables);
+    }
+
     public boolean accumulateText() {
         return accumulateText;
     }
@@ -164,24 +195,26 @@ public class SAXElementVisitorMap {
         merge.visitAfters = new ArrayList<>();
         merge.visitCleanables = new ArrayList<>();
         
-        merge.visitBefores.addAll(visitBefores);
-        merge.visitBefores.addAll(map.visitBefores);
-        merge.childVisitors.addAll(childVisitors);
-        merge.childVisitors.addAll(map.childVisitors);
-        merge.visitAfters.addAll(visitAfters);
-        merge.visitAfters.addAll(map.visitAfters);
-        if (visitCleanables != null) {
-            merge.visitCleanables.addAll(visitCleanables);
-        }
-        if (map.visitCleanables != null) {
-            merge.visitCleanables.addAll(map.visitCleanables);
-        }
+        addAll(merge.visitBefores, visitBefores);
+        addAll(merge.visitBefores, map.visitBefores);
+        addAll(merge.childVisitors, childVisitors);
+        addAll(merge.childVisitors, map.childVisitors);
+        addAll(merge.visitAfters, visitAfters);
+        addAll(merge.visitAfters, map.visitAfters);
+        addAll(merge.visitCleanables, visitCleanables);
+        addAll(merge.visitCleanables, map.visitCleanables);
         
         merge.accumulateText = (accumulateText || merge.accumulateText);
 
         return merge;
     }
 
+    private static <T extends ContentHandler> void addAll(List<ContentHandlerBinding<T>> to, List<ContentHandlerBinding<T>> from) {
+        if (from != null) {
+            to.addAll(from);
+        }
+    }
+
 	private <T extends SAXVisitor> T getAnnotatedHandler(List<ContentHandlerBinding<T>> handlerMaps, Class<? extends Annotation> annotationClass, boolean checkFields) {
 		if(handlerMaps == null) {
 			return null;
@@ -198,4 +231,34 @@ public class SAXElementVisitorMap {
 		
 		return null;
 	}
+
+    /**
+     * Freeze the map. The visitor lists of a frozen map are unmodifiable and can no longer be set.
+     * Freezing a frozen map has no effect.
+     */
+    public void freeze() {
+        if (frozen) {
+            return;
+        }
+
+        visitBeforeArray = ContentHandlerBindings.toArray(visitBefores);
+        childVisitorArray = ContentHandlerBindings.toArray(childVisitors);
+        visitAfterArray = ContentHandlerBindings.toArray(visitAfters);
+        visitCleanableArray = ContentHandlerBindings.toArray(visitCleanables);
+        visitBefores = ContentHandlerBindings.toList(visitBeforeArray);
+        childVisitors = ContentHandlerBindings.toList(childVisitorArray);
+        visitAfters = ContentHandlerBindings.toList(visitAfterArray);
+        visitCleanables = ContentHandlerBindings.toList(visitCleanableArray);
+        frozen = true;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void assertNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Illegal attempt to modify a frozen " + SAXElementVisitorMap.class.getSimpleName() + ".");
+        }
+    }
 }
@@ -120,14 +120,7 @@ public class SAXHandler extends SmooksContentHandler {
         visitorConfigMap = deliveryConfig.getOptimizedVisitorConfig();
 
         SAXContentDeliveryConfig contentDeliveryConfig = (SAXContentDeliveryConfig) executionContext.getDeliveryConfig();
-        SAXElementVisitorMap starVisitorConfigs = visitorConfigMap.get("*");
-        SAXElementVisitorMap starStarVisitorConfigs = visitorConfigMap.get("**");
-
-        if(starVisitorConfigs != null) {
-            globalVisitorConfig = starVisitorConfigs.merge(starStarVisitorConfigs);
-        } else {
-            globalVisitorConfig = starStarVisitorConfigs;
-        }
+        globalVisitorConfig = contentDeliveryConfig.getGlobalVisitorConfig();
 
         rewriteEntities = contentDeliveryConfig.isRewriteEntities();
         defaultSerializer.setRewriteEntities(Optional.of(rewriteEntities));
@@ -167,7 +160,7 @@ public class SAXHandler extends SmooksContentHandler {
         elementName = elementQName != null ? elementQName.getLocalPart() : null;
 
         if(isRoot) {
-            elementVisitorConfig = deliveryConfig.getCombinedOptimizedConfig(new String[] {ResourceConfig.DOCUMENT_FRAGMENT_SELECTOR, elementName});
+            elementVisitorConfig = deliveryConfig.getDocumentVisitorConfig(elementName);
         } else {
             elementVisitorConfig = visitorConfigMap.get(elementName);
         }
@@ -225,16 +218,16 @@ public class SAXHandler extends SmooksContentHandler {
         }
 
         if(currentProcessor.elementVisitorConfig != null) {
-            List<ContentHandlerBinding<SAXVisitAfter>> visitAfterMappings = currentProcessor.elementVisitorConfig.getVisitAfters();
+            ContentHandlerBinding<SAXVisitAfter>[] visitAfterMappings = currentProcessor.elementVisitorConfig.getVisitAfterArray();
 
             if(visitAfterMappings != null) {
                 if(reverseVisitOrderOnVisitAfter) {
                     // We work through the mappings in reverse order on the end element event...
-                    int mappingCount = visitAfterMappings.size();
+                    int mappingCount = visitAfterMappings.length;
                     ContentHandlerBinding<SAXVisitAfter> mapping;
 
                     for(int i = mappingCount - 1; i >= 0; i--) {
-                        mapping = visitAfterMappings.get(i);
+                        mapping = visitAfterMappings[i];
                         visitAfter(mapping);
                     }
                 } else {
@@ -265,7 +258,7 @@ public class SAXHandler extends SmooksContentHandler {
 
         // Process cleanables after applying all the visit afters...
         if(currentProcessor.elementVisitorConfig != null) {
-            List<ContentHandlerBinding<VisitLifecycleCleanable>> visitCleanables = currentProcessor.elementVisitorConfig.getVisitCleanables();
+            ContentHandlerBinding<VisitLifecycleCleanable>[] visitCleanables = currentProcessor.elementVisitorConfig.getVisitCleanableArray();
 
             if(visitCleanables != null) {
                 for (final ContentHandlerBinding<VisitLifecycleCleanable> visitCleanable : visitCleanables)
@@ -316,7 +309,7 @@ public class SAXHandler extends SmooksContentHandler {
         currentProcessor = processor;
         if(currentProcessor.elementVisitorConfig != null) {
             // And visit it with the targeted visitor...
-            List<ContentHandlerBinding<SAXVisitBefore>> visitBeforeMappings = currentProcessor.elementVisitorConfig.getVisitBefores();
+            ContentHandlerBinding<SAXVisitBefore>[] visitBeforeMappings = currentProcessor.elementVisitorConfig.getVisitBeforeArray();
 
             if(elementVisitorConfig.accumulateText()) {
                 currentProcessor.element.accumulateText();
@@ -378,7 +371,7 @@ public class SAXHandler extends SmooksContentHandler {
 
     private void onChildElement(SAXElement childElement) {
         if(currentProcessor.elementVisitorConfig != null) {
-            List<ContentHandlerBinding<SAXVisitChildren>> visitChildMappings = currentProcessor.elementVisitorConfig.getChildVisitors();
+            ContentHandlerBinding<SAXVisitChildren>[] visitChildMappings = currentProcessor.elementVisitorConfig.getChildVisitorArray();
 
             if(visitChildMappings != null) {
                 for (final ContentHandlerBinding<SAXVisitChildren> mapping : visitChildMappings)
@@ -472,7 +465,7 @@ public class SAXHandler extends SmooksContentHandler {
 
             if(!currentProcessor.isNullProcessor) {
                 if(currentProcessor.elementVisitorConfig != null) {
-                    List<ContentHandlerBinding<SAXVisitChildren>> visitChildMappings = currentProcessor.elementVisitorConfig.getChildVisitors();
+                    ContentHandlerBinding<SAXVisitChildren>[] visitChildMappings = currentProcessor.elementVisitorConfig.getChildVisitorArray();
 
                     if(visitChildMappings != null) {
                         for (final ContentHandlerBinding<SAXVisitChildren> mapping : visitChildMappings)
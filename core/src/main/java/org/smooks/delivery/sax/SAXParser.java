@@ -44,7 +44,6 @@ package org.smooks.delivery.sax;
 
 import org.smooks.container.ExecutionContext;
 import org.smooks.delivery.AbstractParser;
-import org.smooks.delivery.ContentDeliveryConfig;
 import org.smooks.delivery.XMLReaderHierarchyChangeListener;
 import org.smooks.namespace.NamespaceDeclarationStack;
 import org.smooks.xml.NamespaceManager;
@@ -72,17 +71,15 @@ public class SAXParser extends AbstractParser {
     }
 
     protected void parse(Source source, ExecutionContext executionContext) throws SAXException, IOException {
-        ContentDeliveryConfig deliveryConfig = executionContext.getDeliveryConfig();
         XMLReader saxReader = getXMLReader(executionContext);
+        boolean borrowedReader = false;
 
         saxHandler = new SAXHandler(getExecutionContext());
 
         try {
             if(saxReader == null) {
-                saxReader = deliveryConfig.getXMLReader();
-            }
-            if(saxReader == null) {
-                saxReader = createXMLReader();
+                saxReader = borrowXMLReader();
+                borrowedReader = true;
             }
 
             NamespaceDeclarationStack namespaceDeclarationStack = new NamespaceDeclarationStack();
@@ -111,7 +108,9 @@ public class SAXParser extends AbstractParser {
                         try {
                             detachXMLReader(executionContext);
                         } finally {
-                            deliveryConfig.returnXMLReader(saxReader);
+                            if(borrowedReader) {
+                                releaseXMLReader(saxReader);
+                            }
                         }
                     }
                 } finally {
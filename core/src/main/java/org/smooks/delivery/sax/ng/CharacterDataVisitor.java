@@ -0,0 +1,70 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.delivery.sax.ng;
+
+import org.smooks.container.ExecutionContext;
+import org.smooks.delivery.sax.TextType;
+import org.w3c.dom.Element;
+
+/**
+ * A {@link ChildrenVisitor} which receives character data straight from the parser's buffer instead of a cloned 
+ * <code>Element</code> holding a copy of the character data. Visitors which do not implement this interface are 
+ * visited through {@link ChildrenVisitor#visitChildText(Element, ExecutionContext)} as before.
+ */
+public interface CharacterDataVisitor extends ChildrenVisitor {
+
+    /**
+     * Visits a chunk of character data of an <code>Element</code>. This method is invoked, in place of 
+     * {@link #visitChildText(Element, ExecutionContext)}, once for each chunk of character data.
+     *
+     * @param element           the <code>Element</code> being processed. The character data is not necessarily a 
+     *                          child of the <code>Element</code>.
+     * @param characterData     a view of the character data which is only valid for the duration of the call. The 
+     *                          view must not be modified or held on to: copy it with {@link CharSequence#toString()}
+     *                          when the character data is needed beyond this call.
+     * @param textType          the kind of character data: {@link TextType#TEXT}, {@link TextType#CDATA} or 
+     *                          {@link TextType#COMMENT}. Entities are delivered as {@link TextType#TEXT}.
+     * @param executionContext  the current <code>ExecutionContext</code>
+     */
+    void visitChildText(Element element, CharSequence characterData, TextType textType, ExecutionContext executionContext);
+}
@@ -0,0 +1,210 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.delivery.sax.ng;
+
+import org.smooks.SmooksException;
+import org.smooks.delivery.DomToXmlWriter;
+import org.smooks.delivery.sax.TextType;
+import org.smooks.xml.XmlUtil;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.Text;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the {@link javax.xml.transform.dom.DOMResult} node of the SAX-NG filter.
+ * <p/>
+ * Serializer visitors add to the document through {@link #startElement(Element)}, 
+ * {@link #characterData(CharSequence, TextType)} and {@link #endElement()} so that the document is built without 
+ * writing and parsing markup. Markup written by other visitors can only be added to the document by parsing it: on the 
+ * first write, the nodes added so far are serialized to a buffer which receives the rest of the output, and 
+ * {@link #getDocument()} parses the buffer as done before this writer existed.
+ */
+public class DOMResultWriter extends Writer {
+
+    private final Document document;
+    private final List<Node> openNodes = new ArrayList<>();
+    private StringWriter markupWriter;
+
+    public DOMResultWriter(final Document document) {
+        this.document = document;
+        openNodes.add(document);
+    }
+
+    /**
+     * @return true if the document is being built from {@link #startElement(Element)}, 
+     * {@link #characterData(CharSequence, TextType)} and {@link #endElement()} calls, false if markup has been written 
+     * to this writer
+     */
+    public boolean isBuilding() {
+        return markupWriter == null;
+    }
+
+    /**
+     * Adds a copy of the element, with its attributes but without its children, to the current node and makes the copy 
+     * the current node.
+     */
+    public void startElement(final Element element) {
+        final Node copy = document.importNode(element, false);
+        getCurrentNode().appendChild(copy);
+        openNodes.add(copy);
+    }
+
+    /**
+     * Makes the parent of the current element the current node.
+     */
+    public void endElement() {
+        if (openNodes.size() > 1) {
+            openNodes.remove(openNodes.size() - 1);
+        }
+    }
+
+    /**
+     * Adds character data to the current node. Text is merged into the current node's last child if that child is text 
+     * too, like a parser does.
+     */
+    public void characterData(final CharSequence characterData, final TextType textType) {
+        final Node currentNode = getCurrentNode();
+        switch (textType) {
+            case CDATA:
+                currentNode.appendChild(document.createCDATASection(characterData.toString()));
+                break;
+            case COMMENT:
+                currentNode.appendChild(document.createComment(characterData.toString()));
+                break;
+            default:
+                if (currentNode != document) {
+                    final Node lastChild = currentNode.getLastChild();
+                    if (lastChild != null && lastChild.getNodeType() == Node.TEXT_NODE) {
+                        ((Text) lastChild).appendData(characterData.toString());
+                    } else {
+                        currentNode.appendChild(document.createTextNode(characterData.toString()));
+                    }
+                }
+        }
+    }
+
+    /**
+     * @return the built document, or the document parsed from the markup when markup was written to this writer
+     */
+    public Document getDocument() {
+        if (markupWriter == null) {
+            return document;
+        } else {
+            try {
+                return XmlUtil.parseStream(new StringReader(markupWriter.toString()));
+            } catch (Exception e) {
+                throw new SmooksException("Failed to parse the filter output into a DOM", e);
+            }
+        }
+    }
+
+    @Override
+    public void write(final int c) throws IOException {
+        getMarkupWriter().write(c);
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        getMarkupWriter().write(cbuf, off, len);
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        getMarkupWriter().write(str, off, len);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public String toString() {
+        if (markupWriter == null) {
+            return XmlUtil.serialize(document, false);
+        } else {
+            return markupWriter.toString();
+        }
+    }
+
+    private Node getCurrentNode() {
+        return openNodes.get(openNodes.size() - 1);
+    }
+
+    private Writer getMarkupWriter() throws IOException {
+        if (markupWriter == null) {
+            markupWriter = new StringWriter();
+            writeOpenNodes(document, 0, new DomToXmlWriter(false, true));
+            openNodes.clear();
+        }
+        return markupWriter;
+    }
+
+    /**
+     * Serializes the children of an open node. The open child, if any, is the last child and is left unclosed.
+     */
+    private void writeOpenNodes(final Node openNode, final int depth, final DomToXmlWriter domToXmlWriter) throws IOException {
+        final Node openChild = depth + 1 < openNodes.size() ? openNodes.get(depth + 1) : null;
+        for (Node child = openNode.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child == openChild) {
+                domToXmlWriter.writeStartElement((Element) child, markupWriter);
+                writeOpenNodes(child, depth + 1, domToXmlWriter);
+            } else if (child.getNodeType() == Node.ELEMENT_NODE) {
+                XmlUtil.serialize(child, false, markupWriter);
+            } else {
+                domToXmlWriter.writeCharacterData(child, markupWriter);
+            }
+        }
+    }
+}
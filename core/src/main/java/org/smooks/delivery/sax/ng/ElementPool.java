@@ -0,0 +1,174 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.delivery.sax.ng;
+
+import org.smooks.SmooksException;
+import org.smooks.container.ExecutionContext;
+import org.smooks.container.TypedKey;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.UserDataHandler;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Creates the {@link Element}s which {@link SaxNgHandler} hands over to SAX-NG visitors.
+ * <p/>
+ * An <code>ElementPool</code> is bound to an {@link ExecutionContext}. It identifies each element with a sequence number
+ * drawn from a counter, and, when the global parameter {@link org.smooks.delivery.Filter#ELEMENT_POOL_SIZE} is greater 
+ * than zero, recycles up to that number of elements: an element detached from its parent at the end of its visit is 
+ * stripped of its attributes, children and identity before being renamed and handed out again for a subsequent start 
+ * tag. Visitors must therefore not hold on to an <code>Element</code> beyond 
+ * {@link AfterVisitor#visitAfter(Element, ExecutionContext)} when element pooling is turned on.
+ * <p/>
+ * Setting the global parameter {@link org.smooks.delivery.Filter#DOM_STRICT_ERROR_CHECKING} to false turns off the DOM
+ * error checking of the pool's {@link Document}. Appending a child then no longer walks all its ancestors, which is
+ * quadratic on deep documents, but visitors modifying the DOM are no longer told about, e.g., invalid names or nodes
+ * from another document.
+ */
+public class ElementPool {
+
+    private static final String ID_USER_DATA_KEY = "id";
+    
+    private static final UserDataHandler COPY_USER_DATA_HANDLER = new CopyUserDataHandler();
+
+    private static final TypedKey<ElementPool> ELEMENT_POOL_KEY = new TypedKey<>(ElementPool.class.getName());
+    
+    private final Deque<Element> recycledElements = new ArrayDeque<>();
+    private final Document document;
+    private final int maxSize;
+    private long sequence;
+
+    private static class CopyUserDataHandler implements UserDataHandler {
+        @Override
+        public void handle(final short operation, final String key, final Object data, final Node src, final Node dst) {
+            if (dst != null) {
+                dst.setUserData(key, data, this);
+            }
+        }
+    }
+
+    public ElementPool(final int maxSize, final ExecutionContext executionContext) {
+        this(maxSize, true, executionContext);
+    }
+
+    public ElementPool(final int maxSize, final boolean strictErrorChecking, final ExecutionContext executionContext) {
+        this.maxSize = maxSize;
+        try {
+            document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        } catch (ParserConfigurationException e) {
+            throw new SmooksException(e.getMessage(), e);
+        }
+        document.setStrictErrorChecking(strictErrorChecking);
+        executionContext.setAttribute(ELEMENT_POOL_KEY, this);
+    }
+
+    public static ElementPool getPool(final ExecutionContext executionContext) {
+        return executionContext.getAttribute(ELEMENT_POOL_KEY);
+    }
+
+    /**
+     * @return the <code>Document</code> owning the elements of this pool
+     */
+    public Document getDocument() {
+        return document;
+    }
+
+    /**
+     * Gets an <code>Element</code> having no attributes and no children, recycling a released <code>Element</code> 
+     * if one is available. The returned <code>Element</code> is identified by the next sequence number of this pool.
+     *
+     * @param namespaceURI  the namespace URI of the element
+     * @param qualifiedName the qualified name of the element
+     * @return an identified <code>Element</code> owned by {@link #getDocument()}
+     */
+    public Element acquire(final String namespaceURI, final String qualifiedName) {
+        final Element recycledElement = recycledElements.pollLast();
+        final Element element;
+        if (recycledElement == null) {
+            element = document.createElementNS(namespaceURI, qualifiedName);
+        } else {
+            element = (Element) document.renameNode(recycledElement, namespaceURI, qualifiedName);
+        }
+        element.setUserData(ID_USER_DATA_KEY, sequence++, COPY_USER_DATA_HANDLER);
+
+        return element;
+    }
+
+    /**
+     * Returns a detached <code>Element</code> to the pool. The <code>Element</code> is discarded when pooling is turned 
+     * off or the pool is full.
+     *
+     * @param element the element to recycle, which must not have a parent
+     */
+    public void release(final Element element) {
+        if (recycledElements.size() >= maxSize || element.getParentNode() != null) {
+            return;
+        }
+
+        element.setUserData(ID_USER_DATA_KEY, null, null);
+        final NamedNodeMap attributes = element.getAttributes();
+        for (int i = attributes.getLength() - 1; i >= 0; i--) {
+            element.removeAttributeNode((Attr) attributes.item(i));
+        }
+        Node lastChild = element.getLastChild();
+        while (lastChild != null) {
+            element.removeChild(lastChild);
+            lastChild = element.getLastChild();
+        }
+        recycledElements.addLast(element);
+    }
+
+    /**
+     * @return the number of recycled elements available for reuse
+     */
+    public int size() {
+        return recycledElements.size();
+    }
+}
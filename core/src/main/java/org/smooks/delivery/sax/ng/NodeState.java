@@ -52,6 +52,8 @@ class NodeState {
     private Element element;
     private SaxNgVisitorBindings visitorBindings;
     private int maxDepth = 1;
+    private int depth = -1;
+    private int maxNodeDepth = 1;
 
     public NodeState getParentNodeState() {
         return parentNodeState;
@@ -63,6 +65,8 @@ class NodeState {
 
     public void setParentNodeState(NodeState parentNodeState) {
         this.parentNodeState = parentNodeState;
+        depth = parentNodeState.depth + 1;
+        maxNodeDepth = Math.max(maxDepth, parentNodeState.maxNodeDepth);
     }
 
     public void setNullProcessor(boolean nullProcessor) {
@@ -99,5 +103,24 @@ class NodeState {
 
     public void setMaxDepth(int maxDepth) {
         this.maxDepth = maxDepth;
+        maxNodeDepth = parentNodeState != null ? Math.max(maxDepth, parentNodeState.maxNodeDepth) : maxDepth;
+    }
+
+    /**
+     * Gets the number of element ancestors, with the root element being at depth 0.
+     * 
+     * @return the depth of the element
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Gets the greatest max depth of this node state and its ancestors. 
+     * 
+     * @return the max node depth in effect for the element
+     */
+    public int getMaxNodeDepth() {
+        return maxNodeDepth;
     }
 }
@@ -0,0 +1,186 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.delivery.sax.ng;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Buffers the characters which the SAX-NG filter writes to a {@link javax.xml.transform.stream.StreamResult} and 
+ * flushes them to the result according to a {@link FlushPolicy}.
+ * <p/>
+ * A call to {@link #flush()}, such as the one made after each visited element, is ignored unless the flush policy is 
+ * {@link FlushPolicy#FRAGMENT}. {@link #flushResult()} always flushes the result: the filter calls it once the document 
+ * has been filtered.
+ * <p/>
+ * Instances are not thread-safe.
+ */
+public class ResultWriter extends Writer {
+
+    public enum FlushPolicy {
+        /**
+         * The result is flushed once the document has been filtered.
+         */
+        DOCUMENT,
+        /**
+         * The result is flushed whenever the buffer fills up and once the document has been filtered.
+         */
+        BUFFER,
+        /**
+         * The result is flushed on every call to {@link #flush()}, that is, at fragment boundaries.
+         */
+        FRAGMENT
+    }
+
+    private final Writer writer;
+    private final FlushPolicy flushPolicy;
+    private final char[] buffer;
+    private int count;
+    private boolean unflushed;
+
+    public ResultWriter(final Writer writer, final int bufferSize, final FlushPolicy flushPolicy) {
+        if (bufferSize < 0) {
+            throw new IllegalArgumentException("Buffer size must not be negative");
+        }
+        this.writer = writer;
+        this.flushPolicy = flushPolicy;
+        this.buffer = new char[bufferSize];
+    }
+
+    @Override
+    public void write(final int c) throws IOException {
+        if (count == buffer.length) {
+            drainBuffer();
+            if (buffer.length == 0) {
+                writer.write(c);
+                onWriteThrough();
+                return;
+            }
+        }
+        buffer[count++] = (char) c;
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        if (len >= buffer.length) {
+            drainBuffer();
+            writer.write(cbuf, off, len);
+            onWriteThrough();
+        } else {
+            if (len > buffer.length - count) {
+                drainBuffer();
+            }
+            System.arraycopy(cbuf, off, buffer, count, len);
+            count += len;
+        }
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        if (len >= buffer.length) {
+            drainBuffer();
+            writer.write(str, off, len);
+            onWriteThrough();
+        } else {
+            if (len > buffer.length - count) {
+                drainBuffer();
+            }
+            str.getChars(off, off + len, buffer, count);
+            count += len;
+        }
+    }
+
+    /**
+     * Flushes the result if the flush policy is {@link FlushPolicy#FRAGMENT} and characters were written since the 
+     * result was last flushed. Otherwise, does nothing.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (flushPolicy == FlushPolicy.FRAGMENT && (count > 0 || unflushed)) {
+            flushResult();
+        }
+    }
+
+    /**
+     * Writes out the buffered characters and flushes the result, whatever the flush policy.
+     */
+    public void flushResult() throws IOException {
+        drainBuffer();
+        writer.flush();
+        unflushed = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushResult();
+        } finally {
+            writer.close();
+        }
+    }
+
+    public Writer getWriter() {
+        return writer;
+    }
+
+    public FlushPolicy getFlushPolicy() {
+        return flushPolicy;
+    }
+
+    private void drainBuffer() throws IOException {
+        if (count > 0) {
+            writer.write(buffer, 0, count);
+            count = 0;
+            onWriteThrough();
+        }
+    }
+
+    private void onWriteThrough() throws IOException {
+        if (flushPolicy == FlushPolicy.BUFFER) {
+            writer.flush();
+            unflushed = false;
+        } else {
+            unflushed = true;
+        }
+    }
+}
@@ -45,24 +45,47 @@ package org.smooks.delivery.sax.ng;
 import org.smooks.cdr.ParameterAccessor;
 import org.smooks.cdr.SmooksConfigurationException;
 import org.smooks.cdr.ResourceConfig;
+import org.smooks.cdr.xpath.SelectorPath;
+import org.smooks.cdr.xpath.SelectorPathAutomaton;
 import org.smooks.cdr.xpath.SelectorStep;
 import org.smooks.cdr.xpath.evaluators.equality.ElementIndexCounter;
 import org.smooks.cdr.xpath.evaluators.equality.IndexEvaluator;
 import org.smooks.container.ExecutionContext;
 import org.smooks.delivery.*;
+import org.smooks.delivery.interceptor.InterceptorVisitor;
 import org.smooks.delivery.ordering.Sorter;
 import org.smooks.delivery.sax.SAXVisitor;
 
+import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 public class SaxNgContentDeliveryConfig extends AbstractContentDeliveryConfig {
 
+    private static final SaxNgVisitorBindings NO_VISITOR_BINDINGS = new SaxNgVisitorBindings();
+
     private final Map<String, SaxNgVisitorBindings> optimizedVisitorConfig = new HashMap<>();
+    private final Map<QName, SaxNgVisitorBindings> namespacedVisitorConfig = new HashMap<>();
+    private final Map<String, SaxNgVisitorBindings> anyNamespaceVisitorConfig = new HashMap<>();
+    private final Map<String, SaxNgVisitorBindings> namespacedGlobalVisitorBindings = new HashMap<>();
+    private SaxNgVisitorBindings anyNamespaceGlobalVisitorBindings;
+    private SaxNgVisitorBindings globalVisitorBindings;
+    private boolean frozen;
+    private final ConcurrentMap<QName, SaxNgVisitorBindings> rootVisitorBindingsCache = new ConcurrentHashMap<>();
+    private final LongAdder rootVisitorBindingsCacheHitCount = new LongAdder();
+    private final LongAdder rootVisitorBindingsCacheMissCount = new LongAdder();
+    private int rootVisitorBindingsCacheSize;
     private final ContentHandlerBindings<ChildrenVisitor> childVisitors = new ContentHandlerBindings<>();
     private final ContentHandlerBindings<BeforeVisitor> beforeVisitors = new ContentHandlerBindings<>();
     private final ContentHandlerBindings<AfterVisitor> afterVisitors = new ContentHandlerBindings<>();
+    private final Set<ChildrenVisitor> characterDataVisitors = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final SelectorPathAutomaton selectorPathAutomaton = new SelectorPathAutomaton();
     private int maxNodeDepth;
+    private int elementPoolSize;
+    private boolean domStrictErrorChecking;
     private boolean rewriteEntities;
     private boolean maintainElementStack;
     private boolean reverseVisitOrderOnVisitAfter;
@@ -85,6 +108,57 @@ public class SaxNgContentDeliveryConfig extends AbstractContentDeliveryConfig {
         return optimizedVisitorConfig;
     }
 
+    /**
+     * Gets the visitor bindings of an element from the index built by {@link #indexByNamespace()}. Bindings targeted 
+     * at a namespace other than the element's are left out.
+     *
+     * @param elementName The namespace URI and local name of the element.
+     * @return The element's visitor bindings, or null if no visitor is targeted at the element's local name.
+     */
+    public SaxNgVisitorBindings getOptimizedVisitorConfig(final QName elementName) {
+        final SaxNgVisitorBindings visitorBindings = namespacedVisitorConfig.get(elementName);
+        if (visitorBindings != null) {
+            return visitorBindings;
+        }
+
+        return anyNamespaceVisitorConfig.get(elementName.getLocalPart());
+    }
+
+    /**
+     * Gets the "*" visitor bindings merged with the "**" visitor bindings, regardless of the namespace they target.
+     *
+     * @return The "*" and "**" visitor bindings, or null if there are none.
+     */
+    public SaxNgVisitorBindings getGlobalVisitorBindings() {
+        if (frozen) {
+            return globalVisitorBindings;
+        }
+
+        return mergeGlobalVisitorBindings();
+    }
+
+    private SaxNgVisitorBindings mergeGlobalVisitorBindings() {
+        final SaxNgVisitorBindings starVisitorBindings = optimizedVisitorConfig.get("*");
+        final SaxNgVisitorBindings starStarVisitorBindings = optimizedVisitorConfig.get("**");
+
+        return starVisitorBindings != null ? starVisitorBindings.merge(starStarVisitorBindings) : starStarVisitorBindings;
+    }
+
+    /**
+     * Gets the "*" and "**" visitor bindings applicable to an element in the namespace.
+     *
+     * @param namespaceURI The element namespace URI.
+     * @return The "*" and "**" visitor bindings, or null if there are none.
+     */
+    public SaxNgVisitorBindings getGlobalVisitorBindings(final String namespaceURI) {
+        final SaxNgVisitorBindings globalVisitorBindings = namespacedGlobalVisitorBindings.get(namespaceURI);
+        if (globalVisitorBindings != null) {
+            return globalVisitorBindings;
+        }
+
+        return anyNamespaceGlobalVisitorBindings;
+    }
+
     @Override
     public FilterBypass getFilterBypass() {
         return filterBypass;
@@ -102,6 +176,33 @@ public class SaxNgContentDeliveryConfig extends AbstractContentDeliveryConfig {
         afterVisitors.sort(Sorter.SortOrder.CONSUMERS_FIRST);
     }
 
+    @Override
+    public void freeze() {
+        beforeVisitors.freeze();
+        childVisitors.freeze();
+        afterVisitors.freeze();
+
+        freeze(optimizedVisitorConfig.values());
+        freeze(namespacedVisitorConfig.values());
+        freeze(anyNamespaceVisitorConfig.values());
+        freeze(namespacedGlobalVisitorBindings.values());
+        if (anyNamespaceGlobalVisitorBindings != null) {
+            anyNamespaceGlobalVisitorBindings.freeze();
+        }
+
+        globalVisitorBindings = mergeGlobalVisitorBindings();
+        if (globalVisitorBindings != null) {
+            globalVisitorBindings.freeze();
+        }
+        frozen = true;
+    }
+
+    private void freeze(final Collection<SaxNgVisitorBindings> visitorBindings) {
+        for (SaxNgVisitorBindings elementVisitorBindings : visitorBindings) {
+            elementVisitorBindings.freeze();
+        }
+    }
+
     public void addToExecutionLifecycleSets() throws SmooksConfigurationException {
         addToExecutionLifecycleSets(beforeVisitors);
         addToExecutionLifecycleSets(afterVisitors);
@@ -169,8 +270,41 @@ public class SaxNgContentDeliveryConfig extends AbstractContentDeliveryConfig {
         reverseVisitOrderOnVisitAfter = Boolean.parseBoolean(ParameterAccessor.getParameterValue(Filter.REVERSE_VISIT_ORDER_ON_VISIT_AFTER, String.class, "true", this));
         terminateOnVisitorException = Boolean.parseBoolean(ParameterAccessor.getParameterValue(Filter.TERMINATE_ON_VISITOR_EXCEPTION, String.class, "true", this));
         maxNodeDepth = Integer.parseInt(ParameterAccessor.getParameterValue(Filter.MAX_NODE_DEPTH, String.class, "1", this));
+        elementPoolSize = Integer.parseInt(ParameterAccessor.getParameterValue(Filter.ELEMENT_POOL_SIZE, String.class, "0", this));
+        domStrictErrorChecking = Boolean.parseBoolean(ParameterAccessor.getParameterValue(Filter.DOM_STRICT_ERROR_CHECKING, String.class, "true", this));
+        rootVisitorBindingsCacheSize = Integer.parseInt(ParameterAccessor.getParameterValue(Filter.ROOT_VISITOR_BINDINGS_CACHE_SIZE, String.class, "64", this));
 
         filterBypass = getFilterBypass(beforeVisitors, afterVisitors);
+
+        for (ContentHandlerBinding<ChildrenVisitor> childVisitorBinding : childVisitors.getAllMappings()) {
+            if (isCharacterDataVisitorChain(childVisitorBinding.getContentHandler())) {
+                characterDataVisitors.add(childVisitorBinding.getContentHandler());
+            }
+            selectorPathAutomaton.compile(childVisitorBinding.getResourceConfig().getSelectorPath());
+        }
+        for (ContentHandlerBinding<BeforeVisitor> beforeVisitorBinding : beforeVisitors.getAllMappings()) {
+            selectorPathAutomaton.compile(beforeVisitorBinding.getResourceConfig().getSelectorPath());
+        }
+        for (ContentHandlerBinding<AfterVisitor> afterVisitorBinding : afterVisitors.getAllMappings()) {
+            selectorPathAutomaton.compile(afterVisitorBinding.getResourceConfig().getSelectorPath());
+        }
+    }
+
+    /**
+     * A visitor chain receives character data by {@link CharacterDataVisitor} only when the target visitor and every 
+     * interceptor in front of it implement {@link CharacterDataVisitor}. Otherwise, an interceptor not implementing 
+     * the interface would be silently skipped.
+     */
+    private boolean isCharacterDataVisitorChain(final Visitor visitor) {
+        Visitor nextVisitor = visitor;
+        while (nextVisitor instanceof InterceptorVisitor) {
+            if (!(nextVisitor instanceof CharacterDataVisitor)) {
+                return false;
+            }
+            nextVisitor = ((InterceptorVisitor) nextVisitor).getVisitorBinding().getContentHandler();
+        }
+        
+        return nextVisitor instanceof CharacterDataVisitor;
     }
 
     public void assertSelectorsNotAccessingText() {
@@ -252,16 +386,191 @@ public class SaxNgContentDeliveryConfig extends AbstractContentDeliveryConfig {
         vbs.add(0, new ContentHandlerBinding(indexCounter, resourceConfig));
     }
 
+    /**
+     * Indexes the optimized visitor config by namespace URI and local name. This way, elements from different 
+     * namespaces sharing a local name are not checked against each other's bindings. A binding is left out of an 
+     * element's bindings when the binding's target namespace is not the element's. Bindings that do not target 
+     * any namespace are kept in the bucket used for the remaining namespaces.
+     * <p/>
+     * Missing before, children or after bindings are taken from the "*" and "**" bindings applicable to the 
+     * namespace, like {@link SaxNgHandler} does for bindings looked up by local name only.
+     */
+    public void indexByNamespace() {
+        namespacedVisitorConfig.clear();
+        anyNamespaceVisitorConfig.clear();
+        namespacedGlobalVisitorBindings.clear();
+
+        final SaxNgVisitorBindings starVisitorBindings = optimizedVisitorConfig.get("*");
+        final SaxNgVisitorBindings starStarVisitorBindings = optimizedVisitorConfig.get("**");
+        final Set<String> globalNamespaces = new HashSet<>();
+        addTargetNamespaces(starVisitorBindings, globalNamespaces);
+        addTargetNamespaces(starStarVisitorBindings, globalNamespaces);
+
+        anyNamespaceGlobalVisitorBindings = mergeGlobalVisitorBindings(starVisitorBindings, starStarVisitorBindings, null);
+        for (String namespaceURI : globalNamespaces) {
+            namespacedGlobalVisitorBindings.put(namespaceURI, mergeGlobalVisitorBindings(starVisitorBindings, starStarVisitorBindings, namespaceURI));
+        }
+
+        for (Map.Entry<String, SaxNgVisitorBindings> visitorBindingsEntry : optimizedVisitorConfig.entrySet()) {
+            final String elementName = visitorBindingsEntry.getKey();
+            final SaxNgVisitorBindings visitorBindings = visitorBindingsEntry.getValue();
+            final Set<String> namespaces = new HashSet<>(globalNamespaces);
+            addTargetNamespaces(visitorBindings, namespaces);
+
+            anyNamespaceVisitorConfig.put(elementName, filterByNamespace(visitorBindings, null));
+            for (String namespaceURI : namespaces) {
+                namespacedVisitorConfig.put(new QName(namespaceURI, elementName), filterByNamespace(visitorBindings, namespaceURI));
+            }
+        }
+    }
+
+    private SaxNgVisitorBindings mergeGlobalVisitorBindings(final SaxNgVisitorBindings starVisitorBindings, final SaxNgVisitorBindings starStarVisitorBindings, final String namespaceURI) {
+        final SaxNgVisitorBindings namespaceStarVisitorBindings = starVisitorBindings != null ? filterVisitorBindings(starVisitorBindings, namespaceURI) : null;
+        final SaxNgVisitorBindings namespaceStarStarVisitorBindings = starStarVisitorBindings != null ? filterVisitorBindings(starStarVisitorBindings, namespaceURI) : null;
+
+        return namespaceStarVisitorBindings != null ? namespaceStarVisitorBindings.merge(namespaceStarStarVisitorBindings) : namespaceStarStarVisitorBindings;
+    }
+
+    private SaxNgVisitorBindings filterByNamespace(final SaxNgVisitorBindings visitorBindings, final String namespaceURI) {
+        final SaxNgVisitorBindings namespaceVisitorBindings = filterVisitorBindings(visitorBindings, namespaceURI);
+        final SaxNgVisitorBindings globalVisitorBindings = getGlobalVisitorBindings(namespaceURI);
+
+        if (globalVisitorBindings != null) {
+            if (namespaceVisitorBindings.getBeforeVisitors() == null) {
+                namespaceVisitorBindings.setBeforeVisitors(globalVisitorBindings.getBeforeVisitors());
+            }
+            if (namespaceVisitorBindings.getChildVisitors() == null) {
+                namespaceVisitorBindings.setChildVisitors(globalVisitorBindings.getChildVisitors());
+            }
+            if (namespaceVisitorBindings.getAfterVisitors() == null) {
+                namespaceVisitorBindings.setAfterVisitors(globalVisitorBindings.getAfterVisitors());
+            }
+        }
+
+        return namespaceVisitorBindings;
+    }
+
+    private SaxNgVisitorBindings filterVisitorBindings(final SaxNgVisitorBindings visitorBindings, final String namespaceURI) {
+        final SaxNgVisitorBindings namespaceVisitorBindings = new SaxNgVisitorBindings();
+
+        namespaceVisitorBindings.setBeforeVisitors(filterVisitorBindings(visitorBindings.getBeforeVisitors(), namespaceURI));
+        namespaceVisitorBindings.setChildVisitors(filterVisitorBindings(visitorBindings.getChildVisitors(), namespaceURI));
+        namespaceVisitorBindings.setAfterVisitors(filterVisitorBindings(visitorBindings.getAfterVisitors(), namespaceURI));
+
+        return namespaceVisitorBindings;
+    }
+
+    private <T extends Visitor> List<ContentHandlerBinding<T>> filterVisitorBindings(final List<ContentHandlerBinding<T>> contentHandlerBindings, final String namespaceURI) {
+        if (contentHandlerBindings == null) {
+            return null;
+        }
+
+        final List<ContentHandlerBinding<T>> namespaceContentHandlerBindings = new ArrayList<>(contentHandlerBindings.size());
+        for (ContentHandlerBinding<T> contentHandlerBinding : contentHandlerBindings) {
+            final String targetNamespaceURI = getTargetNamespaceURI(contentHandlerBinding.getResourceConfig());
+            if (targetNamespaceURI == null || targetNamespaceURI.equals(namespaceURI)) {
+                namespaceContentHandlerBindings.add(contentHandlerBinding);
+            }
+        }
+
+        return namespaceContentHandlerBindings;
+    }
+
+    private void addTargetNamespaces(final SaxNgVisitorBindings visitorBindings, final Set<String> namespaces) {
+        if (visitorBindings != null) {
+            for (ContentHandlerBinding<? extends Visitor> contentHandlerBinding : visitorBindings.getVisitorBindings()) {
+                final String targetNamespaceURI = getTargetNamespaceURI(contentHandlerBinding.getResourceConfig());
+                if (targetNamespaceURI != null) {
+                    namespaces.add(targetNamespaceURI);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the namespace an element must be in for {@link SelectorPath#isTargetedAtElement(org.w3c.dom.Element, ExecutionContext)} 
+     * to be true.
+     *
+     * @return The namespace URI, or null if the resource is not targeted at a namespace.
+     */
+    // SelectorPath#isTargetedAtElement still honours the deprecated selector namespace, which has no replacement accessor
+    @SuppressWarnings("deprecation")
+    private String getTargetNamespaceURI(final ResourceConfig resourceConfig) {
+        final SelectorPath selectorPath = resourceConfig.getSelectorPath();
+        if (selectorPath.getSelectorNamespaceURI() != null) {
+            return selectorPath.getSelectorNamespaceURI();
+        }
+
+        final QName targetElement = selectorPath.getTargetSelectorStep().getElement();
+        if (targetElement == null || XMLConstants.NULL_NS_URI.equals(targetElement.getNamespaceURI())) {
+            return null;
+        } else {
+            return targetElement.getNamespaceURI();
+        }
+    }
+
+    /**
+     * Gets the "#document" visitor bindings combined with the visitor bindings of the root element. Combined bindings 
+     * are cached by root element name, up to the {@link Filter#ROOT_VISITOR_BINDINGS_CACHE_SIZE} global parameter 
+     * (64 by default). Root elements arriving once the cache is full are combined on every call.
+     *
+     * @param elementName The namespace URI and local name of the root element.
+     * @return The root element's visitor bindings, or null if no visitor is targeted at the document or the root element.
+     */
+    public SaxNgVisitorBindings getRootVisitorBindings(final QName elementName) {
+        SaxNgVisitorBindings rootVisitorBindings = rootVisitorBindingsCache.get(elementName);
+        if (rootVisitorBindings != null) {
+            rootVisitorBindingsCacheHitCount.increment();
+        } else {
+            rootVisitorBindingsCacheMissCount.increment();
+            rootVisitorBindings = getCombinedOptimizedConfig(elementName.getNamespaceURI(), new String[]{ResourceConfig.DOCUMENT_FRAGMENT_SELECTOR, elementName.getLocalPart()});
+            if (rootVisitorBindings == null) {
+                rootVisitorBindings = NO_VISITOR_BINDINGS;
+            } else {
+                rootVisitorBindings.freeze();
+            }
+            if (rootVisitorBindingsCache.size() < rootVisitorBindingsCacheSize) {
+                rootVisitorBindingsCache.putIfAbsent(elementName, rootVisitorBindings);
+            }
+        }
+
+        return rootVisitorBindings == NO_VISITOR_BINDINGS ? null : rootVisitorBindings;
+    }
+
+    public long getRootVisitorBindingsCacheHitCount() {
+        return rootVisitorBindingsCacheHitCount.sum();
+    }
+
+    public long getRootVisitorBindingsCacheMissCount() {
+        return rootVisitorBindingsCacheMissCount.sum();
+    }
+
+    public SaxNgVisitorBindings getCombinedOptimizedConfig(String namespaceURI, String[] elementNames) {
+        final List<SaxNgVisitorBindings> elementVisitorMaps = new ArrayList<>();
+        for (String elementName : elementNames) {
+            elementVisitorMaps.add(getOptimizedVisitorConfig(new QName(namespaceURI, elementName)));
+        }
+
+        return combineVisitorBindings(elementVisitorMaps);
+    }
+
     public SaxNgVisitorBindings getCombinedOptimizedConfig(String[] elementNames) {
+        final List<SaxNgVisitorBindings> elementVisitorMaps = new ArrayList<>();
+        for (String elementName : elementNames) {
+            elementVisitorMaps.add(optimizedVisitorConfig.get(elementName));
+        }
+
+        return combineVisitorBindings(elementVisitorMaps);
+    }
+
+    private SaxNgVisitorBindings combineVisitorBindings(List<SaxNgVisitorBindings> elementVisitorMaps) {
         SaxNgVisitorBindings combinedConfig = new SaxNgVisitorBindings();
 
         combinedConfig.setBeforeVisitors(new ArrayList<>());
         combinedConfig.setChildVisitors(new ArrayList<>());
         combinedConfig.setAfterVisitors(new ArrayList<>());
 
-        for (String elementName : elementNames) {
-            final SaxNgVisitorBindings elementVisitorMap = optimizedVisitorConfig.get(elementName);
-
+        for (SaxNgVisitorBindings elementVisitorMap : elementVisitorMaps) {
             if (elementVisitorMap != null) {
                 final List<ContentHandlerBinding<BeforeVisitor>> beforeVisitorBindings = elementVisitorMap.getBeforeVisitors();
                 final List<ContentHandlerBinding<ChildrenVisitor>> childVisitorBindings = elementVisitorMap.getChildVisitors();
@@ -315,4 +624,20 @@ public class SaxNgContentDeliveryConfig extends AbstractContentDeliveryConfig {
     public int getMaxNodeDepth() {
         return maxNodeDepth;
     }
+
+    public int getElementPoolSize() {
+        return elementPoolSize;
+    }
+
+    public boolean isDomStrictErrorChecking() {
+        return domStrictErrorChecking;
+    }
+
+    public SelectorPathAutomaton getSelectorPathAutomaton() {
+        return selectorPathAutomaton;
+    }
+
+    public boolean isCharacterDataVisitor(final ChildrenVisitor childrenVisitor) {
+        return characterDataVisitors.contains(childrenVisitor);
+    }
 }
\ No newline at end of file
@@ -45,7 +45,11 @@ package org.smooks.delivery.sax.ng;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.smooks.SmooksException;
+import org.smooks.cdr.ParameterAccessor;
+import org.smooks.cdr.ResourceConfig;
 import org.smooks.container.ExecutionContext;
+import org.smooks.delivery.AbstractParser;
+import org.smooks.delivery.Filter;
 import org.smooks.delivery.sax.SmooksSAXFilter;
 import org.smooks.delivery.sax.ng.terminate.TerminateException;
 import org.smooks.payload.FilterResult;
@@ -55,25 +59,31 @@ import org.smooks.payload.StringSource;
 import org.smooks.xml.DomUtils;
 import org.smooks.xml.XmlUtil;
 
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
 import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
-import java.io.StringReader;
-import java.io.StringWriter;
+import java.io.IOException;
 import java.io.Writer;
 
 public class SaxNgFilter extends SmooksSAXFilter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SaxNgFilter.class);
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = DocumentBuilderFactory.newInstance();
 
     private final SaxNgParser parser;
+    private final int outputBufferSize;
+    private final ResultWriter.FlushPolicy outputFlushPolicy;
 
     public SaxNgFilter(ExecutionContext executionContext) {
         super(executionContext);
         parser = new SaxNgParser(executionContext);
+        outputBufferSize = Integer.parseInt(ParameterAccessor.getParameterValue(Filter.OUTPUT_BUFFER_SIZE, String.class, "8192", executionContext.getDeliveryConfig()).trim());
+        outputFlushPolicy = ResultWriter.FlushPolicy.valueOf(ParameterAccessor.getParameterValue(Filter.OUTPUT_FLUSH_POLICY, String.class, "document", executionContext.getDeliveryConfig()).trim().toUpperCase());
     }
 
     @Override
@@ -91,7 +101,8 @@ public class SaxNgFilter extends SmooksSAXFilter {
 
     @Override
     protected void doFilter(Source source, Result result) {
-        if (source instanceof DOMSource) {
+        if (source instanceof DOMSource && isReaderConfigured()) {
+            // a configured reader expects a stream so the DOM is serialized for it...
             String serializedDOM = XmlUtil.serialize(((DOMSource) source).getNode(), false);
             source = new StringSource(serializedDOM);
             if (LOGGER.isDebugEnabled()) {
@@ -99,8 +110,8 @@ public class SaxNgFilter extends SmooksSAXFilter {
             }
         }
 
-        if (!(source instanceof StreamSource) && !(source instanceof JavaSource)) {
-            throw new IllegalArgumentException("Unsupported " + source.getClass().getName() + " source type: SAX-NG filter supports StreamSource and JavaSource");
+        if (!(source instanceof StreamSource) && !(source instanceof JavaSource) && !(source instanceof DOMSource)) {
+            throw new IllegalArgumentException("Unsupported " + source.getClass().getName() + " source type: SAX-NG filter supports StreamSource, JavaSource and DOMSource");
         }
         if (!(result instanceof FilterResult)) {
             if (result != null && !(result instanceof StreamResult) && !(result instanceof DOMResult)) {
@@ -108,15 +119,18 @@ public class SaxNgFilter extends SmooksSAXFilter {
             }
         }
 
+        Writer writer = null;
+        boolean resultFlushed = false;
         try {
-            final Writer writer = getWriter(result, executionContext);
+            writer = getWriter(result, executionContext);
             executionContext.setWriter(writer);
             parser.parse(source, executionContext);
             
             if (result instanceof DOMResult) {
-                ((DOMResult) result).setNode(XmlUtil.parseStream(new StringReader(writer.toString())));
+                ((DOMResult) result).setNode(((DOMResultWriter) writer).getDocument());
             } else {
-                writer.flush();
+                flushResult(writer);
+                resultFlushed = true;
             }
         } catch (TerminateException e) {
             if (LOGGER.isDebugEnabled()) {
@@ -129,6 +143,14 @@ public class SaxNgFilter extends SmooksSAXFilter {
         } catch (Exception e) {
             throw new SmooksException("Failed to filter source", e);
         } finally {
+            if (writer instanceof ResultWriter && !resultFlushed) {
+                // output buffered before the filter terminated or failed is not discarded
+                try {
+                    flushResult(writer);
+                } catch (Throwable throwable) {
+                    LOGGER.debug("Failed to flush result.", throwable);
+                }
+            }
             if (closeSource) {
                 close(source);
             }
@@ -141,9 +163,28 @@ public class SaxNgFilter extends SmooksSAXFilter {
     @Override
     protected Writer getWriter(Result result, ExecutionContext executionContext) {
         if (result instanceof DOMResult) {
-            return new StringWriter();
+            try {
+                return new DOMResultWriter(DOCUMENT_BUILDER_FACTORY.newDocumentBuilder().newDocument());
+            } catch (ParserConfigurationException e) {
+                throw new SmooksException(e.getMessage(), e);
+            }
+        } else if (result instanceof StreamResult) {
+            return new ResultWriter(super.getWriter(result, executionContext), outputBufferSize, outputFlushPolicy);
         } else {
             return super.getWriter(result, executionContext);
         }
     }
+
+    private boolean isReaderConfigured() {
+        final ResourceConfig saxDriverConfig = AbstractParser.getSAXParserConfiguration(executionContext.getDeliveryConfig());
+        return saxDriverConfig != null && saxDriverConfig.getResource() != null;
+    }
+
+    private void flushResult(final Writer writer) throws IOException {
+        if (writer instanceof ResultWriter) {
+            ((ResultWriter) writer).flushResult();
+        } else {
+            writer.flush();
+        }
+    }
 }
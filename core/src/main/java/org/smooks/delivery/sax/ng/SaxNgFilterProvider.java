@@ -102,6 +102,7 @@ public class SaxNgFilterProvider extends AbstractFilterProvider {
         saxNgContentDeliveryConfig.initializeXMLReaderPool();
 
         saxNgContentDeliveryConfig.addIndexCounters();
+        saxNgContentDeliveryConfig.indexByNamespace();
 
         return saxNgContentDeliveryConfig;
     }
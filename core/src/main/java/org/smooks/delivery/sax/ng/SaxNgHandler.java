@@ -43,7 +43,7 @@
 package org.smooks.delivery.sax.ng;
 
 import org.smooks.SmooksException;
-import org.smooks.cdr.ResourceConfig;
+import org.smooks.cdr.xpath.SelectorPathMatcher;
 import org.smooks.container.ExecutionContext;
 import org.smooks.delivery.ContentHandlerBinding;
 import org.smooks.delivery.Fragment;
@@ -60,22 +60,17 @@ import org.smooks.lifecycle.LifecycleManager;
 import org.smooks.lifecycle.phase.VisitCleanupPhase;
 import org.smooks.registry.lookup.LifecycleManagerLookup;
 import org.smooks.xml.DocType;
-import org.smooks.xml.DomUtils;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
-import org.w3c.dom.UserDataHandler;
 import org.xml.sax.SAXException;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
 import java.io.Writer;
-import java.util.List;
+import java.nio.CharBuffer;
 import java.util.Map;
-import java.util.UUID;
 
 public class SaxNgHandler extends SmooksContentHandler {
     
@@ -92,16 +87,11 @@ public class SaxNgHandler extends SmooksContentHandler {
     private final boolean reverseVisitOrderOnVisitAfter;
     private final boolean rewriteEntities;
     private final LifecycleManager lifecycleManager;
+    private final SelectorPathMatcher selectorPathMatcher;
 
     private NodeState currentNodeState = null;
     private Document factory;
-
-    private static class CopyUserDataHandler implements UserDataHandler {
-        @Override
-        public void handle(final short operation, final String key, final Object data, final Node src, final Node dst) {
-            dst.setUserData(key, data, new CopyUserDataHandler());
-        }
-    }
+    private ElementPool elementPool;
 
     @SuppressWarnings("WeakerAccess")
     public SaxNgHandler(final ExecutionContext executionContext) {
@@ -120,14 +110,12 @@ public class SaxNgHandler extends SmooksContentHandler {
 
         
         final SaxNgContentDeliveryConfig contentDeliveryConfig = (SaxNgContentDeliveryConfig) executionContext.getDeliveryConfig();
-        final SaxNgVisitorBindings starVisitorConfigs = elementVisitorMapByElementName.get("*");
-        final SaxNgVisitorBindings starStarVisitorConfigs = elementVisitorMapByElementName.get("**");
-
-        globalVisitorBindings = starVisitorConfigs != null ? starVisitorConfigs.merge(starStarVisitorConfigs) : starStarVisitorConfigs;
+        globalVisitorBindings = contentDeliveryConfig.getGlobalVisitorBindings();
         rewriteEntities = contentDeliveryConfig.isRewriteEntities();
         maintainElementStack = contentDeliveryConfig.isMaintainElementStack();
         globalMaxNodeDepth = contentDeliveryConfig.getMaxNodeDepth() == 0 ? Integer.MAX_VALUE : contentDeliveryConfig.getMaxNodeDepth();
         reverseVisitOrderOnVisitAfter = contentDeliveryConfig.isReverseVisitOrderOnVisitAfter();
+        selectorPathMatcher = contentDeliveryConfig.getSelectorPathAutomaton().newMatcher();
         
         final DynamicSaxNgElementVisitorList dynamicVisitorList = DynamicSaxNgElementVisitorList.getList(executionContext);
         this.dynamicVisitorList = dynamicVisitorList == null ? new DynamicSaxNgElementVisitorList(executionContext) : dynamicVisitorList;
@@ -139,11 +127,12 @@ public class SaxNgHandler extends SmooksContentHandler {
 
     @Override
     public void startDocument() {
-        try {
-            factory = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
-        } catch (ParserConfigurationException e) {
-            throw new SmooksException(e.getMessage(), e);
+        elementPool = ElementPool.getPool(executionContext);
+        if (elementPool == null) {
+            // Report generation holds on to elements so recycling them is off the table...
+            elementPool = new ElementPool(executionEventListener == null ? deliveryConfig.getElementPoolSize() : 0, deliveryConfig.isDomStrictErrorChecking(), executionContext);
         }
+        factory = elementPool.getDocument();
         currentNodeState = new NodeState();
     }
 
@@ -151,17 +140,16 @@ public class SaxNgHandler extends SmooksContentHandler {
     public void startElement(final StartElementEvent startEvent) {
         final boolean isRoot = (currentNodeState.getParentNodeState() == null);
         final QName elementQName = SAXUtil.toQName(startEvent.uri, startEvent.localName, startEvent.qName);
-        final String elementName = elementQName != null ? elementQName.getLocalPart() : null;
 
         SaxNgVisitorBindings visitorBindings;
         if (isRoot) {
-            visitorBindings = deliveryConfig.getCombinedOptimizedConfig(new String[]{ResourceConfig.DOCUMENT_FRAGMENT_SELECTOR, elementName});
+            visitorBindings = deliveryConfig.getRootVisitorBindings(elementQName);
         } else {
-            visitorBindings = elementVisitorMapByElementName.get(elementName);
+            visitorBindings = deliveryConfig.getOptimizedVisitorConfig(elementQName);
         }
 
         if (visitorBindings == null) {
-            visitorBindings = globalVisitorBindings;
+            visitorBindings = deliveryConfig.getGlobalVisitorBindings(elementQName.getNamespaceURI());
         }
 
         if (!maintainElementStack && visitorBindings == null) {
@@ -173,7 +161,7 @@ public class SaxNgHandler extends SmooksContentHandler {
                 executionEventListener.onEvent(new ElementPresentEvent(currentNodeState.getElement()));
             }
         } else {
-            final Element element = factory.createElementNS(elementQName.getNamespaceURI(), elementQName.getPrefix().equals("") ? elementQName.getLocalPart() : elementQName.getPrefix() + ":" + elementQName.getLocalPart());
+            final Element element = elementPool.acquire(elementQName.getNamespaceURI(), elementQName.getPrefix().equals("") ? elementQName.getLocalPart() : elementQName.getPrefix() + ":" + elementQName.getLocalPart());
             for (int i = 0; i < startEvent.attributes.getLength(); i++) {
                 if (XMLConstants.NULL_NS_URI.equals(startEvent.attributes.getURI(i))) {
                     element.setAttribute(startEvent.attributes.getLocalName(i), startEvent.attributes.getValue(i));
@@ -181,14 +169,13 @@ public class SaxNgHandler extends SmooksContentHandler {
                     element.setAttributeNS(startEvent.attributes.getURI(i), startEvent.attributes.getQName(i), startEvent.attributes.getValue(i));
                 }
             }
-            element.setUserData("id", UUID.randomUUID().toString(), new CopyUserDataHandler());
-            
+
             if (!isRoot) {
                 currentNodeState.getElement().appendChild(element);
                 onChildElement(element);
             } else {
-                if (currentNodeState.getElement() != null) {
-                    factory.removeChild(currentNodeState.getElement());
+                if (factory.getDocumentElement() != null) {
+                    factory.removeChild(factory.getDocumentElement());
                 }
                 factory.appendChild(element);
             }
@@ -209,17 +196,17 @@ public class SaxNgHandler extends SmooksContentHandler {
         }
 
         if (currentNodeState.getVisitorBindings() != null) {
-            List<ContentHandlerBinding<AfterVisitor>> afterVisitorBindings = currentNodeState.getVisitorBindings().getAfterVisitors();
+            ContentHandlerBinding<AfterVisitor>[] afterVisitorBindings = currentNodeState.getVisitorBindings().getAfterVisitorArray();
 
             if (afterVisitorBindings == null && globalVisitorBindings != null) {
-                afterVisitorBindings = globalVisitorBindings.getAfterVisitors();
+                afterVisitorBindings = globalVisitorBindings.getAfterVisitorArray();
             }
             
             if (afterVisitorBindings != null) {
                 if (reverseVisitOrderOnVisitAfter) {
                     // We work through the mappings in reverse order on the end element event...    
-                    for (int i = afterVisitorBindings.size() - 1; i >= 0; i--) {
-                        visitAfter(afterVisitorBindings.get(i));
+                    for (int i = afterVisitorBindings.length - 1; i >= 0; i--) {
+                        visitAfter(afterVisitorBindings[i]);
                     }
                 } else {
                     for (final ContentHandlerBinding<AfterVisitor> afterVisitorBinding : afterVisitorBindings) {
@@ -235,10 +222,10 @@ public class SaxNgHandler extends SmooksContentHandler {
         }
 
         if (currentNodeState.getVisitorBindings() != null) {
-            final List<ContentHandlerBinding<? extends Visitor>> visitorBindings = currentNodeState.getVisitorBindings().getVisitorBindings();
+            final ContentHandlerBinding<? extends Visitor>[] visitorBindings = currentNodeState.getVisitorBindings().getVisitorBindingArray();
             final VisitCleanupPhase visitCleanupPhase = new VisitCleanupPhase(new Fragment(currentNodeState.getElement()), executionContext);
             for (final ContentHandlerBinding<? extends Visitor> visitorBinding : visitorBindings) {
-                if (visitorBinding.getResourceConfig().getSelectorPath().isTargetedAtElement(currentNodeState.getElement(), executionContext)) {
+                if (selectorPathMatcher.isTargetedAtElement(visitorBinding.getResourceConfig().getSelectorPath(), currentNodeState.getElement(), executionContext)) {
                     lifecycleManager.applyPhase(visitorBinding.getContentHandler(), visitCleanupPhase);
                 }
             }
@@ -246,24 +233,18 @@ public class SaxNgHandler extends SmooksContentHandler {
 
         executionContext.getMementoCaretaker().forget(new NodeVisitable(currentNodeState.getElement()));
         
+        if (currentNodeState.getElement() != null) {
+            selectorPathMatcher.endElement();
+        }
+
         final NodeState parentNodeState = currentNodeState.getParentNodeState();
-        if (parentNodeState != null && parentNodeState.getElement() != null && DomUtils.getDepth(currentNodeState.getElement()) >= Math.max(globalMaxNodeDepth, findMaxNodeDepth(currentNodeState))) {
+        if (parentNodeState != null && parentNodeState.getElement() != null && currentNodeState.getDepth() >= Math.max(globalMaxNodeDepth, currentNodeState.getMaxNodeDepth())) {
             parentNodeState.getElement().removeChild(currentNodeState.getElement());
+            elementPool.release(currentNodeState.getElement());
         }
         currentNodeState = parentNodeState;
     }
     
-    private int findMaxNodeDepth(final NodeState nodeState) {
-        NodeState previousNodeState = nodeState;
-        int maxNodeDepth = 0;
-        while (previousNodeState != null) {
-            maxNodeDepth = Math.max(previousNodeState.getMaxDepth(), maxNodeDepth);
-            previousNodeState = previousNodeState.getParentNodeState();
-        }
-        
-        return maxNodeDepth;
-    }
-
     private void visitBefore(final Element element, final SaxNgVisitorBindings saxNgElementVisitorMap) {
         final NodeState nodeState = new NodeState();
         nodeState.setParentNodeState(currentNodeState);
@@ -271,17 +252,18 @@ public class SaxNgHandler extends SmooksContentHandler {
         nodeState.setVisitorBindings(saxNgElementVisitorMap);
 
         currentNodeState = nodeState;
+        selectorPathMatcher.startElement(element);
         if (currentNodeState.getVisitorBindings() != null) {
-            List<ContentHandlerBinding<BeforeVisitor>> visitBeforeBindings = currentNodeState.getVisitorBindings().getBeforeVisitors();
+            ContentHandlerBinding<BeforeVisitor>[] visitBeforeBindings = currentNodeState.getVisitorBindings().getBeforeVisitorArray();
 
             if (visitBeforeBindings == null) {
-                visitBeforeBindings = globalVisitorBindings.getBeforeVisitors();
+                visitBeforeBindings = globalVisitorBindings.getBeforeVisitorArray();
             }
 
             if (visitBeforeBindings != null) {
                 int maxNodeDepth = 1;
                 for (final ContentHandlerBinding<BeforeVisitor> visitBeforeBinding : visitBeforeBindings) {
-                    if (visitBeforeBinding.getResourceConfig().getSelectorPath().isTargetedAtElement(currentNodeState.getElement(), executionContext)) {
+                    if (selectorPathMatcher.isTargetedAtElement(visitBeforeBinding.getResourceConfig().getSelectorPath(), currentNodeState.getElement(), executionContext)) {
                         if (visitBeforeBinding.getContentHandler() instanceof ParameterizedVisitor) {
                             maxNodeDepth = Math.max(maxNodeDepth, ((ParameterizedVisitor) visitBeforeBinding.getContentHandler()).getMaxNodeDepth());
                         }
@@ -299,14 +281,14 @@ public class SaxNgHandler extends SmooksContentHandler {
 
     private void onChildElement(final Element childElement) {
         if (currentNodeState.getVisitorBindings() != null) {
-            List<ContentHandlerBinding<ChildrenVisitor>> childVisitorBindings = currentNodeState.getVisitorBindings().getChildVisitors();
+            ContentHandlerBinding<ChildrenVisitor>[] childVisitorBindings = currentNodeState.getVisitorBindings().getChildVisitorArray();
             if (childVisitorBindings == null && globalVisitorBindings != null) {
-                childVisitorBindings = globalVisitorBindings.getChildVisitors();
+                childVisitorBindings = globalVisitorBindings.getChildVisitorArray();
             }
             
             if (childVisitorBindings != null) {
                 for (final ContentHandlerBinding<ChildrenVisitor> contentHandlerBinding : childVisitorBindings) {
-                    if (contentHandlerBinding.getResourceConfig().getSelectorPath().isTargetedAtElement(currentNodeState.getElement(), executionContext)) {
+                    if (selectorPathMatcher.isTargetedAtElement(contentHandlerBinding.getResourceConfig().getSelectorPath(), currentNodeState.getElement(), executionContext)) {
                         contentHandlerBinding.getContentHandler().visitChildElement(childElement, executionContext);
                     }
                 }
@@ -319,7 +301,7 @@ public class SaxNgHandler extends SmooksContentHandler {
     }
 
     private void visitAfter(final ContentHandlerBinding<AfterVisitor> afterVisitorBinding) {
-        if (afterVisitorBinding.getResourceConfig().getSelectorPath().isTargetedAtElement(currentNodeState.getElement(), executionContext)) {
+        if (selectorPathMatcher.isTargetedAtElement(afterVisitorBinding.getResourceConfig().getSelectorPath(), currentNodeState.getElement(), executionContext)) {
             afterVisitorBinding.getContentHandler().visitAfter(currentNodeState.getElement(), executionContext);
         }
     }
@@ -327,71 +309,98 @@ public class SaxNgHandler extends SmooksContentHandler {
     @Override
     public void characters(final char[] ch, final int start, final int length) {
         if (currentNodeState.getTextType() != TextType.CDATA) {
-            doCharacters(ch, start, length);
+            if (ch != characterDataBuffer.array()) {
+                characterDataBuffer = CharBuffer.wrap(ch);
+            }
+            characterDataBuffer.clear();
+            characterDataBuffer.position(start).limit(start + length);
+            doCharacters(characterDataBuffer);
         } else {
             cdataNodeBuilder.append(ch, start, length);
         }
     }
 
     private final StringBuilder entityBuilder = new StringBuilder(10);
+    private CharBuffer characterDataBuffer = CharBuffer.allocate(0);
 
-    private void doCharacters(final char[] ch, final int start, final int length) {
-        if (!rewriteEntities && currentNodeState.getTextType() == TextType.ENTITY) {
-            entityBuilder.setLength(0);
-
-            entityBuilder.append("&#").append((int) ch[start]).append(';');
-            char[] newBuf = new char[entityBuilder.length()];
-            entityBuilder.getChars(0, newBuf.length, newBuf, 0);
-        }
-
+    private void doCharacters(final CharSequence characterData) {
         if (currentNodeState != null && currentNodeState.getElement() != null) {
-            final Node node;
-            switch (currentNodeState.getTextType()) {
-                case CDATA:
-                    node = factory.createCDATASection(new String(ch, start, length));
-                    break;
-                case COMMENT:
-                    node = factory.createComment(new String(ch, start, length));
-                    break;
-                case ENTITY:
-                    if (!rewriteEntities) {
-                        entityBuilder.setLength(0);
-
-                        entityBuilder.append("&#").append((int) ch[start]).append(';');
-                        char[] newBuf = new char[entityBuilder.length()];
-                        entityBuilder.getChars(0, newBuf.length, newBuf, 0);
-
-                        node = factory.createTextNode(new String(newBuf, 0, newBuf.length));
-                        break;
-                    }
-                default:
-                    node = factory.createTextNode(new String(ch, start, length));
+            final CharSequence text;
+            final TextType textType;
+            if (currentNodeState.getTextType() == TextType.ENTITY) {
+                if (rewriteEntities) {
+                    text = characterData;
+                } else {
+                    entityBuilder.setLength(0);
+                    entityBuilder.append("&#").append((int) characterData.charAt(0)).append(';');
+                    text = entityBuilder;
+                }
+                textType = TextType.TEXT;
+            } else {
+                text = characterData;
+                textType = currentNodeState.getTextType();
             }
-            
-            final Element clonedParentElement = (Element) currentNodeState.getElement().cloneNode(false);
-            clonedParentElement.appendChild(node.cloneNode(false));
 
-            if ((DomUtils.getDepth(currentNodeState.getElement()) + 1) < Math.max(globalMaxNodeDepth, findMaxNodeDepth(currentNodeState))) {
-                currentNodeState.getElement().appendChild(node);
+            // The text is only copied out of the parser's buffer when it needs to go into a DOM node...
+            String data = null;
+            if ((currentNodeState.getDepth() + 1) < Math.max(globalMaxNodeDepth, currentNodeState.getMaxNodeDepth())) {
+                data = text.toString();
+                currentNodeState.getElement().appendChild(createNode(data, textType));
             }
-            
+
+            Element clonedParentElement = null;
             if (!currentNodeState.isNullProcessor() && currentNodeState.getVisitorBindings() != null) {
-                final List<ContentHandlerBinding<ChildrenVisitor>> childVisitorBindings = currentNodeState.getVisitorBindings().getChildVisitors();
+                final ContentHandlerBinding<ChildrenVisitor>[] childVisitorBindings = currentNodeState.getVisitorBindings().getChildVisitorArray();
 
                 if (childVisitorBindings != null) {
                     for (final ContentHandlerBinding<ChildrenVisitor> childrenVisitorBinding : childVisitorBindings) {
-                        if (childrenVisitorBinding.getResourceConfig().getSelectorPath().isTargetedAtElement(currentNodeState.getElement(), executionContext)) {
-                            childrenVisitorBinding.getContentHandler().visitChildText(clonedParentElement, executionContext);
+                        if (selectorPathMatcher.isTargetedAtElement(childrenVisitorBinding.getResourceConfig().getSelectorPath(), currentNodeState.getElement(), executionContext)) {
+                            final ChildrenVisitor childrenVisitor = childrenVisitorBinding.getContentHandler();
+                            if (deliveryConfig.isCharacterDataVisitor(childrenVisitor)) {
+                                ((CharacterDataVisitor) childrenVisitor).visitChildText(currentNodeState.getElement(), text, textType, executionContext);
+                            } else {
+                                if (clonedParentElement == null) {
+                                    data = data == null ? text.toString() : data;
+                                    clonedParentElement = cloneParentElement(data, textType);
+                                }
+                                childrenVisitor.visitChildText(clonedParentElement, executionContext);
+                            }
                         }
                     }
                 }
             }
 
             for (ChildrenVisitor dynamicChildrenVisitor : dynamicVisitorList.getChildVisitors()) {
-                dynamicChildrenVisitor.visitChildText(clonedParentElement, executionContext);
+                if (dynamicChildrenVisitor instanceof CharacterDataVisitor) {
+                    ((CharacterDataVisitor) dynamicChildrenVisitor).visitChildText(currentNodeState.getElement(), text, textType, executionContext);
+                } else {
+                    if (clonedParentElement == null) {
+                        data = data == null ? text.toString() : data;
+                        clonedParentElement = cloneParentElement(data, textType);
+                    }
+                    dynamicChildrenVisitor.visitChildText(clonedParentElement, executionContext);
+                }
             }
         }
     }
+
+    private Element cloneParentElement(final String data, final TextType textType) {
+        final Element clonedParentElement = (Element) currentNodeState.getElement().cloneNode(false);
+        clonedParentElement.appendChild(createNode(data, textType));
+
+        return clonedParentElement;
+    }
+
+    private Node createNode(final String data, final TextType textType) {
+        switch (textType) {
+            case CDATA:
+                return factory.createCDATASection(data);
+            case COMMENT:
+                return factory.createComment(data);
+            default:
+                return factory.createTextNode(data);
+        }
+    }
     
     @Override
     public void ignorableWhitespace(final char[] ch, final int start, final int length) {
@@ -414,10 +423,7 @@ public class SaxNgHandler extends SmooksContentHandler {
     @Override
     public void endCDATA() {
         try {
-            final char[] chars = new char[cdataNodeBuilder.length()];
-
-            cdataNodeBuilder.getChars(0, chars.length, chars, 0);
-            doCharacters(chars, 0, chars.length);
+            doCharacters(cdataNodeBuilder);
             currentNodeState.setTextType(TextType.TEXT);
         } finally {
             cdataNodeBuilder.setLength(0);
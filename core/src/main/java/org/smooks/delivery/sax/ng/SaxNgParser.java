@@ -44,15 +44,18 @@ package org.smooks.delivery.sax.ng;
 
 import org.smooks.container.ExecutionContext;
 import org.smooks.delivery.AbstractParser;
-import org.smooks.delivery.ContentDeliveryConfig;
 import org.smooks.delivery.XMLReaderHierarchyChangeListener;
 import org.smooks.namespace.NamespaceDeclarationStack;
+import org.smooks.xml.DOMSourceXMLReader;
 import org.smooks.xml.NamespaceManager;
+import org.smooks.xml.ValidatingContentHandler;
+import org.smooks.xml.XsdValidator;
 import org.smooks.xml.hierarchy.HierarchyChangeReader;
 import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
 
 import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
 import java.io.IOException;
 import java.nio.charset.Charset;
 
@@ -65,26 +68,38 @@ public class SaxNgParser extends AbstractParser {
     }
 
     protected void parse(Source source, ExecutionContext executionContext) throws SAXException, IOException {
-        ContentDeliveryConfig deliveryConfig = executionContext.getDeliveryConfig();
         XMLReader saxReader = getXMLReader(executionContext);
+        boolean borrowedReader = false;
 
         saxHandler = new SaxNgHandler(getExecutionContext());
 
         try {
-            if(saxReader == null) {
-                saxReader = deliveryConfig.getXMLReader();
+            if(saxReader == null && source instanceof DOMSource) {
+                saxReader = new DOMSourceXMLReader();
             }
             if(saxReader == null) {
-                saxReader = createXMLReader();
+                saxReader = borrowXMLReader();
+                borrowedReader = true;
             }
 
             NamespaceDeclarationStack namespaceDeclarationStack = new NamespaceDeclarationStack();
             NamespaceManager.setNamespaceDeclarationStack(namespaceDeclarationStack, executionContext);
 
+            XsdValidator validator = executionContext != null ? StreamingValidation.getValidator(executionContext) : null;
+            ValidatingContentHandler validatingContentHandler = validator != null ? validator.newValidatingContentHandler(saxHandler) : null;
+
             attachNamespaceDeclarationStack(saxReader, executionContext);
-            attachXMLReader(saxReader, executionContext);
+            if(validatingContentHandler != null) {
+                // Nested handlers are swapped in on the attached reader, i.e., downstream of the validator...
+                attachXMLReader(new ValidatingXMLReader(saxReader, validatingContentHandler), executionContext);
+            } else {
+                attachXMLReader(saxReader, executionContext);
+            }
 
             configureReader(saxReader, saxHandler, executionContext, source);
+            if(validatingContentHandler != null) {
+                saxReader.setContentHandler(validatingContentHandler);
+            }
             if(executionContext != null) {
                 if(saxReader instanceof HierarchyChangeReader) {
                     ((HierarchyChangeReader)saxReader).setHierarchyChangeListener(new XMLReaderHierarchyChangeListener(executionContext));
@@ -104,7 +119,9 @@ public class SaxNgParser extends AbstractParser {
                         try {
                             detachXMLReader(executionContext);
                         } finally {
-                            deliveryConfig.returnXMLReader(saxReader);
+                            if(borrowedReader) {
+                                releaseXMLReader(saxReader);
+                            }
                         }
                     }
                 } finally {
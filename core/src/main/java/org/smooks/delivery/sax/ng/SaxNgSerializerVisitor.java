@@ -50,6 +50,7 @@ import org.smooks.delivery.Filter;
 import org.smooks.delivery.SerializerVisitor;
 import org.smooks.delivery.Visitor;
 import org.smooks.delivery.dom.DOMElementVisitor;
+import org.smooks.delivery.interceptor.WriterInterceptor;
 import org.smooks.delivery.memento.AbstractVisitorMemento;
 import org.smooks.delivery.memento.NodeVisitable;
 import org.smooks.delivery.memento.Visitable;
@@ -57,6 +58,7 @@ import org.smooks.delivery.memento.VisitorMemento;
 import org.smooks.delivery.sax.SAXElement;
 import org.smooks.delivery.sax.SAXElementVisitor;
 import org.smooks.delivery.sax.SAXText;
+import org.smooks.delivery.sax.TextType;
 import org.smooks.io.NullWriter;
 import org.w3c.dom.*;
 
@@ -68,7 +70,7 @@ import java.io.Writer;
 import java.util.Optional;
 import java.util.function.Consumer;
 
-public class SaxNgSerializerVisitor implements ElementVisitor, SAXElementVisitor, DOMElementVisitor, SerializerVisitor {
+public class SaxNgSerializerVisitor implements ElementVisitor, CharacterDataVisitor, SAXElementVisitor, DOMElementVisitor, SerializerVisitor {
    
     protected DomToXmlWriter domToXmlWriter;
     private Boolean closeEmptyElements = true;
@@ -111,7 +113,23 @@ public class SaxNgSerializerVisitor implements ElementVisitor, SAXElementVisitor
 
     @Override
     public void writeStartElement(Element element, Writer writer, ExecutionContext executionContext) throws IOException {
-        domToXmlWriter.writeStartElement(element, writer);
+        writeStartElement(element, writer, false, executionContext);
+    }
+
+    /**
+     * Writes the start tag of the element.
+     *
+     * @param hasContent true if content the element does not hold (i.e., character data delivered as a 
+     *                   {@link CharSequence}) follows the start tag, in which case the tag is closed even when the 
+     *                   element has no child nodes
+     */
+    protected void writeStartElement(Element element, Writer writer, boolean hasContent, ExecutionContext executionContext) throws IOException {
+        final DOMResultWriter domResultWriter = getDOMResultWriter(writer);
+        if (domResultWriter != null) {
+            domResultWriter.startElement(element);
+        } else {
+            domToXmlWriter.writeStartElement(element, writer, hasContent);
+        }
     }
 
     @Override
@@ -170,6 +188,11 @@ public class SaxNgSerializerVisitor implements ElementVisitor, SAXElementVisitor
         public Boolean isOpen() {
             return isOpen;
         }
+
+        @Override
+        public boolean isImmutable() {
+            return true;
+        }
     }
 
     public void writeStartElement(final Element element, final ExecutionContext executionContext) {
@@ -186,6 +209,14 @@ public class SaxNgSerializerVisitor implements ElementVisitor, SAXElementVisitor
 
     public void writeEndElement(final Element element, final ExecutionContext executionContext) {
         final Writer writer = executionContext.getWriter();
+        final DOMResultWriter domResultWriter = getDOMResultWriter(writer);
+        if (domResultWriter != null) {
+            if (!isStartWritten(element, executionContext.getMementoCaretaker())) {
+                writeStartElement(element, executionContext);
+            }
+            domResultWriter.endElement();
+            return;
+        }
         try {
             if (closeEmptyElements && !isStartWritten(element, executionContext.getMementoCaretaker())) {
                 writer.write('<');
@@ -200,8 +231,6 @@ public class SaxNgSerializerVisitor implements ElementVisitor, SAXElementVisitor
                 writer.write(element.getTagName());
                 writer.write('>');
             }
-
-            writer.flush();
         } catch (IOException e) {
             throw new SmooksException(e.getMessage(), e);
         }
@@ -220,8 +249,33 @@ public class SaxNgSerializerVisitor implements ElementVisitor, SAXElementVisitor
                     writeStartElement(element, writer, executionContext);
                     executionContext.getMementoCaretaker().save(new StartElementMemento(new NodeVisitable(element), SaxNgSerializerVisitor.this, true));
                 }
-                domToXmlWriter.writeText(element, executionContext.getWriter());
-                writer.flush();
+                final DOMResultWriter domResultWriter = getDOMResultWriter(writer);
+                if (domResultWriter != null) {
+                    writeText(element, domResultWriter, writer);
+                } else {
+                    domToXmlWriter.writeText(element, writer);
+                }
+            } catch (IOException e) {
+                throw new SmooksException(e.getMessage(), e);
+            }
+        }, executionContext);
+    }
+
+    @Override
+    public void visitChildText(final Element element, final CharSequence characterData, final TextType textType, final ExecutionContext executionContext) throws SmooksException {
+        onWrite(writer -> {
+            try {
+                if (!isStartWritten(element, executionContext.getMementoCaretaker())) {
+                    // Unlike a cloned element, the element might not hold the character data so the start tag is closed here...
+                    writeStartElement(element, writer, true, executionContext);
+                    executionContext.getMementoCaretaker().save(new StartElementMemento(new NodeVisitable(element), SaxNgSerializerVisitor.this, true));
+                }
+                final DOMResultWriter domResultWriter = getDOMResultWriter(writer);
+                if (domResultWriter != null) {
+                    domResultWriter.characterData(characterData, textType);
+                } else {
+                    domToXmlWriter.writeCharacterData(characterData, textType, writer);
+                }
             } catch (IOException e) {
                 throw new SmooksException(e.getMessage(), e);
             }
@@ -234,7 +288,6 @@ public class SaxNgSerializerVisitor implements ElementVisitor, SAXElementVisitor
             if (!isStartWritten((Element) childElement.getParentNode(), executionContext.getMementoCaretaker())) {
                 try {
                     writeStartElement((Element) childElement.getParentNode(), writer, executionContext);
-                    writer.flush();
                 } catch (IOException e) {
                     throw new SmooksException(e.getMessage(), e);
                 }
@@ -254,6 +307,45 @@ public class SaxNgSerializerVisitor implements ElementVisitor, SAXElementVisitor
         return startElementMemento.isOpen();
     }
 
+    private void writeText(final Element element, final DOMResultWriter domResultWriter, final Writer writer) throws IOException {
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            final short nodeType = child.getNodeType();
+            if (domResultWriter.isBuilding() && nodeType == Node.TEXT_NODE) {
+                domResultWriter.characterData(child.getNodeValue(), TextType.TEXT);
+            } else if (domResultWriter.isBuilding() && nodeType == Node.CDATA_SECTION_NODE) {
+                domResultWriter.characterData(child.getNodeValue(), TextType.CDATA);
+            } else if (domResultWriter.isBuilding() && nodeType == Node.COMMENT_NODE) {
+                domResultWriter.characterData(child.getNodeValue(), TextType.COMMENT);
+            } else {
+                // markup for the remaining nodes switches the writer from building to parsing...
+                domToXmlWriter.writeCharacterData(child, writer);
+            }
+        }
+    }
+
+    /**
+     * Gets the {@link DOMResultWriter} which the output goes to, provided that the writer is building its document and 
+     * this visitor may write to it.
+     *
+     * @return the <code>DOMResultWriter</code>, or null if the output is to be written as markup
+     */
+    protected DOMResultWriter getDOMResultWriter(final Writer writer) {
+        if (!domToXmlWriter.isRewriteEntities()) {
+            // unescaped character data has to go through a parser to become the same DOM as before...
+            return null;
+        }
+        if (writer instanceof WriterInterceptor.ExclusiveWriter) {
+            final WriterInterceptor.ExclusiveWriter exclusiveWriter = (WriterInterceptor.ExclusiveWriter) writer;
+            if (exclusiveWriter.getWriter() instanceof DOMResultWriter && ((DOMResultWriter) exclusiveWriter.getWriter()).isBuilding() && exclusiveWriter.tryAcquire()) {
+                return (DOMResultWriter) exclusiveWriter.getWriter();
+            }
+        } else if (writer instanceof DOMResultWriter && ((DOMResultWriter) writer).isBuilding()) {
+            return (DOMResultWriter) writer;
+        }
+        
+        return null;
+    }
+
     protected void onWrite(final Consumer<Writer> consumer, final ExecutionContext executionContext) {
         if (executionContext.getDeliveryConfig() instanceof SaxNgContentDeliveryConfig && !(executionContext.getWriter() instanceof NullWriter)) {
             consumer.accept(executionContext.getWriter());
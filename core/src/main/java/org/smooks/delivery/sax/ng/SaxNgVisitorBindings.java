@@ -42,24 +42,37 @@
  */
 package org.smooks.delivery.sax.ng;
 
+import org.smooks.delivery.ContentHandler;
 import org.smooks.delivery.ContentHandlerBinding;
+import org.smooks.delivery.ContentHandlerBindings;
 import org.smooks.delivery.Visitor;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * Visitor bindings of an element. The bindings are {@link #freeze() frozen} once the 
+ * {@link SaxNgContentDeliveryConfig} is built, after which {@link SaxNgHandler} iterates over the binding arrays.
+ */
 public class SaxNgVisitorBindings {
 
     private List<ContentHandlerBinding<BeforeVisitor>> beforeVisitors;
     private List<ContentHandlerBinding<ChildrenVisitor>> childVisitors;
     private List<ContentHandlerBinding<AfterVisitor>> afterVisitors;
 
+    private boolean frozen = false;
+    private ContentHandlerBinding<BeforeVisitor>[] beforeVisitorArray;
+    private ContentHandlerBinding<ChildrenVisitor>[] childVisitorArray;
+    private ContentHandlerBinding<AfterVisitor>[] afterVisitorArray;
+    private ContentHandlerBinding<? extends Visitor>[] visitorBindingArray;
+
     public List<ContentHandlerBinding<BeforeVisitor>> getBeforeVisitors() {
         return beforeVisitors;
     }
 
     public void setBeforeVisitors(List<ContentHandlerBinding<BeforeVisitor>> beforeVisitors) {
+        assertNotFrozen();
         this.beforeVisitors = beforeVisitors;
     }
 
@@ -68,6 +81,7 @@ public class SaxNgVisitorBindings {
     }
 
     public void setChildVisitors(List<ContentHandlerBinding<ChildrenVisitor>> childVisitors) {
+        assertNotFrozen();
         this.childVisitors = childVisitors;
     }
 
@@ -76,9 +90,31 @@ public class SaxNgVisitorBindings {
     }
 
     public void setAfterVisitors(List<ContentHandlerBinding<AfterVisitor>> afterVisitors) {
+        assertNotFrozen();
         this.afterVisitors = afterVisitors;
     }
 
+    public ContentHandlerBinding<BeforeVisitor>[] getBeforeVisitorArray() {
+        return frozen ? beforeVisitorArray : ContentHandlerBindings.toArray(beforeVisitors);
+    }
+
+    public ContentHandlerBinding<ChildrenVisitor>[] getChildVisitorArray() {
+        return frozen ? childVisitorArray : ContentHandlerBindings.toArray(childVisitors);
+    }
+
+    public ContentHandlerBinding<AfterVisitor>[] getAfterVisitorArray() {
+        return frozen ? afterVisitorArray : ContentHandlerBindings.toArray(afterVisitors);
+    }
+
+    /**
+     * Gets the distinct before, after and children visitor bindings.
+     * 
+     * @return The array form of {@link #getVisitorBindings()}.
+     */
+    public ContentHandlerBinding<? extends Visitor>[] getVisitorBindingArray() {
+        return frozen ? visitorBindingArray : toVisitorBindingArray();
+    }
+
     public List<ContentHandlerBinding<? extends Visitor>> getVisitorBindings() {
         List<ContentHandlerBinding<? extends Visitor>> visitors = new ArrayList<>();
         if (beforeVisitors != null) {
@@ -106,13 +142,54 @@ public class SaxNgVisitorBindings {
         merge.childVisitors = new ArrayList<>();
         merge.afterVisitors = new ArrayList<>();
         
-        merge.beforeVisitors.addAll(beforeVisitors);
-        merge.beforeVisitors.addAll(map.beforeVisitors);
-        merge.childVisitors.addAll(childVisitors);
-        merge.childVisitors.addAll(map.childVisitors);
-        merge.afterVisitors.addAll(afterVisitors);
-        merge.afterVisitors.addAll(map.afterVisitors);
+        addAll(merge.beforeVisitors, beforeVisitors);
+        addAll(merge.beforeVisitors, map.beforeVisitors);
+        addAll(merge.childVisitors, childVisitors);
+        addAll(merge.childVisitors, map.childVisitors);
+        addAll(merge.afterVisitors, afterVisitors);
+        addAll(merge.afterVisitors, map.afterVisitors);
 
         return merge;
     }
-}
\ No newline at end of file
+
+    private static <T extends ContentHandler> void addAll(final List<ContentHandlerBinding<T>> to, final List<ContentHandlerBinding<T>> from) {
+        if (from != null) {
+            to.addAll(from);
+        }
+    }
+
+    /**
+     * Freezes the bindings. The binding lists of frozen bindings are unmodifiable and can no longer be set. Freezing 
+     * frozen bindings has no effect.
+     */
+    public void freeze() {
+        if (frozen) {
+            return;
+        }
+
+        visitorBindingArray = toVisitorBindingArray();
+        beforeVisitorArray = ContentHandlerBindings.toArray(beforeVisitors);
+        childVisitorArray = ContentHandlerBindings.toArray(childVisitors);
+        afterVisitorArray = ContentHandlerBindings.toArray(afterVisitors);
+        beforeVisitors = ContentHandlerBindings.toList(beforeVisitorArray);
+        childVisitors = ContentHandlerBindings.toList(childVisitorArray);
+        afterVisitors = ContentHandlerBindings.toList(afterVisitorArray);
+        frozen = true;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void assertNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Illegal attempt to modify frozen " + SaxNgVisitorBindings.class.getSimpleName() + ".");
+        }
+    }
+
+    // Generic arrays cannot be created so the array is raw, but it only ever holds the bindings of getVisitorBindings()
+    @SuppressWarnings("unchecked")
+    private ContentHandlerBinding<? extends Visitor>[] toVisitorBindingArray() {
+        return getVisitorBindings().toArray(new ContentHandlerBinding[0]);
+    }
+}
@@ -0,0 +1,93 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.delivery.sax.ng;
+
+import org.smooks.container.ExecutionContext;
+import org.smooks.container.TypedKey;
+import org.smooks.xml.XsdValidator;
+
+/**
+ * Streaming XSD validation of the SAX-NG input.
+ * <p/>
+ * An {@link XsdValidator} set on an {@link ExecutionContext} validates the input as it is filtered: the
+ * {@link SaxNgParser} tees the parser's content events into the validator and the {@link SaxNgHandler}, so the
+ * input is parsed once for both.  A validation error aborts the filtering.  Note that visitors will already have
+ * processed (and may have written out) the content preceding the error.
+ * <pre>
+ * ExecutionContext executionContext = smooks.createExecutionContext();
+ *
+ * StreamingValidation.setValidator(executionContext, xsdValidator);
+ * smooks.filterSource(executionContext, source, result);
+ * </pre>
+ * Visitors swapping the reader's content handler (e.g. {@link org.smooks.delivery.nested.ParallelExecutionVisitor})
+ * swap the handler downstream of the validator, so the validator still sees the whole input.
+ */
+public final class StreamingValidation {
+
+    private static final TypedKey<XsdValidator> VALIDATOR_KEY = new TypedKey<>(StreamingValidation.class.getName() + "#VALIDATOR");
+
+    private StreamingValidation() {
+    }
+
+    /**
+     * Set the validator for the input filtered with an {@link ExecutionContext}.
+     * @param executionContext The execution context.
+     * @param validator The validator, or null to turn streaming validation off.
+     */
+    public static void setValidator(ExecutionContext executionContext, XsdValidator validator) {
+        if (validator != null) {
+            executionContext.setAttribute(VALIDATOR_KEY, validator);
+        } else {
+            executionContext.removeAttribute(VALIDATOR_KEY);
+        }
+    }
+
+    /**
+     * Get the validator for the input filtered with an {@link ExecutionContext}.
+     * @param executionContext The execution context.
+     * @return The validator, or null if streaming validation is off.
+     */
+    public static XsdValidator getValidator(ExecutionContext executionContext) {
+        return executionContext.getAttribute(VALIDATOR_KEY);
+    }
+}
@@ -0,0 +1,145 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.delivery.sax.ng;
+
+import org.smooks.xml.ValidatingContentHandler;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.DTDHandler;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXNotRecognizedException;
+import org.xml.sax.SAXNotSupportedException;
+import org.xml.sax.XMLReader;
+
+import java.io.IOException;
+
+/**
+ * {@link XMLReader} attached to the {@link org.smooks.container.ExecutionContext} in place of the parsing XMLReader 
+ * when the input is validated while it is filtered.
+ * <p/>
+ * The parsing XMLReader feeds the {@link ValidatingContentHandler} throughout. Visitors swapping the content handler of 
+ * this XMLReader (e.g., {@link org.smooks.delivery.nested.ParallelExecutionVisitor}) swap the handler downstream of 
+ * the validator so that the validator still sees every event.
+ */
+class ValidatingXMLReader implements XMLReader {
+
+    private final XMLReader xmlReader;
+    private final ValidatingContentHandler validatingContentHandler;
+
+    ValidatingXMLReader(XMLReader xmlReader, ValidatingContentHandler validatingContentHandler) {
+        this.xmlReader = xmlReader;
+        this.validatingContentHandler = validatingContentHandler;
+    }
+
+    @Override
+    public void setContentHandler(ContentHandler handler) {
+        validatingContentHandler.setContentHandler(handler);
+    }
+
+    @Override
+    public ContentHandler getContentHandler() {
+        return validatingContentHandler.getContentHandler();
+    }
+
+    @Override
+    public boolean getFeature(String name) throws SAXNotRecognizedException, SAXNotSupportedException {
+        return xmlReader.getFeature(name);
+    }
+
+    @Override
+    public void setFeature(String name, boolean value) throws SAXNotRecognizedException, SAXNotSupportedException {
+        xmlReader.setFeature(name, value);
+    }
+
+    @Override
+    public Object getProperty(String name) throws SAXNotRecognizedException, SAXNotSupportedException {
+        return xmlReader.getProperty(name);
+    }
+
+    @Override
+    public void setProperty(String name, Object value) throws SAXNotRecognizedException, SAXNotSupportedException {
+        xmlReader.setProperty(name, value);
+    }
+
+    @Override
+    public void setEntityResolver(EntityResolver resolver) {
+        xmlReader.setEntityResolver(resolver);
+    }
+
+    @Override
+    public EntityResolver getEntityResolver() {
+        return xmlReader.getEntityResolver();
+    }
+
+    @Override
+    public void setDTDHandler(DTDHandler handler) {
+        xmlReader.setDTDHandler(handler);
+    }
+
+    @Override
+    public DTDHandler getDTDHandler() {
+        return xmlReader.getDTDHandler();
+    }
+
+    @Override
+    public void setErrorHandler(ErrorHandler handler) {
+        xmlReader.setErrorHandler(handler);
+    }
+
+    @Override
+    public ErrorHandler getErrorHandler() {
+        return xmlReader.getErrorHandler();
+    }
+
+    @Override
+    public void parse(InputSource input) throws IOException, SAXException {
+        xmlReader.parse(input);
+    }
+
+    @Override
+    public void parse(String systemId) throws IOException, SAXException {
+        xmlReader.parse(systemId);
+    }
+}
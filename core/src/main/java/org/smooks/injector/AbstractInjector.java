@@ -50,6 +50,7 @@ import org.smooks.lifecycle.phase.PostConstructLifecyclePhase;
 import org.smooks.registry.Registry;
 import org.smooks.registry.lookup.LifecycleManagerLookup;
 import org.smooks.registry.lookup.converter.SourceTargetTypeConverterFactoryLookup;
+import org.smooks.registry.lookup.converter.TypeConverterFactoryIndex;
 import org.smooks.util.ClassUtil;
 
 import javax.inject.Named;
@@ -72,19 +73,28 @@ public abstract class AbstractInjector<M extends Member> implements Injector {
     }
 
     protected TypeConverter<?, ?> createTypeConverter(final Class<?> sourceType, final M member, final Registry registry) {
-        final TypeConverterFactory<?, ?> typeConverterFactory;
-        final Class<?> targetType = getType(member);
-        if (targetType.equals(Optional.class)) {
+        final Class<?> targetType;
+        if (getType(member).equals(Optional.class)) {
             final Type actualType = getActualType(member);
             if (actualType instanceof Class<?>) {
-                typeConverterFactory = registry.lookup(new SourceTargetTypeConverterFactoryLookup<>(sourceType, (Class<?>) actualType));
+                targetType = (Class<?>) actualType;
             } else {
-                typeConverterFactory = registry.lookup(new SourceTargetTypeConverterFactoryLookup<>(sourceType, (Class<?>) ((ParameterizedType) actualType).getRawType()));
+                targetType = (Class<?>) ((ParameterizedType) actualType).getRawType();
             }
         } else {
-            typeConverterFactory = registry.lookup(new SourceTargetTypeConverterFactoryLookup<>(sourceType, targetType));
+            targetType = getType(member);
+        }
+
+        final TypeConverterFactoryIndex typeConverterFactoryIndex = registry.lookup(TypeConverterFactoryIndex.class);
+        if (typeConverterFactoryIndex != null) {
+            TypeConverterFactory<?, ?> typeConverterFactory = typeConverterFactoryIndex.getAssignableTypeConverterFactory(sourceType, targetType);
+            if (typeConverterFactory == null) {
+                typeConverterFactory = typeConverterFactoryIndex.getTypeConverterFactory(Object.class, Object.class);
+            }
+            return typeConverterFactoryIndex.createTypeConverter(typeConverterFactory);
         }
         
+        final TypeConverterFactory<?, ?> typeConverterFactory = registry.lookup(new SourceTargetTypeConverterFactoryLookup<>(sourceType, targetType));
         final TypeConverter<?, ?> typeConverter;
         if (typeConverterFactory != null) {
             typeConverter = typeConverterFactory.createTypeConverter();
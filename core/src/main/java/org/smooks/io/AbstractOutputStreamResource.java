@@ -47,6 +47,7 @@ import org.slf4j.LoggerFactory;
 import org.smooks.SmooksException;
 import org.smooks.assertion.AssertArgument;
 import org.smooks.container.ExecutionContext;
+import org.smooks.container.TypedKey;
 import org.smooks.delivery.Fragment;
 import org.smooks.delivery.dom.DOMVisitBefore;
 import org.smooks.delivery.ordering.Consumer;
@@ -61,6 +62,8 @@ import javax.inject.Inject;
 import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * AbstractOuputStreamResource is the base class for handling output stream
@@ -95,12 +98,16 @@ public abstract class AbstractOutputStreamResource implements SAXVisitBefore, DO
 
     private static final String OUTPUTSTREAM_CONTEXT_KEY_PREFIX = AbstractOutputStreamResource.class.getName() + "#outputstream:";
 
+    private static final Map<String, TypedKey<Closeable>> OUTPUTSTREAM_CONTEXT_KEYS = new ConcurrentHashMap<>();
+
     @Inject
     private String resourceName;
 
     @Inject
     private Charset writerEncoding = StandardCharsets.UTF_8;
 
+    private String resourceContextKey;
+
     //	public
 
     /**
@@ -133,6 +140,7 @@ public abstract class AbstractOutputStreamResource implements SAXVisitBefore, DO
     public AbstractOutputStreamResource setResourceName(String resourceName) {
         AssertArgument.isNotNullAndNotEmpty(resourceName, "resourceName");
         this.resourceName = resourceName;
+        this.resourceContextKey = null;
         return this;
     }
 
@@ -183,8 +191,8 @@ public abstract class AbstractOutputStreamResource implements SAXVisitBefore, DO
     public static OutputStream getOutputStream(
             final String resourceName,
             final ExecutionContext executionContext) throws SmooksException {
-        String resourceKey = OUTPUTSTREAM_CONTEXT_KEY_PREFIX + resourceName;
-        Object resourceIOObj = executionContext.getAttribute(resourceKey);
+        TypedKey<Closeable> resourceKey = getOutputStreamContextKey(resourceName);
+        Closeable resourceIOObj = executionContext.getAttribute(resourceKey);
 
         if (resourceIOObj == null) {
             AbstractOutputStreamResource resource = (AbstractOutputStreamResource) executionContext.getAttribute(RESOURCE_CONTEXT_KEY_PREFIX + resourceName);
@@ -215,8 +223,8 @@ public abstract class AbstractOutputStreamResource implements SAXVisitBefore, DO
      * @throws SmooksException Unable to access OutputStream.
      */
     public static Writer getOutputWriter(final String resourceName, final ExecutionContext executionContext) throws SmooksException {
-        String resourceKey = OUTPUTSTREAM_CONTEXT_KEY_PREFIX + resourceName;
-        Object resourceIOObj = executionContext.getAttribute(resourceKey);
+        TypedKey<Closeable> resourceKey = getOutputStreamContextKey(resourceName);
+        Closeable resourceIOObj = executionContext.getAttribute(resourceKey);
 
         if (resourceIOObj == null) {
             AbstractOutputStreamResource resource = (AbstractOutputStreamResource) executionContext.getAttribute(RESOURCE_CONTEXT_KEY_PREFIX + resourceName);
@@ -258,16 +266,28 @@ public abstract class AbstractOutputStreamResource implements SAXVisitBefore, DO
      */
     protected void closeResource(final ExecutionContext executionContext) {
         try {
-            Closeable output = executionContext.getAttribute(OUTPUTSTREAM_CONTEXT_KEY_PREFIX + getResourceName());
+            TypedKey<Closeable> outputStreamContextKey = getOutputStreamContextKey(getResourceName());
+            Closeable output = executionContext.getAttribute(outputStreamContextKey);
             close(output);
         } finally {
-            executionContext.removeAttribute(OUTPUTSTREAM_CONTEXT_KEY_PREFIX + getResourceName());
-            executionContext.removeAttribute(RESOURCE_CONTEXT_KEY_PREFIX + getResourceName());
+            executionContext.removeAttribute(getOutputStreamContextKey(getResourceName()));
+            executionContext.removeAttribute(getResourceContextKey());
         }
     }
 
     private void bind(final ExecutionContext executionContext) {
-        executionContext.setAttribute(RESOURCE_CONTEXT_KEY_PREFIX + getResourceName(), this);
+        executionContext.setAttribute(getResourceContextKey(), this);
+    }
+
+    private String getResourceContextKey() {
+        if (resourceContextKey == null) {
+            resourceContextKey = RESOURCE_CONTEXT_KEY_PREFIX + getResourceName();
+        }
+        return resourceContextKey;
+    }
+
+    private static TypedKey<Closeable> getOutputStreamContextKey(final String resourceName) {
+        return OUTPUTSTREAM_CONTEXT_KEYS.computeIfAbsent(resourceName, name -> new TypedKey<>(OUTPUTSTREAM_CONTEXT_KEY_PREFIX + name));
     }
 
     private void close(final Closeable closeable) {
@@ -62,7 +62,11 @@ public class StandaloneBeanContext implements BeanContext {
 
 	private final ExecutionContext executionContext;
 
-	private final Map<String, Object> beanMap;
+	private Map<String, Object> beanMap;
+
+	private boolean beanMapOwned;
+
+	private boolean reused;
 
 	private final ArrayList<ContextEntry> entries;
 
@@ -91,9 +95,20 @@ public class StandaloneBeanContext implements BeanContext {
 	 */
 	public StandaloneBeanContext(ExecutionContext executionContext,
 			BeanIdStore beanIdStore, Map<String, Object> beanMap) {
+		this(executionContext, beanIdStore, beanMap, false);
+	}
+
+	/**
+	 * @param beanMapOwned
+	 *            True if the bean map was created for this context, in which
+	 *            case {@link #reset()} clears it in place.
+	 */
+	StandaloneBeanContext(ExecutionContext executionContext,
+			BeanIdStore beanIdStore, Map<String, Object> beanMap, boolean beanMapOwned) {
 		this.executionContext = executionContext;
 		this.beanIdStore = beanIdStore;
 		this.beanMap = beanMap;
+		this.beanMapOwned = beanMapOwned;
 
 		entries = new ArrayList<ContextEntry>(beanIdStore.size());
 
@@ -311,6 +326,48 @@ public class StandaloneBeanContext implements BeanContext {
 		}
 	}
 
+	/**
+	 * Removes all beans so that this context can be reused by the next
+	 * execution of its {@link ExecutionContext}. Registered observers are
+	 * kept. A bean map created for this context is cleared in place while a
+	 * map supplied by a JavaSource or JavaResult is released to its owner and
+	 * replaced by a new map.
+	 */
+	public void reset() {
+		if (beanMapOwned) {
+			for (ContextEntry entry : entries) {
+				if (entry != null) {
+					entry.reset();
+				}
+			}
+		} else {
+			setBeanMap(new HashMap<String, Object>(), true);
+		}
+		notifyObserverEventQueue.clear();
+		reused = true;
+	}
+
+	/**
+	 * Is this context being reused after a {@link #reset()}.
+	 *
+	 * @return True if this context was reset, in which case it still holds the
+	 *         observers registered by its previous executions.
+	 */
+	public boolean isReused() {
+		return reused;
+	}
+
+	/**
+	 * Binds this context to another bean map, e.g. the map of the JavaResult
+	 * of the next execution.
+	 */
+	void setBeanMap(Map<String, Object> beanMap, boolean beanMapOwned) {
+		this.beanMap = beanMap;
+		this.beanMapOwned = beanMapOwned;
+		entries.clear();
+		updateBeanMap();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -513,6 +570,13 @@ public class StandaloneBeanContext implements BeanContext {
 			return beanInContext;
 		}
 
+		private void reset() {
+			lifecycleAssociation.clear();
+			cleaning = false;
+			beanInContext = true;
+			setValue(null);
+		}
+
 		public void setBeanInContext(boolean beanInContext) {
 			this.beanInContext = beanInContext;
 		}
@@ -75,11 +75,31 @@ public class StandaloneBeanContextFactory  {
 		BeanIdStore beanIdStore = executionContext.getApplicationContext().getBeanIdStore();
 		Map<String, Object> beanMap = createBeanMap(executionContext, beanIdStore);
 
-		beanContext = new StandaloneBeanContext(executionContext, beanIdStore, beanMap);
+		if(beanMap == null) {
+			beanContext = new StandaloneBeanContext(executionContext, beanIdStore, new HashMap<String, Object>(), true);
+		} else {
+			beanContext = new StandaloneBeanContext(executionContext, beanIdStore, beanMap);
+		}
 
 		return beanContext;
 	}
 
+	/**
+	 * Binds a {@link StandaloneBeanContext#reset() reset} bean context to the
+	 * JavaResult or JavaSource of the next execution of its {@link ExecutionContext}.
+	 * The bean context keeps its own bean map if the execution has neither.
+	 *
+	 * @param beanContext The reset bean context.
+	 * @param executionContext The execution context of the next execution.
+	 */
+	public static void bind(StandaloneBeanContext beanContext, ExecutionContext executionContext) {
+		Map<String, Object> beanMap = createBeanMap(executionContext, executionContext.getApplicationContext().getBeanIdStore());
+
+		if(beanMap != null) {
+			beanContext.setBeanMap(beanMap, false);
+		}
+	}
+
 
 	/**
 	 * Returns the BeanMap which must be used by the {@link BeanContext}. If
@@ -91,7 +111,7 @@ public class StandaloneBeanContextFactory  {
 	 *
 	 * @param executionContext
 	 * @param beanIdStore
-	 * @return
+	 * @return The bean map or null if neither a JavaResult nor a JavaSource is used.
 	 */
 	private static Map<String, Object> createBeanMap(ExecutionContext executionContext, BeanIdStore beanIdStore) {
 		Result result = FilterResult.getResult(executionContext, JavaResult.class);
@@ -116,9 +136,7 @@ public class StandaloneBeanContextFactory  {
 		    }
 		}
 
-		if(beanMap == null) {
-			beanMap = new HashMap<String, Object>();
-		} else {
+		if(beanMap != null) {
 
 			for(String beanId : beanMap.keySet()) {
 
@@ -47,12 +47,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.smooks.SmooksException;
 import org.smooks.assertion.AssertArgument;
+import org.smooks.cdr.ConfigSnapshot;
 import org.smooks.cdr.ResourceConfig;
 import org.smooks.cdr.ResourceConfigList;
 import org.smooks.cdr.XMLConfigDigester;
 import org.smooks.converter.TypeConverterFactoryLoader;
 import org.smooks.converter.factory.TypeConverterFactory;
 import org.smooks.injector.Scope;
+import org.smooks.io.StreamUtils;
 import org.smooks.lifecycle.DefaultLifecycleManager;
 import org.smooks.lifecycle.LifecycleManager;
 import org.smooks.lifecycle.phase.PostConstructLifecyclePhase;
@@ -62,15 +64,25 @@ import org.smooks.profile.ProfileStore;
 import org.smooks.registry.lookup.LifecycleManagerLookup;
 import org.smooks.registry.lookup.ResourceConfigListsLookup;
 import org.smooks.registry.lookup.SystemResourceConfigListLookup;
+import org.smooks.registry.lookup.converter.TypeConverterFactoryIndex;
 import org.smooks.registry.lookup.converter.TypeConverterFactoryLookup;
 import org.smooks.resource.ContainerResourceLocator;
 import org.xml.sax.SAXException;
 
 import javax.annotation.Resource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
@@ -86,6 +98,7 @@ public class Registry {
     private static final Logger LOGGER = LoggerFactory.getLogger(Registry.class);
    
     private final Map<Object, Object> registry = new ConcurrentHashMap<>();
+    private final Map<Object, Object> unmodifiableRegistry = Collections.unmodifiableMap(registry);
     private final ContainerResourceLocator containerResourceLocator;
     private final ClassLoader classLoader;
 
@@ -99,6 +112,7 @@ public class Registry {
 
         final Set<TypeConverterFactory<?, ?>> typeConverterFactories = new TypeConverterFactoryLoader().load();
         registerObject(TypeConverterFactoryLookup.TYPE_CONVERTER_FACTORY_REGISTRY_KEY, typeConverterFactories);
+        registerObject(TypeConverterFactoryIndex.class, new TypeConverterFactoryIndex(typeConverterFactories));
         registerObject(LifecycleManager.class, new DefaultLifecycleManager());
  
         // add the default list to the list.
@@ -138,7 +152,7 @@ public class Registry {
     }
     
     public <R> R lookup(final Function<Map<Object, Object>, R> function) {
-        return function.apply(Collections.unmodifiableMap(registry));
+        return function.apply(unmodifiableRegistry);
     }
 
     public <T> T lookup(final Object key) {
@@ -197,7 +211,71 @@ public class Registry {
 
         return resourceConfigList;
     }
-    
+
+    /**
+     * Register the set of resources specified in the supplied XML configuration
+     * stream, loading them from a {@link ConfigSnapshot configuration snapshot} when possible.
+     * <p/>
+     * If the snapshot file is missing or stale, the configuration is digested and a fresh snapshot
+     * is written to the snapshot file.  Failing to read or write the snapshot is not an error: the
+     * configuration is then digested as usual.
+     *
+     * @param baseURI              The base URI to be associated with the configuration stream.
+     * @param resourceConfigStream XML resource configuration stream.
+     * @param snapshotFile         The configuration snapshot file.
+     * @return The ResourceConfigList created from the added resource configuration.
+     * @throws SAXException Error parsing the resource stream.
+     * @throws IOException  Error reading resource stream.
+     * @see ConfigSnapshot
+     */
+    public ResourceConfigList registerResources(String baseURI, InputStream resourceConfigStream, File snapshotFile) throws SAXException, IOException, URISyntaxException {
+        AssertArgument.isNotEmpty(baseURI, "baseURI");
+        AssertArgument.isNotNull(resourceConfigStream, "resourceConfigStream");
+        AssertArgument.isNotNull(snapshotFile, "snapshotFile");
+
+        byte[] config = StreamUtils.readStream(resourceConfigStream);
+        ResourceConfigList resourceConfigList = null;
+        if (snapshotFile.exists()) {
+            try (InputStream snapshotStream = new BufferedInputStream(new FileInputStream(snapshotFile))) {
+                resourceConfigList = ConfigSnapshot.read(snapshotStream, baseURI, config, classLoader);
+            } catch (IOException e) {
+                LOGGER.warn("Ignoring unreadable configuration snapshot '" + snapshotFile.getAbsolutePath() + "'.", e);
+            }
+            if (resourceConfigList == null) {
+                LOGGER.debug("Configuration snapshot '" + snapshotFile.getAbsolutePath() + "' is stale.");
+            }
+        }
+
+        if (resourceConfigList == null) {
+            resourceConfigList = XMLConfigDigester.digestConfig(new ByteArrayInputStream(config), baseURI, classLoader);
+            writeSnapshot(resourceConfigList, baseURI, config, snapshotFile);
+        } else {
+            LOGGER.debug("Loaded configuration snapshot '" + snapshotFile.getAbsolutePath() + "'.");
+        }
+        registerResourceConfigList(resourceConfigList);
+
+        return resourceConfigList;
+    }
+
+    private void writeSnapshot(ResourceConfigList resourceConfigList, String baseURI, byte[] config, File snapshotFile) {
+        File snapshotDir = snapshotFile.getAbsoluteFile().getParentFile();
+        File tempSnapshotFile = null;
+        try {
+            Files.createDirectories(snapshotDir.toPath());
+            // Written aside and moved into place so that concurrent readers never see a partial snapshot...
+            tempSnapshotFile = File.createTempFile(snapshotFile.getName(), ".tmp", snapshotDir);
+            try (OutputStream snapshotStream = new BufferedOutputStream(new FileOutputStream(tempSnapshotFile))) {
+                ConfigSnapshot.write(resourceConfigList, baseURI, config, classLoader, snapshotStream);
+            }
+            Files.move(tempSnapshotFile.toPath(), snapshotFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write configuration snapshot '" + snapshotFile.getAbsolutePath() + "'.", e);
+            if (tempSnapshotFile != null) {
+                tempSnapshotFile.delete();
+            }
+        }
+    }
+
     private void addProfileSets(List<ProfileSet> profileSets) {
         final ProfileStore profileStore = lookup(ProfileStore.class);
         if (profileSets == null) {
@@ -58,6 +58,11 @@ public class SourceTargetTypeConverterFactoryLookup<S, T> implements TypeConvert
 
     @Override
     public TypeConverterFactory<S, T> apply(final Map<Object, Object> registryEntries) {
+        final TypeConverterFactoryIndex typeConverterFactoryIndex = (TypeConverterFactoryIndex) registryEntries.get(TypeConverterFactoryIndex.class);
+        if (typeConverterFactoryIndex != null) {
+            return typeConverterFactoryIndex.getTypeConverterFactory(typeConverterDescriptor.getSourceType(), typeConverterDescriptor.getTargetType());
+        }
+        
         final Set<TypeConverterFactory<?, ?>> typeConverterFactories = (Set<TypeConverterFactory<?, ?>>) registryEntries.get(TYPE_CONVERTER_FACTORY_REGISTRY_KEY);
         return lookup(typeConverterFactories);
     }
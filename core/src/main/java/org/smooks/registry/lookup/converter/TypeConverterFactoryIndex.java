@@ -0,0 +1,188 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.registry.lookup.converter;
+
+import org.smooks.converter.TypeConverter;
+import org.smooks.converter.TypeConverterDescriptor;
+import org.smooks.converter.factory.TypeConverterFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of {@link TypeConverterFactory}s keyed by source and target type.
+ * <p/>
+ * The index is built once from the factories discovered by {@link org.smooks.converter.TypeConverterFactoryLoader} so that
+ * resolving a factory is a map hit rather than a scan of every registered factory. Where more than one factory converts between
+ * the same types, the factory with the highest {@link TypeConverterDescriptor#getPriority() priority} is indexed. Factories
+ * added to the source set after the index is built are not seen by the index.
+ */
+public class TypeConverterFactoryIndex {
+
+    private final Map<SourceTargetKey, TypeConverterFactory<?, ?>> typeConverterFactories = new HashMap<>();
+    private final Map<SourceTargetKey, Optional<TypeConverterFactory<?, ?>>> assignableTypeConverterFactories = new ConcurrentHashMap<>();
+    private final Map<TypeConverterFactory<?, ?>, TypeConverter<?, ?>> statelessTypeConverters = new ConcurrentHashMap<>();
+
+    public TypeConverterFactoryIndex(final Set<TypeConverterFactory<?, ?>> typeConverterFactories) {
+        for (TypeConverterFactory<?, ?> typeConverterFactory : typeConverterFactories) {
+            if (typeConverterFactory != null) {
+                final TypeConverterDescriptor<?, ?> typeConverterDescriptor = typeConverterFactory.getTypeConverterDescriptor();
+                final SourceTargetKey sourceTargetKey = new SourceTargetKey(typeConverterDescriptor.getSourceType(), typeConverterDescriptor.getTargetType());
+                final TypeConverterFactory<?, ?> indexedTypeConverterFactory = this.typeConverterFactories.get(sourceTargetKey);
+                if (indexedTypeConverterFactory == null || indexedTypeConverterFactory.getTypeConverterDescriptor().getPriority() < typeConverterDescriptor.getPriority()) {
+                    this.typeConverterFactories.put(sourceTargetKey, typeConverterFactory);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the factory converting exactly from <code>sourceType</code> to <code>targetType</code>.
+     *
+     * @param sourceType the source type
+     * @param targetType the target type
+     * @return the highest priority factory, or <code>null</code> if no factory converts between these types
+     */
+    // Safe: the factory is indexed under the requested source and target types, which S and T stand for
+    @SuppressWarnings("unchecked")
+    public <S, T> TypeConverterFactory<S, T> getTypeConverterFactory(final Type sourceType, final Type targetType) {
+        return (TypeConverterFactory<S, T>) typeConverterFactories.get(new SourceTargetKey(sourceType, targetType));
+    }
+
+    /**
+     * Get the factory converting from <code>sourceType</code>, or failing that, from the nearest superclass or interface of
+     * <code>sourceType</code>, to <code>targetType</code>. Resolutions are cached.
+     *
+     * @param sourceType the source type
+     * @param targetType the target type
+     * @return the resolved factory, or <code>null</code> if no factory converts from <code>sourceType</code> or its supertypes
+     */
+    // Safe: the factory converts from a supertype of sourceType, so it also accepts sourceType
+    @SuppressWarnings("unchecked")
+    public <S, T> TypeConverterFactory<S, T> getAssignableTypeConverterFactory(final Class<?> sourceType, final Class<?> targetType) {
+        return (TypeConverterFactory<S, T>) assignableTypeConverterFactories.computeIfAbsent(new SourceTargetKey(sourceType, targetType), sourceTargetKey -> {
+            final Deque<Class<?>> candidateSourceTypes = new ArrayDeque<>();
+            final Set<Class<?>> visitedSourceTypes = new HashSet<>();
+            candidateSourceTypes.add(sourceType);
+            while (!candidateSourceTypes.isEmpty()) {
+                final Class<?> candidateSourceType = candidateSourceTypes.poll();
+                if (visitedSourceTypes.add(candidateSourceType)) {
+                    final TypeConverterFactory<?, ?> typeConverterFactory = typeConverterFactories.get(new SourceTargetKey(candidateSourceType, targetType));
+                    if (typeConverterFactory != null) {
+                        return Optional.of(typeConverterFactory);
+                    }
+                    if (candidateSourceType.getSuperclass() != null) {
+                        candidateSourceTypes.add(candidateSourceType.getSuperclass());
+                    }
+                    candidateSourceTypes.addAll(Arrays.asList(candidateSourceType.getInterfaces()));
+                }
+            }
+            return Optional.empty();
+        }).orElse(null);
+    }
+
+    /**
+     * Create a {@link TypeConverter} from the supplied factory. Converters without instance state are created once per factory
+     * and shared thereafter.
+     *
+     * @param typeConverterFactory the factory creating the converter
+     * @return the created or cached converter
+     */
+    // Safe: a cached converter was created by the same factory and so has the same types
+    @SuppressWarnings("unchecked")
+    public <S, T> TypeConverter<? super S, ? extends T> createTypeConverter(final TypeConverterFactory<S, T> typeConverterFactory) {
+        final TypeConverter<?, ?> statelessTypeConverter = statelessTypeConverters.get(typeConverterFactory);
+        if (statelessTypeConverter != null) {
+            return (TypeConverter<? super S, ? extends T>) statelessTypeConverter;
+        }
+
+        final TypeConverter<? super S, ? extends T> typeConverter = typeConverterFactory.createTypeConverter();
+        if (typeConverter != null && isStateless(typeConverter.getClass())) {
+            statelessTypeConverters.putIfAbsent(typeConverterFactory, typeConverter);
+        }
+
+        return typeConverter;
+    }
+
+    private static boolean isStateless(final Class<?> typeConverterClass) {
+        for (Class<?> clazz = typeConverterClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private static final class SourceTargetKey {
+        private final Type sourceType;
+        private final Type targetType;
+
+        private SourceTargetKey(final Type sourceType, final Type targetType) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SourceTargetKey)) {
+                return false;
+            }
+            final SourceTargetKey that = (SourceTargetKey) o;
+            return Objects.equals(sourceType, that.sourceType) && Objects.equals(targetType, that.targetType);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(sourceType) + Objects.hashCode(targetType);
+        }
+    }
+}
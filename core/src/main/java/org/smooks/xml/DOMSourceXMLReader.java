@@ -0,0 +1,410 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.xml;
+
+import org.smooks.container.ExecutionContext;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.DocumentType;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.DTDHandler;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXNotRecognizedException;
+import org.xml.sax.SAXNotSupportedException;
+import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.NamespaceSupport;
+
+import javax.xml.XMLConstants;
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * DOM {@link javax.xml.transform.dom.DOMSource} reader.
+ * <p/>
+ * Walks a DOM node tree and reports it as SAX events, sparing the node from being serialized and re-parsed. Namespace 
+ * declarations are reported as <code>xmlns</code> attributes, as done by a namespace-aware parser having the 
+ * <code>namespace-prefixes</code> and <code>xmlns-uris</code> features turned on. Declarations missing from the tree, 
+ * including the ones made on the ancestors of the walked node, are added to the element needing them. CDATA sections 
+ * and comments are reported to the lexical handler.
+ */
+public class DOMSourceXMLReader implements SmooksXMLReader {
+
+    private static final String LEXICAL_HANDLER_PROPERTY = "http://xml.org/sax/properties/lexical-handler";
+    private static final String CDATA_TYPE = "CDATA";
+
+    private final AttributesImpl attributes = new AttributesImpl();
+    private final NamespaceSupport namespaceSupport = new NamespaceSupport();
+    private char[] characters = new char[256];
+
+    private Node node;
+    private ContentHandler contentHandler;
+    private LexicalHandler lexicalHandler;
+    private DTDHandler dtdHandler;
+    private EntityResolver entityResolver;
+    private ErrorHandler errorHandler;
+
+    public void setNode(final Node node) {
+        this.node = node;
+    }
+
+    @Override
+    public void parse(final InputSource input) throws IOException, SAXException {
+        if (node == null) {
+            throw new SAXException("No DOM node to read: call setNode(Node) before parsing");
+        }
+
+        namespaceSupport.reset();
+        contentHandler.startDocument();
+        if (node instanceof Document) {
+            final DocumentType documentType = ((Document) node).getDoctype();
+            if (documentType != null && lexicalHandler != null) {
+                lexicalHandler.startDTD(documentType.getName(), documentType.getPublicId(), documentType.getSystemId());
+                lexicalHandler.endDTD();
+            }
+            walkChildren(node);
+        } else if (node.getNodeType() == Node.DOCUMENT_FRAGMENT_NODE) {
+            walkChildren(node);
+        } else {
+            walk(node);
+        }
+        contentHandler.endDocument();
+    }
+
+    @Override
+    public void parse(final String systemId) throws IOException, SAXException {
+        parse(new InputSource(systemId));
+    }
+
+    private void walkChildren(final Node parent) throws SAXException {
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() != Node.DOCUMENT_TYPE_NODE) {
+                walk(child);
+            }
+        }
+    }
+
+    /**
+     * Walks the subtree without recursion so that deep documents cannot exhaust the stack.
+     */
+    private void walk(final Node root) throws SAXException {
+        Node current = root;
+        while (true) {
+            startNode(current, current == root);
+            final Node firstChild = current.getFirstChild();
+            if (firstChild != null && (current.getNodeType() == Node.ELEMENT_NODE || current.getNodeType() == Node.ENTITY_REFERENCE_NODE)) {
+                current = firstChild;
+                continue;
+            }
+
+            endNode(current);
+            while (current != root && current.getNextSibling() == null) {
+                current = current.getParentNode();
+                endNode(current);
+            }
+            if (current == root) {
+                return;
+            }
+            current = current.getNextSibling();
+        }
+    }
+
+    private void startNode(final Node current, final boolean isRoot) throws SAXException {
+        switch (current.getNodeType()) {
+            case Node.ELEMENT_NODE:
+                startElement((Element) current, isRoot);
+                break;
+            case Node.TEXT_NODE:
+                characters(current.getNodeValue());
+                break;
+            case Node.CDATA_SECTION_NODE:
+                if (lexicalHandler != null) {
+                    lexicalHandler.startCDATA();
+                    characters(current.getNodeValue());
+                    lexicalHandler.endCDATA();
+                } else {
+                    characters(current.getNodeValue());
+                }
+                break;
+            case Node.COMMENT_NODE:
+                if (lexicalHandler != null) {
+                    final String comment = current.getNodeValue();
+                    lexicalHandler.comment(toCharArray(comment), 0, comment.length());
+                }
+                break;
+            case Node.PROCESSING_INSTRUCTION_NODE:
+                contentHandler.processingInstruction(current.getNodeName(), current.getNodeValue());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void endNode(final Node current) throws SAXException {
+        if (current.getNodeType() == Node.ELEMENT_NODE) {
+            final Element element = (Element) current;
+            final String qName = element.getNodeName();
+            contentHandler.endElement(getElementNamespaceURI(element, getPrefix(qName)), getLocalName(element, qName), qName);
+
+            final Enumeration<?> declaredPrefixes = namespaceSupport.getDeclaredPrefixes();
+            while (declaredPrefixes.hasMoreElements()) {
+                contentHandler.endPrefixMapping((String) declaredPrefixes.nextElement());
+            }
+            namespaceSupport.popContext();
+        }
+    }
+
+    private void startElement(final Element element, final boolean isRoot) throws SAXException {
+        namespaceSupport.pushContext();
+        attributes.clear();
+
+        final NamedNodeMap domAttributes = element.getAttributes();
+        final int attributeCount = domAttributes.getLength();
+        for (int i = 0; i < attributeCount; i++) {
+            final Attr attr = (Attr) domAttributes.item(i);
+            final String qName = attr.getNodeName();
+            if (isNamespaceDeclaration(qName)) {
+                declareNamespace(qName.length() == 5 ? "" : qName.substring(6), attr.getValue());
+            }
+        }
+        if (isRoot) {
+            declareInheritedNamespaces(element);
+        }
+
+        final String qName = element.getNodeName();
+        final String prefix = getPrefix(qName);
+        if (element.getLocalName() != null) {
+            ensureNamespaceDeclared(prefix, element.getNamespaceURI());
+        }
+
+        for (int i = 0; i < attributeCount; i++) {
+            final Attr attr = (Attr) domAttributes.item(i);
+            final String attrQName = attr.getNodeName();
+            if (!isNamespaceDeclaration(attrQName)) {
+                final String attrPrefix = getPrefix(attrQName);
+                final String attrNamespaceURI;
+                if (attr.getLocalName() != null) {
+                    attrNamespaceURI = nullToEmpty(attr.getNamespaceURI());
+                    if (!attrPrefix.isEmpty()) {
+                        ensureNamespaceDeclared(attrPrefix, attrNamespaceURI);
+                    }
+                } else {
+                    attrNamespaceURI = attrPrefix.isEmpty() ? "" : nullToEmpty(namespaceSupport.getURI(attrPrefix));
+                }
+                attributes.addAttribute(attrNamespaceURI, getLocalName(attr, attrQName), attrQName, CDATA_TYPE, attr.getValue());
+            }
+        }
+
+        final Enumeration<?> declaredPrefixes = namespaceSupport.getDeclaredPrefixes();
+        while (declaredPrefixes.hasMoreElements()) {
+            final String declaredPrefix = (String) declaredPrefixes.nextElement();
+            contentHandler.startPrefixMapping(declaredPrefix, nullToEmpty(namespaceSupport.getURI(declaredPrefix)));
+        }
+        contentHandler.startElement(getElementNamespaceURI(element, prefix), getLocalName(element, qName), qName, attributes);
+    }
+
+    /**
+     * Adds the namespace declarations in scope of the walked element, but made on its ancestors, to the element.
+     */
+    private void declareInheritedNamespaces(final Element element) {
+        final Set<String> declaredPrefixes = new HashSet<>();
+        final Enumeration<?> prefixes = namespaceSupport.getDeclaredPrefixes();
+        while (prefixes.hasMoreElements()) {
+            declaredPrefixes.add((String) prefixes.nextElement());
+        }
+
+        for (Node ancestor = element.getParentNode(); ancestor != null && ancestor.getNodeType() == Node.ELEMENT_NODE; ancestor = ancestor.getParentNode()) {
+            final NamedNodeMap ancestorAttributes = ancestor.getAttributes();
+            for (int i = 0; i < ancestorAttributes.getLength(); i++) {
+                final Attr attr = (Attr) ancestorAttributes.item(i);
+                final String qName = attr.getNodeName();
+                if (isNamespaceDeclaration(qName)) {
+                    final String prefix = qName.length() == 5 ? "" : qName.substring(6);
+                    if (declaredPrefixes.add(prefix)) {
+                        declareNamespace(prefix, attr.getValue());
+                    }
+                }
+            }
+        }
+    }
+
+    private void ensureNamespaceDeclared(final String prefix, final String namespaceURI) {
+        final String declaredNamespaceURI = nullToEmpty(namespaceSupport.getURI(prefix));
+        if (!declaredNamespaceURI.equals(nullToEmpty(namespaceURI))) {
+            declareNamespace(prefix, nullToEmpty(namespaceURI));
+        }
+    }
+
+    private void declareNamespace(final String prefix, final String namespaceURI) {
+        namespaceSupport.declarePrefix(prefix, namespaceURI);
+        if (prefix.isEmpty()) {
+            attributes.addAttribute(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, XMLConstants.XMLNS_ATTRIBUTE, XMLConstants.XMLNS_ATTRIBUTE, CDATA_TYPE, namespaceURI);
+        } else {
+            attributes.addAttribute(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, prefix, XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix, CDATA_TYPE, namespaceURI);
+        }
+    }
+
+    private String getElementNamespaceURI(final Element element, final String prefix) {
+        if (element.getLocalName() != null) {
+            return nullToEmpty(element.getNamespaceURI());
+        } else {
+            return nullToEmpty(namespaceSupport.getURI(prefix));
+        }
+    }
+
+    private void characters(final String data) throws SAXException {
+        contentHandler.characters(toCharArray(data), 0, data.length());
+    }
+
+    private char[] toCharArray(final String data) {
+        final int length = data.length();
+        if (length > characters.length) {
+            characters = new char[Math.max(length, characters.length * 2)];
+        }
+        data.getChars(0, length, characters, 0);
+
+        return characters;
+    }
+
+    private static boolean isNamespaceDeclaration(final String qName) {
+        return qName.startsWith(XMLConstants.XMLNS_ATTRIBUTE) && (qName.length() == 5 || qName.charAt(5) == ':');
+    }
+
+    private static String getPrefix(final String qName) {
+        final int colonIndex = qName.indexOf(':');
+        return colonIndex == -1 ? "" : qName.substring(0, colonIndex);
+    }
+
+    private static String getLocalName(final Node node, final String qName) {
+        if (node.getLocalName() != null) {
+            return node.getLocalName();
+        } else {
+            return qName.substring(qName.indexOf(':') + 1);
+        }
+    }
+
+    private static String nullToEmpty(final String string) {
+        return string == null ? "" : string;
+    }
+
+    @Override
+    public void setExecutionContext(final ExecutionContext executionContext) {
+    }
+
+    @Override
+    public boolean isReusable() {
+        return false;
+    }
+
+    @Override
+    public boolean getFeature(final String name) throws SAXNotRecognizedException, SAXNotSupportedException {
+        return false;
+    }
+
+    @Override
+    public void setFeature(final String name, final boolean value) throws SAXNotRecognizedException, SAXNotSupportedException {
+    }
+
+    @Override
+    public Object getProperty(final String name) throws SAXNotRecognizedException, SAXNotSupportedException {
+        if (LEXICAL_HANDLER_PROPERTY.equals(name)) {
+            return lexicalHandler;
+        }
+        return null;
+    }
+
+    @Override
+    public void setProperty(final String name, final Object value) throws SAXNotRecognizedException, SAXNotSupportedException {
+        if (LEXICAL_HANDLER_PROPERTY.equals(name)) {
+            lexicalHandler = (LexicalHandler) value;
+        }
+    }
+
+    @Override
+    public void setEntityResolver(final EntityResolver entityResolver) {
+        this.entityResolver = entityResolver;
+    }
+
+    @Override
+    public EntityResolver getEntityResolver() {
+        return entityResolver;
+    }
+
+    @Override
+    public void setDTDHandler(final DTDHandler dtdHandler) {
+        this.dtdHandler = dtdHandler;
+    }
+
+    @Override
+    public DTDHandler getDTDHandler() {
+        return dtdHandler;
+    }
+
+    @Override
+    public void setContentHandler(final ContentHandler contentHandler) {
+        this.contentHandler = contentHandler;
+    }
+
+    @Override
+    public ContentHandler getContentHandler() {
+        return contentHandler;
+    }
+
+    @Override
+    public void setErrorHandler(final ErrorHandler errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    @Override
+    public ErrorHandler getErrorHandler() {
+        return errorHandler;
+    }
+}
@@ -49,6 +49,7 @@ import org.smooks.cdr.ResourceConfig;
 import org.smooks.cdr.ResourceConfigList;
 import org.smooks.container.ApplicationContext;
 import org.smooks.container.ExecutionContext;
+import org.smooks.container.TypedKey;
 import org.smooks.namespace.NamespaceDeclarationStack;
 import org.smooks.registry.lookup.NamespaceManagerLookup;
 import org.smooks.registry.lookup.ResourceConfigListsLookup;
@@ -70,6 +71,8 @@ public class NamespaceManager {
      * Logger.
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(NamespaceManager.class);
+
+    private static final TypedKey<NamespaceDeclarationStack> NAMESPACE_DECLARATION_STACK_KEY = new TypedKey<>(NamespaceDeclarationStack.class.getName());
 	
 	@Inject
 	private ResourceConfig resourceConfig;
@@ -105,7 +108,7 @@ public class NamespaceManager {
      * @param executionContext The execution context.
      */
     public static void setNamespaceDeclarationStack(NamespaceDeclarationStack namespaceDeclarationStack, ExecutionContext executionContext) {
-        executionContext.setAttribute(NamespaceDeclarationStack.class, namespaceDeclarationStack);
+        executionContext.setAttribute(NAMESPACE_DECLARATION_STACK_KEY, namespaceDeclarationStack);
     }
 
     /**
@@ -113,6 +116,6 @@ public class NamespaceManager {
      * @param executionContext The execution context.
      */
     public static NamespaceDeclarationStack getNamespaceDeclarationStack(ExecutionContext executionContext) {
-        return executionContext.getAttribute(NamespaceDeclarationStack.class);
+        return executionContext.getAttribute(NAMESPACE_DECLARATION_STACK_KEY);
     }
 }
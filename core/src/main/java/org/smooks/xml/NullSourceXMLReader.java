@@ -77,6 +77,11 @@ public class NullSourceXMLReader implements SmooksXMLReader {
     public void setExecutionContext(ExecutionContext executionContext) {
     }
 
+    @Override
+    public boolean isReusable() {
+        return false;
+    }
+
     public boolean getFeature(String name) throws SAXNotRecognizedException, SAXNotSupportedException {
         return false;
     }
@@ -62,7 +62,21 @@ public interface SmooksXMLReader extends XMLReader, ContentHandler {
 
 	/**
 	 * Set the Smooks {@link ExecutionContext} on the implementing class.
+	 * <p/>
+	 * A pooled reader is handed <code>null</code> when it is released so it does not keep the last
+	 * execution reachable.
 	 * @param executionContext The Smooks {@link ExecutionContext}.
 	 */
     void setExecutionContext(ExecutionContext executionContext);
+
+    /**
+     * Whether this reader can be pooled and reused across executions once parsing completes.
+     * <p/>
+     * Readers holding per-execution state that is not replaced on the next use should return <code>false</code>.
+     *
+     * @return True if this reader can be reused, otherwise false.
+     */
+    default boolean isReusable() {
+        return true;
+    }
 }
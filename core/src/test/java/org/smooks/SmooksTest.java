@@ -50,6 +50,10 @@ import org.smooks.delivery.dom.DOMVisitBefore;
 import org.smooks.delivery.sax.SAXElement;
 import org.smooks.delivery.sax.SAXVisitAfter;
 import org.smooks.delivery.sax.SAXVisitBefore;
+import org.smooks.delivery.sax.ng.BeforeVisitor;
+import org.smooks.javabean.context.preinstalled.Time;
+import org.smooks.javabean.lifecycle.BeanContextLifecycleEvent;
+import org.smooks.javabean.lifecycle.BeanLifecycle;
 import org.smooks.payload.StringResult;
 import org.smooks.payload.StringSource;
 import org.smooks.profile.DefaultProfileSet;
@@ -58,11 +62,16 @@ import org.w3c.dom.Element;
 import org.xml.sax.SAXException;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
 /**
  *
@@ -136,6 +145,100 @@ public class SmooksTest {
 		assertEquals("classpath:/org/smooks/somethingelse.xml", resourceLocator.getBaseURI().resolve("somethingelse.xml").toString());
     }
 
+	@Test
+    public void test_executionContextPool() {
+        Smooks smooks = new Smooks();
+        TestExecutionContextVisitor visitor = new TestExecutionContextVisitor();
+
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings().setExecutionContextPoolSize(1));
+        smooks.addVisitor(visitor, "a");
+        smooks.filterSource(new StringSource("<a/>"));
+        smooks.filterSource(new StringSource("<a/>"));
+        smooks.filterSource(new StringSource("<a/>"), new StringResult());
+
+        assertEquals(3, visitor.callCount);
+        assertEquals(1, visitor.executionContexts.size());
+        assertEquals(0, visitor.dirtyCount);
+    }
+
+    @Test
+    public void test_executionContextPool_BeanContextLifecycleObserver() {
+        Smooks smooks = new Smooks();
+        List<BeanContextLifecycleEvent> events = new ArrayList<>();
+
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings().setExecutionContextPoolSize(1));
+        smooks.getApplicationContext().addBeanContextLifecycleObserver(event -> {
+            if (event.getLifecycle() == BeanLifecycle.ADD && event.getBeanId().getName().equals(Time.BEAN_ID)) {
+                events.add(event);
+            }
+        });
+        smooks.filterSource(new StringSource("<a/>"));
+        smooks.filterSource(new StringSource("<a/>"));
+
+        // The observer is added to the pooled bean context once only...
+        assertEquals(2, events.size());
+        assertSame(events.get(0).getExecutionContext(), events.get(1).getExecutionContext());
+    }
+
+	@Test
+    public void test_executionContextPool_FilterFailure() {
+        Smooks smooks = new Smooks();
+        Set<ExecutionContext> executionContexts = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings().setExecutionContextPoolSize(1));
+        smooks.addVisitor((BeforeVisitor) (element, executionContext) -> {
+            executionContexts.add(executionContext);
+            if (executionContexts.size() == 1) {
+                throw new IllegalStateException("first execution");
+            }
+        }, "a");
+        try {
+            smooks.filterSource(new StringSource("<a/>"));
+            fail("Expected SmooksException");
+        } catch (SmooksException e) {
+            Throwable cause = e;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            assertEquals("first execution", cause.getMessage());
+        }
+        smooks.filterSource(new StringSource("<a/>"));
+        smooks.filterSource(new StringSource("<a/>"));
+
+        // The context of the failed execution is not pooled...
+        assertEquals(2, executionContexts.size());
+    }
+
+	@Test
+    public void test_executionContextPool_Unpooled() {
+        Smooks smooks = new Smooks();
+        TestExecutionContextVisitor visitor = new TestExecutionContextVisitor();
+
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings());
+        smooks.addVisitor(visitor, "a");
+        smooks.filterSource(new StringSource("<a/>"));
+        smooks.filterSource(new StringSource("<a/>"));
+
+        assertEquals(2, visitor.executionContexts.size());
+    }
+
+    private static class TestExecutionContextVisitor implements BeforeVisitor {
+        private final Set<ExecutionContext> executionContexts = Collections.newSetFromMap(new IdentityHashMap<>());
+        private int callCount = 0;
+        private int dirtyCount = 0;
+
+        @Override
+        public void visitBefore(Element element, ExecutionContext executionContext) {
+            callCount++;
+            executionContexts.add(executionContext);
+            if(executionContext.getAttribute(TestExecutionContextVisitor.class) != null || executionContext.getBeanContext().getBean("dirty") != null) {
+                dirtyCount++;
+            }
+            executionContext.setAttribute(TestExecutionContextVisitor.class, this);
+            executionContext.getBeanContext().addBean("dirty", this);
+        }
+    }
+
     private class TestDOMVisitorBefore implements DOMVisitBefore {
         private int callCount = 0;
         public void visitBefore(Element element, ExecutionContext executionContext) throws SmooksException {
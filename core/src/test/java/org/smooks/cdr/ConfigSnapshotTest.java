@@ -0,0 +1,266 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cdr;
+
+import org.custommonkey.xmlunit.XMLAssert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.smooks.Smooks;
+import org.smooks.io.StreamUtils;
+import org.smooks.net.URIUtil;
+import org.smooks.payload.StringResult;
+import org.smooks.payload.StringSource;
+import org.smooks.profile.ProfileSet;
+import org.smooks.registry.lookup.ResourceConfigListsLookup;
+import org.smooks.xml.XmlUtil;
+import org.xml.sax.SAXException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ConfigSnapshotTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File configFile;
+    private File importFile;
+    private File snapshotFile;
+    private String baseURI;
+
+    @Before
+    public void before() throws IOException, URISyntaxException {
+        configFile = copyToTemporaryFolder("snapshot-config.xml");
+        importFile = copyToTemporaryFolder("snapshot-import.xml");
+        snapshotFile = new File(temporaryFolder.getRoot(), "snapshots/snapshot-config.bin");
+        baseURI = URIUtil.getParent(new URI(configFile.getAbsolutePath())).toString();
+    }
+
+    @Test
+    public void testSnapshotIsWrittenThenRead() throws IOException, SAXException {
+        Smooks digestedSmooks = new Smooks(configFile.getAbsolutePath(), snapshotFile);
+        assertTrue(snapshotFile.exists());
+        long snapshotLastModified = snapshotFile.lastModified();
+
+        Smooks snapshotSmooks = new Smooks(configFile.getAbsolutePath(), snapshotFile);
+        assertEquals(snapshotLastModified, snapshotFile.lastModified());
+
+        ResourceConfigList digestedResourceConfigList = getResourceConfigList(digestedSmooks);
+        ResourceConfigList snapshotResourceConfigList = getResourceConfigList(snapshotSmooks);
+        assertEquals(1, snapshotResourceConfigList.getLoadedResources().size());
+        assertEquals(digestedResourceConfigList.getLoadedResources(), snapshotResourceConfigList.getLoadedResources());
+        assertResourceConfigListsEqual(digestedResourceConfigList, snapshotResourceConfigList);
+
+        assertEquals(filter(digestedSmooks), filter(snapshotSmooks));
+        assertTrue(snapshotSmooks.createExecutionContext("profileA").getTargetProfiles().isMember("profile2"));
+    }
+
+    @Test
+    public void testSnapshotRoundTrip() throws IOException, SAXException, URISyntaxException {
+        byte[] config = Files.readAllBytes(configFile.toPath());
+        ResourceConfigList resourceConfigList = XMLConfigDigester.digestConfig(new ByteArrayInputStream(config), baseURI);
+
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        ConfigSnapshot.write(resourceConfigList, baseURI, config, getClass().getClassLoader(), snapshot);
+        ResourceConfigList snapshotResourceConfigList = ConfigSnapshot.read(new ByteArrayInputStream(snapshot.toByteArray()), baseURI, config, getClass().getClassLoader());
+
+        assertNotNull(snapshotResourceConfigList);
+        assertResourceConfigListsEqual(resourceConfigList, snapshotResourceConfigList);
+    }
+
+    @Test
+    public void testSnapshotIsStaleWhenConfigChanges() throws IOException, SAXException {
+        new Smooks(configFile.getAbsolutePath(), snapshotFile);
+        Files.write(configFile.toPath(), new String(Files.readAllBytes(configFile.toPath()), StandardCharsets.UTF_8).replace("hello", "goodbye").getBytes(StandardCharsets.UTF_8));
+        assertNull(readSnapshot());
+
+        Smooks smooks = new Smooks(configFile.getAbsolutePath(), snapshotFile);
+        assertEquals("goodbye", getResourceConfigList(smooks).get(1).getParameterValue("stringParam", String.class));
+        assertEquals("goodbye", readSnapshot().get(1).getParameterValue("stringParam", String.class));
+    }
+
+    @Test
+    public void testSnapshotIsStaleWhenImportChanges() throws IOException, SAXException {
+        new Smooks(configFile.getAbsolutePath(), snapshotFile);
+        Files.write(importFile.toPath(), new String(Files.readAllBytes(importFile.toPath()), StandardCharsets.UTF_8).replace(">imported<", ">changed<").getBytes(StandardCharsets.UTF_8));
+        assertNull(readSnapshot());
+
+        Smooks smooks = new Smooks(configFile.getAbsolutePath(), snapshotFile);
+        assertEquals("changed", getResourceConfigList(smooks).get(2).getParameterValue("importedParam", String.class));
+        assertEquals("changed", readSnapshot().get(2).getParameterValue("importedParam", String.class));
+    }
+
+    @Test
+    public void testSnapshotIsStaleWhenExtensionChanges() throws IOException, SAXException, URISyntaxException {
+        File extensionDir = temporaryFolder.newFolder("extension");
+        File extensionConfigFile = new File(extensionDir, "META-INF/xsd/smooks/test-xsd-01.xsd-smooks.xml");
+        Files.createDirectories(extensionConfigFile.getParentFile().toPath());
+        Files.write(extensionConfigFile.toPath(), StreamUtils.readStream(getClass().getResourceAsStream("/META-INF/xsd/smooks/test-xsd-01.xsd-smooks.xml")));
+        Files.write(new File(extensionDir, "META-INF/xsd/smooks/test-xsd-01.xsd").toPath(), StreamUtils.readStream(getClass().getResourceAsStream("/META-INF/xsd/smooks/test-xsd-01.xsd")));
+
+        // Prefers the copied extension resources over those on the test classpath...
+        ClassLoader classLoader = new URLClassLoader(new URL[]{extensionDir.toURI().toURL()}, getClass().getClassLoader()) {
+            @Override
+            public URL getResource(String name) {
+                URL resource = findResource(name);
+                return resource != null ? resource : super.getResource(name);
+            }
+        };
+        byte[] config = ("<smooks-resource-list xmlns=\"https://www.smooks.org/xsd/smooks-2.0.xsd\" xmlns:test=\"http://www.milyn.org/xsd/smooks/test-xsd-01.xsd\">" +
+                "<test:renameElement name=\"a\" newName=\"b\"/></smooks-resource-list>").getBytes(StandardCharsets.UTF_8);
+
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(classLoader);
+        try {
+            ResourceConfigList resourceConfigList = XMLConfigDigester.digestConfig(new ByteArrayInputStream(config), baseURI, classLoader);
+            assertEquals(Collections.singleton("http://www.milyn.org/xsd/smooks/test-xsd-01.xsd"), resourceConfigList.getExtendedConfigNamespaces());
+
+            ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+            ConfigSnapshot.write(resourceConfigList, baseURI, config, classLoader, snapshot);
+            assertNotNull(ConfigSnapshot.read(new ByteArrayInputStream(snapshot.toByteArray()), baseURI, config, classLoader));
+
+            Files.write(extensionConfigFile.toPath(), "<!-- changed -->".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+            assertNull(ConfigSnapshot.read(new ByteArrayInputStream(snapshot.toByteArray()), baseURI, config, classLoader));
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    @Test
+    public void testCorruptSnapshotIsIgnored() throws IOException, SAXException {
+        Files.createDirectories(snapshotFile.getParentFile().toPath());
+        Files.write(snapshotFile.toPath(), "not a snapshot".getBytes(StandardCharsets.UTF_8));
+
+        Smooks smooks = new Smooks(configFile.getAbsolutePath(), snapshotFile);
+        assertEquals(4, getResourceConfigList(smooks).size());
+        assertNotNull(readSnapshot());
+    }
+
+    private ResourceConfigList readSnapshot() throws IOException {
+        try (InputStream snapshotStream = new FileInputStream(snapshotFile)) {
+            return ConfigSnapshot.read(snapshotStream, baseURI, Files.readAllBytes(configFile.toPath()), getClass().getClassLoader());
+        }
+    }
+
+    private File copyToTemporaryFolder(String resource) throws IOException {
+        File file = new File(temporaryFolder.getRoot(), resource);
+        Files.write(file.toPath(), StreamUtils.readStream(getClass().getResourceAsStream(resource)));
+        return file;
+    }
+
+    private ResourceConfigList getResourceConfigList(Smooks smooks) {
+        List<ResourceConfigList> resourceConfigLists = smooks.getApplicationContext().getRegistry().lookup(new ResourceConfigListsLookup());
+        return resourceConfigLists.get(resourceConfigLists.size() - 1);
+    }
+
+    private String filter(Smooks smooks) {
+        StringResult result = new StringResult();
+        smooks.filterSource(new StringSource("<x xmlns:a=\"http://a\"><a:b/><c/><d/></x>"), result);
+        return result.getResult();
+    }
+
+    private void assertResourceConfigListsEqual(ResourceConfigList expected, ResourceConfigList actual) throws IOException, SAXException {
+        assertEquals(expected.getProfiles().size(), actual.getProfiles().size());
+        for (int i = 0; i < expected.getProfiles().size(); i++) {
+            ProfileSet expectedProfileSet = expected.getProfiles().get(i);
+            ProfileSet actualProfileSet = actual.getProfiles().get(i);
+            assertEquals(expectedProfileSet.getBaseProfile(), actualProfileSet.getBaseProfile());
+            assertTrue(actualProfileSet.isMember("profile1"));
+            assertTrue(actualProfileSet.isMember("profile2"));
+        }
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            ResourceConfig expectedResourceConfig = expected.get(i);
+            ResourceConfig actualResourceConfig = actual.get(i);
+
+            assertEquals(expectedResourceConfig.getSelectorPath().getSelector(), actualResourceConfig.getSelectorPath().getSelector());
+            assertEquals(expectedResourceConfig.getSelectorPath().getSelectorNamespaceURI(), actualResourceConfig.getSelectorPath().getSelectorNamespaceURI());
+            assertEquals(expectedResourceConfig.getSelectorPath().getNamespaces(), actualResourceConfig.getSelectorPath().getNamespaces());
+            assertEquals(expectedResourceConfig.getTargetProfile(), actualResourceConfig.getTargetProfile());
+            assertEquals(expectedResourceConfig.getResource(), actualResourceConfig.getResource());
+            assertEquals(expectedResourceConfig.getResourceType(), actualResourceConfig.getResourceType());
+            assertEquals(expectedResourceConfig.isInline(), actualResourceConfig.isInline());
+            assertEquals(expectedResourceConfig.isDefaultResource(), actualResourceConfig.isDefaultResource());
+            if (expectedResourceConfig.getSelectorPath().getConditionEvaluator() == null) {
+                assertNull(actualResourceConfig.getSelectorPath().getConditionEvaluator());
+            } else {
+                assertEquals(expectedResourceConfig.getSelectorPath().getConditionEvaluator().getClass(), actualResourceConfig.getSelectorPath().getConditionEvaluator().getClass());
+                assertEquals(expectedResourceConfig.getSelectorPath().getConditionEvaluator().getExpression(), actualResourceConfig.getSelectorPath().getConditionEvaluator().getExpression());
+            }
+
+            assertEquals(expectedResourceConfig.getParameterCount(), actualResourceConfig.getParameterCount());
+            for (String name : expectedResourceConfig.getParameters().keySet()) {
+                List<Parameter<?>> expectedParameters = expectedResourceConfig.getParameters(name);
+                List<Parameter<?>> actualParameters = actualResourceConfig.getParameters(name);
+                assertEquals(expectedParameters.size(), actualParameters.size());
+                for (int j = 0; j < expectedParameters.size(); j++) {
+                    assertEquals(expectedParameters.get(j).getValue(), actualParameters.get(j).getValue());
+                    assertEquals(expectedParameters.get(j).getType(), actualParameters.get(j).getType());
+                    if (expectedParameters.get(j).getXml() == null) {
+                        assertNull(actualParameters.get(j).getXml());
+                    } else {
+                        XMLAssert.assertXMLEqual(XmlUtil.serialize(expectedParameters.get(j).getXml(), false), XmlUtil.serialize(actualParameters.get(j).getXml(), false));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -117,6 +117,23 @@ public class XMLConfigDigesterTest {
         assertResourceConfigOK(list);
     }
 
+	@Test
+    public void test_extended_config_digester_cache() throws IOException, SAXException {
+        String configNamespace = "http://www.milyn.org/xsd/smooks/test-xsd-01.xsd";
+        XMLConfigDigester.invalidateExtendedConfigDigesters(configNamespace);
+        assertNull(XMLConfigDigester.getCachedExtendedConfigDigester(configNamespace, null));
+
+        new Smooks("/org/smooks/cdr/xsd20/extensiontests/config_01.xml");
+        Smooks extendedConfigDigester = XMLConfigDigester.getCachedExtendedConfigDigester(configNamespace, null);
+        assertNotNull(extendedConfigDigester);
+
+        new Smooks("/org/smooks/cdr/xsd20/extensiontests/config_01.xml");
+        assertSame(extendedConfigDigester, XMLConfigDigester.getCachedExtendedConfigDigester(configNamespace, null));
+
+        XMLConfigDigester.invalidateExtendedConfigDigesters();
+        assertNull(XMLConfigDigester.getCachedExtendedConfigDigester(configNamespace, null));
+    }
+
     private void assertProfilesOK(Smooks smooks) {
         ExecutionContext execContext;
         execContext = smooks.createExecutionContext("profileA");
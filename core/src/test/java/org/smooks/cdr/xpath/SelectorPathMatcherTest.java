@@ -0,0 +1,144 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.cdr.xpath;
+
+import org.junit.Test;
+import org.smooks.cdr.ResourceConfig;
+import org.smooks.container.MockExecutionContext;
+import org.smooks.xml.DomUtils;
+import org.smooks.xml.XmlUtil;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SelectorPathMatcherTest {
+
+    private static final String[] SELECTORS = {"a", "a/b", "b/c", "a/b/c", "#document/a", "#document/a/b", "/a/b/c", "a/*/c",
+            "*/c", "a/**", "a/**/c", "**/c", "a/**/b/c", "b/**/c", "x/b/c", "a/b[@id = '2']/c", "b[@id = '1']/c", "a/**/b[@id = '2']/c",
+            "c/d", "a/b/c/d", "b/**/d", "#document/**", "#document/**/d"};
+
+    private final MockExecutionContext executionContext = new MockExecutionContext();
+
+    @Test
+    public void testIsTargetedAtElementMatchesSelectorPath() throws Exception {
+        final Document document = XmlUtil.parseStream(new StringReader("<a><b id=\"1\"><c><d/></c><c/></b><b id=\"2\"><c><d/></c><x><b><c/></b></x></b></a>"));
+        final List<SelectorPath> selectorPaths = new ArrayList<>();
+        final SelectorPathAutomaton selectorPathAutomaton = new SelectorPathAutomaton();
+        for (String selector : SELECTORS) {
+            final SelectorPath selectorPath = new ResourceConfig(selector).getSelectorPath();
+            selectorPath.setNamespaces(new Properties());
+            selectorPathAutomaton.compile(selectorPath);
+            selectorPaths.add(selectorPath);
+        }
+
+        final SelectorPathMatcher selectorPathMatcher = selectorPathAutomaton.newMatcher();
+        final int matchCount = assertMatches(document.getDocumentElement(), selectorPaths, selectorPathMatcher);
+        assertTrue(matchCount > 0);
+    }
+
+    @Test
+    public void testIsTargetedAtElementMatchesManySelectorPaths() throws Exception {
+        final Document document = XmlUtil.parseStream(new StringReader("<a><b id=\"1\"><c><d/></c><c/></b><b id=\"2\"><c><d/></c><x><b id=\"3\"><c/></b></x></b></a>"));
+        final List<SelectorPath> selectorPaths = new ArrayList<>();
+        final SelectorPathAutomaton selectorPathAutomaton = new SelectorPathAutomaton();
+        for (int i = 0; i < 500; i++) {
+            for (String selector : new String[]{"a/b[@id = '" + i + "']/c", "a/**/b[@id = '" + i + "']/c/d", "x/b[@id = '" + i + "']/c"}) {
+                final SelectorPath selectorPath = new ResourceConfig(selector).getSelectorPath();
+                selectorPath.setNamespaces(new Properties());
+                selectorPathAutomaton.compile(selectorPath);
+                selectorPaths.add(selectorPath);
+            }
+        }
+        assertEquals(500 * (3 + 5 + 3), selectorPathAutomaton.getStateCount());
+
+        final SelectorPathMatcher selectorPathMatcher = selectorPathAutomaton.newMatcher();
+        final int matchCount = assertMatches(document.getDocumentElement(), selectorPaths, selectorPathMatcher);
+        assertTrue(matchCount > 0);
+    }
+
+    @Test
+    public void testIsTargetedAtElementGivenElementNotPushed() throws Exception {
+        final Document document = XmlUtil.parseStream(new StringReader("<a><b><c/></b></a>"));
+        final Element c = (Element) document.getElementsByTagName("c").item(0);
+        final SelectorPath selectorPath = new ResourceConfig("a/b/c").getSelectorPath();
+        final SelectorPathAutomaton selectorPathAutomaton = new SelectorPathAutomaton();
+        selectorPathAutomaton.compile(selectorPath);
+
+        final SelectorPathMatcher selectorPathMatcher = selectorPathAutomaton.newMatcher();
+        assertTrue(selectorPathMatcher.isTargetedAtElement(selectorPath, c, executionContext));
+        selectorPathMatcher.startElement((Element) c.getParentNode());
+        assertTrue(selectorPathMatcher.isTargetedAtElement(selectorPath, c, executionContext));
+        assertFalse(selectorPathMatcher.isTargetedAtElement(new ResourceConfig("x/b/c").getSelectorPath(), c, executionContext));
+    }
+
+    private int assertMatches(final Element element, final List<SelectorPath> selectorPaths, final SelectorPathMatcher selectorPathMatcher) {
+        int matchCount = 0;
+        selectorPathMatcher.startElement(element);
+        for (int i = 0; i < 2; i++) {
+            for (SelectorPath selectorPath : selectorPaths) {
+                if (selectorPath.getTargetElement().equals(DomUtils.getName(element)) || selectorPath.getTargetSelectorStep().isStar() || selectorPath.getTargetSelectorStep().isStarStar()) {
+                    final boolean isTargeted = selectorPath.isTargetedAtElement(element, executionContext);
+                    assertEquals(selectorPath + " at " + DomUtils.getName(element), isTargeted, selectorPathMatcher.isTargetedAtElement(selectorPath, element, executionContext));
+                    matchCount += isTargeted ? 1 : 0;
+                }
+            }
+        }
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                matchCount += assertMatches((Element) child, selectorPaths, selectorPathMatcher);
+            }
+        }
+        selectorPathMatcher.endElement();
+
+        return matchCount;
+    }
+}
@@ -0,0 +1,182 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.container.standalone;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.smooks.container.MockExecutionContext;
+import org.smooks.delivery.Visitor;
+import org.smooks.delivery.memento.NodeVisitable;
+import org.smooks.delivery.memento.TextAccumulatorMemento;
+import org.smooks.delivery.sax.ng.ElementPool;
+import org.w3c.dom.Element;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class DefaultMementoCaretakerTest {
+
+    private final Visitor visitor = new Visitor() {
+    };
+    private MockExecutionContext executionContext;
+    private DefaultMementoCaretaker mementoCaretaker;
+    private ElementPool elementPool;
+
+    @Before
+    public void before() {
+        executionContext = new MockExecutionContext();
+        mementoCaretaker = new DefaultMementoCaretaker(executionContext);
+        elementPool = new ElementPool(0, executionContext);
+    }
+
+    @Test
+    public void testRestoreGivenSavedMemento() {
+        final Element element = elementPool.acquire(null, "a");
+        final TextAccumulatorMemento textAccumulatorMemento = new TextAccumulatorMemento(new NodeVisitable(element), visitor).accumulateText("foo");
+        mementoCaretaker.save(textAccumulatorMemento);
+        textAccumulatorMemento.accumulateText("bar");
+
+        assertEquals("foo", restoreText(element, visitor));
+        assertEquals("", restoreText(element, new Visitor() {
+        }));
+        assertNull(executionContext.getAttribute(textAccumulatorMemento.getId()));
+    }
+
+    @Test
+    public void testStash() {
+        final Element element = elementPool.acquire(null, "a");
+        mementoCaretaker.stash(new TextAccumulatorMemento(new NodeVisitable(element), visitor), textAccumulatorMemento -> textAccumulatorMemento.accumulateText("foo"));
+        mementoCaretaker.stash(new TextAccumulatorMemento(new NodeVisitable(element), visitor), textAccumulatorMemento -> textAccumulatorMemento.accumulateText("bar"));
+
+        assertEquals("foobar", restoreText(element, visitor));
+    }
+
+    @Test
+    public void testStashMutatesSavedMementoInPlace() {
+        final Element element = elementPool.acquire(null, "a");
+        final List<TextAccumulatorMemento> stashedMementos = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            mementoCaretaker.stash(new TextAccumulatorMemento(new NodeVisitable(element), visitor), textAccumulatorMemento -> stashedMementos.add(textAccumulatorMemento.accumulateText("x")));
+        }
+
+        assertNotSame(stashedMementos.get(0), stashedMementos.get(1));
+        assertSame(stashedMementos.get(1), stashedMementos.get(2));
+        assertEquals("xxx", restoreText(element, visitor));
+    }
+
+    @Test
+    public void testRemove() {
+        final Element element = elementPool.acquire(null, "a");
+        mementoCaretaker.save(new TextAccumulatorMemento(new NodeVisitable(element), visitor).accumulateText("foo"));
+        mementoCaretaker.remove(new TextAccumulatorMemento(new NodeVisitable(element), visitor));
+
+        assertEquals("", restoreText(element, visitor));
+    }
+
+    @Test
+    public void testForget() {
+        final Element element = elementPool.acquire(null, "a");
+        final Element siblingElement = elementPool.acquire(null, "b");
+        final Visitor otherVisitor = new Visitor() {
+        };
+        mementoCaretaker.save(new TextAccumulatorMemento(new NodeVisitable(element), visitor).accumulateText("foo"));
+        mementoCaretaker.save(new TextAccumulatorMemento(new NodeVisitable(element), otherVisitor).accumulateText("bar"));
+        mementoCaretaker.save(new TextAccumulatorMemento(new NodeVisitable(siblingElement), visitor).accumulateText("baz"));
+
+        mementoCaretaker.forget(new NodeVisitable(element));
+
+        assertEquals("", restoreText(element, visitor));
+        assertEquals("", restoreText(element, otherVisitor));
+        assertEquals("baz", restoreText(siblingElement, visitor));
+    }
+
+    @Test
+    public void testForgetGivenMoreOwnersThanOwnerMaskBits() {
+        final Element element = elementPool.acquire(null, "a");
+        final Element siblingElement = elementPool.acquire(null, "b");
+        final List<Visitor> visitors = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final Visitor owner = new Visitor() {
+            };
+            visitors.add(owner);
+            mementoCaretaker.save(new TextAccumulatorMemento(new NodeVisitable(element), owner).accumulateText("foo"));
+            mementoCaretaker.save(new TextAccumulatorMemento(new NodeVisitable(siblingElement), owner).accumulateText("bar"));
+        }
+        mementoCaretaker.remove(new TextAccumulatorMemento(new NodeVisitable(element), visitors.get(0)));
+        mementoCaretaker.remove(new TextAccumulatorMemento(new NodeVisitable(element), visitors.get(99)));
+
+        mementoCaretaker.forget(new NodeVisitable(element));
+
+        for (final Visitor owner : visitors) {
+            assertEquals("", restoreText(element, owner));
+            assertEquals("bar", restoreText(siblingElement, owner));
+        }
+    }
+
+    @Test
+    public void testForgetGivenNodeWithoutSequenceNumber() {
+        final Element element = elementPool.getDocument().createElement("a");
+        final TextAccumulatorMemento textAccumulatorMemento = new TextAccumulatorMemento(new NodeVisitable(element), visitor).accumulateText("foo");
+        mementoCaretaker.save(textAccumulatorMemento);
+
+        assertNotNull(executionContext.getAttribute(textAccumulatorMemento.getId()));
+        assertEquals("foo", restoreText(element, visitor));
+
+        mementoCaretaker.forget(new NodeVisitable(element));
+
+        assertNull(executionContext.getAttribute(textAccumulatorMemento.getId()));
+    }
+
+    private String restoreText(final Element element, final Visitor visitor) {
+        final TextAccumulatorMemento textAccumulatorMemento = new TextAccumulatorMemento(new NodeVisitable(element), visitor);
+        mementoCaretaker.restore(textAccumulatorMemento);
+
+        return textAccumulatorMemento.getText();
+    }
+}
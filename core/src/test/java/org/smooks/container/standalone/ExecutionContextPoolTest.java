@@ -0,0 +1,87 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.container.standalone;
+
+import org.junit.Test;
+import org.smooks.container.ExecutionContext;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ExecutionContextPoolTest {
+
+    @Test
+    public void testRelease() {
+        final ExecutionContextPool executionContextPool = new ExecutionContextPool(1);
+        final ExecutionContext executionContext = mock(ExecutionContext.class);
+
+        assertTrue(executionContextPool.release(executionContext));
+        verify(executionContext).reset();
+        assertFalse(executionContextPool.release(mock(ExecutionContext.class)));
+        assertEquals(1, executionContextPool.getIdleCount());
+        assertSame(executionContext, executionContextPool.borrow());
+    }
+
+    @Test
+    public void testReleaseDiscardsContextsThatCannotBeReset() {
+        final ExecutionContextPool executionContextPool = new ExecutionContextPool(1);
+        final ExecutionContext executionContext = mock(ExecutionContext.class);
+        doThrow(new UnsupportedOperationException()).when(executionContext).reset();
+
+        assertFalse(executionContextPool.release(executionContext));
+        assertEquals(0, executionContextPool.getIdleCount());
+    }
+
+    @Test
+    public void testReleaseUnpooled() {
+        final ExecutionContextPool executionContextPool = new ExecutionContextPool(0);
+
+        assertFalse(executionContextPool.release(mock(ExecutionContext.class)));
+        assertEquals(0, executionContextPool.getIdleCount());
+    }
+}
@@ -0,0 +1,105 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.container.standalone;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class OwnerMaskTableTest {
+
+    @Test
+    public void testSetUnsetRemoveAgainstHashMap() {
+        final OwnerMaskTable ownerMaskTable = new OwnerMaskTable();
+        final Map<Long, Long> expected = new HashMap<>();
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 100000; i++) {
+            final long key = random.nextInt(2000);
+            final long bits = 1L << random.nextInt(Long.SIZE);
+            switch (random.nextInt(3)) {
+                case 0:
+                    ownerMaskTable.set(key, bits);
+                    expected.merge(key, bits, (a, b) -> a | b);
+                    break;
+                case 1:
+                    ownerMaskTable.unset(key, bits);
+                    final long unsetMask = expected.getOrDefault(key, 0L) & ~bits;
+                    if (unsetMask == 0) {
+                        expected.remove(key);
+                    } else {
+                        expected.put(key, unsetMask);
+                    }
+                    break;
+                default:
+                    assertEquals((long) expected.getOrDefault(key, 0L), ownerMaskTable.remove(key));
+                    expected.remove(key);
+            }
+            assertEquals(expected.size(), ownerMaskTable.size());
+        }
+        for (long key = 0; key < 2000; key++) {
+            assertEquals((long) expected.getOrDefault(key, 0L), ownerMaskTable.get(key));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        final OwnerMaskTable ownerMaskTable = new OwnerMaskTable();
+        for (long key = 0; key < 1000; key++) {
+            ownerMaskTable.set(key, 1L);
+        }
+
+        ownerMaskTable.clear();
+
+        assertEquals(0, ownerMaskTable.size());
+        for (long key = 0; key < 1000; key++) {
+            assertEquals(0, ownerMaskTable.get(key));
+        }
+        ownerMaskTable.set(7, 2L);
+        assertEquals(2L, ownerMaskTable.get(7));
+    }
+}
@@ -44,13 +44,23 @@ package org.smooks.container.standalone;
 
 import static org.junit.Assert.*;
 
+import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.smooks.Smooks;
 import org.smooks.SmooksUtil;
+import org.smooks.container.TypedKey;
+import org.smooks.delivery.ContentDeliveryConfig;
+import org.smooks.javabean.context.BeanContext;
+import org.smooks.javabean.lifecycle.BeanContextLifecycleEvent;
+import org.smooks.javabean.lifecycle.BeanLifecycle;
+import org.smooks.payload.FilterResult;
+import org.smooks.payload.JavaResult;
 import org.smooks.profile.DefaultProfileSet;
 
 /**
@@ -74,6 +84,85 @@ public class StandaloneExecutionContextTest {
         assertTrue(attributes.containsValue(value));
     }
 
+    @Test
+    public void typedAttributes() {
+        final TypedKey<String> key = new TypedKey<>("testKey");
+        final List<TypedKey<Integer>> keys = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            keys.add(new TypedKey<>("key" + i));
+        }
+
+        assertNull(context.getAttribute(key));
+        context.setAttribute(key, "testValue");
+        for (int i = 0; i < keys.size(); i++) {
+            context.setAttribute(keys.get(i), i);
+        }
+
+        assertEquals("testValue", context.getAttribute(key));
+        assertEquals("testValue", context.getAttribute((Object) key));
+        assertFalse(context.getAttributes().containsKey(key));
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(Integer.valueOf(i), context.getAttribute(keys.get(i)));
+        }
+
+        context.removeAttribute(key);
+        assertNull(context.getAttribute(key));
+
+        context.reset();
+        assertNull(context.getAttribute(keys.get(99)));
+    }
+
+    @Test
+    public void reset() {
+        ContentDeliveryConfig deliveryConfig = context.getDeliveryConfig();
+        BeanContext beanContext = context.getBeanContext();
+        beanContext.addBean("bean", "value");
+        context.setAttribute("testKey", "testValue");
+        context.setTerminationError(new Exception());
+        context.setWriter(new StringWriter());
+        context.setContentEncoding("ISO-8859-1");
+
+        context.reset();
+
+        assertTrue(context.getAttributes().isEmpty());
+        assertNull(context.getTerminationError());
+        assertNull(context.getWriter());
+        assertEquals("UTF-8", context.getContentEncoding());
+        assertSame(beanContext, context.getBeanContext());
+        assertNull(context.getBeanContext().getBean("bean"));
+        assertSame(deliveryConfig, context.getDeliveryConfig());
+    }
+
+    @Test
+    public void testResetGivenBeanContextObserver() {
+        final List<BeanContextLifecycleEvent> events = new ArrayList<>();
+        context.getBeanContext().addObserver(events::add);
+        context.getBeanContext().addBean("bean", "value");
+
+        context.reset();
+        events.clear();
+        context.getBeanContext().addBean("bean", "newValue");
+
+        assertEquals(1, events.size());
+        assertEquals(BeanLifecycle.ADD, events.get(0).getLifecycle());
+        assertEquals("newValue", events.get(0).getBean());
+    }
+
+    @Test
+    public void testResetGivenJavaResult() {
+        JavaResult javaResult = new JavaResult();
+        FilterResult.setResults(context, javaResult);
+        context.getBeanContext().addBean("bean", "value");
+
+        context.reset();
+        JavaResult nextJavaResult = new JavaResult();
+        FilterResult.setResults(context, nextJavaResult);
+        context.getBeanContext().addBean("bean", "newValue");
+
+        assertEquals("value", javaResult.getBean("bean"));
+        assertEquals("newValue", nextJavaResult.getBean("bean"));
+    }
+
     @Before
     public void setup() {
         Smooks smooks = new Smooks();
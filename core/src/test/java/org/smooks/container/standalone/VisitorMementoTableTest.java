@@ -0,0 +1,103 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.container.standalone;
+
+import org.junit.Test;
+import org.smooks.delivery.Visitor;
+import org.smooks.delivery.memento.NodeVisitable;
+import org.smooks.delivery.memento.TextAccumulatorMemento;
+import org.smooks.delivery.memento.VisitorMemento;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class VisitorMementoTableTest {
+
+    @Test
+    public void testPutGetRemoveAgainstHashMap() {
+        final VisitorMemento visitorMemento = new TextAccumulatorMemento(new NodeVisitable(null), new Visitor() {
+        });
+        final VisitorMementoTable visitorMementoTable = new VisitorMementoTable();
+        final Map<Long, VisitorMemento> expected = new HashMap<>();
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 100000; i++) {
+            final long key = random.nextInt(2000);
+            if (random.nextBoolean()) {
+                final VisitorMemento value = random.nextBoolean() ? visitorMemento : visitorMemento.copy();
+                visitorMementoTable.put(key, value);
+                expected.put(key, value);
+            } else {
+                assertSame(expected.remove(key), visitorMementoTable.remove(key));
+            }
+            assertEquals(expected.size(), visitorMementoTable.size());
+        }
+        for (long key = 0; key < 2000; key++) {
+            assertSame(expected.get(key), visitorMementoTable.get(key));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        final VisitorMemento visitorMemento = new TextAccumulatorMemento(new NodeVisitable(null), new Visitor() {
+        });
+        final VisitorMementoTable visitorMementoTable = new VisitorMementoTable();
+        for (long key = 0; key < 1000; key++) {
+            visitorMementoTable.put(key, visitorMemento);
+        }
+
+        visitorMementoTable.clear();
+
+        assertEquals(0, visitorMementoTable.size());
+        for (long key = 0; key < 1000; key++) {
+            assertNull(visitorMementoTable.get(key));
+        }
+        visitorMementoTable.put(7, visitorMemento);
+        assertSame(visitorMemento, visitorMementoTable.get(7));
+    }
+}
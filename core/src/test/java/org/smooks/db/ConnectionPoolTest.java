@@ -0,0 +1,260 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.db;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.*;
+
+public class ConnectionPoolTest {
+
+    private static final String URL = "jdbc:hsqldb:mem:connectionPoolTest";
+
+    private Connection connection;
+
+    @Before
+    public void setUp() throws Exception {
+        Class.forName("org.hsqldb.jdbcDriver");
+        connection = DriverManager.getConnection(URL, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE ORDERS (ID INTEGER)");
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE ORDERS");
+        }
+        connection.close();
+    }
+
+    @Test
+    public void test_getConnection() throws SQLException {
+        ConnectionPool connectionPool = newConnectionPool(0, 2, null, 0, 0, 0);
+
+        Connection pooledConnection = connectionPool.getConnection();
+        assertEquals(1, connectionPool.getActiveCount());
+        pooledConnection.close();
+        assertTrue(pooledConnection.isClosed());
+        pooledConnection.close();
+        assertEquals(0, connectionPool.getActiveCount());
+        assertEquals(1, connectionPool.getIdleCount());
+        try {
+            pooledConnection.createStatement();
+            fail("Expected SQLException");
+        } catch (SQLException e) {
+            assertEquals("Connection is closed.", e.getMessage());
+        }
+
+        connectionPool.getConnection().close();
+        assertEquals(2, connectionPool.getBorrowCount());
+        assertEquals(1, connectionPool.getCreatedCount());
+
+        connectionPool.close();
+        assertEquals(1, connectionPool.getDestroyedCount());
+        try {
+            connectionPool.getConnection();
+            fail("Expected SQLException");
+        } catch (SQLException e) {
+            assertEquals("Connection pool is closed.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void test_getConnection_Timeout() throws Exception {
+        ConnectionPool connectionPool = newConnectionPool(0, 1, null, 0, 0, 50);
+        Connection pooledConnection = connectionPool.getConnection();
+
+        try {
+            connectionPool.getConnection();
+            fail("Expected SQLException");
+        } catch (SQLException e) {
+            assertTrue(e.getMessage().startsWith("Timed out after 50ms"));
+        }
+        assertEquals(1, connectionPool.getTimeoutCount());
+
+        pooledConnection.close();
+        connectionPool.close();
+
+        final ConnectionPool waitingConnectionPool = newConnectionPool(0, 1, null, 0, 0, 10000);
+        final Connection heldConnection = waitingConnectionPool.getConnection();
+        Thread thread = new Thread(() -> {
+            try {
+                Thread.sleep(20);
+                heldConnection.close();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+        waitingConnectionPool.getConnection().close();
+        thread.join();
+        assertEquals(1, waitingConnectionPool.getCreatedCount());
+        assertEquals(0, waitingConnectionPool.getTimeoutCount());
+        waitingConnectionPool.close();
+    }
+
+    @Test
+    public void test_getConnection_Validation() throws SQLException {
+        ConnectionPool connectionPool = newConnectionPool(0, 1, "SELECT COUNT(*) FROM ORDERS", 0, 0, 0);
+        connectionPool.getConnection().close();
+        connectionPool.getConnection().close();
+        assertEquals(1, connectionPool.getCreatedCount());
+        assertEquals(0, connectionPool.getValidationFailureCount());
+
+        ConnectionPool invalidatingConnectionPool = newConnectionPool(0, 1, "SELECT COUNT(*) FROM UNKNOWN", 0, 0, 0);
+        invalidatingConnectionPool.getConnection().close();
+        invalidatingConnectionPool.getConnection().close();
+        assertEquals(2, invalidatingConnectionPool.getCreatedCount());
+        assertEquals(1, invalidatingConnectionPool.getValidationFailureCount());
+        assertEquals(1, invalidatingConnectionPool.getDestroyedCount());
+
+        connectionPool.close();
+        invalidatingConnectionPool.close();
+    }
+
+    @Test
+    public void test_getConnection_IdleEviction() throws Exception {
+        ConnectionPool connectionPool = newConnectionPool(0, 2, null, 1, 0, 0);
+        connectionPool.getConnection().close();
+        Thread.sleep(10);
+        connectionPool.getConnection().close();
+        assertEquals(2, connectionPool.getCreatedCount());
+        assertEquals(1, connectionPool.getDestroyedCount());
+
+        ConnectionPool minSizeConnectionPool = newConnectionPool(1, 2, null, 1, 0, 0);
+        minSizeConnectionPool.getConnection().close();
+        Thread.sleep(10);
+        minSizeConnectionPool.getConnection().close();
+        assertEquals(1, minSizeConnectionPool.getCreatedCount());
+        assertEquals(0, minSizeConnectionPool.getDestroyedCount());
+
+        connectionPool.close();
+        minSizeConnectionPool.close();
+    }
+
+    @Test
+    public void test_getConnection_LeakDetection() throws Exception {
+        ConnectionPool connectionPool = newConnectionPool(0, 2, null, 0, 1, 0);
+        Connection leakedConnection = connectionPool.getConnection();
+        Thread.sleep(10);
+        connectionPool.getConnection().close();
+        connectionPool.getConnection().close();
+        assertEquals(1, connectionPool.getLeakCount());
+
+        leakedConnection.close();
+        connectionPool.close();
+    }
+
+    @Test
+    public void test_close_RollsBackOpenTransaction() throws SQLException {
+        ConnectionPool connectionPool = newConnectionPool(0, 1, null, 0, 0, 0);
+        Connection pooledConnection = connectionPool.getConnection();
+        pooledConnection.setAutoCommit(false);
+        try (Statement statement = pooledConnection.createStatement()) {
+            statement.execute("INSERT INTO ORDERS VALUES (1)");
+        }
+        pooledConnection.close();
+
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM ORDERS")) {
+            resultSet.next();
+            assertEquals(0, resultSet.getInt(1));
+        }
+        assertEquals(1, connectionPool.getIdleCount());
+        connectionPool.close();
+    }
+
+    @Test
+    public void test_close_RestoresConnectionSettings() throws SQLException {
+        ConnectionPool connectionPool = newConnectionPool(0, 1, null, 0, 0, 0);
+        Connection pooledConnection = connectionPool.getConnection();
+        final boolean autoCommit = pooledConnection.getAutoCommit();
+        final boolean readOnly = pooledConnection.isReadOnly();
+        final int transactionIsolation = pooledConnection.getTransactionIsolation();
+        pooledConnection.setAutoCommit(!autoCommit);
+        pooledConnection.setReadOnly(!readOnly);
+        pooledConnection.setTransactionIsolation(transactionIsolation == Connection.TRANSACTION_SERIALIZABLE ? Connection.TRANSACTION_READ_COMMITTED : Connection.TRANSACTION_SERIALIZABLE);
+        pooledConnection.close();
+
+        pooledConnection = connectionPool.getConnection();
+        assertEquals(1, connectionPool.getCreatedCount());
+        assertEquals(autoCommit, pooledConnection.getAutoCommit());
+        assertEquals(readOnly, pooledConnection.isReadOnly());
+        assertEquals(transactionIsolation, pooledConnection.getTransactionIsolation());
+        pooledConnection.close();
+        connectionPool.close();
+    }
+
+    @Test
+    public void test_close_ClosesOpenStatements() throws SQLException {
+        ConnectionPool connectionPool = newConnectionPool(0, 1, null, 0, 0, 0);
+        Connection pooledConnection = connectionPool.getConnection();
+        Statement closedStatement = pooledConnection.createStatement();
+        closedStatement.close();
+        Statement openStatement = pooledConnection.createStatement();
+        PreparedStatement openPreparedStatement = pooledConnection.prepareStatement("SELECT COUNT(*) FROM ORDERS");
+        assertSame(pooledConnection, openStatement.getConnection());
+        assertSame(pooledConnection, openPreparedStatement.getConnection());
+
+        pooledConnection.close();
+
+        assertTrue(openStatement.isClosed());
+        assertTrue(openPreparedStatement.isClosed());
+        assertEquals(1, connectionPool.getIdleCount());
+        connectionPool.close();
+    }
+
+    private ConnectionPool newConnectionPool(int minSize, int maxSize, String validationQuery, long maxIdleTime, long leakDetectionThreshold, long maxWaitTime) {
+        return new ConnectionPool(() -> DriverManager.getConnection(URL, "sa", ""), minSize, maxSize, validationQuery, maxIdleTime, leakDetectionThreshold, maxWaitTime);
+    }
+}
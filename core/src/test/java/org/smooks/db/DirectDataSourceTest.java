@@ -0,0 +1,165 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.db;
+
+import org.hsqldb.jdbcDriver;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.smooks.Smooks;
+import org.smooks.SmooksException;
+import org.smooks.container.ExecutionContext;
+import org.smooks.delivery.sax.ng.AfterVisitor;
+import org.smooks.payload.StringSource;
+import org.smooks.util.HsqlServer;
+import org.w3c.dom.Element;
+
+import java.io.ByteArrayInputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit test for {@link DirectDataSource}.
+ */
+public class DirectDataSourceTest {
+
+    private static HsqlServer hsqlServer;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        hsqlServer = new HsqlServer(1997);
+        hsqlServer.execScript(new ByteArrayInputStream("DROP TABLE ORDERS IF EXISTS;\nCREATE TABLE ORDERS (ID INTEGER)".getBytes()));
+    }
+
+    @AfterClass
+    public static void afterClass() throws Exception {
+        hsqlServer.stop();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        hsqlServer.execScript(new ByteArrayInputStream("DELETE FROM ORDERS".getBytes()));
+    }
+
+    @Test
+    public void test_pooled() throws Exception {
+        DirectDataSource directDataSource = newDirectDataSource().setMaxPoolSize(2).setValidationQuery("SELECT COUNT(*) FROM ORDERS");
+        directDataSource.registerDriver();
+
+        Smooks smooks = new Smooks();
+        smooks.addVisitor(directDataSource, "a");
+        smooks.addVisitor(new OrderInserter(), "b");
+        for (int i = 0; i < 3; i++) {
+            smooks.filterSource(new StringSource("<a><b/><b/></a>"));
+        }
+
+        assertEquals(6, countOrders());
+        ConnectionPool connectionPool = directDataSource.getConnectionPool();
+        assertEquals(3, connectionPool.getBorrowCount());
+        assertEquals(1, connectionPool.getCreatedCount());
+        assertEquals(1, connectionPool.getIdleCount());
+        assertEquals(0, connectionPool.getActiveCount());
+
+        smooks.close();
+        assertEquals(0, connectionPool.getIdleCount());
+        assertEquals(1, connectionPool.getDestroyedCount());
+    }
+
+    @Test
+    public void test_unpooled() throws Exception {
+        DirectDataSource directDataSource = newDirectDataSource();
+        directDataSource.registerDriver();
+        assertNull(directDataSource.getConnectionPool());
+
+        Smooks smooks = new Smooks();
+        smooks.addVisitor(directDataSource, "a");
+        smooks.addVisitor(new OrderInserter(), "b");
+        smooks.filterSource(new StringSource("<a><b/></a>"));
+        smooks.close();
+
+        assertEquals(1, countOrders());
+    }
+
+    @Test
+    public void test_pooled_config() throws Exception {
+        Smooks smooks = new Smooks(new ByteArrayInputStream(("<smooks-resource-list xmlns=\"https://www.smooks.org/xsd/smooks-2.0.xsd\" xmlns:ds=\"https://www.smooks.org/xsd/smooks/datasource-1.4.xsd\">" +
+                "<ds:direct bindOnElement=\"a\" datasource=\"orders\" autoCommit=\"false\" driver=\"org.hsqldb.jdbcDriver\" url=\"" + hsqlServer.getUrl() + "\" username=\"" + hsqlServer.getUsername() + "\" password=\"" + hsqlServer.getPassword() + "\" " +
+                "minPoolSize=\"1\" maxPoolSize=\"2\" validationQuery=\"SELECT COUNT(*) FROM ORDERS\" maxIdleTime=\"60000\" leakDetectionThreshold=\"60000\" maxWaitTime=\"1000\"/>" +
+                "<resource-config selector=\"b\"><resource>" + OrderInserter.class.getName() + "</resource></resource-config>" +
+                "</smooks-resource-list>").getBytes()));
+        for (int i = 0; i < 2; i++) {
+            smooks.filterSource(new StringSource("<a><b/></a>"));
+        }
+        smooks.close();
+
+        assertEquals(2, countOrders());
+    }
+
+    private DirectDataSource newDirectDataSource() {
+        return new DirectDataSource().setName("orders").setDriver(jdbcDriver.class).setUrl(hsqlServer.getUrl()).setUsername(hsqlServer.getUsername()).setPassword(hsqlServer.getPassword()).setAutoCommit(false);
+    }
+
+    private int countOrders() throws SQLException {
+        try (Statement statement = hsqlServer.getConnection().createStatement(); ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM ORDERS")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    public static class OrderInserter implements AfterVisitor {
+
+        @Override
+        public void visitAfter(Element element, ExecutionContext executionContext) {
+            try (Statement statement = AbstractDataSource.getConnection("orders", executionContext).createStatement()) {
+                statement.execute("INSERT INTO ORDERS VALUES (1)");
+            } catch (SQLException e) {
+                throw new SmooksException(e.getMessage(), e);
+            }
+        }
+    }
+}
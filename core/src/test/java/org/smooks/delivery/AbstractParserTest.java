@@ -48,10 +48,19 @@ import org.smooks.FilterSettings;
 import org.smooks.GenericReaderConfigurator;
 import org.smooks.Smooks;
 import org.smooks.container.ExecutionContext;
+import org.smooks.payload.JavaSource;
+import org.smooks.payload.StringResult;
 import org.smooks.payload.StringSource;
+import org.smooks.xml.NullSourceXMLReader;
+import org.smooks.xml.SmooksXMLReader;
 import org.xml.sax.ContentHandler;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.ext.DefaultHandler2;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.XMLFilterImpl;
+
+import javax.xml.XMLConstants;
 
 import java.io.IOException;
 
@@ -110,6 +119,83 @@ public class AbstractParserTest {
     	assertEquals(3, UnpooledSAXParser.numSetHandlerCalls);
     }
 
+    @Test
+    public void test_readerPool_Metrics() {
+        Smooks smooks = new Smooks();
+
+        smooks.setReaderConfig(new GenericReaderConfigurator(SAXParser.class));
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings().setReaderPoolSize(1));
+
+        smooks.filterSource(new StringSource("<x/>"));
+        smooks.filterSource(new StringSource("<x/>"));
+        smooks.filterSource(new StringSource("<x/>"));
+
+        ContentDeliveryConfig deliveryConfig = smooks.createExecutionContext().getDeliveryConfig();
+        XMLReaderPool readerPool = deliveryConfig.getXMLReaderPool(AbstractParser.getSAXParserConfiguration(deliveryConfig));
+        assertEquals(1, readerPool.getMissCount());
+        assertEquals(2, readerPool.getHitCount());
+        assertEquals(3, readerPool.getReturnedCount());
+        assertEquals(0, readerPool.getDiscardedCount());
+        assertEquals(1, readerPool.getIdleCount());
+    }
+
+    @Test
+    public void test_readerPool_NonReusableReader() {
+        Smooks smooks = new Smooks();
+
+        smooks.setReaderConfig(new GenericReaderConfigurator(NullSourceXMLReader.class));
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings().setReaderPoolSize(1));
+
+        smooks.filterSource(new StringSource("<x/>"));
+        smooks.filterSource(new StringSource("<x/>"));
+
+        ContentDeliveryConfig deliveryConfig = smooks.createExecutionContext().getDeliveryConfig();
+        XMLReaderPool readerPool = deliveryConfig.getXMLReaderPool(AbstractParser.getSAXParserConfiguration(deliveryConfig));
+        assertEquals(2, readerPool.getMissCount());
+        assertEquals(0, readerPool.getReturnedCount());
+        assertEquals(2, readerPool.getDiscardedCount());
+        assertEquals(0, readerPool.getIdleCount());
+    }
+
+    @Test
+    public void test_readerPool_JavaSource() {
+        Smooks smooks = new Smooks();
+
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings().setReaderPoolSize(1));
+
+        smooks.filterSource(new StringSource("<x/>"));
+        StringResult result = new StringResult();
+        smooks.filterSource(new JavaSource("hello"), result);
+
+        assertEquals("<string>hello</string>", result.toString());
+        XMLReaderPool readerPool = smooks.createExecutionContext().getDeliveryConfig().getXMLReaderPool(null);
+        assertEquals(0, readerPool.getHitCount());
+        assertEquals(1, readerPool.getIdleCount());
+    }
+
+    @Test
+    public void test_readerPool_ReleasedReaderHoldsNoExecutionState() {
+        Smooks smooks = new Smooks();
+
+        smooks.setReaderConfig(new GenericReaderConfigurator(ExecutionContextAwareXMLReader.class));
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings().setReaderPoolSize(1));
+
+        ExecutionContext executionContext = smooks.createExecutionContext();
+        smooks.filterSource(executionContext, new StringSource("<x/>"));
+
+        ContentDeliveryConfig deliveryConfig = executionContext.getDeliveryConfig();
+        XMLReaderPool readerPool = deliveryConfig.getXMLReaderPool(AbstractParser.getSAXParserConfiguration(deliveryConfig));
+        ExecutionContextAwareXMLReader reader = (ExecutionContextAwareXMLReader) readerPool.borrow();
+
+        assertEquals(1, reader.numParseCalls);
+        assertNull(reader.executionContext);
+        assertSame(AbstractParser.NO_OP_HANDLER, reader.getContentHandler());
+        assertSame(AbstractParser.NO_OP_HANDLER, reader.getErrorHandler());
+        assertSame(AbstractParser.NO_OP_HANDLER, reader.getDTDHandler());
+        assertSame(AbstractParser.NO_OP_HANDLER, reader.getEntityResolver());
+        assertSame(AbstractParser.NO_OP_HANDLER, reader.lexicalHandler);
+    }
+
     private class TestParser extends AbstractParser {
         public TestParser(ExecutionContext execContext) {
             super(execContext);
@@ -123,6 +209,11 @@ public class AbstractParserTest {
     	public static ContentHandler lastHandlerInstance;
     	
 		public void setContentHandler(ContentHandler handler) {
+			if(handler == AbstractParser.NO_OP_HANDLER) {
+				// Installed when the parser is released to the pool...
+				super.setContentHandler(handler);
+				return;
+			}
 			if(lastParserInstance == null) {
 				lastParserInstance = this;
 			}
@@ -158,4 +249,37 @@ public class AbstractParserTest {
 			super.setContentHandler(handler);
 		}    	
     }
+
+    public static class ExecutionContextAwareXMLReader extends XMLFilterImpl implements SmooksXMLReader {
+
+        private ExecutionContext executionContext;
+        private Object lexicalHandler;
+        private int numParseCalls;
+
+        @Override
+        public void setExecutionContext(ExecutionContext executionContext) {
+            this.executionContext = executionContext;
+        }
+
+        @Override
+        public void setFeature(String name, boolean value) {
+        }
+
+        @Override
+        public void setProperty(String name, Object value) {
+            if ("http://xml.org/sax/properties/lexical-handler".equals(name)) {
+                lexicalHandler = value;
+            }
+        }
+
+        @Override
+        public void parse(InputSource input) throws SAXException {
+            assertNotNull(executionContext);
+            numParseCalls++;
+            getContentHandler().startDocument();
+            getContentHandler().startElement(XMLConstants.NULL_NS_URI, "x", "x", new AttributesImpl());
+            getContentHandler().endElement(XMLConstants.NULL_NS_URI, "x", "x");
+            getContentHandler().endDocument();
+        }
+    }
 }
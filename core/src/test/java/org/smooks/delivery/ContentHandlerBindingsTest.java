@@ -0,0 +1,192 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.delivery;
+
+import org.junit.Test;
+import org.smooks.FilterSettings;
+import org.smooks.Smooks;
+import org.smooks.cdr.ResourceConfig;
+import org.smooks.container.ExecutionContext;
+import org.smooks.delivery.dom.DOMContentDeliveryConfig;
+import org.smooks.delivery.sax.SAXContentDeliveryConfig;
+import org.smooks.delivery.sax.SAXElementVisitorMap;
+import org.smooks.delivery.sax.SAXVisitAfter;
+import org.smooks.delivery.sax.ng.AfterVisitor;
+import org.smooks.delivery.sax.ng.SaxNgContentDeliveryConfig;
+import org.smooks.delivery.sax.ng.SaxNgVisitorBindings;
+import org.smooks.delivery.ordering.Sorter;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ContentHandlerBindingsTest {
+
+    @Test
+    public void testGetBindings() {
+        ContentHandlerBindings<ContentHandler> contentHandlerBindings = newContentHandlerBindings();
+        assertGetBindings(contentHandlerBindings);
+
+        contentHandlerBindings.freeze();
+        assertTrue(contentHandlerBindings.isFrozen());
+        assertGetBindings(contentHandlerBindings);
+    }
+
+    @Test
+    public void testFrozenBindingsAreShared() {
+        ContentHandlerBindings<ContentHandler> contentHandlerBindings = newContentHandlerBindings();
+        assertNotSame(contentHandlerBindings.getBindings("a"), contentHandlerBindings.getBindings("a"));
+
+        contentHandlerBindings.freeze();
+        assertSame(contentHandlerBindings.getBindings("a"), contentHandlerBindings.getBindings("a"));
+        assertSame(contentHandlerBindings.getGlobalBindings(), contentHandlerBindings.getGlobalBindings());
+        assertSame(contentHandlerBindings.getDocumentBindings("a"), contentHandlerBindings.getDocumentBindings("a"));
+        assertSame(contentHandlerBindings.getDocumentBindings("x"), contentHandlerBindings.getDocumentBindings("y"));
+    }
+
+    @Test
+    public void testFrozenBindingsCannotBeChanged() {
+        ContentHandlerBindings<ContentHandler> contentHandlerBindings = newContentHandlerBindings();
+        contentHandlerBindings.freeze();
+
+        try {
+            contentHandlerBindings.addBinding("a", new ResourceConfig("a"), new ContentHandler() {});
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+        try {
+            contentHandlerBindings.sort(Sorter.SortOrder.PRODUCERS_FIRST);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+        try {
+            contentHandlerBindings.getTable().get("a").clear();
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+        assertEquals(5, contentHandlerBindings.getCount());
+        assertEquals(1, contentHandlerBindings.getMappings("a").size());
+    }
+
+    @Test
+    public void testBuiltConfigIsFrozen() throws IOException, SAXException {
+        Smooks smooks = new Smooks(getClass().getResourceAsStream("smooks-config-sax.xml"));
+        ExecutionContext executionContext = smooks.createExecutionContext();
+
+        SAXContentDeliveryConfig saxContentDeliveryConfig = (SAXContentDeliveryConfig) executionContext.getDeliveryConfig();
+        assertTrue(saxContentDeliveryConfig.getVisitBefores().isFrozen());
+        assertTrue(saxContentDeliveryConfig.getVisitAfters().isFrozen());
+        for (SAXElementVisitorMap visitorMap : saxContentDeliveryConfig.getOptimizedVisitorConfig().values()) {
+            assertTrue(visitorMap.isFrozen());
+        }
+
+        smooks = new Smooks(getClass().getResourceAsStream("smooks-config-dom.xml"));
+        DOMContentDeliveryConfig domContentDeliveryConfig = (DOMContentDeliveryConfig) smooks.createExecutionContext().getDeliveryConfig();
+        assertTrue(domContentDeliveryConfig.getProcessingVisitBefores().isFrozen());
+        assertTrue(domContentDeliveryConfig.getSerializationVisitors().isFrozen());
+
+        smooks = new Smooks();
+        smooks.addVisitor((AfterVisitor) (element, context) -> {}, "b");
+        SaxNgContentDeliveryConfig saxNgContentDeliveryConfig = (SaxNgContentDeliveryConfig) smooks.createExecutionContext().getDeliveryConfig();
+        assertTrue(saxNgContentDeliveryConfig.getAfterVisitors().isFrozen());
+        for (SaxNgVisitorBindings visitorBindings : saxNgContentDeliveryConfig.getOptimizedVisitorConfig().values()) {
+            assertTrue(visitorBindings.isFrozen());
+            assertEquals(visitorBindings.getAfterVisitors(), Arrays.asList(visitorBindings.getAfterVisitorArray()));
+        }
+    }
+
+    @Test
+    public void testBuiltConfigGlobalBindingsArePrecomputed() {
+        Smooks smooks = new Smooks();
+        smooks.setFilterSettings(FilterSettings.DEFAULT_SAX);
+        smooks.addVisitor((SAXVisitAfter) (element, context) -> {}, "*");
+        smooks.addVisitor((SAXVisitAfter) (element, context) -> {}, "**");
+        SAXContentDeliveryConfig saxContentDeliveryConfig = (SAXContentDeliveryConfig) smooks.createExecutionContext().getDeliveryConfig();
+        SAXElementVisitorMap globalVisitorConfig = saxContentDeliveryConfig.getGlobalVisitorConfig();
+        assertTrue(globalVisitorConfig.isFrozen());
+        assertSame(globalVisitorConfig, saxContentDeliveryConfig.getGlobalVisitorConfig());
+        assertEquals(saxContentDeliveryConfig.getVisitAfters().getGlobalBindings().length, globalVisitorConfig.getVisitAfterArray().length);
+
+        smooks = new Smooks();
+        smooks.addVisitor((AfterVisitor) (element, context) -> {}, "*");
+        smooks.addVisitor((AfterVisitor) (element, context) -> {}, "**");
+        SaxNgContentDeliveryConfig saxNgContentDeliveryConfig = (SaxNgContentDeliveryConfig) smooks.createExecutionContext().getDeliveryConfig();
+        SaxNgVisitorBindings globalVisitorBindings = saxNgContentDeliveryConfig.getGlobalVisitorBindings();
+        assertTrue(globalVisitorBindings.isFrozen());
+        assertSame(globalVisitorBindings, saxNgContentDeliveryConfig.getGlobalVisitorBindings());
+        assertEquals(saxNgContentDeliveryConfig.getAfterVisitors().getGlobalBindings().length, globalVisitorBindings.getAfterVisitorArray().length);
+    }
+
+    private void assertGetBindings(ContentHandlerBindings<ContentHandler> contentHandlerBindings) {
+        assertEquals(1, contentHandlerBindings.getBindings("a").length);
+        assertEquals(0, contentHandlerBindings.getBindings("x").length);
+        assertNames(contentHandlerBindings.getGlobalBindings(), "*", "**");
+        assertNames(contentHandlerBindings.getDocumentBindings("a"), "#document", "a");
+        assertNames(contentHandlerBindings.getDocumentBindings("b"), "#document", "b");
+        assertNames(contentHandlerBindings.getDocumentBindings("x"), "#document");
+
+        List<ContentHandlerBinding<ContentHandler>> combinedMappings = contentHandlerBindings.getMappings(new String[]{ResourceConfig.DOCUMENT_FRAGMENT_SELECTOR, "b"});
+        assertEquals(Arrays.asList(contentHandlerBindings.getDocumentBindings("b")), combinedMappings);
+    }
+
+    private void assertNames(ContentHandlerBinding<ContentHandler>[] contentHandlerBindings, String... selectors) {
+        assertEquals(selectors.length, contentHandlerBindings.length);
+        for (int i = 0; i < selectors.length; i++) {
+            assertEquals(selectors[i], contentHandlerBindings[i].getResourceConfig().getSelectorPath().getSelector());
+        }
+    }
+
+    private ContentHandlerBindings<ContentHandler> newContentHandlerBindings() {
+        ContentHandlerBindings<ContentHandler> contentHandlerBindings = new ContentHandlerBindings<>();
+        for (String selector : new String[]{"#document", "a", "b", "*", "**"}) {
+            contentHandlerBindings.addBinding(selector, new ResourceConfig(selector), new ContentHandler() {});
+        }
+        return contentHandlerBindings;
+    }
+}
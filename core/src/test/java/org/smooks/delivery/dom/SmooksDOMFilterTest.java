@@ -42,21 +42,33 @@
  */
 package org.smooks.delivery.dom;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.smooks.FilterSettings;
+import org.smooks.Smooks;
+import org.smooks.StreamFilterType;
 import org.smooks.container.ExecutionContext;
 import org.smooks.container.MockExecutionContext;
+import org.smooks.delivery.Fragment;
 import org.smooks.io.StreamUtils;
+import org.smooks.lifecycle.VisitLifecycleCleanable;
+import org.smooks.xml.DomUtils;
+import org.w3c.dom.Element;
 
 /**
  * Unit test for SmooksDomFilter
@@ -85,6 +97,144 @@ public class SmooksDOMFilterTest
 		assertTrue ( byteArray.length > 0 );
 	}
 	
+	@Test
+	public void filter_verify_processing_order()
+	{
+		List<String> visits = new ArrayList<>();
+		Smooks smooks = new Smooks();
+		smooks.setFilterSettings( new FilterSettings( StreamFilterType.DOM ) );
+		smooks.addVisitor( new RecordingVisitor( "global", visits ), "*" );
+		smooks.addVisitor( new RecordingVisitor( "b", visits ), "b" );
+		smooks.addVisitor( new RecordingVisitor( "document", visits ), "#document" );
+
+		smooks.filterSource( new StreamSource( new StringReader( "<a><b><c/></b><d/></a>" ) ) );
+
+		// Cleanables are only applied to the elements they are explicitly targeted at...
+		assertEquals( Arrays.asList(
+				"document:before:a", "global:before:a",
+				"b:before:b", "global:before:b",
+				"global:before:c", "global:after:c",
+				"b:after:b", "global:after:b", "b:cleanup:b",
+				"global:before:d", "global:after:d",
+				"document:after:a", "global:after:a", "document:cleanup:a" ), visits );
+	}
+
+	@Test
+	public void filter_verify_that_added_elements_are_not_processed()
+	{
+		List<String> visits = new ArrayList<>();
+		Smooks smooks = new Smooks();
+		smooks.setFilterSettings( new FilterSettings( StreamFilterType.DOM ) );
+		smooks.addVisitor( ( DOMVisitBefore ) ( element, executionContext ) -> element.appendChild( element.getOwnerDocument().createElement( "e" ) ), "b" );
+		smooks.addVisitor( new RecordingVisitor( "global", visits ), "*" );
+
+		smooks.filterSource( new StreamSource( new StringReader( "<a><b><c/></b></a>" ) ) );
+
+		assertEquals( Arrays.asList(
+				"global:before:a", "global:before:b",
+				"global:before:c", "global:after:c",
+				"global:after:b", "global:after:a" ), visits );
+	}
+
+	@Test
+	public void filter_verify_that_elements_added_beneath_unreached_elements_are_not_processed()
+	{
+		List<String> visits = filterUnreachedElement( "<a><b><c/></b></a>", ( element, executionContext ) -> {
+			Element b = DomUtils.getElement( element, "b", 1 );
+			b.appendChild( element.getOwnerDocument().createElement( "e" ) );
+		} );
+
+		assertEquals( Arrays.asList(
+				"global:before:a", "global:before:b",
+				"global:before:c", "global:after:c",
+				"global:after:b", "global:after:a" ), visits );
+	}
+
+	@Test
+	public void filter_verify_that_renamed_unreached_elements_are_processed_as_present()
+	{
+		List<String> visits = filterUnreachedElement( "<a><b><c/></b><d/></a>", ( element, executionContext ) ->
+				DomUtils.renameElement( DomUtils.getElement( element, "b", 1 ), "x", true, true ) );
+
+		assertEquals( Arrays.asList(
+				"global:before:a", "global:before:b",
+				"global:before:c", "global:after:c",
+				"global:after:b", "global:before:d", "global:after:d",
+				"global:after:a" ), visits );
+	}
+
+	@Test
+	public void filter_verify_that_replaced_unreached_elements_are_processed_as_present()
+	{
+		List<String> visits = filterUnreachedElement( "<a><b><c/></b><d/></a>", ( element, executionContext ) -> {
+			Element x = element.getOwnerDocument().createElement( "x" );
+			x.appendChild( element.getOwnerDocument().createElement( "y" ) );
+			DomUtils.replaceNode( x, DomUtils.getElement( element, "b", 1 ) );
+		} );
+
+		assertEquals( Arrays.asList(
+				"global:before:a", "global:before:b",
+				"global:before:c", "global:after:c",
+				"global:after:b", "global:before:d", "global:after:d",
+				"global:after:a" ), visits );
+	}
+
+	@Test
+	public void filter_verify_that_removed_unreached_elements_are_processed_as_present()
+	{
+		List<String> visits = filterUnreachedElement( "<a><b><c/></b><d/></a>", ( element, executionContext ) ->
+				element.removeChild( DomUtils.getElement( element, "b", 1 ) ) );
+
+		assertEquals( Arrays.asList(
+				"global:before:a", "global:before:b",
+				"global:before:c", "global:after:c",
+				"global:after:b", "global:before:d", "global:after:d",
+				"global:after:a" ), visits );
+	}
+
+	private List<String> filterUnreachedElement( String xml, DOMVisitBefore rootVisitor )
+	{
+		List<String> visits = new ArrayList<>();
+		Smooks smooks = new Smooks();
+		smooks.setFilterSettings( new FilterSettings( StreamFilterType.DOM ) );
+		smooks.addVisitor( rootVisitor, "a" );
+		smooks.addVisitor( new RecordingVisitor( "global", visits ), "*" );
+
+		smooks.filterSource( new StreamSource( new StringReader( xml ) ) );
+
+		return visits;
+	}
+
+	private static class RecordingVisitor implements DOMElementVisitor, VisitLifecycleCleanable
+	{
+		private final String name;
+		private final List<String> visits;
+
+		private RecordingVisitor( String name, List<String> visits )
+		{
+			this.name = name;
+			this.visits = visits;
+		}
+
+		@Override
+		public void visitBefore( Element element, ExecutionContext executionContext )
+		{
+			visits.add( name + ":before:" + DomUtils.getName( element ) );
+		}
+
+		@Override
+		public void visitAfter( Element element, ExecutionContext executionContext )
+		{
+			visits.add( name + ":after:" + DomUtils.getName( element ) );
+		}
+
+		@Override
+		public void executeVisitLifecycleCleanup( Fragment fragment, ExecutionContext executionContext )
+		{
+			visits.add( name + ":cleanup:" + DomUtils.getName( fragment.getDOMElement() ) );
+		}
+	}
+
 	@Before
 	public void setup() throws IOException
 	{
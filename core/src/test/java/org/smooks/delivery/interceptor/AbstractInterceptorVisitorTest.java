@@ -0,0 +1,168 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.delivery.interceptor;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.smooks.cdr.ResourceConfig;
+import org.smooks.container.ExecutionContext;
+import org.smooks.container.MockExecutionContext;
+import org.smooks.delivery.ContentHandlerBinding;
+import org.smooks.delivery.Visitor;
+import org.smooks.delivery.ordering.Consumer;
+import org.smooks.delivery.sax.ng.AfterVisitor;
+import org.smooks.delivery.sax.ng.BeforeVisitor;
+import org.smooks.delivery.sax.ng.ChildrenVisitor;
+import org.smooks.xml.DomUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AbstractInterceptorVisitorTest {
+
+    private ContentHandlerBinding<Visitor> targetBinding;
+    private RecordingVisitor recordingVisitor;
+    private StaticProxyInterceptor interceptorChain;
+    private Element element;
+
+    @Before
+    public void before() throws Exception {
+        recordingVisitor = new RecordingVisitor();
+        targetBinding = new ContentHandlerBinding<>(recordingVisitor, new ResourceConfig("a", RecordingVisitor.class.getName()));
+        interceptorChain = createInterceptorChain(targetBinding);
+
+        final Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        element = document.createElement("a");
+    }
+
+    @Test
+    public void testGetTargetSkipsAllInterceptors() {
+        assertSame(targetBinding, interceptorChain.getTarget());
+        assertSame(targetBinding, ((InterceptorVisitor) interceptorChain.getVisitorBinding().getContentHandler()).getTarget());
+    }
+
+    @Test
+    public void testDispatchReachesTarget() {
+        final ExecutionContext executionContext = new MockExecutionContext();
+        interceptorChain.visitBefore(element, executionContext);
+        interceptorChain.visitChildElement(element, executionContext);
+        interceptorChain.visitAfter(element, executionContext);
+
+        assertEquals(1, recordingVisitor.visitedElements.size());
+        assertEquals("a", DomUtils.getName(recordingVisitor.visitedElements.get(0)));
+        assertEquals(1, interceptorChain.getMaxNodeDepth());
+        assertTrue(interceptorChain.consumes("a"));
+        assertFalse(interceptorChain.consumes(new Object()));
+        assertEquals(0, interceptorChain.getProducts().size());
+    }
+
+    @Test
+    public void testGetInterceptedVisitor() {
+        final StaticProxyInterceptor innerInterceptor = (StaticProxyInterceptor) interceptorChain.getVisitorBinding().getContentHandler();
+        assertSame(innerInterceptor, interceptorChain.getInterceptedVisitor(AfterVisitor.class));
+        assertSame(innerInterceptor, interceptorChain.getInterceptedVisitor(BeforeVisitor.class));
+        
+        assertSame(recordingVisitor, innerInterceptor.getInterceptedVisitor(AfterVisitor.class));
+        assertSame(recordingVisitor, innerInterceptor.getInterceptedVisitor(Consumer.class));
+        assertNull(innerInterceptor.getInterceptedVisitor(BeforeVisitor.class));
+        assertNull(innerInterceptor.getInterceptedVisitor(ChildrenVisitor.class));
+
+        assertSame(innerInterceptor, interceptorChain.saxVisitBefore);
+        assertSame(innerInterceptor, interceptorChain.saxVisitAfter);
+        assertSame(innerInterceptor, interceptorChain.saxVisitChildren);
+        assertNull(innerInterceptor.saxVisitAfter);
+    }
+
+    @Test
+    public void testIntercept() {
+        final ExecutionContext executionContext = new MockExecutionContext();
+        interceptorChain.intercept(new AbstractInterceptorVisitor.Invocation<AfterVisitor>() {
+            @Override
+            public Object invoke(AfterVisitor visitor) {
+                visitor.visitAfter(element, executionContext);
+                return null;
+            }
+
+            @Override
+            public Class<AfterVisitor> getTarget() {
+                return AfterVisitor.class;
+            }
+        });
+
+        assertEquals(1, recordingVisitor.visitedElements.size());
+    }
+
+    private StaticProxyInterceptor createInterceptorChain(final ContentHandlerBinding<Visitor> visitorBinding) {
+        final StaticProxyInterceptor innerInterceptor = new StaticProxyInterceptor();
+        innerInterceptor.setVisitorBinding(visitorBinding);
+
+        final StaticProxyInterceptor outerInterceptor = new StaticProxyInterceptor();
+        outerInterceptor.setVisitorBinding(new ContentHandlerBinding<>(innerInterceptor, visitorBinding.getResourceConfig()));
+
+        return outerInterceptor;
+    }
+
+    private static class RecordingVisitor implements AfterVisitor, Consumer {
+
+        private final List<Element> visitedElements = new ArrayList<>();
+
+        @Override
+        public void visitAfter(Element element, ExecutionContext executionContext) {
+            visitedElements.add(element);
+        }
+
+        @Override
+        public boolean consumes(Object object) {
+            return object instanceof String;
+        }
+    }
+}
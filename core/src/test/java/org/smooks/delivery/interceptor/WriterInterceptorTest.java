@@ -0,0 +1,104 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.delivery.interceptor;
+
+import org.junit.Test;
+import org.smooks.Smooks;
+import org.smooks.container.ExecutionContext;
+import org.smooks.delivery.sax.ng.ElementVisitor;
+import org.smooks.payload.StringResult;
+import org.smooks.payload.StringSource;
+import org.w3c.dom.Element;
+
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class WriterInterceptorTest {
+
+    @Test
+    public void testElementWriterIsReusedAcrossEvents() {
+        final WriterRecordingVisitor writerRecordingVisitor = new WriterRecordingVisitor();
+        final Smooks smooks = new Smooks();
+        smooks.addVisitor(writerRecordingVisitor, "a");
+
+        final StringResult result = new StringResult();
+        smooks.filterSource(new StringSource("<a>text<b/></a>"), result);
+
+        assertEquals(4, writerRecordingVisitor.writers.size());
+        assertTrue(writerRecordingVisitor.writers.get(0) instanceof WriterInterceptor.ExclusiveWriter);
+        for (Writer writer : writerRecordingVisitor.writers) {
+            assertSame(writerRecordingVisitor.writers.get(0), writer);
+        }
+        assertEquals("<a>text<b /></a>", result.toString());
+    }
+
+    private static class WriterRecordingVisitor implements ElementVisitor {
+
+        private final List<Writer> writers = new ArrayList<>();
+
+        @Override
+        public void visitBefore(Element element, ExecutionContext executionContext) {
+            writers.add(executionContext.getWriter());
+        }
+
+        @Override
+        public void visitChildText(Element element, ExecutionContext executionContext) {
+            writers.add(executionContext.getWriter());
+        }
+
+        @Override
+        public void visitChildElement(Element childElement, ExecutionContext executionContext) {
+            writers.add(executionContext.getWriter());
+        }
+
+        @Override
+        public void visitAfter(Element element, ExecutionContext executionContext) {
+            writers.add(executionContext.getWriter());
+        }
+    }
+}
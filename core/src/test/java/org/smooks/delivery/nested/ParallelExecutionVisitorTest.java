@@ -0,0 +1,174 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.delivery.nested;
+
+import org.custommonkey.xmlunit.XMLAssert;
+import org.custommonkey.xmlunit.XMLUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.smooks.FilterSettings;
+import org.smooks.Smooks;
+import org.smooks.container.ExecutionContext;
+import org.smooks.payload.StringResult;
+import org.smooks.payload.StringSource;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelExecutionVisitorTest {
+
+    private static final int ORDER_ITEM_COUNT = 200;
+
+    private Smooks smooks;
+
+    @Before
+    public void before() {
+        ForkedFragmentVisitor.THREAD_NAMES.clear();
+        ForkedFragmentVisitor.HEADERS.clear();
+    }
+
+    @After
+    public void after() {
+        if (smooks != null) {
+            smooks.close();
+        }
+    }
+
+    @Test
+    public void testOrdered() throws IOException, SAXException {
+        smooks = new Smooks(getClass().getResourceAsStream("parallel-config.xml"));
+        String order = createOrder();
+
+        ExecutionContext executionContext = smooks.createExecutionContext();
+        executionContext.getBeanContext().addBean("header", "header");
+        StringResult result = new StringResult();
+        smooks.filterSource(executionContext, new StringSource(order), result);
+
+        assertEquals(order, result.toString());
+        assertEquals(ORDER_ITEM_COUNT, ForkedFragmentVisitor.THREAD_NAMES.size());
+        for (String threadName : ForkedFragmentVisitor.THREAD_NAMES) {
+            assertTrue(threadName, threadName.startsWith("smooks-fork-"));
+        }
+        for (Object header : ForkedFragmentVisitor.HEADERS) {
+            assertEquals("header", header);
+        }
+    }
+
+    @Test
+    public void testUnordered() {
+        smooks = new Smooks();
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings());
+        ParallelExecutionVisitor parallelExecutionVisitor = new ParallelExecutionVisitor();
+        parallelExecutionVisitor.setSmooksConfig("/org/smooks/delivery/nested/forked-fragment-config.xml");
+        parallelExecutionVisitor.setThreads(4);
+        parallelExecutionVisitor.setOrdered(false);
+        smooks.addVisitor(parallelExecutionVisitor, "order-item");
+        String order = createOrder();
+
+        StringResult result = new StringResult();
+        smooks.filterSource(new StringSource(order), result);
+
+        String output = result.toString();
+        assertEquals(order.length(), output.length());
+        assertTrue(output.startsWith("<order><header>Joe &amp; Co.</header><order-items>"));
+        assertTrue(output.endsWith("</order-items><trailer>" + ORDER_ITEM_COUNT + "</trailer></order>"));
+        for (int i = 0; i < ORDER_ITEM_COUNT; i++) {
+            String orderItem = createOrderItem(i);
+            int index = output.indexOf(orderItem);
+            assertTrue(orderItem, index > 0);
+            assertFalse(orderItem, output.indexOf(orderItem, index + 1) > 0);
+        }
+        assertEquals(ORDER_ITEM_COUNT, ForkedFragmentVisitor.THREAD_NAMES.size());
+    }
+
+    @Test
+    public void testNamespaces() throws IOException, SAXException {
+        smooks = new Smooks(getClass().getResourceAsStream("parallel-config.xml"));
+        String order = "<order xmlns=\"urn:order\" xmlns:p=\"urn:product\">\n" +
+                "    <order-item><p:product id=\"1\">111</p:product></order-item>\n" +
+                "    <order-item xmlns:q=\"urn:quantity\"><q:quantity>2</q:quantity><!-- comment --><![CDATA[<price>]]></order-item>\n" +
+                "</order>";
+
+        StringResult result = new StringResult();
+        smooks.filterSource(new StringSource(order), result);
+
+        XMLUnit.setIgnoreWhitespace(true);
+        XMLAssert.assertXMLEqual(new StringReader(order), new StringReader(result.toString()));
+        assertEquals(2, ForkedFragmentVisitor.THREAD_NAMES.size());
+    }
+
+    @Test
+    public void testRootForkPoint() {
+        smooks = new Smooks();
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings());
+        ParallelExecutionVisitor parallelExecutionVisitor = new ParallelExecutionVisitor();
+        parallelExecutionVisitor.setSmooksConfig("/org/smooks/delivery/nested/forked-fragment-config.xml");
+        parallelExecutionVisitor.setMaxPendingFragments(1);
+        smooks.addVisitor(parallelExecutionVisitor, "order-item");
+        String orderItem = createOrderItem(0);
+
+        StringResult result = new StringResult();
+        smooks.filterSource(new StringSource(orderItem), result);
+
+        assertEquals(orderItem, result.toString());
+        assertEquals(1, ForkedFragmentVisitor.THREAD_NAMES.size());
+    }
+
+    private String createOrder() {
+        StringBuilder order = new StringBuilder("<order><header>Joe &amp; Co.</header><order-items>");
+        for (int i = 0; i < ORDER_ITEM_COUNT; i++) {
+            order.append(createOrderItem(i));
+        }
+        return order.append("</order-items><trailer>").append(ORDER_ITEM_COUNT).append("</trailer></order>").toString();
+    }
+
+    private String createOrderItem(int i) {
+        return "<order-item id=\"" + i + "\"><product>" + i + "</product><price>" + i + ".99</price></order-item>";
+    }
+}
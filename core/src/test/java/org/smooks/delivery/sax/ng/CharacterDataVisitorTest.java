@@ -0,0 +1,176 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.delivery.sax.ng;
+
+import org.junit.Test;
+import org.smooks.FilterSettings;
+import org.smooks.Smooks;
+import org.smooks.container.ExecutionContext;
+import org.smooks.delivery.sax.TextType;
+import org.smooks.payload.StringResult;
+import org.smooks.payload.StringSource;
+import org.w3c.dom.Element;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class CharacterDataVisitorTest {
+
+    @Test
+    public void testVisitChildTextGivenCharacterDataVisitor() {
+        final Smooks smooks = new Smooks();
+        final CharacterDataRecordingVisitor characterDataRecordingVisitor = new CharacterDataRecordingVisitor();
+        final ChildTextRecordingVisitor childTextRecordingVisitor = new ChildTextRecordingVisitor();
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings());
+        smooks.addVisitor(characterDataRecordingVisitor, "b");
+        smooks.addVisitor(childTextRecordingVisitor, "b");
+
+        smooks.filterSource(new StringSource("<a><b>text<![CDATA[<cdata>]]><!--comment-->&amp;</b></a>"));
+
+        assertEquals("[TEXT:text, CDATA:<cdata>, COMMENT:comment, TEXT:&]", characterDataRecordingVisitor.characterData.toString());
+        assertFalse(characterDataRecordingVisitor.visitedChildTextElement);
+        for (Element element : characterDataRecordingVisitor.elements) {
+            assertSame(characterDataRecordingVisitor.element, element);
+        }
+        assertEquals("[text, <cdata>, comment, &]", childTextRecordingVisitor.characterData.toString());
+    }
+
+    @Test
+    public void testFilterSourceGivenDefaultSerialization() {
+        final String input = "<a><b attr=\"x\">te&lt;xt<![CDATA[<cdata>]]><!--comment-->&amp;</b><c /></a>";
+        final Smooks smooks = new Smooks();
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings());
+        smooks.addVisitor(new CharacterDataRecordingVisitor(), "b");
+
+        final StringResult result = new StringResult();
+        smooks.filterSource(new StringSource(input), result);
+
+        assertEquals(input, result.getResult());
+    }
+
+    @Test
+    public void testFilterSourceGivenEntitiesNotRewritten() {
+        final Smooks smooks = new Smooks();
+        final CharacterDataRecordingVisitor characterDataRecordingVisitor = new CharacterDataRecordingVisitor();
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings().setRewriteEntities(false));
+        smooks.addVisitor(characterDataRecordingVisitor, "b");
+
+        final StringResult result = new StringResult();
+        smooks.filterSource(new StringSource("<a><b>x&#65;y</b></a>"), result);
+
+        assertEquals("[TEXT:x, TEXT:&#65;, TEXT:y]", characterDataRecordingVisitor.characterData.toString());
+        assertEquals("<a><b>x&#65;y</b></a>", result.getResult());
+    }
+
+    @Test
+    public void testFilterSourceGivenSerializerClosingItsOwnStartTag() {
+        final Smooks smooks = new Smooks();
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings());
+        smooks.addVisitor(new SaxNgSerializerVisitor() {
+            @Override
+            public void writeStartElement(final Element element, final Writer writer, final ExecutionContext executionContext) throws IOException {
+                writer.write('<');
+                writer.write(element.getTagName());
+                writer.write('>');
+            }
+        }, "b");
+
+        final StringResult result = new StringResult();
+        smooks.filterSource(new StringSource("<a><b>text</b></a>"), result);
+
+        assertEquals("<a><b>text</b></a>", result.getResult());
+    }
+
+    private static class CharacterDataRecordingVisitor implements AfterVisitor, CharacterDataVisitor {
+        private final List<String> characterData = new ArrayList<>();
+        private final List<Element> elements = new ArrayList<>();
+        private Element element;
+        private boolean visitedChildTextElement;
+
+        @Override
+        public void visitChildText(final Element element, final CharSequence characterData, final TextType textType, final ExecutionContext executionContext) {
+            this.characterData.add(textType + ":" + characterData);
+            elements.add(element);
+        }
+
+        @Override
+        public void visitChildText(final Element element, final ExecutionContext executionContext) {
+            visitedChildTextElement = true;
+        }
+
+        @Override
+        public void visitChildElement(final Element childElement, final ExecutionContext executionContext) {
+
+        }
+
+        @Override
+        public void visitAfter(final Element element, final ExecutionContext executionContext) {
+            this.element = element;
+        }
+    }
+
+    private static class ChildTextRecordingVisitor implements AfterVisitor, ChildrenVisitor {
+        private final List<String> characterData = new ArrayList<>();
+
+        @Override
+        public void visitChildText(final Element element, final ExecutionContext executionContext) {
+            characterData.add(element.getFirstChild().getNodeValue());
+        }
+
+        @Override
+        public void visitChildElement(final Element childElement, final ExecutionContext executionContext) {
+
+        }
+
+        @Override
+        public void visitAfter(final Element element, final ExecutionContext executionContext) {
+
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.delivery.sax.ng;
+
+import org.junit.Test;
+import org.smooks.FilterSettings;
+import org.smooks.Smooks;
+import org.smooks.SmooksException;
+import org.smooks.container.ExecutionContext;
+import org.smooks.delivery.sax.TextType;
+import org.smooks.payload.StringResult;
+import org.smooks.payload.StringSource;
+import org.smooks.xml.XmlUtil;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.dom.DOMResult;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DOMResultWriterTest {
+
+    private static final String XML = "<a:root xmlns:a=\"http://a\" xmlns=\"http://default\" x=\"1\"><a:child>x &amp; y<![CDATA[<c>]]></a:child><!--comment--><b/><c>text</c></a:root>";
+
+    @Test
+    public void testBuild() throws Exception {
+        final Document input = XmlUtil.parseStream(new StringReader(XML));
+        final Element root = input.getDocumentElement();
+        final DOMResultWriter domResultWriter = new DOMResultWriter(newDocument());
+
+        domResultWriter.startElement(root);
+        domResultWriter.characterData("x ", TextType.TEXT);
+        domResultWriter.characterData("& y", TextType.TEXT);
+        domResultWriter.characterData("comment", TextType.COMMENT);
+        domResultWriter.endElement();
+
+        assertTrue(domResultWriter.isBuilding());
+        final Document document = domResultWriter.getDocument();
+        assertEquals("http://a", document.getDocumentElement().getNamespaceURI());
+        assertEquals("1", document.getDocumentElement().getAttribute("x"));
+        assertEquals(2, document.getDocumentElement().getChildNodes().getLength());
+        assertEquals("x & y", document.getDocumentElement().getFirstChild().getNodeValue());
+    }
+
+    @Test
+    public void testBuildGivenMarkup() throws Exception {
+        final Document input = XmlUtil.parseStream(new StringReader(XML));
+        final DOMResultWriter domResultWriter = new DOMResultWriter(newDocument());
+
+        domResultWriter.startElement(input.getDocumentElement());
+        domResultWriter.startElement((Element) input.getDocumentElement().getFirstChild());
+        domResultWriter.characterData("text", TextType.TEXT);
+        domResultWriter.endElement();
+        domResultWriter.characterData("a & b", TextType.TEXT);
+        domResultWriter.characterData("c", TextType.COMMENT);
+        domResultWriter.write("<inserted>more</inserted>");
+        assertFalse(domResultWriter.isBuilding());
+        domResultWriter.write("</a:root>");
+
+        final Document document = domResultWriter.getDocument();
+        assertEquals("<a:root xmlns:a=\"http://a\" xmlns=\"http://default\" x=\"1\"><a:child>text</a:child>a &amp; b<!--c--><inserted>more</inserted></a:root>", XmlUtil.serialize(document, false));
+    }
+
+    @Test
+    public void testSaxNgFilterGivenDOMResult() throws Exception {
+        final Smooks smooks = new Smooks();
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings());
+
+        final DOMResult domResult = new DOMResult();
+        smooks.filterSource(new StringSource(XML), domResult);
+
+        assertEquals(XmlUtil.serialize(XmlUtil.parseStream(new StringReader(XML)), false), XmlUtil.serialize(domResult.getNode(), false));
+    }
+
+    @Test
+    public void testSaxNgFilterGivenDOMResultAndMarkupWritingVisitor() throws Exception {
+        final Smooks smooks = new Smooks();
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings());
+        smooks.addVisitor(new MarkupWritingVisitor(), "b");
+
+        final StringResult stringResult = new StringResult();
+        smooks.filterSource(new StringSource(XML), stringResult);
+        final DOMResult domResult = new DOMResult();
+        smooks.filterSource(new StringSource(XML), domResult);
+
+        assertEquals(XmlUtil.serialize(XmlUtil.parseStream(new StringReader(stringResult.toString())), false), XmlUtil.serialize(domResult.getNode(), false));
+        assertEquals(1, ((Document) domResult.getNode()).getElementsByTagName("replaced").getLength());
+    }
+
+    private Document newDocument() throws Exception {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+    }
+
+    private static class MarkupWritingVisitor implements AfterVisitor {
+        @Override
+        public void visitAfter(Element element, ExecutionContext executionContext) {
+            try {
+                executionContext.getWriter().write("<replaced/>");
+            } catch (IOException e) {
+                throw new SmooksException(e.getMessage(), e);
+            }
+        }
+    }
+}
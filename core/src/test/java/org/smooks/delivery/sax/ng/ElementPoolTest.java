@@ -0,0 +1,177 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.delivery.sax.ng;
+
+import org.junit.Test;
+import org.smooks.FilterSettings;
+import org.smooks.Smooks;
+import org.smooks.cdr.ParameterAccessor;
+import org.smooks.container.ExecutionContext;
+import org.smooks.container.MockExecutionContext;
+import org.smooks.delivery.Filter;
+import org.smooks.delivery.memento.NodeVisitable;
+import org.smooks.payload.StringResult;
+import org.smooks.payload.StringSource;
+import org.w3c.dom.Element;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ElementPoolTest {
+
+    @Test
+    public void testAcquireRecyclesReleasedElement() {
+        final ElementPool elementPool = new ElementPool(1, new MockExecutionContext());
+        final Element element = elementPool.acquire("http://a", "a:foo");
+        element.setAttribute("bar", "baz");
+        element.appendChild(elementPool.getDocument().createTextNode("text"));
+        final String id = new NodeVisitable(element).getId();
+
+        elementPool.release(element);
+        assertEquals(1, elementPool.size());
+
+        final Element recycledElement = elementPool.acquire(null, "qux");
+        assertSame(element, recycledElement);
+        assertEquals("qux", recycledElement.getNodeName());
+        assertNull(recycledElement.getNamespaceURI());
+        assertEquals(0, recycledElement.getAttributes().getLength());
+        assertEquals(0, recycledElement.getChildNodes().getLength());
+        assertNotEquals(id, new NodeVisitable(recycledElement).getId());
+        assertEquals(0, elementPool.size());
+    }
+
+    @Test
+    public void testReleaseDiscardsElementWhenPoolIsFull() {
+        final ElementPool elementPool = new ElementPool(1, new MockExecutionContext());
+        elementPool.release(elementPool.acquire(null, "a"));
+        elementPool.release(elementPool.acquire(null, "b"));
+
+        assertEquals(1, elementPool.size());
+        elementPool.release(elementPool.getDocument().createElement("c"));
+        assertEquals(1, elementPool.size());
+    }
+
+    @Test
+    public void testReleaseDiscardsAttachedElement() {
+        final ElementPool elementPool = new ElementPool(1, new MockExecutionContext());
+        final Element parent = elementPool.acquire(null, "parent");
+        parent.appendChild(elementPool.acquire(null, "child"));
+
+        elementPool.release((Element) parent.getFirstChild());
+        assertEquals(0, elementPool.size());
+    }
+
+    @Test
+    public void testAcquireIdentifiesElementsUniquely() {
+        final ElementPool elementPool = new ElementPool(0, new MockExecutionContext());
+        final Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            final Element element = elementPool.acquire(null, "a");
+            assertTrue(ids.add(new NodeVisitable(element).getId()));
+            assertEquals(new NodeVisitable(element).getId(), new NodeVisitable(element.cloneNode(false)).getId());
+        }
+    }
+
+    @Test
+    public void testFilterSourceGivenPooledElements() {
+        final StringBuilder input = new StringBuilder("<records xmlns=\"http://records\">");
+        for (int i = 0; i < 50; i++) {
+            input.append("<record id=\"").append(i).append("\"><name>name-").append(i).append("</name></record>");
+        }
+        input.append("</records>");
+
+        final Smooks smooks = new Smooks();
+        final RecordingVisitor recordingVisitor = new RecordingVisitor();
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings().setElementPoolSize(10));
+        smooks.addVisitor(recordingVisitor, "record");
+
+        final ExecutionContext executionContext = smooks.createExecutionContext();
+        final StringResult result = new StringResult();
+        smooks.filterSource(executionContext, new StringSource(input.toString()), result);
+
+        assertEquals(input.toString(), result.getResult());
+        assertEquals(50, recordingVisitor.ids.size());
+        assertEquals(50, new HashSet<>(recordingVisitor.ids).size());
+        assertTrue(recordingVisitor.elements.size() < 50);
+        assertTrue(ElementPool.getPool(executionContext).size() > 0);
+    }
+
+    @Test
+    public void testFilterSourceGivenDomStrictErrorCheckingParameter() {
+        final Smooks smooks = new Smooks();
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings());
+        smooks.addVisitor(new RecordingVisitor(), "record");
+        final ExecutionContext strictExecutionContext = smooks.createExecutionContext();
+        smooks.filterSource(strictExecutionContext, new StringSource("<record id=\"0\"/>"));
+        assertTrue(ElementPool.getPool(strictExecutionContext).getDocument().getStrictErrorChecking());
+
+        final Smooks lenientSmooks = new Smooks();
+        lenientSmooks.setFilterSettings(FilterSettings.newSaxNgSettings());
+        ParameterAccessor.setParameter(Filter.DOM_STRICT_ERROR_CHECKING, "false", lenientSmooks);
+        lenientSmooks.addVisitor(new RecordingVisitor(), "record");
+        final ExecutionContext lenientExecutionContext = lenientSmooks.createExecutionContext();
+        lenientSmooks.filterSource(lenientExecutionContext, new StringSource("<record id=\"0\"/>"));
+        assertFalse(ElementPool.getPool(lenientExecutionContext).getDocument().getStrictErrorChecking());
+    }
+
+    private static class RecordingVisitor implements BeforeVisitor {
+        private final List<String> ids = new ArrayList<>();
+        private final Set<Element> elements = new HashSet<>();
+
+        @Override
+        public void visitBefore(final Element element, final ExecutionContext executionContext) {
+            assertEquals(String.valueOf(ids.size()), element.getAttribute("id"));
+            ids.add(new NodeVisitable(element).getId());
+            elements.add(element);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.delivery.sax.ng;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+
+public class ResultWriterTest {
+
+    @Test
+    public void testDocumentFlushPolicyIgnoresFlush() throws IOException {
+        final FlushCountingWriter flushCountingWriter = new FlushCountingWriter();
+        final ResultWriter resultWriter = new ResultWriter(flushCountingWriter, 4, ResultWriter.FlushPolicy.DOCUMENT);
+
+        resultWriter.write("ab");
+        resultWriter.flush();
+        assertEquals("", flushCountingWriter.toString());
+
+        resultWriter.write("cdefgh");
+        resultWriter.write('i');
+        resultWriter.flush();
+        assertEquals("abcdefgh", flushCountingWriter.toString());
+        assertEquals(0, flushCountingWriter.flushCount);
+
+        resultWriter.flushResult();
+        assertEquals("abcdefghi", flushCountingWriter.toString());
+        assertEquals(1, flushCountingWriter.flushCount);
+    }
+
+    @Test
+    public void testBufferFlushPolicyFlushesWhenBufferFillsUp() throws IOException {
+        final FlushCountingWriter flushCountingWriter = new FlushCountingWriter();
+        final ResultWriter resultWriter = new ResultWriter(flushCountingWriter, 4, ResultWriter.FlushPolicy.BUFFER);
+
+        resultWriter.write("abc");
+        resultWriter.flush();
+        assertEquals(0, flushCountingWriter.flushCount);
+
+        resultWriter.write("de");
+        assertEquals("abc", flushCountingWriter.toString());
+        assertEquals(1, flushCountingWriter.flushCount);
+
+        resultWriter.write("fghijk".toCharArray());
+        assertEquals("abcdefghijk", flushCountingWriter.toString());
+        assertEquals(3, flushCountingWriter.flushCount);
+    }
+
+    @Test
+    public void testFragmentFlushPolicyFlushesOnFlush() throws IOException {
+        final FlushCountingWriter flushCountingWriter = new FlushCountingWriter();
+        final ResultWriter resultWriter = new ResultWriter(flushCountingWriter, 16, ResultWriter.FlushPolicy.FRAGMENT);
+
+        resultWriter.write("<a>");
+        resultWriter.flush();
+        assertEquals("<a>", flushCountingWriter.toString());
+        assertEquals(1, flushCountingWriter.flushCount);
+
+        resultWriter.flush();
+        assertEquals(1, flushCountingWriter.flushCount);
+    }
+
+    @Test
+    public void testZeroBufferSize() throws IOException {
+        final FlushCountingWriter flushCountingWriter = new FlushCountingWriter();
+        final ResultWriter resultWriter = new ResultWriter(flushCountingWriter, 0, ResultWriter.FlushPolicy.DOCUMENT);
+
+        resultWriter.write('a');
+        resultWriter.write("bc");
+        assertEquals("abc", flushCountingWriter.toString());
+
+        resultWriter.close();
+        assertEquals(1, flushCountingWriter.flushCount);
+    }
+
+    static class FlushCountingWriter extends StringWriter {
+        int flushCount;
+
+        @Override
+        public void flush() {
+            flushCount++;
+            super.flush();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.delivery.sax.ng;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.smooks.FilterSettings;
+import org.smooks.Smooks;
+import org.smooks.cdr.ParameterAccessor;
+import org.smooks.container.ExecutionContext;
+import org.smooks.delivery.Filter;
+import org.smooks.payload.StringSource;
+import org.w3c.dom.Element;
+
+import javax.xml.namespace.QName;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class SaxNgContentDeliveryConfigTest {
+
+    private Smooks smooks;
+    private final RecordingVisitor aItemVisitor = new RecordingVisitor();
+    private final RecordingVisitor bItemVisitor = new RecordingVisitor();
+    private final RecordingVisitor itemVisitor = new RecordingVisitor();
+    private final RecordingVisitor aStarVisitor = new RecordingVisitor();
+
+    @Before
+    public void before() {
+        final Properties namespaces = new Properties();
+        namespaces.setProperty("a", "http://a");
+        namespaces.setProperty("b", "http://b");
+
+        smooks = new Smooks();
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings());
+        smooks.setNamespaces(namespaces);
+        smooks.addVisitor(aItemVisitor, "a:item");
+        smooks.addVisitor(bItemVisitor, "b:item");
+        smooks.addVisitor(itemVisitor, "item");
+        smooks.addVisitor(aStarVisitor, "a:*");
+    }
+
+    @Test
+    public void testGetOptimizedVisitorConfigGivenNamespacedElementName() {
+        final SaxNgContentDeliveryConfig saxNgContentDeliveryConfig = (SaxNgContentDeliveryConfig) smooks.createExecutionContext().getDeliveryConfig();
+
+        final int anyNamespaceCount = saxNgContentDeliveryConfig.getOptimizedVisitorConfig(new QName("item")).getBeforeVisitors().size();
+        final int anyNamespaceGlobalCount = saxNgContentDeliveryConfig.getGlobalVisitorBindings(null).getBeforeVisitors().size();
+
+        assertEquals(anyNamespaceCount + 2, saxNgContentDeliveryConfig.getOptimizedVisitorConfig(new QName("http://a", "item")).getBeforeVisitors().size());
+        assertEquals(anyNamespaceCount + 1, saxNgContentDeliveryConfig.getOptimizedVisitorConfig(new QName("http://b", "item")).getBeforeVisitors().size());
+        assertEquals(anyNamespaceCount, saxNgContentDeliveryConfig.getOptimizedVisitorConfig(new QName("http://c", "item")).getBeforeVisitors().size());
+        assertEquals(anyNamespaceGlobalCount + 1, saxNgContentDeliveryConfig.getGlobalVisitorBindings("http://a").getBeforeVisitors().size());
+        assertEquals(anyNamespaceGlobalCount, saxNgContentDeliveryConfig.getGlobalVisitorBindings("http://b").getBeforeVisitors().size());
+    }
+
+    @Test
+    public void testFilterSourceGivenSameLocalNameInDifferentNamespaces() {
+        smooks.filterSource(new StringSource("<r xmlns:a=\"http://a\" xmlns:b=\"http://b\" xmlns:c=\"http://c\"><a:item/><b:item/><item/><c:item/><a:other/></r>"));
+
+        assertEquals("[a:item]", aItemVisitor.elementNames.toString());
+        assertEquals("[b:item]", bItemVisitor.elementNames.toString());
+        assertEquals("[a:item, b:item, item, c:item]", itemVisitor.elementNames.toString());
+        assertEquals("[a:item, a:other]", aStarVisitor.elementNames.toString());
+    }
+
+    @Test
+    public void testGetRootVisitorBindings() {
+        final SaxNgContentDeliveryConfig saxNgContentDeliveryConfig = (SaxNgContentDeliveryConfig) smooks.createExecutionContext().getDeliveryConfig();
+
+        final SaxNgVisitorBindings rootVisitorBindings = saxNgContentDeliveryConfig.getRootVisitorBindings(new QName("http://a", "item"));
+        assertSame(rootVisitorBindings, saxNgContentDeliveryConfig.getRootVisitorBindings(new QName("http://a", "item", "a")));
+        assertEquals(saxNgContentDeliveryConfig.getOptimizedVisitorConfig(new QName("http://a", "item")).getBeforeVisitors(), rootVisitorBindings.getBeforeVisitors());
+        assertNull(saxNgContentDeliveryConfig.getRootVisitorBindings(new QName("other")));
+        assertNull(saxNgContentDeliveryConfig.getRootVisitorBindings(new QName("other")));
+        assertEquals(2, saxNgContentDeliveryConfig.getRootVisitorBindingsCacheHitCount());
+        assertEquals(2, saxNgContentDeliveryConfig.getRootVisitorBindingsCacheMissCount());
+    }
+
+    @Test
+    public void testGetRootVisitorBindingsGivenFullCache() {
+        ParameterAccessor.setParameter(Filter.ROOT_VISITOR_BINDINGS_CACHE_SIZE, "1", smooks);
+        final SaxNgContentDeliveryConfig saxNgContentDeliveryConfig = (SaxNgContentDeliveryConfig) smooks.createExecutionContext().getDeliveryConfig();
+
+        saxNgContentDeliveryConfig.getRootVisitorBindings(new QName("item"));
+        saxNgContentDeliveryConfig.getRootVisitorBindings(new QName("http://a", "item"));
+        saxNgContentDeliveryConfig.getRootVisitorBindings(new QName("http://a", "item"));
+        saxNgContentDeliveryConfig.getRootVisitorBindings(new QName("item"));
+        assertEquals(1, saxNgContentDeliveryConfig.getRootVisitorBindingsCacheHitCount());
+        assertEquals(3, saxNgContentDeliveryConfig.getRootVisitorBindingsCacheMissCount());
+    }
+
+    private static class RecordingVisitor implements BeforeVisitor {
+        private final List<String> elementNames = new ArrayList<>();
+
+        @Override
+        public void visitBefore(final Element element, final ExecutionContext executionContext) {
+            elementNames.add(element.getNodeName());
+        }
+    }
+}
@@ -44,8 +44,11 @@ package org.smooks.delivery.sax.ng;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.smooks.FilterSettings;
 import org.smooks.Smooks;
+import org.smooks.cdr.ParameterAccessor;
 import org.smooks.container.ExecutionContext;
+import org.smooks.delivery.Filter;
 import org.smooks.io.StreamUtils;
 import org.smooks.lang.LangUtil;
 import org.xml.sax.SAXException;
@@ -102,6 +105,26 @@ public class SaxNgFilterTest {
         assertEquals(StreamUtils.trimLines(new StringReader(input)).toString(), StreamUtils.trimLines(new StringReader(writer.toString())).toString());
     }
 
+	@Test
+    public void test_output_flush_policy() throws SAXException, IOException {
+        String input = new String(StreamUtils.readStream(getClass().getResourceAsStream("../test-01.xml")));
+
+        Smooks smooks = new Smooks(getClass().getResourceAsStream("smooks-config-01.xml"));
+        ParameterAccessor.setParameter(Filter.CLOSE_RESULT, "false", smooks);
+        ResultWriterTest.FlushCountingWriter writer = new ResultWriterTest.FlushCountingWriter();
+        smooks.filterSource(smooks.createExecutionContext(), new StreamSource(new StringReader(input)), new StreamResult(writer));
+        assertEquals(StreamUtils.trimLines(new StringReader(input)).toString(), StreamUtils.trimLines(new StringReader(writer.toString())).toString());
+        assertEquals(1, writer.flushCount);
+
+        smooks = new Smooks(getClass().getResourceAsStream("smooks-config-01.xml"));
+        ParameterAccessor.setParameter(Filter.CLOSE_RESULT, "false", smooks);
+        ParameterAccessor.setParameter(Filter.OUTPUT_FLUSH_POLICY, "fragment", smooks);
+        writer = new ResultWriterTest.FlushCountingWriter();
+        smooks.filterSource(smooks.createExecutionContext(), new StreamSource(new StringReader(input)), new StreamResult(writer));
+        assertEquals(StreamUtils.trimLines(new StringReader(input)).toString(), StreamUtils.trimLines(new StringReader(writer.toString())).toString());
+        assertTrue(writer.flushCount > 1);
+    }
+
 	@Before
     public void setUp() throws Exception {
         Visitor01.element = null;
@@ -250,6 +273,24 @@ public class SaxNgFilterTest {
         assertNotNull(MaxNodeDepthVisitor.element);
     }
 
+    @Test
+    public void test_deep_document() {
+        Smooks smooks = new Smooks();
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings().setMaxNodeDepth(5));
+
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            input.append("<a>").append(i);
+        }
+        for (int i = 0; i < 10000; i++) {
+            input.append("</a>");
+        }
+        StringWriter result = new StringWriter();
+        smooks.filterSource(smooks.createExecutionContext(), new StreamSource(new StringReader(input.toString())), new StreamResult(result));
+
+        assertEquals(input.toString(), result.toString());
+    }
+
     @Test
     public void test_visitAfterAndChildren() throws IOException, SAXException {
         Smooks smooks = new Smooks(getClass().getResourceAsStream("smooks-config-05.xml"));
@@ -0,0 +1,159 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.delivery.sax.ng;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.smooks.FilterSettings;
+import org.smooks.Smooks;
+import org.smooks.SmooksException;
+import org.smooks.container.ExecutionContext;
+import org.smooks.delivery.nested.ParallelExecutionVisitor;
+import org.smooks.payload.StringResult;
+import org.smooks.payload.StringSource;
+import org.smooks.xml.XsdValidator;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+import javax.xml.transform.stream.StreamSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StreamingValidationTest {
+
+    private Smooks smooks;
+    private XsdValidator validator;
+    private List<String> items;
+
+    @Before
+    public void before() throws SAXException {
+        items = new ArrayList<>();
+        smooks = new Smooks();
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings());
+        smooks.addVisitor((AfterVisitor) (element, executionContext) -> items.add(element.getTagName()), "item");
+
+        validator = new XsdValidator();
+        validator.setXSDSources(Collections.singletonList(new StreamSource(getClass().getResourceAsStream("streaming-validation.xsd"))));
+    }
+
+    @Test
+    public void testValidInput() {
+        ExecutionContext executionContext = smooks.createExecutionContext();
+        StringResult result = new StringResult();
+
+        StreamingValidation.setValidator(executionContext, validator);
+        smooks.filterSource(executionContext, new StringSource("<order><item>1</item><item>2</item></order>"), result);
+
+        assertEquals("<order><item>1</item><item>2</item></order>", result.getResult());
+        assertEquals("[item, item]", items.toString());
+    }
+
+    @Test
+    public void testInvalidInput() {
+        ExecutionContext executionContext = smooks.createExecutionContext();
+
+        StreamingValidation.setValidator(executionContext, validator);
+        try {
+            smooks.filterSource(executionContext, new StringSource("<order><item>1</item><item>x</item><item>3</item></order>"), new StringResult());
+            fail("Expected SmooksException");
+        } catch (SmooksException e) {
+            assertTrue(e.getCause() instanceof SAXParseException);
+        }
+        assertEquals("[item]", items.toString());
+    }
+
+    @Test
+    public void testValidInputGivenForkedFragments() {
+        smooks.addVisitor(newParallelExecutionVisitor(), "item");
+        ExecutionContext executionContext = smooks.createExecutionContext();
+        StringResult result = new StringResult();
+
+        StreamingValidation.setValidator(executionContext, validator);
+        try {
+            smooks.filterSource(executionContext, new StringSource("<order><item>1</item><item>2</item></order>"), result);
+        } finally {
+            smooks.close();
+        }
+
+        assertEquals("<order><item>1</item><item>2</item></order>", result.getResult());
+    }
+
+    @Test
+    public void testInvalidInputFollowingForkedFragments() {
+        smooks.addVisitor(newParallelExecutionVisitor(), "item");
+        ExecutionContext executionContext = smooks.createExecutionContext();
+
+        StreamingValidation.setValidator(executionContext, validator);
+        try {
+            smooks.filterSource(executionContext, new StringSource("<order><item>1</item><item>2</item><note/></order>"), new StringResult());
+            fail("Expected SmooksException");
+        } catch (SmooksException e) {
+            assertTrue(e.getCause() instanceof SAXParseException);
+        } finally {
+            smooks.close();
+        }
+    }
+
+    @Test
+    public void testValidationOff() {
+        ExecutionContext executionContext = smooks.createExecutionContext();
+
+        StreamingValidation.setValidator(executionContext, validator);
+        StreamingValidation.setValidator(executionContext, null);
+        smooks.filterSource(executionContext, new StringSource("<order><item>1</item><item>x</item></order>"), new StringResult());
+
+        assertNull(StreamingValidation.getValidator(executionContext));
+        assertEquals("[item, item]", items.toString());
+    }
+
+    private ParallelExecutionVisitor newParallelExecutionVisitor() {
+        ParallelExecutionVisitor parallelExecutionVisitor = new ParallelExecutionVisitor();
+        parallelExecutionVisitor.setSmooksConfig("/org/smooks/delivery/nested/forked-fragment-config.xml");
+        parallelExecutionVisitor.setThreads(2);
+
+        return parallelExecutionVisitor;
+    }
+}
@@ -81,6 +81,23 @@ public class StreamResultWriterAndTextConsumerTest {
 		assertEquals("<a>{{sometext & moretext}}</a>", stringResult.getResult());
 	}
 
+	@Test
+	public void testManyCharacterChunks() {
+		Smooks smooks = new Smooks();
+		StringResult stringResult = new StringResult();
+		StringBuilder input = new StringBuilder();
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 20000; i++) {
+			input.append("text&amp;");
+			text.append("text&");
+		}
+
+		smooks.addVisitor(new MyAnnotatedVisitor(), "b");
+		smooks.filterSource(new StringSource("<a><b>" + input + "</b><b>other</b></a>"), stringResult);
+
+		assertEquals("<a>{{" + text + "}}{{other}}</a>", stringResult.getResult());
+	}
+
 	@TextConsumer
 	@StreamResultWriter	
 	private static class MyAnnotatedVisitor implements AfterVisitor {
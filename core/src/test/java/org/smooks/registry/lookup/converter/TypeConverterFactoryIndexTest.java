@@ -0,0 +1,140 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.registry.lookup.converter;
+
+import org.junit.Test;
+import org.smooks.converter.TypeConverter;
+import org.smooks.converter.TypeConverterDescriptor;
+import org.smooks.converter.factory.TypeConverterFactory;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TypeConverterFactoryIndexTest {
+
+    @Test
+    public void testGetTypeConverterFactory() {
+        TypeConverterFactory<String, Integer> lowPriorityTypeConverterFactory = new TestTypeConverterFactory<>(String.class, Integer.class, (short) 1);
+        TypeConverterFactory<String, Integer> highPriorityTypeConverterFactory = new TestTypeConverterFactory<>(String.class, Integer.class, Short.MAX_VALUE);
+        Set<TypeConverterFactory<?, ?>> typeConverterFactories = new HashSet<>();
+        typeConverterFactories.add(lowPriorityTypeConverterFactory);
+        typeConverterFactories.add(highPriorityTypeConverterFactory);
+        typeConverterFactories.add(null);
+
+        TypeConverterFactoryIndex typeConverterFactoryIndex = new TypeConverterFactoryIndex(typeConverterFactories);
+        assertSame(highPriorityTypeConverterFactory, typeConverterFactoryIndex.getTypeConverterFactory(String.class, Integer.class));
+        assertNull(typeConverterFactoryIndex.getTypeConverterFactory(Integer.class, String.class));
+    }
+
+    @Test
+    public void testGetAssignableTypeConverterFactory() {
+        TypeConverterFactory<Date, String> dateToStringTypeConverterFactory = new TestTypeConverterFactory<>(Date.class, String.class, (short) 1);
+        TypeConverterFactory<CharSequence, String> charSequenceToStringTypeConverterFactory = new TestTypeConverterFactory<>(CharSequence.class, String.class, (short) 1);
+        Set<TypeConverterFactory<?, ?>> typeConverterFactories = new HashSet<>();
+        typeConverterFactories.add(dateToStringTypeConverterFactory);
+        typeConverterFactories.add(charSequenceToStringTypeConverterFactory);
+
+        TypeConverterFactoryIndex typeConverterFactoryIndex = new TypeConverterFactoryIndex(typeConverterFactories);
+        assertSame(dateToStringTypeConverterFactory, typeConverterFactoryIndex.getAssignableTypeConverterFactory(Timestamp.class, String.class));
+        assertSame(charSequenceToStringTypeConverterFactory, typeConverterFactoryIndex.getAssignableTypeConverterFactory(StringBuilder.class, String.class));
+        assertNull(typeConverterFactoryIndex.getAssignableTypeConverterFactory(Timestamp.class, Integer.class));
+        assertNull(typeConverterFactoryIndex.getTypeConverterFactory(Timestamp.class, String.class));
+    }
+
+    @Test
+    public void testCreateTypeConverter() {
+        TypeConverterFactory<String, String> statelessTypeConverterFactory = new TestTypeConverterFactory<String, String>(String.class, String.class, (short) 1) {
+            @Override
+            public TypeConverter<String, String> createTypeConverter() {
+                return value -> value;
+            }
+        };
+        TypeConverterFactory<String, Integer> statefulTypeConverterFactory = new TestTypeConverterFactory<String, Integer>(String.class, Integer.class, (short) 1) {
+            @Override
+            public TypeConverter<String, Integer> createTypeConverter() {
+                final Map<String, Integer> values = new HashMap<>();
+                return value -> values.computeIfAbsent(value, Integer::valueOf);
+            }
+        };
+
+        TypeConverterFactoryIndex typeConverterFactoryIndex = new TypeConverterFactoryIndex(new HashSet<>());
+        assertSame(typeConverterFactoryIndex.createTypeConverter(statelessTypeConverterFactory), typeConverterFactoryIndex.createTypeConverter(statelessTypeConverterFactory));
+        assertNotSame(typeConverterFactoryIndex.createTypeConverter(statefulTypeConverterFactory), typeConverterFactoryIndex.createTypeConverter(statefulTypeConverterFactory));
+    }
+
+    @Test
+    public void testApplyGivenTypeConverterFactoryIndex() {
+        TypeConverterFactory<String, Integer> typeConverterFactory = new TestTypeConverterFactory<>(String.class, Integer.class, (short) 1);
+        Set<TypeConverterFactory<?, ?>> typeConverterFactories = new HashSet<>();
+        typeConverterFactories.add(typeConverterFactory);
+        Map<Object, Object> registryEntries = new HashMap<>();
+        registryEntries.put(TypeConverterFactoryIndex.class, new TypeConverterFactoryIndex(typeConverterFactories));
+
+        assertSame(typeConverterFactory, new SourceTargetTypeConverterFactoryLookup<>(String.class, Integer.class).apply(registryEntries));
+        assertNull(new SourceTargetTypeConverterFactoryLookup<>(String.class, Long.class).apply(registryEntries));
+    }
+
+    private static class TestTypeConverterFactory<S, T> implements TypeConverterFactory<S, T> {
+        private final TypeConverterDescriptor<Class<S>, Class<T>> typeConverterDescriptor;
+
+        private TestTypeConverterFactory(Class<S> sourceType, Class<T> targetType, short priority) {
+            typeConverterDescriptor = new TypeConverterDescriptor<>(sourceType, targetType, priority);
+        }
+
+        @Override
+        public TypeConverter<S, T> createTypeConverter() {
+            throw new AssertionError();
+        }
+
+        @Override
+        public TypeConverterDescriptor<Class<S>, Class<T>> getTypeConverterDescriptor() {
+            return typeConverterDescriptor;
+        }
+    }
+}
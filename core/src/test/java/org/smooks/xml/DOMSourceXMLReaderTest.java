@@ -0,0 +1,175 @@
+/*-
+ * ========================LICENSE_START=================================
+ * Smooks Core
+ * %%
+ * Copyright (C) 2020 Smooks
+ * %%
+ * Licensed under the terms of the Apache License Version 2.0, or
+ * the GNU Lesser General Public License version 3.0 or later.
+ * 
+ * SPDX-License-Identifier: Apache-2.0 OR LGPL-3.0-or-later
+ * 
+ * ======================================================================
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * ======================================================================
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ * =========================LICENSE_END==================================
+ */
+package org.smooks.xml;
+
+import org.junit.Test;
+import org.smooks.FilterSettings;
+import org.smooks.Smooks;
+import org.smooks.payload.StringResult;
+import org.smooks.payload.StringSource;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.ext.DefaultHandler2;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.dom.DOMSource;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class DOMSourceXMLReaderTest {
+
+    private static final String XML = "<a:root xmlns:a=\"http://a\" xmlns=\"http://default\"><a:child x=\"1\" a:y=\"2\"><![CDATA[<c>]]></a:child><!--comment--><b>text</b></a:root>";
+
+    @Test
+    public void testParse() throws Exception {
+        final List<String> events = parse(parseDocument(XML));
+
+        assertEquals("startElement {http://a}root [xmlns:a=http://a, xmlns=http://default]", events.get(0));
+        assertEquals("startElement {http://a}child [a:y=2, x=1]", events.get(1));
+        assertEquals("startCDATA", events.get(2));
+        assertEquals("characters <c>", events.get(3));
+        assertEquals("endCDATA", events.get(4));
+        assertEquals("endElement {http://a}child", events.get(5));
+        assertEquals("comment comment", events.get(6));
+        assertEquals("startElement {http://default}b []", events.get(7));
+        assertEquals("characters text", events.get(8));
+        assertEquals("endElement {http://default}b", events.get(9));
+        assertEquals("endElement {http://a}root", events.get(10));
+        assertEquals(11, events.size());
+    }
+
+    @Test
+    public void testParseGivenElementInheritingNamespaces() throws Exception {
+        final Element child = (Element) parseDocument(XML).getDocumentElement().getFirstChild();
+        final List<String> events = parse(child);
+
+        assertEquals("startElement {http://a}child [a:y=2, x=1, xmlns:a=http://a, xmlns=http://default]", events.get(0));
+        assertEquals("endElement {http://a}child", events.get(events.size() - 1));
+    }
+
+    @Test
+    public void testParseGivenUndeclaredNamespaces() throws Exception {
+        final Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        final Element root = document.createElementNS("http://a", "a:root");
+        root.appendChild(document.createElementNS(null, "child"));
+        document.appendChild(root);
+
+        final List<String> events = parse(document);
+
+        assertEquals("startElement {http://a}root [xmlns:a=http://a]", events.get(0));
+        assertEquals("startElement {}child []", events.get(1));
+    }
+
+    @Test
+    public void testSaxNgFilterGivenDOMSource() throws Exception {
+        final Smooks smooks = new Smooks();
+        smooks.setFilterSettings(FilterSettings.newSaxNgSettings());
+
+        final StringResult streamSourceResult = new StringResult();
+        smooks.filterSource(new StringSource(XML), streamSourceResult);
+        final StringResult domSourceResult = new StringResult();
+        smooks.filterSource(new DOMSource(parseDocument(XML)), domSourceResult);
+
+        assertEquals(streamSourceResult.toString(), domSourceResult.toString());
+    }
+
+    private Document parseDocument(final String xml) throws Exception {
+        final DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        documentBuilderFactory.setNamespaceAware(true);
+        return documentBuilderFactory.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+    }
+
+    private List<String> parse(final org.w3c.dom.Node node) throws Exception {
+        final List<String> events = new ArrayList<>();
+        final DefaultHandler2 handler = new DefaultHandler2() {
+            @Override
+            public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                final List<String> attributeList = new ArrayList<>();
+                for (int i = 0; i < attributes.getLength(); i++) {
+                    attributeList.add(attributes.getQName(i) + "=" + attributes.getValue(i));
+                }
+                Collections.sort(attributeList);
+                events.add("startElement {" + uri + "}" + localName + " " + attributeList);
+            }
+
+            @Override
+            public void endElement(String uri, String localName, String qName) {
+                events.add("endElement {" + uri + "}" + localName);
+            }
+
+            @Override
+            public void characters(char[] ch, int start, int length) {
+                events.add("characters " + new String(ch, start, length));
+            }
+
+            @Override
+            public void startCDATA() {
+                events.add("startCDATA");
+            }
+
+            @Override
+            public void endCDATA() {
+                events.add("endCDATA");
+            }
+
+            @Override
+            public void comment(char[] ch, int start, int length) {
+                events.add("comment " + new String(ch, start, length));
+            }
+        };
+
+        final DOMSourceXMLReader domSourceXMLReader = new DOMSourceXMLReader();
+        domSourceXMLReader.setContentHandler(handler);
+        domSourceXMLReader.setProperty("http://xml.org/sax/properties/lexical-handler", handler);
+        domSourceXMLReader.setNode(node);
+        domSourceXMLReader.parse(new InputSource());
+
+        return events;
+    }
+}